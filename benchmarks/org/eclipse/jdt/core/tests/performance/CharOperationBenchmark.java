@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.util.Random;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * Times the {@link CharOperation} methods used by lookup, indexing and search on camel case identifiers
+ * of typical lengths, and prints the time per call of each method for each range of lengths.
+ * <p>
+ * Each identifier is compared with an equal copy, with a copy in another case, and with a copy differing
+ * in its last char; it is matched against a prefix, an inner part and a camel case pattern made of its
+ * first letters.
+ * </p>
+ * Usage: <code>CharOperationBenchmark [identifiers] [runs]</code>
+ */
+public class CharOperationBenchmark {
+
+	private static final String[] WORDS = {
+		"get", "set", "Type", "Binding", "Method", "Scope", "Lookup", "Environment", "Index", "Match", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+		"Locator", "Java", "Element", "Compilation", "Unit", "Source", "Field", "Reference", "Pattern", "X" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+	};
+	private static final int[][] LENGTHS = { { 1, 8 }, { 9, 16 }, { 17, 40 } };
+	private static final String[] OPERATIONS = {
+		"equals", "equals (ignore case)", "equals (last char differs)", "prefixEquals (ignore case)", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		"indexOf (ignore case)", "match (ignore case)", "camelCaseMatch", "hashCode" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	};
+
+	static int sink;
+
+public static void main(String[] args) {
+	int count = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+	int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+	Random random = new Random(0);
+	for (int run = 1; run <= runs; run++) {
+		System.out.println("run " + run + ':'); //$NON-NLS-1$
+		for (int l = 0; l < LENGTHS.length; l++) {
+			char[][] names = identifiers(random, count, LENGTHS[l][0], LENGTHS[l][1]);
+			StringBuffer line = new StringBuffer();
+			line.append("  ").append(LENGTHS[l][0]).append('-').append(LENGTHS[l][1]).append(" chars:"); //$NON-NLS-1$ //$NON-NLS-2$
+			for (int operation = 0; operation < OPERATIONS.length; operation++)
+				line.append(' ').append(OPERATIONS[operation]).append(' ').append(time(operation, names)).append(" ns,"); //$NON-NLS-1$
+			line.setLength(line.length() - 1);
+			System.out.println(line);
+		}
+	}
+}
+
+private static char[][] identifiers(Random random, int count, int minLength, int maxLength) {
+	char[][] names = new char[count][];
+	for (int i = 0; i < count; i++) {
+		int length = minLength + random.nextInt(maxLength - minLength + 1);
+		StringBuffer buffer = new StringBuffer();
+		while (buffer.length() < length)
+			buffer.append(WORDS[random.nextInt(WORDS.length)]);
+		buffer.setLength(length);
+		names[i] = buffer.toString().toCharArray();
+	}
+	return names;
+}
+
+/**
+ * Answer the average time in nanoseconds of a call to the given operation on the given identifiers.
+ */
+private static long time(int operation, char[][] names) {
+	int count = names.length;
+	char[][] others = new char[count][];
+	char[][] patterns = new char[count][];
+	for (int i = 0; i < count; i++) {
+		char[] name = names[i];
+		switch (operation) {
+			case 0 :
+				others[i] = (char[]) name.clone();
+				break;
+			case 1 :
+				others[i] = new String(name).toUpperCase().toCharArray();
+				break;
+			case 2 :
+				(others[i] = (char[]) name.clone())[name.length - 1]++;
+				break;
+			case 3 :
+				patterns[i] = CharOperation.toLowerCase(CharOperation.subarray(name, 0, (name.length + 1) / 2));
+				break;
+			case 4 :
+				patterns[i] = CharOperation.toLowerCase(CharOperation.subarray(name, name.length / 3, name.length / 3 + (name.length + 2) / 3));
+				break;
+			case 5 :
+				patterns[i] = CharOperation.concat(new char[] {'*'}, patternOf(name, 4), new char[] {'*'});
+				break;
+			case 6 :
+				patterns[i] = patternOf(name, 1);
+				break;
+		}
+	}
+	int result = 0;
+	int rounds = 200;
+	long start = System.nanoTime();
+	for (int round = 0; round < rounds; round++) {
+		for (int i = 0; i < count; i++) {
+			switch (operation) {
+				case 0 :
+				case 2 :
+					if (CharOperation.equals(names[i], others[i])) result++;
+					break;
+				case 1 :
+					if (CharOperation.equals(names[i], others[i], false)) result++;
+					break;
+				case 3 :
+					if (CharOperation.prefixEquals(patterns[i], names[i], false)) result++;
+					break;
+				case 4 :
+					result += CharOperation.indexOf(patterns[i], names[i], false);
+					break;
+				case 5 :
+					if (CharOperation.match(patterns[i], names[i], false)) result++;
+					break;
+				case 6 :
+					if (CharOperation.camelCaseMatch(patterns[i], names[i])) result++;
+					break;
+				case 7 :
+					result += CharOperation.hashCode(names[i]);
+					break;
+			}
+		}
+	}
+	long time = System.nanoTime() - start;
+	sink += result;
+	return time / ((long) rounds * count);
+}
+
+/**
+ * Answer the first letter of each camel case part of the given name, followed by the given number of its chars.
+ */
+private static char[] patternOf(char[] name, int partLength) {
+	StringBuffer buffer = new StringBuffer();
+	for (int i = 0, length = name.length; i < length; i++) {
+		if (i == 0 || Character.isUpperCase(name[i])) {
+			for (int j = i; j < i + partLength && j < length && (j == i || !Character.isUpperCase(name[j])); j++)
+				buffer.append(name[j]);
+		}
+	}
+	return buffer.toString().toCharArray();
+}
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.codegen.ConstantPool;
+
+/**
+ * Fills the {@link ConstantPool} of generated classes with more than 50000 entries each, the way the
+ * code generation of large generated classes does, and prints the time taken per class and per lookup.
+ * <p>
+ * Each class adds 11000 distinct strings, ints and longs, i.e. 55000 entries, and after each constant
+ * looks up a method reference which is always found, a field reference among 500 and a method reference
+ * among 1000, which are mostly found: about a third of the lookups add an entry.
+ * </p>
+ * Usage: <code>ConstantPoolBenchmark [classes] [runs]</code>
+ */
+public class ConstantPoolBenchmark {
+
+	private static final int CONSTANTS = 11000;
+	private static final int FIELDS = 500;
+	private static final int METHODS = 1000;
+
+	private static final char[] STRING = "java/lang/String".toCharArray(); //$NON-NLS-1$
+	private static final char[] CONCAT = "concat".toCharArray(); //$NON-NLS-1$
+	private static final char[] CONCAT_SIGNATURE = "(Ljava/lang/String;)Ljava/lang/String;".toCharArray(); //$NON-NLS-1$
+	private static final char[] OWNER = "p/Constants".toCharArray(); //$NON-NLS-1$
+	private static final char[] INT_SIGNATURE = "I".toCharArray(); //$NON-NLS-1$
+	private static final char[] METHOD_SIGNATURE = "(Ljava/lang/String;IJ)Ljava/lang/String;".toCharArray(); //$NON-NLS-1$
+
+public static void main(String[] args) {
+	int classes = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+	int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+	char[][] strings = new char[CONSTANTS][];
+	for (int i = 0; i < CONSTANTS; i++)
+		strings[i] = ("constant string " + i).toCharArray(); //$NON-NLS-1$
+	char[][] fields = new char[FIELDS][];
+	for (int i = 0; i < FIELDS; i++)
+		fields[i] = ("field" + i).toCharArray(); //$NON-NLS-1$
+	char[][] methods = new char[METHODS][];
+	for (int i = 0; i < METHODS; i++)
+		methods[i] = ("method" + i).toCharArray(); //$NON-NLS-1$
+
+	int lookups = classes * CONSTANTS * 6;
+	int bytes = 0;
+	for (int run = 1; run <= runs; run++) {
+		long start = System.nanoTime();
+		for (int i = 0; i < classes; i++) {
+			ClassFile classFile = new ClassFile() {
+				// only holds the constant pool buffer
+			};
+			classFile.header = new byte[ClassFile.INITIAL_HEADER_SIZE];
+			ConstantPool pool = new ConstantPool(classFile);
+			for (int constant = 0; constant < CONSTANTS; constant++) {
+				pool.literalIndexForLdc(strings[constant]);
+				pool.literalIndex(100000 + constant);
+				pool.literalIndex(10000000000L + constant);
+				pool.literalIndexForMethod(STRING, CONCAT, CONCAT_SIGNATURE, false);
+				pool.literalIndexForField(OWNER, fields[constant % FIELDS], INT_SIGNATURE);
+				pool.literalIndexForMethod(OWNER, methods[constant % METHODS], METHOD_SIGNATURE, false);
+			}
+			bytes = pool.dumpBytes().length;
+		}
+		long time = System.nanoTime() - start;
+		System.out.println("run " + run + ": " + time / 1000000 + " ms, " //$NON-NLS-1$ //$NON-NLS-2$
+			+ time / 1000 / classes + " us per class, " //$NON-NLS-1$
+			+ time / lookups + " ns per lookup, " //$NON-NLS-1$
+			+ bytes + " bytes per constant pool"); //$NON-NLS-1$
+	}
+}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
+
+/**
+ * Compiles units nesting explicitly typed lambdas passed to a method with three functional overloads,
+ * from a nesting depth of 1 to 8, and prints the compile time of each depth.
+ * <p>
+ * Overload resolution copies each lambda for each overload it tries, and each copy of an enclosing
+ * lambda copies the lambdas it holds again, see <code>LambdaExpression.copy()</code>: the number of
+ * copies grows exponentially with the nesting depth.
+ * </p>
+ * Usage: <code>LambdaNestingBenchmark &lt;bootclasspath&gt; [max depth] [runs]</code>, where the boot
+ * class path holds the <code>java.lang</code> and <code>java.util.function</code> classes (e.g. rt.jar).
+ */
+public class LambdaNestingBenchmark {
+
+public static void main(String[] args) throws IOException {
+	if (args.length == 0) {
+		System.out.println("Usage: LambdaNestingBenchmark <bootclasspath> [max depth] [runs]"); //$NON-NLS-1$
+		return;
+	}
+	String bootclasspath = args[0];
+	int maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+	int runs = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+	File root = File.createTempFile("lambdas", ""); //$NON-NLS-1$ //$NON-NLS-2$
+	root.delete();
+	try {
+		for (int depth = 1; depth <= maxDepth; depth++) {
+			File source = new File(root, "src" + depth + "/p"); //$NON-NLS-1$ //$NON-NLS-2$
+			source.mkdirs();
+			write(new File(source, "Nest.java"), nestSource(depth)); //$NON-NLS-1$
+			String commandLine = "-1.8 -proc:none -nowarn" //$NON-NLS-1$
+				+ " -bootclasspath \"" + bootclasspath + '"' //$NON-NLS-1$
+				+ " -d \"" + new File(root, "bin").getPath() + '"' //$NON-NLS-1$ //$NON-NLS-2$
+				+ " \"" + source.getPath() + '"'; //$NON-NLS-1$
+			long best = Long.MAX_VALUE;
+			for (int run = 0; run < runs; run++) {
+				StringWriter out = new StringWriter();
+				StringWriter err = new StringWriter();
+				long start = System.nanoTime();
+				boolean succeeded = BatchCompiler.compile(commandLine, new PrintWriter(out), new PrintWriter(err), null);
+				long time = (System.nanoTime() - start) / 1000000;
+				if (!succeeded) {
+					System.out.println(out.toString());
+					System.out.println(err.toString());
+					return;
+				}
+				if (time < best)
+					best = time;
+			}
+			System.out.println("depth " + depth + ": " + best + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	} finally {
+		delete(root);
+	}
+}
+
+private static String nestSource(int depth) {
+	StringBuffer buffer = new StringBuffer();
+	buffer.append("package p;\nimport java.util.function.*;\npublic class Nest {\n"); //$NON-NLS-1$
+	buffer.append("\tstatic int m(IntUnaryOperator f) { return 0; }\n"); //$NON-NLS-1$
+	buffer.append("\tstatic int m(IntFunction<Integer> f) { return 1; }\n"); //$NON-NLS-1$
+	buffer.append("\tstatic int m(IntToLongFunction f) { return 2; }\n"); //$NON-NLS-1$
+	buffer.append("\tint test() {\n\t\treturn "); //$NON-NLS-1$
+	for (int i = 1; i <= depth; i++)
+		buffer.append("m((int x").append(i).append(") -> "); //$NON-NLS-1$ //$NON-NLS-2$
+	buffer.append("x").append(depth).append(" + 1)"); //$NON-NLS-1$ //$NON-NLS-2$
+	for (int i = depth - 1; i >= 1; i--)
+		buffer.append(" + x").append(i).append(')'); //$NON-NLS-1$
+	buffer.append(";\n\t}\n}\n"); //$NON-NLS-1$
+	return buffer.toString();
+}
+
+private static void delete(File file) {
+	File[] children = file.listFiles();
+	if (children != null)
+		for (int i = 0; i < children.length; i++)
+			delete(children[i]);
+	file.delete();
+}
+
+private static void write(File file, String contents) throws IOException {
+	FileWriter writer = new FileWriter(file);
+	try {
+		writer.write(contents);
+	} finally {
+		writer.close();
+	}
+}
+}
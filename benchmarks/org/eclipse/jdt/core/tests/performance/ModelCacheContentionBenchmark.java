@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import org.eclipse.jdt.internal.core.OverflowingLRUCache;
+import org.eclipse.jdt.internal.core.util.LRUCache;
+
+/**
+ * Measures the contention of threads reading an {@link OverflowingLRUCache} the way the Java model
+ * caches are read, while another thread modifies it under a lock, the way the {@link
+ * org.eclipse.jdt.internal.core.JavaModelManager} does. The readers either take the same lock for each
+ * read, as <code>JavaModelManager.getInfo()</code> used to, or read without locking.
+ * <p>
+ * 80% of the reads are on a hot set of 300 keys, initially cached, the others on 6000 keys, for a
+ * cache of 2000 units where every 50th entry cannot be closed, so that the cache overflows at times.
+ * Once each run is done, the space, the entry count & the queue of the cache are checked for consistency.
+ * </p>
+ * Usage: <code>ModelCacheContentionBenchmark [readers] [milliseconds]</code>, the number of readers
+ * defaulting to 16, or twice the number of processors if more.
+ */
+public class ModelCacheContentionBenchmark {
+
+	static class Value implements org.eclipse.jdt.internal.core.util.ILRUCacheable {
+		final int space;
+		Value(int space) {
+			this.space = space;
+		}
+		public int getCacheFootprint() {
+			return this.space;
+		}
+	}
+
+	static class Cache extends OverflowingLRUCache {
+		Cache(int size) {
+			super(size);
+		}
+		Cache(int size, int overflow) {
+			super(size, overflow);
+		}
+		protected boolean close(LRUCacheEntry entry) {
+			return ((Integer) entry.key).intValue() % 50 != 0; // some entries cannot be closed
+		}
+		protected LRUCache newInstance(int size, int newOverflow) {
+			return new Cache(size, newOverflow);
+		}
+		String check() {
+			int space = 0, count = 0;
+			for (Iterator entries = getEntryTable().values().iterator(); entries.hasNext(); count++)
+				space += ((LRUCacheEntry) entries.next()).space;
+			int forward = 0, backward = 0;
+			for (LRUCacheEntry entry = this.entryQueue; entry != null; entry = entry.next)
+				forward++;
+			for (LRUCacheEntry entry = this.entryQueueTail; entry != null; entry = entry.previous)
+				backward++;
+			boolean consistent = space == this.currentSpace && count == forward && forward == backward
+				&& (this.overflow > 0 || this.currentSpace <= this.spaceLimit);
+			return (consistent ? "consistent" : "INCONSISTENT") + " (space " + this.currentSpace + '/' + space //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ ", entries " + count + ", queue " + forward + '/' + backward + ')'; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+public static void main(String[] args) throws InterruptedException {
+	int processors = Runtime.getRuntime().availableProcessors();
+	int readers = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(16, 2 * processors);
+	int millis = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+	System.out.println(processors + " processors, " + readers + " readers, " + millis + " ms per run"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	run(true, readers, millis / 4); // warm up
+	run(false, readers, millis / 4);
+	for (int i = 0; i < 3; i++) {
+		run(true, readers, millis);
+		run(false, readers, millis);
+	}
+}
+
+private static void run(final boolean locked, int readers, int millis) throws InterruptedException {
+	final Cache cache = new Cache(2000);
+	final Object lock = new Object();
+	for (int i = 3000; --i >= 0;) { // the hot keys are added last, so that they are cached
+		synchronized (lock) {
+			cache.put(Integer.valueOf(i), new Value(1 + i % 3));
+		}
+	}
+	final boolean[] stop = new boolean[1];
+	final long[] counts = new long[3]; // reads, hits, writes
+	Thread[] threads = new Thread[readers + 1];
+	for (int i = 0; i < readers; i++) {
+		final int seed = i;
+		threads[i] = new Thread() {
+			public void run() {
+				Random random = new Random(seed);
+				long reads = 0, hits = 0;
+				while (!isStopped(stop)) {
+					for (int j = 0; j < 1000; j++) {
+						Integer key = Integer.valueOf(random.nextInt(10) < 8 ? random.nextInt(300) : random.nextInt(6000));
+						Object value;
+						if (locked) {
+							synchronized (lock) {
+								value = cache.get(key);
+							}
+						} else {
+							value = cache.get(key);
+						}
+						if (value != null)
+							hits++;
+					}
+					reads += 1000;
+				}
+				synchronized (counts) {
+					counts[0] += reads;
+					counts[1] += hits;
+				}
+			}
+		};
+	}
+	threads[readers] = new Thread() {
+		public void run() {
+			Random random = new Random(-1);
+			long writes = 0;
+			while (!isStopped(stop)) {
+				Integer key = Integer.valueOf(random.nextInt(6000));
+				synchronized (lock) {
+					if (cache.peek(key) == null)
+						cache.put(key, new Value(1 + key.intValue() % 3));
+					else if (random.nextInt(20) == 0)
+						cache.remove(key);
+				}
+				if ((++writes & 63) == 0)
+					Thread.yield();
+			}
+			synchronized (counts) {
+				counts[2] += writes;
+			}
+		}
+	};
+	for (int i = 0; i <= readers; i++)
+		threads[i].start();
+	Thread.sleep(millis);
+	synchronized (stop) {
+		stop[0] = true;
+	}
+	for (int i = 0; i <= readers; i++)
+		threads[i].join();
+	System.out.println((locked ? "locked reads:    " : "lock-free reads: ") //$NON-NLS-1$ //$NON-NLS-2$
+		+ counts[0] / millis + "k reads/s, " //$NON-NLS-1$
+		+ counts[2] / millis + "k writes/s, " //$NON-NLS-1$
+		+ counts[1] * 100 / Math.max(1, counts[0]) + "% hits, cache " //$NON-NLS-1$
+		+ cache.check());
+}
+
+static boolean isStopped(boolean[] stop) {
+	synchronized (stop) {
+		return stop[0];
+	}
+}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.performance;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
+
+/**
+ * Compiles generated units calling heavily overloaded methods, and prints the compile time and the
+ * overload resolution statistics of the batch compiler (-time:detail), which tell how many candidate
+ * methods were rejected by {@link org.eclipse.jdt.internal.compiler.lookup.CandidateFilter} before
+ * their applicability was checked.
+ * <p>
+ * The generated API mimics Guava's <code>ImmutableList.of</code>: generic overloads taking from 0
+ * to 11 elements, one with a variable arity, and overloads taking primitive arrays, strings and
+ * primitives. The units also chain <code>StringBuilder.append</code> calls with arguments of every kind.
+ * </p>
+ * Usage: <code>OverloadResolutionBenchmark &lt;bootclasspath&gt; [units] [runs]</code>, where the boot
+ * class path holds the <code>java.lang</code> and <code>java.util</code> classes (e.g. rt.jar, or a
+ * directory extracted from the modules image of a recent JDK).
+ */
+public class OverloadResolutionBenchmark {
+
+	private static final int MAX_ARITY = 11;
+
+public static void main(String[] args) throws IOException {
+	if (args.length == 0) {
+		System.out.println("Usage: OverloadResolutionBenchmark <bootclasspath> [units] [runs]"); //$NON-NLS-1$
+		return;
+	}
+	String bootclasspath = args[0];
+	int units = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+	int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+	File root = File.createTempFile("overloads", ""); //$NON-NLS-1$ //$NON-NLS-2$
+	root.delete();
+	File source = new File(root, "src/p"); //$NON-NLS-1$
+	source.mkdirs();
+	write(new File(source, "Lists.java"), listsSource()); //$NON-NLS-1$
+	for (int i = 0; i < units; i++)
+		write(new File(source, "Caller" + i + ".java"), callerSource(i)); //$NON-NLS-1$ //$NON-NLS-2$
+
+	String commandLine = "-1.8 -proc:none -nowarn -time:detail" //$NON-NLS-1$
+		+ " -bootclasspath \"" + bootclasspath + '"' //$NON-NLS-1$
+		+ " -d \"" + new File(root, "bin").getPath() + '"' //$NON-NLS-1$ //$NON-NLS-2$
+		+ " \"" + new File(root, "src").getPath() + '"'; //$NON-NLS-1$ //$NON-NLS-2$
+	try {
+		for (int run = 1; run <= runs; run++) {
+			StringWriter out = new StringWriter();
+			StringWriter err = new StringWriter();
+			long start = System.nanoTime();
+			boolean succeeded = BatchCompiler.compile(commandLine, new PrintWriter(out), new PrintWriter(err), null);
+			long time = (System.nanoTime() - start) / 1000000;
+			if (!succeeded) {
+				System.out.println(out.toString());
+				System.out.println(err.toString());
+				return;
+			}
+			System.out.println("run " + run + ": " + time + " ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			if (run == runs)
+				System.out.print(out.toString());
+		}
+	} finally {
+		delete(root);
+	}
+}
+
+private static String listsSource() {
+	StringBuffer buffer = new StringBuffer();
+	buffer.append("package p;\nimport java.util.*;\npublic final class Lists {\n"); //$NON-NLS-1$
+	for (int arity = 0; arity <= MAX_ARITY; arity++) {
+		buffer.append("\tpublic static <E> List<E> of("); //$NON-NLS-1$
+		for (int i = 0; i < arity; i++)
+			buffer.append(i == 0 ? "" : ", ").append("E e").append(i); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		buffer.append(") { return new ArrayList<E>(); }\n"); //$NON-NLS-1$
+	}
+	buffer.append("\tpublic static <E> List<E> of("); //$NON-NLS-1$
+	for (int i = 0; i <= MAX_ARITY; i++)
+		buffer.append("E e").append(i).append(", "); //$NON-NLS-1$ //$NON-NLS-2$
+	buffer.append("E... others) { return new ArrayList<E>(); }\n"); //$NON-NLS-1$
+	String[] primitives = {"int", "long", "double", "char", "boolean"}; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	for (int i = 0; i < primitives.length; i++) {
+		buffer.append("\tpublic static List<String> of(").append(primitives[i]).append("[] values) { return null; }\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\tpublic static List<String> of(String name, ").append(primitives[i]).append(" value) { return null; }\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\tpublic static List<String> of(").append(primitives[i]).append(" value, String name, Integer count) { return null; }\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+	buffer.append("}\n"); //$NON-NLS-1$
+	return buffer.toString();
+}
+
+private static String callerSource(int index) {
+	StringBuffer buffer = new StringBuffer();
+	buffer.append("package p;\nimport java.util.*;\npublic class Caller").append(index).append(" {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	buffer.append("\tString m(int i, long l, double d, char c, boolean b, Object o, String s, char[] chars, Integer count) {\n"); //$NON-NLS-1$
+	buffer.append("\t\tStringBuilder builder = new StringBuilder();\n"); //$NON-NLS-1$
+	for (int line = 0; line < 20; line++) {
+		buffer.append("\t\tbuilder.append(i).append(l).append(d).append(c).append(b).append(o).append(s).append(chars).append(builder).append(1.5f);\n"); //$NON-NLS-1$
+		buffer.append("\t\tList<Integer> ints").append(line).append(" = Lists.of(1, 2, 3);\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\t\tList<String> strings").append(line).append(" = Lists.of(s, s, s, s, s, s, s);\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\t\tList<String> named").append(line).append(" = Lists.of(s, i);\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\t\tList<String> counted").append(line).append(" = Lists.of(d, s, count);\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\t\tList<String> array").append(line).append(" = Lists.of(chars);\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+	buffer.append("\t\treturn builder.toString();\n\t}\n}\n"); //$NON-NLS-1$
+	return buffer.toString();
+}
+
+private static void delete(File file) {
+	File[] children = file.listFiles();
+	if (children != null)
+		for (int i = 0; i < children.length; i++)
+			delete(children[i]);
+	file.delete();
+}
+
+private static void write(File file, String contents) throws IOException {
+	FileWriter writer = new FileWriter(file);
+	try {
+		writer.write(contents);
+	} finally {
+		writer.close();
+	}
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -37,6 +37,19 @@ public final class CharOperation {
 	 */
 	public static final String[] NO_STRINGS = new String[0];
 
+	/*
+	 * Lower case of the obvious characters, folding the case of the chars compared by the
+	 * case insensitive operations without going through the character natures each time.
+	 * camelCaseMatch and hashCode never fold case: camel case parts are told apart by the
+	 * case of their chars, already read from ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES, and
+	 * hash codes are those of case sensitive equals.
+	 */
+	private static final char[] LOWER_CASE = new char[ScannerHelper.MAX_OBVIOUS];
+	static {
+		for (char c = 0; c < ScannerHelper.MAX_OBVIOUS; c++)
+			LOWER_CASE[c] = ScannerHelper.toLowerCase(c);
+	}
+
 /**
  * Answers a new array with appending the suffix character at the end of the array.
  * <br>
@@ -1836,9 +1849,11 @@ public static final boolean equals(char[] first, char[] second, int secondStart,
 			if (first[i] != second[i+secondStart])
 				return false;
 	} else {
-		for (int i = first.length; --i >= 0;)
-			if (ScannerHelper.toLowerCase(first[i]) != ScannerHelper.toLowerCase(second[i+secondStart]))
+		for (int i = first.length; --i >= 0;) {
+			char c1 = first[i], c2 = second[i+secondStart];
+			if (c1 != c2 && foldCase(c1) != foldCase(c2))
 				return false;
+		}
 	}
 	return true;
 }
@@ -1903,13 +1918,21 @@ public static final boolean equals(
 	if (first.length != second.length)
 		return false;
 
-	for (int i = first.length; --i >= 0;)
-		if (ScannerHelper.toLowerCase(first[i])
-			!= ScannerHelper.toLowerCase(second[i]))
+	for (int i = first.length; --i >= 0;) {
+		char c1 = first[i], c2 = second[i];
+		if (c1 != c2 && foldCase(c1) != foldCase(c2))
 			return false;
+	}
 	return true;
 }
 
+/*
+ * Same as ScannerHelper#toLowerCase(char), looking up the obvious characters in a table.
+ */
+private static char foldCase(char c) {
+	return c < ScannerHelper.MAX_OBVIOUS ? LOWER_CASE[c] : Character.toLowerCase(c);
+}
+
 /**
  * If isCaseSensite is true, the equality is case sensitive, otherwise it is case insensitive.
  *
@@ -1979,10 +2002,11 @@ public static final boolean fragmentEquals(
 	}
 	for (int i = max;
 		--i >= 0;
-		) // assumes the prefix is not larger than the name
-		if (ScannerHelper.toLowerCase(fragment[i])
-			!= ScannerHelper.toLowerCase(name[i + startIndex]))
+		) { // assumes the prefix is not larger than the name
+		char c1 = fragment[i], c2 = name[i + startIndex];
+		if (c1 != c2 && foldCase(c1) != foldCase(c2))
 			return false;
+	}
 	return true;
 }
 
@@ -2174,7 +2198,8 @@ public static final int indexOf(final char[] toBeFound, final char[] array, fina
 			return 0;
 		} else {
 			for (int i = start; i < arrayLength; i++) {
-				if (ScannerHelper.toLowerCase(array[i]) != ScannerHelper.toLowerCase(toBeFound[i])) return -1;
+				char c1 = array[i], c2 = toBeFound[i];
+				if (c1 != c2 && foldCase(c1) != foldCase(c2)) return -1;
 			}
 			return 0;
 		}
@@ -2189,10 +2214,12 @@ public static final int indexOf(final char[] toBeFound, final char[] array, fina
 			}
 		}
 	} else {
+		char first = foldCase(toBeFound[0]);
 		arrayLoop: for (int i = start, max = arrayLength - toBeFoundLength + 1; i < max; i++) {
-			if (ScannerHelper.toLowerCase(array[i]) == ScannerHelper.toLowerCase(toBeFound[0])) {
+			if (foldCase(array[i]) == first) {
 				for (int j = 1; j < toBeFoundLength; j++) {
-					if (ScannerHelper.toLowerCase(array[i + j]) != ScannerHelper.toLowerCase(toBeFound[j])) continue arrayLoop;
+					char c1 = array[i + j], c2 = toBeFound[j];
+					if (c1 != c2 && foldCase(c1) != foldCase(c2)) continue arrayLoop;
 				}
 				return i;
 			}
@@ -2594,7 +2621,7 @@ public static final boolean match(
 		if (patternChar
 			!= (isCaseSensitive
 				? name[iName]
-				: ScannerHelper.toLowerCase(name[iName]))
+				: foldCase(name[iName]))
 			&& patternChar != '?') {
 			return false;
 		}
@@ -2625,7 +2652,7 @@ public static final boolean match(
 			continue checkSegment;
 		}
 		/* check current name character */
-		if ((isCaseSensitive ? name[iName] : ScannerHelper.toLowerCase(name[iName]))
+		if ((isCaseSensitive ? name[iName] : foldCase(name[iName]))
 					!= patternChar
 				&& patternChar != '?') {
 			iPattern = segmentStart; // mismatch - restart current segment
@@ -3065,10 +3092,11 @@ public static final boolean prefixEquals(
 		return true;
 	}
 
-	for (int i = max; --i >= 0;) // assumes the prefix is not larger than the name
-		if (ScannerHelper.toLowerCase(prefix[i])
-			!= ScannerHelper.toLowerCase(name[startIndex + i]))
+	for (int i = max; --i >= 0;) { // assumes the prefix is not larger than the name
+		char c1 = prefix[i], c2 = name[startIndex + i];
+		if (c1 != c2 && foldCase(c1) != foldCase(c2))
 			return false;
+	}
 	return true;
 }
 
@@ -3677,7 +3705,7 @@ final static public char[] toLowerCase(char[] chars) {
 	char[] lowerChars = null;
 	for (int i = 0; i < length; i++) {
 		char c = chars[i];
-		char lc = ScannerHelper.toLowerCase(c);
+		char lc = foldCase(c);
 		if ((c != lc) || (lowerChars != null)) {
 			if (lowerChars == null) {
 				System.arraycopy(
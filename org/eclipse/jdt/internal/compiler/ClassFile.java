@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -100,6 +100,7 @@ import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
 import org.eclipse.jdt.internal.compiler.lookup.TypeVariableBinding;
 import org.eclipse.jdt.internal.compiler.problem.ProblemSeverities;
 import org.eclipse.jdt.internal.compiler.problem.ShouldNotImplement;
+import org.eclipse.jdt.internal.compiler.util.ByteArrayPool;
 import org.eclipse.jdt.internal.compiler.util.Messages;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
@@ -146,7 +147,13 @@ public class ClassFile implements TypeConstants, TypeIds {
 	public int methodCount;
 	public int methodCountOffset;
 	// pool managment
-	boolean isShared = false;
+	volatile boolean isShared = false;
+	// buffers are taken from the byte arrays of the owning pool, if any
+	ByteArrayPool byteArrays;
+	private byte[][] retiredArrays;
+	private int retiredCount;
+	// bytes allocated (not recycled) for the buffers of this class file since last reset
+	public int allocatedBytes;
 	// used to generate private access methods
 	// debug and stack map attributes
 	public int produceAttributes;
@@ -267,7 +274,11 @@ public class ClassFile implements TypeConstants, TypeIds {
 	}
 
 	public ClassFile(SourceTypeBinding typeBinding) {
-		// default constructor for subclasses
+		this(typeBinding, null);
+	}
+
+	ClassFile(SourceTypeBinding typeBinding, ByteArrayPool byteArrays) {
+		this.byteArrays = byteArrays;
 		this.constantPool = new ConstantPool(this);
 		final CompilerOptions options = typeBinding.scope.compilerOptions();
 		this.targetJDK = options.targetJDK;
@@ -4894,8 +4905,12 @@ public class ClassFile implements TypeConstants, TypeIds {
 
 	protected void initByteArrays() {
 		int members = this.referenceBinding.methods().length + this.referenceBinding.fields().length;
-		this.header = new byte[INITIAL_HEADER_SIZE];
-		this.contents = new byte[members < 15 ? INITIAL_CONTENTS_SIZE : INITIAL_HEADER_SIZE];
+		if (this.header != null)
+			retireByteArray(this.header);
+		if (this.contents != null)
+			retireByteArray(this.contents);
+		this.header = newByteArray(INITIAL_HEADER_SIZE);
+		this.contents = newByteArray(members < 15 ? INITIAL_CONTENTS_SIZE : INITIAL_HEADER_SIZE);
 	}
 
 	public void initialize(SourceTypeBinding aType, ClassFile parentClassFile, boolean createProblemType) {
@@ -5234,6 +5249,8 @@ public class ClassFile implements TypeConstants, TypeIds {
 			this.produceAttributes |= ClassFileConstants.ATTR_STACK_MAP;
 		}
 		this.bytes = null;
+		recycleRetiredByteArrays();
+		this.allocatedBytes = 0;
 		this.constantPool.reset();
 		this.codeStream.reset(this);
 		this.constantPoolOffset = 0;
@@ -5261,7 +5278,61 @@ public class ClassFile implements TypeConstants, TypeIds {
 		int toAdd = length;
 		if (toAdd < minimalSize)
 			toAdd = minimalSize;
-		System.arraycopy(this.contents, 0, this.contents = new byte[length + toAdd], 0, length);
+		byte[] newContents = newByteArray(length + toAdd);
+		System.arraycopy(this.contents, 0, newContents, 0, length);
+		retireByteArray(this.contents);
+		this.contents = newContents;
+	}
+
+	/**
+	 * INTERNAL USE-ONLY
+	 * Answer a buffer of at least the given size, from the byte arrays of the owning pool if any.
+	 */
+	public byte[] newByteArray(int minimalSize) {
+		if (this.byteArrays == null) {
+			this.allocatedBytes += minimalSize;
+			return new byte[minimalSize];
+		}
+		long allocated = this.byteArrays.allocatedBytes;
+		byte[] array = this.byteArrays.acquire(minimalSize);
+		this.allocatedBytes += (int) (this.byteArrays.allocatedBytes - allocated);
+		return array;
+	}
+
+	/**
+	 * INTERNAL USE-ONLY
+	 * Record a buffer outgrown by the receiver, its code stream or constant pool. It is given back
+	 * to the owning pool only when the receiver is reset, since stale references to it may
+	 * still be used while generating the current type.
+	 * A buffer may be retired more than once, e.g. when the code generation of a method restarts
+	 * in wide mode on the contents the code stream had already outgrown: it is only recorded once,
+	 * so that it is never given back twice, then handed to two class files.
+	 */
+	public void retireByteArray(byte[] array) {
+		if (this.byteArrays == null)
+			return;
+		for (int i = 0; i < this.retiredCount; i++) {
+			if (this.retiredArrays[i] == array)
+				return;
+		}
+		if (this.retiredArrays == null) {
+			this.retiredArrays = new byte[4][];
+		} else if (this.retiredCount == this.retiredArrays.length) {
+			System.arraycopy(this.retiredArrays, 0, this.retiredArrays = new byte[this.retiredCount * 2][], 0, this.retiredCount);
+		}
+		this.retiredArrays[this.retiredCount++] = array;
+	}
+
+	private void recycleRetiredByteArrays() {
+		for (int i = 0; i < this.retiredCount; i++) {
+			byte[] array = this.retiredArrays[i];
+			this.retiredArrays[i] = null;
+			// never give back a buffer which is still in use
+			if (array != this.header && array != this.contents
+					&& array != this.codeStream.bCodeStream && array != this.constantPool.poolContent)
+				this.byteArrays.recycle(array);
+		}
+		this.retiredCount = 0;
 	}
 
 	private VerificationTypeInfo retrieveLocal(int currentPC, int resolvedPosition) {
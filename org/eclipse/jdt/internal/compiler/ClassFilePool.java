@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2008 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,44 +10,137 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
+import org.eclipse.jdt.internal.compiler.util.ByteArrayPool;
 
+/**
+ * Pool of class files, kept per generating thread so that acquiring one needs no lock.
+ * Each thread also owns a {@link ByteArrayPool} from which its class files take their
+ * header, contents and code stream buffers, and into which they give back the buffers
+ * they outgrew once they are reset.
+ * <p>
+ * A class file may be released from another thread than the one which acquired it
+ * (e.g. the batch compiler writes class files while the processing thread generates
+ * the next ones); releasing clears its shared flag and records the bytes allocated for it.
+ * </p>
+ * The thread pools are dropped when the pool is reset, so that the pools of the threads
+ * which are gone do not outlive the compilation.
+
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
 public class ClassFilePool {
 	public static final int POOL_SIZE = 25; // need to have enough for 2 units
-	ClassFile[] classFiles;
+	public static final int MAX_POOL_SIZE = 100; // per thread, beyond which class files are not pooled
+
+	static class ThreadPool {
+		ClassFile[] classFiles = new ClassFile[POOL_SIZE];
+		int size;
+		ByteArrayPool byteArrays = new ByteArrayPool();
+		int acquiredCount;
+	}
+
+	private volatile ThreadLocal threadPools;
+	private ArrayList allPools; // the thread pools since last reset, used to collect statistics
+
+	// the class files released since last reset
+	private long releasedCount;
+	private long releasedAllocatedBytes;
+	private int maxAllocatedBytes;
 
 private ClassFilePool() {
 	// prevent instantiation
-	this.classFiles = new ClassFile[POOL_SIZE];
+	this.allPools = new ArrayList();
+	this.threadPools = newThreadPools();
+}
+
+private ThreadLocal newThreadPools() {
+	return new ThreadLocal() {
+		protected Object initialValue() {
+			ThreadPool pool = new ThreadPool();
+			synchronized (ClassFilePool.this.allPools) {
+				ClassFilePool.this.allPools.add(pool);
+			}
+			return pool;
+		}
+	};
 }
 
 public static ClassFilePool newInstance() {
 	return new ClassFilePool();
 }
 
-public synchronized ClassFile acquire(SourceTypeBinding typeBinding) {
-	for (int i = 0; i < POOL_SIZE; i++) {
-		ClassFile classFile = this.classFiles[i];
-		if (classFile == null) {
-			ClassFile newClassFile = new ClassFile(typeBinding);
-			this.classFiles[i] = newClassFile;
-			newClassFile.isShared = true;
-			return newClassFile;
-		}
+public ClassFile acquire(SourceTypeBinding typeBinding) {
+	ThreadPool pool = (ThreadPool) this.threadPools.get();
+	pool.acquiredCount++;
+	ClassFile[] classFiles = pool.classFiles;
+	int size = pool.size;
+	for (int i = 0; i < size; i++) {
+		ClassFile classFile = classFiles[i];
 		if (!classFile.isShared) {
 			classFile.reset(typeBinding);
 			classFile.isShared = true;
 			return classFile;
 		}
 	}
-	return new ClassFile(typeBinding);
+	if (size == MAX_POOL_SIZE)
+		return new ClassFile(typeBinding);
+	if (size == classFiles.length)
+		System.arraycopy(classFiles, 0, (pool.classFiles = classFiles = new ClassFile[Math.min(size * 2, MAX_POOL_SIZE)]), 0, size);
+	ClassFile newClassFile = new ClassFile(typeBinding, pool.byteArrays);
+	classFiles[size] = newClassFile;
+	pool.size = size + 1;
+	newClassFile.isShared = true;
+	return newClassFile;
 }
-public synchronized void release(ClassFile classFile) {
+public void release(ClassFile classFile) {
+	int allocatedBytes = classFile.allocatedBytes; // read before the class file can be acquired again
+	synchronized (this) {
+		this.releasedCount++;
+		this.releasedAllocatedBytes += allocatedBytes;
+		if (allocatedBytes > this.maxAllocatedBytes)
+			this.maxAllocatedBytes = allocatedBytes;
+	}
 	classFile.isShared = false;
 }
+/**
+ * Add the class file statistics of all threads to the given stats.
+ */
+public void recordStats(CompilerStats stats) {
+	synchronized (this.allPools) {
+		for (int i = 0, max = this.allPools.size(); i < max; i++) {
+			ThreadPool pool = (ThreadPool) this.allPools.get(i);
+			stats.classFileCount += pool.acquiredCount;
+			stats.classFileAllocatedBytes += pool.byteArrays.allocatedBytes;
+			stats.classFileRecycledBytes += pool.byteArrays.recycledBytes;
+		}
+	}
+	synchronized (this) {
+		stats.classFileReleasedCount += this.releasedCount;
+		stats.classFileReleasedAllocatedBytes += this.releasedAllocatedBytes;
+		if (this.maxAllocatedBytes > stats.classFileMaxAllocatedBytes)
+			stats.classFileMaxAllocatedBytes = this.maxAllocatedBytes;
+	}
+}
 public void reset() {
-	Arrays.fill(this.classFiles, null);
+	// the threads still alive get a new pool when they next acquire a class file
+	this.threadPools = newThreadPools();
+	synchronized (this.allPools) {
+		for (int i = 0, max = this.allPools.size(); i < max; i++) {
+			ThreadPool pool = (ThreadPool) this.allPools.get(i);
+			Arrays.fill(pool.classFiles, null);
+			pool.size = 0;
+			pool.byteArrays.clear();
+		}
+		this.allPools.clear();
+	}
+	synchronized (this) {
+		this.releasedCount = 0;
+		this.releasedAllocatedBytes = 0;
+		this.maxAllocatedBytes = 0;
+	}
 }
 }
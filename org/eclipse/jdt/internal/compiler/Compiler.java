@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -620,6 +620,12 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				processingTask.shutdown();
 				processingTask = null;
 			}
+			this.lookupEnvironment.classFilePool.recordStats(this.stats);
+			this.lookupEnvironment.inferenceResults.recordStats(this.stats);
+			this.lookupEnvironment.incorporationStats.recordStats(this.stats);
+			this.lookupEnvironment.inheritedMethods.recordStats(this.stats);
+			this.lookupEnvironment.candidateStats.recordStats(this.stats);
+			this.lookupEnvironment.inheritedMethodTables.recordStats(this.stats);
 			reset();
 			this.annotationProcessorStartIndex  = 0;
 			this.stats.endTime = System.currentTimeMillis();
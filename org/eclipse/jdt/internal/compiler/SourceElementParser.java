@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -231,7 +231,7 @@ protected void classInstanceCreation(boolean alwaysQualified) {
 				? ((SingleTypeReference) typeRef).token
 				: CharOperation.concatWith(alloc.type.getParameterizedTypeName(), '.'),
 			alloc.arguments == null ? 0 : alloc.arguments.length,
-			alloc.sourceStart);
+			typeRef.sourceStart); // where the type is named
 	}
 }
 protected void consumeAnnotationAsModifier() {
@@ -254,7 +254,7 @@ protected void consumeClassInstanceCreationExpressionQualifiedWithTypeArguments(
 				? ((SingleTypeReference) typeRef).token
 				: CharOperation.concatWith(alloc.type.getParameterizedTypeName(), '.'),
 			alloc.arguments == null ? 0 : alloc.arguments.length,
-			alloc.sourceStart);
+			typeRef.sourceStart); // where the type is named
 	}
 }
 protected void consumeAnnotationTypeDeclarationHeaderName() {
@@ -297,7 +297,7 @@ protected void consumeClassInstanceCreationExpressionWithTypeArguments() {
 				? ((SingleTypeReference) typeRef).token
 				: CharOperation.concatWith(alloc.type.getParameterizedTypeName(), '.'),
 			alloc.arguments == null ? 0 : alloc.arguments.length,
-			alloc.sourceStart);
+			typeRef.sourceStart); // where the type is named
 	}
 }
 protected void consumeConstructorHeaderName() {
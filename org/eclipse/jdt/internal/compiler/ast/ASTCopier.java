@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.ast;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Makes structural copies of a compiler AST which has been parsed but not resolved, e.g. a lambda
+ * expression parsed once for all the copies {@link LambdaExpression#copy()} makes of it, so that each
+ * copy does not parse the same source again.
+ * <p>
+ * The nodes of the tree, and the arrays they hold, are found once when the copier is created. Each copy
+ * clones all of them with {@link Object#clone()}, then sets each field or array element which referred
+ * to one of them to its clone. The nodes held by static fields of the node classes (e.g. IntLiteral.One),
+ * the compilation unit and the other values of the fields (char arrays, positions, constants, the
+ * compilation result) are shared with the original. A node or array referenced from several places of
+ * the tree (e.g. the type of several local variables declared together) is cloned once, so that the
+ * copy has the same shape as the original.
+ * </p>
+ * The original must never be resolved: resolving stores bindings, scopes and flow information in the
+ * nodes and in their arrays, which would then be copied too.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class ASTCopier {
+
+	// node class -> the fields of its instances which may hold a node or an array
+	private static final ConcurrentHashMap COPIED_FIELDS = new ConcurrentHashMap();
+	// the nodes held by static fields of the node classes, e.g. IntLiteral.One, never copied
+	private static final Map SHARED_NODES = Collections.synchronizedMap(new IdentityHashMap());
+
+	final ASTNode original;
+	private Object[] originals; // the nodes and arrays of the tree, the original first
+	private int count;
+	// references to the nodes and arrays of the tree: from the field, or the element at the slot, of the owner
+	private int[] owners, slots, targets;
+	private Field[] fields;
+	private int referenceCount;
+
+ASTCopier(ASTNode original) {
+	this.original = original;
+	this.originals = new Object[32];
+	this.owners = new int[64];
+	this.slots = new int[64];
+	this.targets = new int[64];
+	this.fields = new Field[64];
+	IdentityHashMap indexes = new IdentityHashMap();
+	add(original, indexes);
+}
+
+/**
+ * Answer a new copy of the original tree.
+ */
+ASTNode copy() {
+	Object[] copies = new Object[this.count];
+	try {
+		for (int i = 0; i < this.count; i++) {
+			Object object = this.originals[i];
+			if (object instanceof ASTNode) {
+				copies[i] = ((ASTNode) object).clone();
+			} else {
+				int length = Array.getLength(object);
+				System.arraycopy(object, 0, copies[i] = Array.newInstance(object.getClass().getComponentType(), length), 0, length);
+			}
+		}
+		for (int i = 0; i < this.referenceCount; i++) {
+			Field field = this.fields[i];
+			if (field != null)
+				field.set(copies[this.owners[i]], copies[this.targets[i]]);
+			else
+				((Object[]) copies[this.owners[i]])[this.slots[i]] = copies[this.targets[i]];
+		}
+	} catch (CloneNotSupportedException e) {
+		throw new IllegalStateException(e.getMessage());
+	} catch (IllegalAccessException e) {
+		throw new IllegalStateException(e.getMessage());
+	}
+	return (ASTNode) copies[0];
+}
+
+/**
+ * Answer the index of the given node or array of the tree, once added with the nodes and arrays it holds,
+ * or -1 if it is not part of the tree.
+ */
+private int add(Object object, IdentityHashMap indexes) {
+	Field[] nodeFields = null;
+	if (object instanceof ASTNode) {
+		nodeFields = copiedFields(object.getClass()); // also finds the constants of its class
+		if (object instanceof CompilationUnitDeclaration || SHARED_NODES.containsKey(object))
+			return -1; // not part of the tree
+	} else {
+		Class type = object.getClass();
+		if (!type.isArray() || type == char[].class || type == char[][].class || Array.getLength(object) == 0)
+			return -1; // shared, e.g. names or NO_ARGUMENTS, which may be compared by identity
+	}
+	Integer known = (Integer) indexes.get(object);
+	if (known != null)
+		return known.intValue();
+	int index = this.count++;
+	if (index == this.originals.length)
+		System.arraycopy(this.originals, 0, this.originals = new Object[index * 2], 0, index);
+	this.originals[index] = object;
+	indexes.put(object, Integer.valueOf(index));
+	try {
+		if (nodeFields != null) {
+			for (int i = 0; i < nodeFields.length; i++) {
+				Object value = nodeFields[i].get(object);
+				int target;
+				if (value != null && (target = add(value, indexes)) >= 0)
+					addReference(index, nodeFields[i], 0, target);
+			}
+		} else if (object instanceof Object[]) {
+			Object[] elements = (Object[]) object;
+			for (int i = 0, length = elements.length; i < length; i++) {
+				int target;
+				if (elements[i] != null && (target = add(elements[i], indexes)) >= 0)
+					addReference(index, null, i, target);
+			}
+		}
+	} catch (IllegalAccessException e) {
+		throw new IllegalStateException(e.getMessage());
+	}
+	return index;
+}
+
+private void addReference(int owner, Field field, int slot, int target) {
+	int index = this.referenceCount++;
+	if (index == this.owners.length) {
+		System.arraycopy(this.owners, 0, this.owners = new int[index * 2], 0, index);
+		System.arraycopy(this.slots, 0, this.slots = new int[index * 2], 0, index);
+		System.arraycopy(this.targets, 0, this.targets = new int[index * 2], 0, index);
+		System.arraycopy(this.fields, 0, this.fields = new Field[index * 2], 0, index);
+	}
+	this.owners[index] = owner;
+	this.fields[index] = field;
+	this.slots[index] = slot;
+	this.targets[index] = target;
+}
+
+private static Field[] copiedFields(Class nodeClass) {
+	Field[] nodeFields = (Field[]) COPIED_FIELDS.get(nodeClass);
+	if (nodeFields == null) {
+		ArrayList copied = new ArrayList();
+		for (Class current = nodeClass; current != Object.class; current = current.getSuperclass()) {
+			Field[] declared = current.getDeclaredFields();
+			for (int i = 0; i < declared.length; i++) {
+				Field field = declared[i];
+				Class type = field.getType();
+				if (type.isPrimitive() || type == char[].class || type == char[][].class || type == String.class)
+					continue;
+				field.setAccessible(true);
+				if ((field.getModifiers() & Modifier.STATIC) == 0) {
+					copied.add(field);
+				} else if (ASTNode.class.isAssignableFrom(type)) {
+					try {
+						Object constant = field.get(null);
+						if (constant != null)
+							SHARED_NODES.put(constant, constant);
+					} catch (IllegalAccessException e) {
+						throw new IllegalStateException(e.getMessage());
+					}
+				}
+			}
+		}
+		nodeFields = new Field[copied.size()];
+		copied.toArray(nodeFields);
+		COPIED_FIELDS.put(nodeClass, nodeFields);
+	}
+	return nodeFields;
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -74,7 +74,7 @@ import org.eclipse.jdt.internal.compiler.lookup.TypeVariableBinding;
 import org.eclipse.jdt.internal.compiler.lookup.WildcardBinding;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
-public abstract class ASTNode implements TypeConstants, TypeIds {
+public abstract class ASTNode implements TypeConstants, TypeIds, Cloneable {
 
 	public int sourceStart, sourceEnd;
 
@@ -328,6 +328,12 @@ public abstract class ASTNode implements TypeConstants, TypeIds {
 
 		super();
 	}
+	/**
+	 * Answer a shallow copy of the receiver, see ASTCopier.
+	 */
+	protected Object clone() throws CloneNotSupportedException {
+		return super.clone();
+	}
 	private static int checkInvocationArgument(BlockScope scope, Expression argument, TypeBinding parameterType, TypeBinding argumentType, TypeBinding originalParameterType) {
 		argument.computeConversion(scope, parameterType, argumentType);
 
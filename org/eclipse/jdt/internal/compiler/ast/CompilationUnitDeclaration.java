@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -33,12 +33,14 @@ import org.eclipse.jdt.internal.compiler.lookup.MethodScope;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
 import org.eclipse.jdt.internal.compiler.parser.NLSTag;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilationUnit;
 import org.eclipse.jdt.internal.compiler.problem.AbortMethod;
 import org.eclipse.jdt.internal.compiler.problem.AbortType;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.compiler.problem.ProblemSeverities;
 import org.eclipse.jdt.internal.compiler.util.HashSetOfInt;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfInt;
 
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class CompilationUnitDeclaration extends ASTNode implements ProblemSeverities, ReferenceContext {
@@ -84,6 +86,12 @@ public class CompilationUnitDeclaration extends ASTNode implements ProblemSeveri
 	public int functionalExpressionsCount;
 	public FunctionalExpression[] functionalExpressions;
 
+	// source and parser reused by LambdaExpression#copy() during overload resolution,
+	// and copiers of the lambda expressions parsed from that source, by start position
+	char[] lambdaSource;
+	Parser lambdaParser;
+	HashtableOfInt parsedLambdas;
+
 public CompilationUnitDeclaration(ProblemReporter problemReporter, CompilationResult compilationResult, int sourceLength) {
 	this.problemReporter = problemReporter;
 	this.compilationResult = compilationResult;
@@ -158,6 +166,9 @@ public void cleanUp() {
 	}
 
 	this.suppressWarningAnnotations = null;
+	this.lambdaSource = null;
+	this.lambdaParser = null;
+	this.parsedLambdas = null;
 }
 
 private void cleanUp(TypeDeclaration type) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2014 IBM Corporation and others.
+ * Copyright (c) 2012, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -97,7 +97,9 @@ import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilationUnit;
 import org.eclipse.jdt.internal.compiler.problem.AbortMethod;
 import org.eclipse.jdt.internal.compiler.problem.AbortType;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.compiler.problem.ProblemSeverities;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfInt;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class LambdaExpression extends FunctionalExpression implements IPolyExpression, ReferenceContext, ProblemSeverities {
@@ -954,11 +956,32 @@ public class LambdaExpression extends FunctionalExpression implements IPolyExpre
 	}
 
 	LambdaExpression copy() {
-		final Parser parser = new Parser(this.enclosingScope.problemReporter(), false);
+		final CompilationUnitDeclaration unit = this.enclosingScope.referenceCompilationUnit();
 		final ICompilationUnit compilationUnit = this.compilationResult.getCompilationUnit();
-		char[] source = compilationUnit != null ? compilationUnit.getContents() : this.text;
-		LambdaExpression copy =  (LambdaExpression) parser.parseLambdaExpression(source, compilationUnit != null ? this.sourceStart : 0, this.sourceEnd - this.sourceStart + 1, 
-										this.enclosingScope.referenceCompilationUnit(), false /* record line separators */);
+		// copies are requested for every target type tried, and for every copy of an enclosing lambda:
+		// reuse the parser and the unit source rather than creating and (re)reading them each time
+		LambdaExpression copy;
+		if (compilationUnit != null && compilationUnit == unit.compilationResult.compilationUnit) {
+			// the lambda found at the same position of the unit source is only parsed once, then its
+			// unresolved tree is copied for each target type and each copy of an enclosing lambda
+			if (unit.parsedLambdas == null)
+				unit.parsedLambdas = new HashtableOfInt();
+			ASTCopier parsed = (ASTCopier) unit.parsedLambdas.get(this.sourceStart);
+			if (parsed == null || parsed.original.sourceEnd != this.sourceEnd) {
+				if (unit.lambdaSource == null)
+					unit.lambdaSource = compilationUnit.getContents();
+				LambdaExpression lambda = (LambdaExpression) lambdaParser(unit).parseLambdaExpression(unit.lambdaSource, this.sourceStart, this.sourceEnd - this.sourceStart + 1,
+										unit, false /* record line separators */);
+				if (lambda == null)
+					return null;
+				unit.parsedLambdas.put(this.sourceStart, parsed = new ASTCopier(lambda));
+			}
+			copy = (LambdaExpression) parsed.copy();
+		} else {
+			char[] source = compilationUnit != null ? compilationUnit.getContents() : this.text;
+			copy = (LambdaExpression) lambdaParser(unit).parseLambdaExpression(source, compilationUnit != null ? this.sourceStart : 0, this.sourceEnd - this.sourceStart + 1,
+										unit, false /* record line separators */);
+		}
 
 		if (copy != null) { // ==> syntax errors == null
 			copy.original = this;
@@ -968,6 +991,17 @@ public class LambdaExpression extends FunctionalExpression implements IPolyExpre
 		return copy;
 	}
 
+	private Parser lambdaParser(CompilationUnitDeclaration unit) {
+		ProblemReporter problemReporter = this.enclosingScope.problemReporter();
+		Parser parser = unit.lambdaParser;
+		if (parser == null || problemReporter != unit.problemReporter) {
+			parser = new Parser(problemReporter, false);
+			if (problemReporter == unit.problemReporter)
+				unit.lambdaParser = parser;
+		}
+		return parser;
+	}
+
 	public void returnsExpression(Expression expression, TypeBinding resultType) {
 		if (this.original == this) // Not in overload resolution context. result expressions not relevant.
 			return;
@@ -0,0 +1,308 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Writes the class files produced by the batch compiler, either into output directories
+ * or into a single jar/zip archive.
+ * <p>
+ * When asynchronous, the writes are queued (the queue is bounded, the compiler waits when
+ * it is full) and performed by a background thread, so that disk I/O does not block code
+ * generation. The bytes of a class file are detached from the pooled {@link org.eclipse.jdt.internal.compiler.ClassFile}
+ * before being queued. Directories are created once per package.
+ * </p>
+ * I/O failures are collected by the writing thread and reported by the compiler thread
+ * through {@link #collectFailures()}. An error stopping the writing thread is thrown again
+ * by the next write, the requests left in the queue are written by {@link #shutdown()}.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ClassFileWriteManager implements Runnable {
+
+	public static final int WRITE_QUEUE_SIZE = 64;
+	private static final int ARCHIVE_BUFFER_SIZE = 64 * 1024;
+
+	private Thread writingThread;
+	private String archivePath;
+	private ZipOutputStream archive;
+	private HashSet createdDirectories;
+	private HashSet archiveEntries;
+	private ArrayList failures; // triples of (output path, relative file name, exception)
+	private Error writerError; // the error which stopped the writing thread, if any
+
+	// queue
+	private WriteRequest[] requests;
+	private int currentIndex, availableIndex;
+	private boolean done;
+
+	static class WriteRequest {
+		boolean generatePackagesStructure;
+		String outputPath;
+		String relativeFileName;
+		byte[] bytes;
+
+		WriteRequest(boolean generatePackagesStructure, String outputPath, String relativeFileName, byte[] bytes) {
+			this.generatePackagesStructure = generatePackagesStructure;
+			this.outputPath = outputPath;
+			this.relativeFileName = relativeFileName;
+			this.bytes = bytes;
+		}
+	}
+
+/**
+ * Answer whether the given destination path designates an archive into which
+ * class files are written, rather than a directory.
+ */
+public static boolean isArchiveDestination(String destinationPath) {
+	if (destinationPath == null || destinationPath == Main.NONE)
+		return false;
+	String lowerCase = destinationPath.toLowerCase();
+	if (!lowerCase.endsWith(SuffixConstants.SUFFIX_STRING_jar) && !lowerCase.endsWith(SuffixConstants.SUFFIX_STRING_zip))
+		return false;
+	return !new File(destinationPath).isDirectory();
+}
+
+/**
+ * @param asynchronous whether a background thread should perform the writes
+ * @param archivePath the archive receiving the class files written with packages
+ *   structure into it, or null to write into directories only
+ */
+public ClassFileWriteManager(boolean asynchronous, String archivePath) {
+	this.archivePath = archivePath;
+	this.createdDirectories = new HashSet();
+	this.failures = new ArrayList();
+	if (asynchronous) {
+		this.requests = new WriteRequest[WRITE_QUEUE_SIZE];
+		this.writingThread = new Thread(this, "Compiler Writing Task"); //$NON-NLS-1$
+		this.writingThread.setDaemon(true);
+		this.writingThread.start();
+	}
+}
+
+/**
+ * Write the given class file bytes, or queue them for writing.
+ * @param relativeFileName the file name relative to the output path, using the platform
+ *   file separator
+ */
+public void write(boolean generatePackagesStructure, String outputPath, String relativeFileName, byte[] bytes) {
+	WriteRequest request = new WriteRequest(generatePackagesStructure, outputPath, relativeFileName, bytes);
+	if (this.requests == null) { // synchronous
+		perform(request);
+		return;
+	}
+	boolean interrupted = false;
+	try {
+		synchronized (this) {
+			while (true) {
+				if (this.writerError != null)
+					throw this.writerError;
+				if (this.writingThread == null) {
+					// already shut down, fall back on writing ourselves
+					perform(request);
+					return;
+				}
+				if (this.requests[this.availableIndex] == null)
+					break;
+				try {
+					wait(250);
+				} catch (InterruptedException e) {
+					interrupted = true; // the writing thread may be writing, keep waiting for a free slot
+				}
+			}
+			this.requests[this.availableIndex++] = request;
+			if (this.availableIndex >= WRITE_QUEUE_SIZE)
+				this.availableIndex = 0;
+			notifyAll();
+		}
+	} finally {
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+}
+
+public void run() {
+	try {
+		while (true) {
+			WriteRequest request;
+			synchronized (this) {
+				while ((request = this.requests[this.currentIndex]) == null) {
+					if (this.done)
+						return;
+					try {
+						wait(100);
+					} catch (InterruptedException ignore) {
+						// ignore
+					}
+				}
+			}
+			try {
+				perform(request);
+			} catch (RuntimeException e) {
+				synchronized (this) {
+					this.failures.add(new Object[] {request.outputPath, request.relativeFileName, new IOException(e.toString())});
+				}
+			} catch (Error e) {
+				synchronized (this) {
+					this.failures.add(new Object[] {request.outputPath, request.relativeFileName, new IOException(e.toString())});
+					this.writerError = e;
+				}
+				throw e;
+			}
+			synchronized (this) {
+				this.requests[this.currentIndex++] = null;
+				if (this.currentIndex >= WRITE_QUEUE_SIZE)
+					this.currentIndex = 0;
+				notifyAll(); // wake up compiler thread waiting for a free slot
+			}
+		}
+	} finally {
+		synchronized (this) {
+			// whatever stopped this thread, the compiler thread must not wait for it anymore
+			this.writingThread = null;
+			notifyAll();
+		}
+	}
+}
+
+private void perform(WriteRequest request) {
+	try {
+		if (this.archivePath != null && this.archivePath.equals(request.outputPath)) {
+			writeToArchive(request);
+		} else {
+			writeToDisk(request);
+		}
+	} catch (IOException e) {
+		synchronized (this) {
+			this.failures.add(new Object[] {request.outputPath, request.relativeFileName, e});
+		}
+	}
+}
+
+private void writeToArchive(WriteRequest request) throws IOException {
+	if (this.archive == null) {
+		File archiveFile = new File(this.archivePath);
+		File parent = archiveFile.getAbsoluteFile().getParentFile();
+		if (parent != null)
+			parent.mkdirs();
+		this.archive = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(archiveFile), ARCHIVE_BUFFER_SIZE));
+		this.archiveEntries = new HashSet();
+	}
+	String entryName = request.relativeFileName.replace(File.separatorChar, '/');
+	if (!this.archiveEntries.add(entryName))
+		return; // already written during this compilation
+	this.archive.putNextEntry(new ZipEntry(entryName));
+	this.archive.write(request.bytes);
+	this.archive.closeEntry();
+}
+
+private void writeToDisk(WriteRequest request) throws IOException {
+	String fileName;
+	if (request.generatePackagesStructure) {
+		String outputPath = request.outputPath.replace('/', File.separatorChar);
+		if (!outputPath.endsWith(File.separator))
+			outputPath += File.separator;
+		int separatorIndex = request.relativeFileName.lastIndexOf(File.separatorChar);
+		String directory = separatorIndex == -1 ? outputPath : outputPath + request.relativeFileName.substring(0, separatorIndex);
+		if (this.createdDirectories.contains(directory)) {
+			fileName = outputPath + request.relativeFileName;
+		} else {
+			fileName = Util.buildAllDirectoriesInto(request.outputPath, request.relativeFileName);
+			this.createdDirectories.add(directory);
+		}
+	} else {
+		String outputPath = request.outputPath.replace('/', File.separatorChar);
+		if (!outputPath.endsWith(File.separator))
+			outputPath += File.separator;
+		int separatorIndex = request.relativeFileName.lastIndexOf(File.separatorChar);
+		fileName = outputPath + request.relativeFileName.substring(separatorIndex + 1);
+	}
+	FileOutputStream output = new FileOutputStream(fileName);
+	try {
+		output.write(request.bytes);
+	} finally {
+		output.close();
+	}
+}
+
+/**
+ * Answer and forget the failures recorded so far, as triples of
+ * (output path, relative file name, IOException).
+ */
+public synchronized Object[][] collectFailures() {
+	int size = this.failures.size();
+	if (size == 0)
+		return null;
+	Object[][] result = new Object[size][];
+	this.failures.toArray(result);
+	this.failures.clear();
+	return result;
+}
+
+/**
+ * Wait for all queued writes to complete, then close the archive if any.
+ */
+public void shutdown() {
+	Thread t;
+	synchronized (this) {
+		this.done = true;
+		notifyAll();
+		t = this.writingThread;
+	}
+	if (t != null) {
+		boolean interrupted = false;
+		while (t.isAlive()) {
+			try {
+				t.join();
+			} catch (InterruptedException e) {
+				interrupted = true; // the archive cannot be closed while the writing thread writes into it
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+	if (this.requests != null) {
+		// the requests left by a writing thread which was stopped by an error
+		synchronized (this) {
+			this.writerError = null;
+		}
+		for (int i = 0; i < WRITE_QUEUE_SIZE; i++) {
+			WriteRequest request = this.requests[this.currentIndex];
+			if (request != null) {
+				this.requests[this.currentIndex] = null;
+				perform(request);
+			}
+			if (++this.currentIndex >= WRITE_QUEUE_SIZE)
+				this.currentIndex = 0;
+		}
+	}
+	if (this.archive != null) {
+		try {
+			this.archive.close();
+		} catch (IOException e) {
+			synchronized (this) {
+				this.failures.add(new Object[] {this.archivePath, Util.EMPTY_STRING, e});
+			}
+		}
+		this.archive = null;
+	}
+}
+}
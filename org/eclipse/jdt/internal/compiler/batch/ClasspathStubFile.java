@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassStubFile;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassStubType;
+import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+
+/**
+ * A binary classpath entry answering types from a {@link ClassStubFile} instead of
+ * the jar it was computed from.
+ */
+@SuppressWarnings("rawtypes")
+public class ClasspathStubFile extends ClasspathLocation {
+
+protected File file;
+protected ClassStubFile stubFile;
+
+public ClasspathStubFile(File file, AccessRuleSet accessRuleSet) {
+	super(accessRuleSet, null);
+	this.file = file;
+}
+public List fetchLinkedJars(FileSystem.ClasspathSectionProblemReporter problemReporter) {
+	return null;
+}
+public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageName, String qualifiedBinaryFileName) {
+	return findClass(typeName, qualifiedPackageName, qualifiedBinaryFileName, false);
+}
+public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageName, String qualifiedBinaryFileName, boolean asBinaryOnly) {
+	if (!isPackage(qualifiedPackageName))
+		return null; // most common case
+
+	String qualifiedTypeName = qualifiedBinaryFileName.substring(0, qualifiedBinaryFileName.length() - SUFFIX_CLASS.length);
+	ClassStubType stub = this.stubFile.getType(qualifiedTypeName);
+	if (stub != null)
+		return new NameEnvironmentAnswer(stub, fetchAccessRestriction(qualifiedBinaryFileName));
+	return null;
+}
+public boolean hasAnnotationFileFor(String qualifiedTypeName) {
+	return false;
+}
+public char[][][] findTypeNames(String qualifiedPackageName) {
+	return this.stubFile.findTypeNames(qualifiedPackageName);
+}
+public void initialize() throws IOException {
+	if (this.stubFile == null) {
+		this.stubFile = ClassStubFile.open(this.file);
+	}
+}
+public boolean isPackage(String qualifiedPackageName) {
+	return this.stubFile.isPackage(qualifiedPackageName);
+}
+public void reset() {
+	// the mapped file is kept, it is immutable
+}
+public String toString() {
+	return "Classpath for stub file " + this.file.getPath(); //$NON-NLS-1$
+}
+public char[] normalizedPath() {
+	if (this.normalizedPath == null) {
+		String path2 = this.getPath();
+		char[] rawName = path2.toCharArray();
+		if (File.separatorChar == '\\') {
+			CharOperation.replace(rawName, '\\', '/');
+		}
+		this.normalizedPath = CharOperation.subarray(rawName, 0, CharOperation.lastIndexOf('.', rawName));
+	}
+	return this.normalizedPath;
+}
+public String getPath() {
+	if (this.path == null) {
+		try {
+			this.path = this.file.getCanonicalPath();
+		} catch (IOException e) {
+			// in case of error, simply return the absolute path
+			this.path = this.file.getAbsolutePath();
+		}
+	}
+	return this.path;
+}
+public int getMode() {
+	return BINARY;
+}
+}
@@ -23,6 +23,7 @@ import java.util.zip.ZipFile;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassStubFile;
 import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
 import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
@@ -174,6 +175,11 @@ public static Classpath getClasspath(String classpathName, String encoding,
 						destinationPath : // keep == comparison valid
 						convertPathSeparators(destinationPath));
 		}
+	} else if (ClassStubFile.isStubFile(classpathName)) {
+		if (!isSourceOnly && destinationPath == null) {
+			// stubs only hold binary types
+			result = new ClasspathStubFile(file, accessRuleSet);
+		}
 	} else {
 		if (Util.isPotentialZipArchive(classpathName)) {
 			if (isSourceOnly) {
@@ -302,7 +308,7 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 		String qb2 = qualifiedBinaryFileName.replace('/', File.separatorChar);
 		for (int i = 0, length = this.classpaths.length; i < length; i++) {
 			Classpath p = this.classpaths[i];
-			NameEnvironmentAnswer answer = (p instanceof ClasspathJar)
+			NameEnvironmentAnswer answer = (p instanceof ClasspathJar || p instanceof ClasspathStubFile)
 				? p.findClass(typeName, qualifiedPackageName, qualifiedBinaryFileName, asBinaryOnly)
 				: p.findClass(typeName, qp2, qb2, asBinaryOnly);
 			if (answer != null) {
@@ -351,7 +357,7 @@ public char[][][] findTypeNames(char[][] packageName) {
 		} else {
 			for (int i = 0, length = this.classpaths.length; i < length; i++) {
 				Classpath p = this.classpaths[i];
-				char[][][] answers = (p instanceof ClasspathJar)
+				char[][][] answers = (p instanceof ClasspathJar || p instanceof ClasspathStubFile)
 					? p.findTypeNames(qualifiedPackageName)
 					: p.findTypeNames(qualifiedPackageName2);
 				if (answers != null) {
@@ -396,7 +402,7 @@ public boolean isPackage(char[][] compoundName, char[] packageName) {
 	} else {
 		for (int i = 0, length = this.classpaths.length; i < length; i++) {
 			Classpath p = this.classpaths[i];
-			if ((p instanceof ClasspathJar) ? p.isPackage(qualifiedPackageName) : p.isPackage(qp2))
+			if ((p instanceof ClasspathJar || p instanceof ClasspathStubFile) ? p.isPackage(qualifiedPackageName) : p.isPackage(qp2))
 				return true;
 		}
 	}
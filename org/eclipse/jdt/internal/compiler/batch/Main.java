@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -984,6 +984,72 @@ public class Main implements ProblemSeverities, SuffixConstants {
 								String.valueOf(compilerStats.generateTime),
 								String.valueOf(((int) (compilerStats.generateTime * 1000.0 / time)) / 10.0),
 							}));
+				if (compilerStats.classFileCount != 0) {
+					printlnOut(
+						this.main.bind("compile.classFileAllocation", //$NON-NLS-1$
+							new String[] {
+								String.valueOf(compilerStats.classFileCount),
+								String.valueOf(compilerStats.classFileAllocatedBytes),
+								String.valueOf(compilerStats.classFileRecycledBytes),
+								String.valueOf(compilerStats.classFileReleasedCount == 0 ? 0 : compilerStats.classFileReleasedAllocatedBytes / compilerStats.classFileReleasedCount),
+								String.valueOf(compilerStats.classFileMaxAllocatedBytes),
+							}));
+				}
+				if (compilerStats.inferenceCount != 0) {
+					printlnOut(
+						this.main.bind("compile.inference", //$NON-NLS-1$
+							new String[] {
+								String.valueOf(compilerStats.inferenceCount),
+								String.valueOf(compilerStats.inferenceTime / 1000000),
+								String.valueOf(compilerStats.inferenceHitCount),
+								String.valueOf(compilerStats.inferenceLookupCount),
+								String.valueOf(compilerStats.inferenceLookupCount == 0 ? 0 : ((int) (compilerStats.inferenceHitCount * 1000.0 / compilerStats.inferenceLookupCount)) / 10.0),
+							}));
+					if (compilerStats.inferenceMaxPairSite != null) {
+						printlnOut(
+							this.main.bind("compile.incorporation", //$NON-NLS-1$
+								new String[] {
+									String.valueOf(compilerStats.inferenceBoundCount),
+									String.valueOf(compilerStats.inferencePairCount),
+									String.valueOf(compilerStats.inferenceMaxPairCount),
+									compilerStats.inferenceMaxPairSite,
+								}));
+					}
+				}
+				if (compilerStats.inheritedMethodLookupCount != 0) {
+					printlnOut(
+						this.main.bind("compile.inheritedMethods", //$NON-NLS-1$
+							new String[] {
+								String.valueOf(compilerStats.inheritedMethodHitCount),
+								String.valueOf(compilerStats.inheritedMethodLookupCount),
+								String.valueOf(((int) (compilerStats.inheritedMethodHitCount * 1000.0 / compilerStats.inheritedMethodLookupCount)) / 10.0),
+								String.valueOf(compilerStats.inheritedMethodStaleCount),
+							}));
+				}
+				if (compilerStats.candidateCount != 0) {
+					printlnOut(
+						this.main.bind("compile.candidates", //$NON-NLS-1$
+							new String[] {
+								String.valueOf(compilerStats.candidateRejectedCount),
+								String.valueOf(compilerStats.candidateCount),
+								String.valueOf(((int) (compilerStats.candidateRejectedCount * 1000.0 / compilerStats.candidateCount)) / 10.0),
+								String.valueOf(compilerStats.candidateMaxCount),
+								String.valueOf(compilerStats.candidateMaxRejectedCount),
+								compilerStats.candidateMaxSite,
+							}));
+				}
+				if (compilerStats.verifyLookupCount != 0) {
+					printlnOut(
+						this.main.bind("compile.verification", //$NON-NLS-1$
+							new String[] {
+								String.valueOf(compilerStats.verifyTime / 1000000),
+								String.valueOf(compilerStats.verifyHitCount),
+								String.valueOf(compilerStats.verifyLookupCount),
+								String.valueOf(((int) (compilerStats.verifyHitCount * 1000.0 / compilerStats.verifyLookupCount)) / 10.0),
+								String.valueOf(compilerStats.verifyOverrideHitCount),
+								String.valueOf(compilerStats.verifyOverrideLookupCount),
+							}));
+				}
 			}
 		}
 
@@ -1324,6 +1390,8 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	private boolean didSpecifyTarget;
 	public String[] encodings;
 	public int exportedClassFilesCounter;
+	// writes the class files, possibly in the background; created per compilation
+	protected ClassFileWriteManager classFileWriteManager;
 	public String[] filenames;
 	public String[] classNames;
 	// overrides of destinationPath on a directory argument basis
@@ -4092,11 +4160,19 @@ public void outputClassFiles(CompilationResult unitResult) {
 									String.valueOf(this.exportedClassFilesCounter+1),
 									relativeStringName
 								}));
-					Util.writeToDisk(
-						generateClasspathStructure,
-						currentDestinationPath,
-						relativeStringName,
-						classFile);
+					if (this.classFileWriteManager != null) {
+						this.classFileWriteManager.write(
+							generateClasspathStructure,
+							currentDestinationPath,
+							relativeStringName,
+							classFile.getBytes());
+					} else {
+						Util.writeToDisk(
+							generateClasspathStructure,
+							currentDestinationPath,
+							relativeStringName,
+							classFile);
+					}
 					this.logger.logClassFile(
 						generateClasspathStructure,
 						currentDestinationPath,
@@ -4107,9 +4183,25 @@ public void outputClassFiles(CompilationResult unitResult) {
 				}
 			}
 			this.batchCompiler.lookupEnvironment.releaseClassFiles(classFiles);
+			if (this.classFileWriteManager != null)
+				logClassFileWriteFailures();
 		}
 	}
 }
+/*
+ * Report the class files the write manager failed to write since last time
+ */
+private void logClassFileWriteFailures() {
+	Object[][] failures = this.classFileWriteManager.collectFailures();
+	if (failures == null) return;
+	for (int i = 0, length = failures.length; i < length; i++) {
+		Object[] failure = failures[i];
+		String relativeFileName = (String) failure[1];
+		this.logger.logNoClassFileCreated((String) failure[0], relativeFileName, (IOException) failure[2]);
+		if (relativeFileName.length() > 0) // not the archive itself failing to close
+			this.exportedClassFilesCounter--;
+	}
+}
 /*
  *  Low-level API performing the actual compilation
  */
@@ -4121,6 +4213,8 @@ public void performCompilation() {
 	this.compilerOptions = new CompilerOptions(this.options);
 	this.compilerOptions.performMethodsFullRecovery = false;
 	this.compilerOptions.performStatementsRecovery = false;
+	String lazyBinaryMembers = System.getProperty("jdt.compiler.lazyBinaryMembers"); //$NON-NLS-1$
+	this.compilerOptions.lazyBinaryMembers = lazyBinaryMembers != null && lazyBinaryMembers.equals("true"); //$NON-NLS-1$
 	this.batchCompiler =
 		new Compiler(
 			environment,
@@ -4151,10 +4245,24 @@ public void performCompilation() {
 	// set the non-externally configurable options.
 	this.compilerOptions.verbose = this.verbose;
 	this.compilerOptions.produceReferenceInfo = this.produceRefInfo;
+	this.compilerOptions.collectStatistics = (this.timing & TIMING_DETAILED) != 0;
+	// class files are written by a background thread unless single threaded; when the
+	// destination is a jar or zip file, they are all written into that archive
+	boolean archiveDestination = ClassFileWriteManager.isArchiveDestination(this.destinationPath);
+	if (!this.batchCompiler.useSingleThread || archiveDestination) {
+		this.classFileWriteManager = new ClassFileWriteManager(
+			!this.batchCompiler.useSingleThread,
+			archiveDestination ? this.destinationPath : null);
+	}
 	try {
 		this.logger.startLoggingSources();
 		this.batchCompiler.compile(getCompilationUnits());
 	} finally {
+		if (this.classFileWriteManager != null) {
+			this.classFileWriteManager.shutdown();
+			logClassFileWriteFailures();
+			this.classFileWriteManager = null;
+		}
 		this.logger.endLoggingSources();
 	}
 
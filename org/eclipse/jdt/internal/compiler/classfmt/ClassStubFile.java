@@ -0,0 +1,342 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.classfmt;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.env.ClassSignature;
+import org.eclipse.jdt.internal.compiler.env.EnumConstantSignature;
+import org.eclipse.jdt.internal.compiler.env.IBinaryAnnotation;
+import org.eclipse.jdt.internal.compiler.env.IBinaryElementValuePair;
+import org.eclipse.jdt.internal.compiler.env.IBinaryTypeAnnotation;
+import org.eclipse.jdt.internal.compiler.impl.BooleanConstant;
+import org.eclipse.jdt.internal.compiler.impl.ByteConstant;
+import org.eclipse.jdt.internal.compiler.impl.CharConstant;
+import org.eclipse.jdt.internal.compiler.impl.Constant;
+import org.eclipse.jdt.internal.compiler.impl.DoubleConstant;
+import org.eclipse.jdt.internal.compiler.impl.FloatConstant;
+import org.eclipse.jdt.internal.compiler.impl.IntConstant;
+import org.eclipse.jdt.internal.compiler.impl.LongConstant;
+import org.eclipse.jdt.internal.compiler.impl.ShortConstant;
+import org.eclipse.jdt.internal.compiler.impl.StringConstant;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObjectToInt;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * A memory-mapped summary of the class files contained in one jar, as produced by
+ * {@link ClassStubWriter}. The file only holds the structural information needed to
+ * build binary type bindings (modifiers, supertypes, generic signatures, member types,
+ * field and method signatures, annotations), so answering a type never touches the
+ * original jar.
+ * <p>
+ * Layout (all numbers big-endian):
+ * <pre>
+ * header:       magic, version, jar name index, string count, type count,
+ *               string table offset, type table offset
+ * string table: string count offsets, followed by the strings as (length, UTF-16 chars)
+ * type table:   type count entries of (name index, data offset)
+ * type data:    per type, its fields, its methods and then its header (see {@link ClassStubWriter})
+ * </pre>
+ * Every name is stored once in the string table and referred to by index, -1 standing for null.
+ * </p>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ClassStubFile {
+
+	public static final String FILE_EXTENSION = "stubs"; //$NON-NLS-1$
+	public static final String SUFFIX_STRING_stubs = '.' + FILE_EXTENSION;
+
+	static final int MAGIC = 0x4A535442; // "JSTB"
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 7 * 4;
+
+	// tags of the encoded element values
+	static final byte TAG_NULL = 0;
+	static final byte TAG_CONSTANT = 'k';
+	static final byte TAG_ENUM = 'e';
+	static final byte TAG_CLASS = 'c';
+	static final byte TAG_ANNOTATION = '@';
+	static final byte TAG_ARRAY = '[';
+
+	// tags of the encoded constants
+	static final byte CONSTANT_NONE = 0;
+	static final byte CONSTANT_BOOLEAN = 'Z';
+	static final byte CONSTANT_BYTE = 'B';
+	static final byte CONSTANT_CHAR = 'C';
+	static final byte CONSTANT_SHORT = 'S';
+	static final byte CONSTANT_INT = 'I';
+	static final byte CONSTANT_LONG = 'J';
+	static final byte CONSTANT_FLOAT = 'F';
+	static final byte CONSTANT_DOUBLE = 'D';
+	static final byte CONSTANT_STRING = 's';
+
+	File file;
+	MappedByteBuffer buffer;
+	char[] jarName;
+	int[] stringOffsets;
+	char[][] strings; // decoded on demand
+	HashtableOfObjectToInt types; // qualified type name (java/lang/String) -> data offset
+	HashtableOfObjectToInt packages; // qualified package name (java/lang) -> type count
+
+/**
+ * Answer whether the given file name designates a stub file.
+ */
+public static boolean isStubFile(String name) {
+	return name.regionMatches(true, name.length() - SUFFIX_STRING_stubs.length(), SUFFIX_STRING_stubs, 0, SUFFIX_STRING_stubs.length());
+}
+
+public static ClassStubFile open(File file) throws IOException {
+	ClassStubFile stubFile = new ClassStubFile(file);
+	stubFile.initialize();
+	return stubFile;
+}
+
+private ClassStubFile(File file) {
+	this.file = file;
+}
+
+private void initialize() throws IOException {
+	RandomAccessFile raf = new RandomAccessFile(this.file, "r"); //$NON-NLS-1$
+	try {
+		FileChannel channel = raf.getChannel();
+		// the mapping stays valid once the channel is closed
+		this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+	} finally {
+		raf.close();
+	}
+	if (this.buffer.capacity() < HEADER_SIZE || this.buffer.getInt(0) != MAGIC)
+		throw new IOException("Not a class stub file: " + this.file); //$NON-NLS-1$
+	if (this.buffer.getInt(4) != VERSION)
+		throw new IOException("Unsupported class stub file version: " + this.file); //$NON-NLS-1$
+	int jarNameIndex = this.buffer.getInt(8);
+	int stringCount = this.buffer.getInt(12);
+	int typeCount = this.buffer.getInt(16);
+	int stringTableOffset = this.buffer.getInt(20);
+	int typeTableOffset = this.buffer.getInt(24);
+
+	this.stringOffsets = new int[stringCount];
+	for (int i = 0; i < stringCount; i++)
+		this.stringOffsets[i] = this.buffer.getInt(stringTableOffset + i * 4);
+	this.strings = new char[stringCount][];
+	this.jarName = stringAt(jarNameIndex);
+
+	this.types = new HashtableOfObjectToInt(typeCount);
+	this.packages = new HashtableOfObjectToInt();
+	this.packages.put(Util.EMPTY_STRING, 0);
+	for (int i = 0; i < typeCount; i++) {
+		int entry = typeTableOffset + i * 8;
+		String typeName = new String(stringAt(this.buffer.getInt(entry)));
+		this.types.put(typeName, this.buffer.getInt(entry + 4));
+		int last = typeName.lastIndexOf('/');
+		while (last > 0) {
+			String packageName = typeName.substring(0, last);
+			if (this.packages.containsKey(packageName)) {
+				this.packages.put(packageName, this.packages.get(packageName) + 1);
+				break;
+			}
+			this.packages.put(packageName, 1);
+			last = packageName.lastIndexOf('/');
+		}
+	}
+}
+
+/**
+ * Answer the stub of the given type, or null if the jar did not contain it.
+ * @param qualifiedTypeName slash-separated type name, e.g. java/lang/String
+ */
+public ClassStubType getType(String qualifiedTypeName) {
+	int offset = this.types.get(qualifiedTypeName);
+	if (offset == -1)
+		return null;
+	return new ClassStubType(this, qualifiedTypeName, offset);
+}
+
+/**
+ * Answer the file name of the jar the stubs were computed from.
+ */
+public char[] getJarName() {
+	return this.jarName;
+}
+
+public File getFile() {
+	return this.file;
+}
+
+public boolean isPackage(String qualifiedPackageName) {
+	return this.packages.containsKey(qualifiedPackageName);
+}
+
+/**
+ * Answer the compound names of the types directly contained in the given package,
+ * or null if there are none.
+ */
+public char[][][] findTypeNames(String qualifiedPackageName) {
+	if (!isPackage(qualifiedPackageName))
+		return null;
+	ArrayList answers = new ArrayList();
+	Object[] keys = this.types.keyTable;
+	for (int i = 0, length = keys.length; i < length; i++) {
+		String typeName = (String) keys[i];
+		if (typeName == null) continue;
+		int last = typeName.lastIndexOf('/');
+		String packageName = last == -1 ? Util.EMPTY_STRING : typeName.substring(0, last);
+		if (packageName.equals(qualifiedPackageName))
+			answers.add(CharOperation.splitOn('/', typeName.toCharArray()));
+	}
+	int size = answers.size();
+	if (size == 0)
+		return null;
+	char[][][] result = new char[size][][];
+	answers.toArray(result);
+	return result;
+}
+
+char[] stringAt(int index) {
+	if (index == -1)
+		return null;
+	char[] string = this.strings[index];
+	if (string == null) {
+		int offset = this.stringOffsets[index];
+		int length = this.buffer.getInt(offset);
+		string = new char[length];
+		offset += 4;
+		for (int i = 0; i < length; i++, offset += 2)
+			string[i] = this.buffer.getChar(offset);
+		this.strings[index] = string; // benign race: decoding is idempotent
+	}
+	return string;
+}
+
+/**
+ * Sequential decoder over the mapped buffer. Only absolute reads are used, so
+ * several decoders may work on the same stub file concurrently.
+ */
+class Decoder {
+	int position;
+
+	Decoder(int position) {
+		this.position = position;
+	}
+	int u1() {
+		return ClassStubFile.this.buffer.get(this.position++) & 0xFF;
+	}
+	int i4() {
+		int value = ClassStubFile.this.buffer.getInt(this.position);
+		this.position += 4;
+		return value;
+	}
+	long i8() {
+		long value = ClassStubFile.this.buffer.getLong(this.position);
+		this.position += 8;
+		return value;
+	}
+	char[] name() {
+		return stringAt(i4());
+	}
+	char[][] names() {
+		int length = i4();
+		if (length == -1)
+			return null;
+		char[][] names = new char[length][];
+		for (int i = 0; i < length; i++)
+			names[i] = name();
+		return names;
+	}
+	Constant constant() {
+		switch (u1()) {
+			case CONSTANT_BOOLEAN :
+				return BooleanConstant.fromValue(i4() != 0);
+			case CONSTANT_BYTE :
+				return ByteConstant.fromValue((byte) i4());
+			case CONSTANT_CHAR :
+				return CharConstant.fromValue((char) i4());
+			case CONSTANT_SHORT :
+				return ShortConstant.fromValue((short) i4());
+			case CONSTANT_INT :
+				return IntConstant.fromValue(i4());
+			case CONSTANT_LONG :
+				return LongConstant.fromValue(i8());
+			case CONSTANT_FLOAT :
+				return FloatConstant.fromValue(Float.intBitsToFloat(i4()));
+			case CONSTANT_DOUBLE :
+				return DoubleConstant.fromValue(Double.longBitsToDouble(i8()));
+			case CONSTANT_STRING :
+				return StringConstant.fromValue(new String(name()));
+			default :
+				return Constant.NotAConstant;
+		}
+	}
+	Object elementValue() {
+		switch (u1()) {
+			case TAG_CONSTANT :
+				return constant();
+			case TAG_ENUM :
+				return new EnumConstantSignature(name(), name());
+			case TAG_CLASS :
+				return new ClassSignature(name());
+			case TAG_ANNOTATION :
+				return annotation();
+			case TAG_ARRAY :
+				int length = i4();
+				Object[] values = new Object[length];
+				for (int i = 0; i < length; i++)
+					values[i] = elementValue();
+				return values;
+			default :
+				return null;
+		}
+	}
+	IBinaryAnnotation annotation() {
+		char[] typeName = name();
+		int length = i4();
+		IBinaryElementValuePair[] pairs = length == 0 ? ElementValuePairInfo.NoMembers : new IBinaryElementValuePair[length];
+		for (int i = 0; i < length; i++)
+			pairs[i] = new ElementValuePairInfo(name(), elementValue());
+		return new ClassStubType.StubAnnotation(typeName, pairs);
+	}
+	IBinaryAnnotation[] annotations() {
+		int length = i4();
+		if (length == -1)
+			return null;
+		IBinaryAnnotation[] annotations = new IBinaryAnnotation[length];
+		for (int i = 0; i < length; i++)
+			annotations[i] = annotation();
+		return annotations;
+	}
+	IBinaryTypeAnnotation[] typeAnnotations() {
+		int length = i4();
+		if (length == -1)
+			return null;
+		IBinaryTypeAnnotation[] annotations = new IBinaryTypeAnnotation[length];
+		for (int i = 0; i < length; i++) {
+			int targetType = u1();
+			int info = i4();
+			int info2 = i4();
+			int pathLength = i4();
+			int[] typePath = pathLength == 0 ? IBinaryTypeAnnotation.NO_TYPE_PATH : new int[pathLength];
+			for (int j = 0; j < pathLength; j++)
+				typePath[j] = u1();
+			annotations[i] = new ClassStubType.StubTypeAnnotation(targetType, info, info2, typePath, annotation());
+		}
+		return annotations;
+	}
+}
+
+public String toString() {
+	return "Class stubs for " + new String(this.jarName) + " (" + this.types.elementSize + " types)"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+}
+}
@@ -0,0 +1,406 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.classfmt;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.env.IBinaryAnnotation;
+import org.eclipse.jdt.internal.compiler.env.IBinaryElementValuePair;
+import org.eclipse.jdt.internal.compiler.env.IBinaryField;
+import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
+import org.eclipse.jdt.internal.compiler.env.IBinaryNestedType;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.jdt.internal.compiler.env.IBinaryTypeAnnotation;
+import org.eclipse.jdt.internal.compiler.env.ITypeAnnotationWalker;
+import org.eclipse.jdt.internal.compiler.impl.Constant;
+import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
+import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
+
+/**
+ * An {@link IBinaryType} decoded from a {@link ClassStubFile}.
+ * The type header is decoded eagerly, fields and methods on first request.
+ */
+public class ClassStubType implements IBinaryType {
+
+	static final int IS_ANONYMOUS = 0x1;
+	static final int IS_LOCAL = 0x2;
+	static final int IS_MEMBER = 0x4;
+
+	private ClassStubFile stubFile;
+	private String qualifiedTypeName;
+	private int modifiers;
+	private int kind;
+	private long tagBits;
+	private char[] name;
+	private char[] sourceName;
+	private char[] superclassName;
+	private char[][] interfaceNames;
+	private char[] genericSignature;
+	private char[] enclosingTypeName;
+	private char[] enclosingMethod;
+	private char[] sourceFileName;
+	private char[][][] missingTypeNames;
+	private IBinaryNestedType[] memberTypes;
+	private IBinaryAnnotation[] annotations;
+	private IBinaryTypeAnnotation[] typeAnnotations;
+	private int fieldsOffset;
+	private int methodsOffset;
+	private IBinaryField[] fields;
+	private IBinaryMethod[] methods;
+	private boolean fieldsDecoded;
+	private boolean methodsDecoded;
+
+ClassStubType(ClassStubFile stubFile, String qualifiedTypeName, int offset) {
+	this.stubFile = stubFile;
+	this.qualifiedTypeName = qualifiedTypeName;
+	ClassStubFile.Decoder decoder = stubFile.new Decoder(offset);
+	this.fieldsOffset = decoder.i4();
+	this.methodsOffset = decoder.i4();
+	this.modifiers = decoder.i4();
+	this.kind = decoder.u1();
+	this.tagBits = decoder.i8();
+	this.name = decoder.name();
+	this.sourceName = decoder.name();
+	this.superclassName = decoder.name();
+	this.interfaceNames = decoder.names();
+	this.genericSignature = decoder.name();
+	this.enclosingTypeName = decoder.name();
+	this.enclosingMethod = decoder.name();
+	this.sourceFileName = decoder.name();
+	int length = decoder.i4();
+	if (length != -1) {
+		this.missingTypeNames = new char[length][][];
+		for (int i = 0; i < length; i++)
+			this.missingTypeNames[i] = decoder.names();
+	}
+	length = decoder.i4();
+	if (length != -1) {
+		this.memberTypes = new IBinaryNestedType[length];
+		for (int i = 0; i < length; i++)
+			this.memberTypes[i] = new StubNestedType(decoder.name(), decoder.name(), decoder.i4());
+	}
+	this.annotations = decoder.annotations();
+	this.typeAnnotations = decoder.typeAnnotations();
+}
+
+public IBinaryAnnotation[] getAnnotations() {
+	return this.annotations;
+}
+public IBinaryTypeAnnotation[] getTypeAnnotations() {
+	return this.typeAnnotations;
+}
+public char[] getEnclosingMethod() {
+	return this.enclosingMethod;
+}
+public char[] getEnclosingTypeName() {
+	return this.enclosingTypeName;
+}
+public synchronized IBinaryField[] getFields() {
+	if (!this.fieldsDecoded) {
+		ClassStubFile.Decoder decoder = this.stubFile.new Decoder(this.fieldsOffset);
+		int length = decoder.i4();
+		if (length != -1) {
+			IBinaryField[] decoded = new IBinaryField[length];
+			for (int i = 0; i < length; i++)
+				decoded[i] = new StubField(decoder);
+			this.fields = decoded;
+		}
+		this.fieldsDecoded = true;
+	}
+	return this.fields;
+}
+/**
+ * Answer the name of the originating jar entry, like a {@link ClassFileReader} read from that jar would.
+ */
+public char[] getFileName() {
+	return (this.qualifiedTypeName + SuffixConstants.SUFFIX_STRING_class).toCharArray();
+}
+public char[] getGenericSignature() {
+	return this.genericSignature;
+}
+public char[][] getInterfaceNames() {
+	return this.interfaceNames;
+}
+public IBinaryNestedType[] getMemberTypes() {
+	return this.memberTypes;
+}
+public synchronized IBinaryMethod[] getMethods() {
+	if (!this.methodsDecoded) {
+		ClassStubFile.Decoder decoder = this.stubFile.new Decoder(this.methodsOffset);
+		int length = decoder.i4();
+		if (length != -1) {
+			IBinaryMethod[] decoded = new IBinaryMethod[length];
+			for (int i = 0; i < length; i++)
+				decoded[i] = new StubMethod(decoder);
+			this.methods = decoded;
+		}
+		this.methodsDecoded = true;
+	}
+	return this.methods;
+}
+public char[][][] getMissingTypeNames() {
+	return this.missingTypeNames;
+}
+public int getModifiers() {
+	return this.modifiers;
+}
+public char[] getName() {
+	return this.name;
+}
+public char[] getSourceName() {
+	return this.sourceName;
+}
+public char[] getSuperclassName() {
+	return this.superclassName;
+}
+public long getTagBits() {
+	return this.tagBits;
+}
+public boolean isAnonymous() {
+	return (this.kind & IS_ANONYMOUS) != 0;
+}
+public boolean isBinaryType() {
+	return true;
+}
+public boolean isLocal() {
+	return (this.kind & IS_LOCAL) != 0;
+}
+public boolean isMember() {
+	return (this.kind & IS_MEMBER) != 0;
+}
+public char[] sourceFileName() {
+	return this.sourceFileName;
+}
+/**
+ * Stubs do not carry external annotations, the walker is answered unchanged.
+ */
+public ITypeAnnotationWalker enrichWithExternalAnnotationsFor(ITypeAnnotationWalker walker, Object member, LookupEnvironment environment) {
+	return walker;
+}
+public String toString() {
+	return "ClassStubType{" + new String(this.name) + "}"; //$NON-NLS-1$ //$NON-NLS-2$
+}
+
+static class StubNestedType implements IBinaryNestedType {
+	private char[] name;
+	private char[] enclosingTypeName;
+	private int modifiers;
+
+	StubNestedType(char[] name, char[] enclosingTypeName, int modifiers) {
+		this.name = name;
+		this.enclosingTypeName = enclosingTypeName;
+		this.modifiers = modifiers;
+	}
+	public char[] getEnclosingTypeName() {
+		return this.enclosingTypeName;
+	}
+	public int getModifiers() {
+		return this.modifiers;
+	}
+	public char[] getName() {
+		return this.name;
+	}
+	public String toString() {
+		return new String(this.name);
+	}
+}
+
+static class StubField implements IBinaryField {
+	private int modifiers;
+	private long tagBits;
+	private char[] name;
+	private char[] typeName;
+	private char[] genericSignature;
+	private Constant constant;
+	private IBinaryAnnotation[] annotations;
+	private IBinaryTypeAnnotation[] typeAnnotations;
+
+	StubField(ClassStubFile.Decoder decoder) {
+		this.modifiers = decoder.i4();
+		this.tagBits = decoder.i8();
+		this.name = decoder.name();
+		this.typeName = decoder.name();
+		this.genericSignature = decoder.name();
+		this.constant = decoder.constant();
+		this.annotations = decoder.annotations();
+		this.typeAnnotations = decoder.typeAnnotations();
+	}
+	public IBinaryAnnotation[] getAnnotations() {
+		return this.annotations;
+	}
+	public IBinaryTypeAnnotation[] getTypeAnnotations() {
+		return this.typeAnnotations;
+	}
+	public Constant getConstant() {
+		return this.constant;
+	}
+	public char[] getGenericSignature() {
+		return this.genericSignature;
+	}
+	public char[] getName() {
+		return this.name;
+	}
+	public long getTagBits() {
+		return this.tagBits;
+	}
+	public char[] getTypeName() {
+		return this.typeName;
+	}
+	public int getModifiers() {
+		return this.modifiers;
+	}
+	public String toString() {
+		return new String(this.typeName) + ' ' + new String(this.name);
+	}
+}
+
+static class StubMethod implements IBinaryMethod {
+	private int modifiers;
+	private long tagBits;
+	private char[] selector;
+	private char[] methodDescriptor;
+	private char[] genericSignature;
+	private char[][] argumentNames;
+	private char[][] exceptionTypeNames;
+	private IBinaryAnnotation[] annotations;
+	private IBinaryAnnotation[][] parameterAnnotations;
+	private IBinaryTypeAnnotation[] typeAnnotations;
+	private Object defaultValue;
+
+	StubMethod(ClassStubFile.Decoder decoder) {
+		this.modifiers = decoder.i4();
+		this.tagBits = decoder.i8();
+		this.selector = decoder.name();
+		this.methodDescriptor = decoder.name();
+		this.genericSignature = decoder.name();
+		this.argumentNames = decoder.names();
+		this.exceptionTypeNames = decoder.names();
+		this.annotations = decoder.annotations();
+		int length = decoder.i4();
+		if (length > 0) {
+			this.parameterAnnotations = new IBinaryAnnotation[length][];
+			for (int i = 0; i < length; i++)
+				this.parameterAnnotations[i] = decoder.annotations();
+		}
+		this.typeAnnotations = decoder.typeAnnotations();
+		this.defaultValue = decoder.elementValue();
+	}
+	public IBinaryAnnotation[] getAnnotations() {
+		return this.annotations;
+	}
+	public Object getDefaultValue() {
+		return this.defaultValue;
+	}
+	public char[][] getExceptionTypeNames() {
+		return this.exceptionTypeNames;
+	}
+	public char[] getGenericSignature() {
+		return this.genericSignature;
+	}
+	public char[] getMethodDescriptor() {
+		return this.methodDescriptor;
+	}
+	public IBinaryAnnotation[] getParameterAnnotations(int index) {
+		if (this.parameterAnnotations == null || index >= this.parameterAnnotations.length)
+			return null;
+		return this.parameterAnnotations[index];
+	}
+	public int getAnnotatedParametersCount() {
+		return this.parameterAnnotations == null ? 0 : this.parameterAnnotations.length;
+	}
+	public char[] getSelector() {
+		return this.selector;
+	}
+	public long getTagBits() {
+		return this.tagBits;
+	}
+	public boolean isClinit() {
+		return CharOperation.equals(this.selector, TypeConstants.CLINIT);
+	}
+	public IBinaryTypeAnnotation[] getTypeAnnotations() {
+		return this.typeAnnotations;
+	}
+	public int getModifiers() {
+		return this.modifiers;
+	}
+	public boolean isConstructor() {
+		return CharOperation.equals(this.selector, TypeConstants.INIT);
+	}
+	public char[][] getArgumentNames() {
+		return this.argumentNames;
+	}
+	public String toString() {
+		return new String(this.selector) + new String(this.methodDescriptor);
+	}
+}
+
+static class StubAnnotation implements IBinaryAnnotation {
+	private char[] typeName;
+	private IBinaryElementValuePair[] pairs;
+
+	StubAnnotation(char[] typeName, IBinaryElementValuePair[] pairs) {
+		this.typeName = typeName;
+		this.pairs = pairs;
+	}
+	public char[] getTypeName() {
+		return this.typeName;
+	}
+	public IBinaryElementValuePair[] getElementValuePairs() {
+		return this.pairs;
+	}
+	public String toString() {
+		return '@' + new String(this.typeName);
+	}
+}
+
+static class StubTypeAnnotation implements IBinaryTypeAnnotation {
+	private int targetType;
+	private int info;
+	private int info2;
+	private int[] typePath;
+	private IBinaryAnnotation annotation;
+
+	StubTypeAnnotation(int targetType, int info, int info2, int[] typePath, IBinaryAnnotation annotation) {
+		this.targetType = targetType;
+		this.info = info;
+		this.info2 = info2;
+		this.typePath = typePath;
+		this.annotation = annotation;
+	}
+	public IBinaryAnnotation getAnnotation() {
+		return this.annotation;
+	}
+	public int getTargetType() {
+		return this.targetType;
+	}
+	public int[] getTypePath() {
+		return this.typePath;
+	}
+	public int getSupertypeIndex() {
+		return this.info;
+	}
+	public int getTypeParameterIndex() {
+		return this.info;
+	}
+	public int getBoundIndex() {
+		return this.info2;
+	}
+	public int getMethodFormalParameterIndex() {
+		return this.info;
+	}
+	public int getThrowsTypeIndex() {
+		return this.info;
+	}
+	public String toString() {
+		return this.annotation + " target_type=" + this.targetType; //$NON-NLS-1$
+	}
+}
+}
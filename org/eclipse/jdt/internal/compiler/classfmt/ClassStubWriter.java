@@ -0,0 +1,404 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.classfmt;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.jdt.internal.compiler.codegen.AnnotationTargetTypeConstants;
+import org.eclipse.jdt.internal.compiler.env.ClassSignature;
+import org.eclipse.jdt.internal.compiler.env.EnumConstantSignature;
+import org.eclipse.jdt.internal.compiler.env.IBinaryAnnotation;
+import org.eclipse.jdt.internal.compiler.env.IBinaryElementValuePair;
+import org.eclipse.jdt.internal.compiler.env.IBinaryField;
+import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
+import org.eclipse.jdt.internal.compiler.env.IBinaryNestedType;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.jdt.internal.compiler.env.IBinaryTypeAnnotation;
+import org.eclipse.jdt.internal.compiler.impl.Constant;
+import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObjectToInt;
+import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Computes the {@link ClassStubFile} of a jar. Can be used from the command line:
+ * <pre>
+ * java org.eclipse.jdt.internal.compiler.classfmt.ClassStubWriter &lt;jar&gt; [&lt;stub file&gt;]
+ * </pre>
+ * If the stub file is omitted, it is written next to the jar, as &lt;jar&gt;.stubs.
+ * <p>
+ * Each type is written as its fields, its methods and then its header, so that the header
+ * can point back at the member sections which are only decoded on demand.
+ * </p>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ClassStubWriter {
+
+	private ByteArrayOutputStream data;
+	private DataOutputStream out;
+	private HashtableOfObjectToInt stringIndexes;
+	private ArrayList strings;
+	private ArrayList typeEntries; // pairs of (name index, data offset)
+
+public ClassStubWriter() {
+	this.data = new ByteArrayOutputStream(64 * 1024);
+	this.out = new DataOutputStream(this.data);
+	this.stringIndexes = new HashtableOfObjectToInt(1024);
+	this.strings = new ArrayList(1024);
+	this.typeEntries = new ArrayList();
+}
+
+public static void main(String[] args) throws IOException {
+	if (args.length < 1 || args.length > 2) {
+		System.err.println("Usage: ClassStubWriter <jar> [<stub file>]"); //$NON-NLS-1$
+		System.exit(1);
+	}
+	File jar = new File(args[0]);
+	File stubs = new File(args.length == 2 ? args[1] : args[0] + ClassStubFile.SUFFIX_STRING_stubs);
+	int count = generateStubs(jar, stubs);
+	System.out.println(count + " types written to " + stubs.getPath()); //$NON-NLS-1$
+}
+
+/**
+ * Read all class files of the given jar and write their stubs into the given file.
+ * Class files that cannot be read are skipped, the same way a jar classpath entry
+ * would treat them as missing.
+ * @return the number of types written
+ */
+public static int generateStubs(File jar, File stubFile) throws IOException {
+	ClassStubWriter writer = new ClassStubWriter();
+	ZipFile zipFile = new ZipFile(jar);
+	try {
+		for (Enumeration e = zipFile.entries(); e.hasMoreElements(); ) {
+			ZipEntry entry = (ZipEntry) e.nextElement();
+			String entryName = entry.getName();
+			if (entry.isDirectory() || !Util.isClassFileName(entryName))
+				continue;
+			try {
+				ClassFileReader reader = ClassFileReader.read(zipFile, entryName, true);
+				if (reader != null)
+					writer.addType(entryName.substring(0, entryName.length() - SuffixConstants.SUFFIX_CLASS.length), reader);
+			} catch (ClassFormatException ex) {
+				// treat as if class file is missing
+			}
+		}
+	} finally {
+		zipFile.close();
+	}
+	writer.save(stubFile, jar.getCanonicalPath());
+	return writer.typeEntries.size() / 2;
+}
+
+/**
+ * Append the stub of the given type.
+ * @param qualifiedTypeName slash-separated type name, e.g. java/lang/String
+ */
+public void addType(String qualifiedTypeName, IBinaryType binaryType) throws IOException {
+	int fieldsOffset = offset();
+	IBinaryField[] fields = binaryType.getFields();
+	if (fields == null) {
+		this.out.writeInt(-1);
+	} else {
+		this.out.writeInt(fields.length);
+		for (int i = 0, length = fields.length; i < length; i++)
+			writeField(fields[i]);
+	}
+	int methodsOffset = offset();
+	IBinaryMethod[] methods = binaryType.getMethods();
+	if (methods == null) {
+		this.out.writeInt(-1);
+	} else {
+		this.out.writeInt(methods.length);
+		for (int i = 0, length = methods.length; i < length; i++)
+			writeMethod(methods[i]);
+	}
+	int headerOffset = offset();
+	this.out.writeInt(fieldsOffset);
+	this.out.writeInt(methodsOffset);
+	this.out.writeInt(binaryType.getModifiers());
+	int kind = 0;
+	if (binaryType.isAnonymous()) kind |= ClassStubType.IS_ANONYMOUS;
+	if (binaryType.isLocal()) kind |= ClassStubType.IS_LOCAL;
+	if (binaryType.isMember()) kind |= ClassStubType.IS_MEMBER;
+	this.out.writeByte(kind);
+	this.out.writeLong(binaryType.getTagBits());
+	writeName(binaryType.getName());
+	writeName(binaryType.getSourceName());
+	writeName(binaryType.getSuperclassName());
+	writeNames(binaryType.getInterfaceNames());
+	writeName(binaryType.getGenericSignature());
+	writeName(binaryType.getEnclosingTypeName());
+	writeName(binaryType.getEnclosingMethod());
+	writeName(binaryType.sourceFileName());
+	char[][][] missingTypeNames = binaryType.getMissingTypeNames();
+	if (missingTypeNames == null) {
+		this.out.writeInt(-1);
+	} else {
+		this.out.writeInt(missingTypeNames.length);
+		for (int i = 0, length = missingTypeNames.length; i < length; i++)
+			writeNames(missingTypeNames[i]);
+	}
+	IBinaryNestedType[] memberTypes = binaryType.getMemberTypes();
+	if (memberTypes == null) {
+		this.out.writeInt(-1);
+	} else {
+		this.out.writeInt(memberTypes.length);
+		for (int i = 0, length = memberTypes.length; i < length; i++) {
+			writeName(memberTypes[i].getName());
+			writeName(memberTypes[i].getEnclosingTypeName());
+			this.out.writeInt(memberTypes[i].getModifiers());
+		}
+	}
+	writeAnnotations(binaryType.getAnnotations());
+	writeTypeAnnotations(binaryType.getTypeAnnotations());
+
+	this.typeEntries.add(new Integer(indexOf(qualifiedTypeName)));
+	this.typeEntries.add(new Integer(headerOffset));
+}
+
+/**
+ * Write the stub file, the header first, then the type data, the string table and the type table.
+ */
+public void save(File stubFile, String jarName) throws IOException {
+	int jarNameIndex = indexOf(jarName);
+	this.out.flush();
+	int stringTableOffset = offset();
+	int stringCount = this.strings.size();
+	int stringOffset = stringTableOffset + stringCount * 4;
+	for (int i = 0; i < stringCount; i++) {
+		this.out.writeInt(stringOffset);
+		stringOffset += 4 + ((String) this.strings.get(i)).length() * 2;
+	}
+	for (int i = 0; i < stringCount; i++) {
+		String string = (String) this.strings.get(i);
+		this.out.writeInt(string.length());
+		this.out.writeChars(string);
+	}
+	int typeTableOffset = offset();
+	for (int i = 0, size = this.typeEntries.size(); i < size; i++)
+		this.out.writeInt(((Integer) this.typeEntries.get(i)).intValue());
+	this.out.flush();
+
+	DataOutputStream file = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(stubFile)));
+	try {
+		file.writeInt(ClassStubFile.MAGIC);
+		file.writeInt(ClassStubFile.VERSION);
+		file.writeInt(jarNameIndex);
+		file.writeInt(stringCount);
+		file.writeInt(this.typeEntries.size() / 2);
+		file.writeInt(stringTableOffset);
+		file.writeInt(typeTableOffset);
+		this.data.writeTo(file);
+	} finally {
+		file.close();
+	}
+}
+
+private int offset() {
+	return ClassStubFile.HEADER_SIZE + this.out.size();
+}
+
+private int indexOf(String string) {
+	int index = this.stringIndexes.get(string);
+	if (index == -1) {
+		index = this.strings.size();
+		this.strings.add(string);
+		this.stringIndexes.put(string, index);
+	}
+	return index;
+}
+
+private void writeName(char[] name) throws IOException {
+	this.out.writeInt(name == null ? -1 : indexOf(new String(name)));
+}
+
+private void writeNames(char[][] names) throws IOException {
+	if (names == null) {
+		this.out.writeInt(-1);
+		return;
+	}
+	this.out.writeInt(names.length);
+	for (int i = 0, length = names.length; i < length; i++)
+		writeName(names[i]);
+}
+
+private void writeField(IBinaryField field) throws IOException {
+	this.out.writeInt(field.getModifiers());
+	this.out.writeLong(field.getTagBits());
+	writeName(field.getName());
+	writeName(field.getTypeName());
+	writeName(field.getGenericSignature());
+	writeConstant(field.getConstant());
+	writeAnnotations(field.getAnnotations());
+	writeTypeAnnotations(field.getTypeAnnotations());
+}
+
+private void writeMethod(IBinaryMethod method) throws IOException {
+	this.out.writeInt(method.getModifiers());
+	this.out.writeLong(method.getTagBits());
+	writeName(method.getSelector());
+	writeName(method.getMethodDescriptor());
+	writeName(method.getGenericSignature());
+	writeNames(method.getArgumentNames());
+	writeNames(method.getExceptionTypeNames());
+	writeAnnotations(method.getAnnotations());
+	int annotatedParametersCount = method.getAnnotatedParametersCount();
+	this.out.writeInt(annotatedParametersCount);
+	for (int i = 0; i < annotatedParametersCount; i++)
+		writeAnnotations(method.getParameterAnnotations(i));
+	writeTypeAnnotations(method.getTypeAnnotations());
+	writeElementValue(method.getDefaultValue());
+}
+
+private void writeConstant(Constant constant) throws IOException {
+	if (constant == null || constant == Constant.NotAConstant) {
+		this.out.writeByte(ClassStubFile.CONSTANT_NONE);
+		return;
+	}
+	switch (constant.typeID()) {
+		case TypeIds.T_boolean :
+			this.out.writeByte(ClassStubFile.CONSTANT_BOOLEAN);
+			this.out.writeInt(constant.booleanValue() ? 1 : 0);
+			break;
+		case TypeIds.T_byte :
+			this.out.writeByte(ClassStubFile.CONSTANT_BYTE);
+			this.out.writeInt(constant.byteValue());
+			break;
+		case TypeIds.T_char :
+			this.out.writeByte(ClassStubFile.CONSTANT_CHAR);
+			this.out.writeInt(constant.charValue());
+			break;
+		case TypeIds.T_short :
+			this.out.writeByte(ClassStubFile.CONSTANT_SHORT);
+			this.out.writeInt(constant.shortValue());
+			break;
+		case TypeIds.T_int :
+			this.out.writeByte(ClassStubFile.CONSTANT_INT);
+			this.out.writeInt(constant.intValue());
+			break;
+		case TypeIds.T_long :
+			this.out.writeByte(ClassStubFile.CONSTANT_LONG);
+			this.out.writeLong(constant.longValue());
+			break;
+		case TypeIds.T_float :
+			this.out.writeByte(ClassStubFile.CONSTANT_FLOAT);
+			this.out.writeInt(Float.floatToRawIntBits(constant.floatValue()));
+			break;
+		case TypeIds.T_double :
+			this.out.writeByte(ClassStubFile.CONSTANT_DOUBLE);
+			this.out.writeLong(Double.doubleToRawLongBits(constant.doubleValue()));
+			break;
+		case TypeIds.T_JavaLangString :
+			this.out.writeByte(ClassStubFile.CONSTANT_STRING);
+			this.out.writeInt(indexOf(constant.stringValue()));
+			break;
+		default :
+			this.out.writeByte(ClassStubFile.CONSTANT_NONE);
+	}
+}
+
+private void writeElementValue(Object value) throws IOException {
+	if (value instanceof Constant) {
+		this.out.writeByte(ClassStubFile.TAG_CONSTANT);
+		writeConstant((Constant) value);
+	} else if (value instanceof EnumConstantSignature) {
+		EnumConstantSignature enumConstant = (EnumConstantSignature) value;
+		this.out.writeByte(ClassStubFile.TAG_ENUM);
+		writeName(enumConstant.getTypeName());
+		writeName(enumConstant.getEnumConstantName());
+	} else if (value instanceof ClassSignature) {
+		this.out.writeByte(ClassStubFile.TAG_CLASS);
+		writeName(((ClassSignature) value).getTypeName());
+	} else if (value instanceof IBinaryAnnotation) {
+		this.out.writeByte(ClassStubFile.TAG_ANNOTATION);
+		writeAnnotation((IBinaryAnnotation) value);
+	} else if (value instanceof Object[]) {
+		Object[] values = (Object[]) value;
+		this.out.writeByte(ClassStubFile.TAG_ARRAY);
+		this.out.writeInt(values.length);
+		for (int i = 0, length = values.length; i < length; i++)
+			writeElementValue(values[i]);
+	} else {
+		this.out.writeByte(ClassStubFile.TAG_NULL);
+	}
+}
+
+private void writeAnnotation(IBinaryAnnotation annotation) throws IOException {
+	writeName(annotation.getTypeName());
+	IBinaryElementValuePair[] pairs = annotation.getElementValuePairs();
+	int length = pairs == null ? 0 : pairs.length;
+	this.out.writeInt(length);
+	for (int i = 0; i < length; i++) {
+		writeName(pairs[i].getName());
+		writeElementValue(pairs[i].getValue());
+	}
+}
+
+private void writeAnnotations(IBinaryAnnotation[] annotations) throws IOException {
+	if (annotations == null) {
+		this.out.writeInt(-1);
+		return;
+	}
+	this.out.writeInt(annotations.length);
+	for (int i = 0, length = annotations.length; i < length; i++)
+		writeAnnotation(annotations[i]);
+}
+
+private void writeTypeAnnotations(IBinaryTypeAnnotation[] annotations) throws IOException {
+	if (annotations == null) {
+		this.out.writeInt(-1);
+		return;
+	}
+	this.out.writeInt(annotations.length);
+	for (int i = 0, length = annotations.length; i < length; i++) {
+		IBinaryTypeAnnotation annotation = annotations[i];
+		int targetType = annotation.getTargetType();
+		int info = 0, info2 = 0;
+		switch (targetType) {
+			case AnnotationTargetTypeConstants.CLASS_TYPE_PARAMETER :
+			case AnnotationTargetTypeConstants.METHOD_TYPE_PARAMETER :
+				info = annotation.getTypeParameterIndex();
+				break;
+			case AnnotationTargetTypeConstants.CLASS_EXTENDS :
+				info = annotation.getSupertypeIndex();
+				break;
+			case AnnotationTargetTypeConstants.CLASS_TYPE_PARAMETER_BOUND :
+			case AnnotationTargetTypeConstants.METHOD_TYPE_PARAMETER_BOUND :
+				info = annotation.getTypeParameterIndex();
+				info2 = annotation.getBoundIndex();
+				break;
+			case AnnotationTargetTypeConstants.METHOD_FORMAL_PARAMETER :
+				info = annotation.getMethodFormalParameterIndex();
+				break;
+			case AnnotationTargetTypeConstants.THROWS :
+				info = annotation.getThrowsTypeIndex();
+				break;
+		}
+		this.out.writeByte(targetType);
+		this.out.writeInt(info);
+		this.out.writeInt(info2);
+		int[] typePath = annotation.getTypePath();
+		this.out.writeInt(typePath.length);
+		for (int j = 0, max = typePath.length; j < max; j++)
+			this.out.writeByte(typePath[j]);
+		writeAnnotation(annotation.getAnnotation());
+	}
+}
+}
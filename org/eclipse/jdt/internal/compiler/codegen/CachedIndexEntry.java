@@ -1,21 +0,0 @@
-/*******************************************************************************
- * Copyright (c) 2006, 2009 IBM Corporation and others.
- * All rights reserved. This program and the accompanying materials
- * are made available under the terms of the Eclipse Public License v1.0
- * which accompanies this distribution, and is available at
- * http://www.eclipse.org/legal/epl-v10.html
- *
- * Contributors:
- *     IBM Corporation - initial API and implementation
- *******************************************************************************/
-package org.eclipse.jdt.internal.compiler.codegen;
-
-public class CachedIndexEntry {
-	public char[] signature;
-	public int index;
-
-	public CachedIndexEntry(char[] signature, int index) {
-		this.signature = signature;
-		this.index = index;
-	}
-}
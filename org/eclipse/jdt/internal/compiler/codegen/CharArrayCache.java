@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,10 +12,20 @@ package org.eclipse.jdt.internal.compiler.codegen;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 
+/**
+ * Open addressing table from char[] keys to positive int values.
+ * <p>
+ * The capacity is a power of two and the hash code of each key is kept next to it,
+ * so that probing compares hash codes before characters, and growing does not hash
+ * the keys again. Removing a key shifts back the entries of its probe sequence, so
+ * that a removed key never hides another one (which would lead to a duplicate entry).
+ * </p>
+ */
 public class CharArrayCache {
 	// to avoid using Enumerations, walk the individual tables skipping nulls
 	public char[] keyTable[];
 	public int valueTable[];
+	int hashTable[];
 	int elementSize; // number of elements in the table
 	int threshold;
 /**
@@ -29,18 +39,38 @@ public CharArrayCache() {
  * Constructs a new, empty hashtable with the specified initial
  * capacity.
  * @param initialCapacity int
- *	the initial number of buckets; must be less than Integer.MAX_VALUE / 2
+ *	the initial number of buckets, rounded up to a power of two; must be less than 2^30
  */
 public CharArrayCache(int initialCapacity) {
+	int capacity = initialCapacity <= 4 ? 4 : Integer.highestOneBit(initialCapacity - 1) << 1;
 	this.elementSize = 0;
-	this.threshold = (initialCapacity * 2) / 3; // faster than float operation
-	this.keyTable = new char[initialCapacity][];
-	this.valueTable = new int[initialCapacity];
+	this.threshold = (capacity * 2) / 3; // faster than float operation
+	this.keyTable = new char[capacity][];
+	this.valueTable = new int[capacity];
+	this.hashTable = new int[capacity];
+}
+static int hash(char[] key) {
+	int hash = hashCode(key);
+	return hash ^ (hash >>> 16); // the mask only keeps the low bits
+}
+/**
+ * Answer a hash code of all the characters of the given key. Unlike CharOperation.hashCode(),
+ * which only looks at every other of the last 16 characters, it tells apart generated names and
+ * literals differing in a single character, e.g. "value12" and "value13", which would otherwise
+ * share long probe sequences.
+ */
+static int hashCode(char[] key) {
+	int hash = 0;
+	for (int i = 0, length = key.length; i < length; i++)
+		hash = hash * 31 + key[i];
+	return hash;
 }
 /**
  * Clears the hash table so that it has no more elements in it.
  */
 public void clear() {
+	if (this.elementSize == 0)
+		return;
 	for (int i = this.keyTable.length; --i >= 0;) {
 		this.keyTable[i] = null;
 		this.valueTable[i] = 0;
@@ -53,15 +83,7 @@ public void clear() {
  * @return boolean
  */
 public boolean containsKey(char[] key) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
-			return true;
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
-	}
-	return false;
+	return indexOf(key, hash(key)) >= 0;
 }
 /** Gets the object associated with the specified key in the
  * hashtable.
@@ -70,13 +92,20 @@ public boolean containsKey(char[] key) {
  *	defined in the hash table.
  */
 public int get(char[] key) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
-			return this.valueTable[index];
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
+	int index = indexOf(key, hash(key));
+	return index < 0 ? -1 : this.valueTable[index];
+}
+/**
+ * Answer the slot of the given key, or -1 if absent.
+ */
+private int indexOf(char[] key, int hash) {
+	char[][] keys = this.keyTable;
+	int mask = keys.length - 1, index = hash & mask;
+	char[] current;
+	while ((current = keys[index]) != null) {
+		if (this.hashTable[index] == hash && CharOperation.equals(current, key))
+			return index;
+		index = (index + 1) & mask;
 	}
 	return -1;
 }
@@ -90,80 +119,73 @@ public int get(char[] key) {
  * @return int the old value of the key, or -value if it did not have one.
  */
 public int putIfAbsent(char[] key, int value) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
+	int hash = hash(key);
+	char[][] keys = this.keyTable;
+	int mask = keys.length - 1, index = hash & mask;
+	char[] current;
+	while ((current = keys[index]) != null) {
+		if (this.hashTable[index] == hash && CharOperation.equals(current, key))
 			return this.valueTable[index];
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
+		index = (index + 1) & mask;
 	}
-	this.keyTable[index] = key;
+	keys[index] = key;
 	this.valueTable[index] = value;
+	this.hashTable[index] = hash;
 
 	// assumes the threshold is never equal to the size of the table
 	if (++this.elementSize > this.threshold)
 		rehash();
 	return -value; // negative when added (value is assumed to be > 0)
 }
-
-/**
- * Puts the specified element into the hashtable, using the specified
- * key.  The element may be retrieved by doing a get() with the same key.
- * The key and the element cannot be null.
- *
- * @param key <CODE>Object</CODE> the specified key in the hashtable
- * @param value <CODE>int</CODE> the specified element
- * @return int the old value of the key, or -1 if it did not have one.
- */
-private int put(char[] key, int value) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
-			return this.valueTable[index] = value;
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
-	}
-	this.keyTable[index] = key;
-	this.valueTable[index] = value;
-
-	// assumes the threshold is never equal to the size of the table
-	if (++this.elementSize > this.threshold)
-		rehash();
-	return value;
-}
 /**
  * Rehashes the content of the table into a bigger table.
  * This method is called automatically when the hashtable's
  * size exceeds the threshold.
  */
 private void rehash() {
-	CharArrayCache newHashtable = new CharArrayCache(this.keyTable.length * 2);
-	for (int i = this.keyTable.length; --i >= 0;)
-		if (this.keyTable[i] != null)
-			newHashtable.put(this.keyTable[i], this.valueTable[i]);
-
-	this.keyTable = newHashtable.keyTable;
-	this.valueTable = newHashtable.valueTable;
-	this.threshold = newHashtable.threshold;
+	char[][] oldKeys = this.keyTable;
+	int[] oldValues = this.valueTable;
+	int[] oldHashes = this.hashTable;
+	int capacity = oldKeys.length * 2, mask = capacity - 1;
+	char[][] keys = this.keyTable = new char[capacity][];
+	int[] values = this.valueTable = new int[capacity];
+	int[] hashes = this.hashTable = new int[capacity];
+	for (int i = oldKeys.length; --i >= 0;) {
+		char[] key = oldKeys[i];
+		if (key != null) {
+			int hash = oldHashes[i], index = hash & mask;
+			while (keys[index] != null)
+				index = (index + 1) & mask;
+			keys[index] = key;
+			values[index] = oldValues[i];
+			hashes[index] = hash;
+		}
+	}
+	this.threshold = (capacity * 2) / 3;
 }
 /** Remove the object associated with the specified key in the
  * hashtable.
  * @param key <CODE>char[]</CODE> the specified key
  */
 public void remove(char[] key) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key)) {
-			this.valueTable[index] = 0;
-			this.keyTable[index] = null;
-			return;
-		}
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
+	int index = indexOf(key, hash(key));
+	if (index < 0)
+		return;
+	char[][] keys = this.keyTable;
+	int mask = keys.length - 1, next = index;
+	while (keys[next = (next + 1) & mask] != null) {
+		// move back the next entry unless its home slot is cyclically within (index, next]
+		int home = this.hashTable[next] & mask;
+		if (index <= next ? (index < home && home <= next) : (index < home || home <= next))
+			continue;
+		keys[index] = keys[next];
+		this.valueTable[index] = this.valueTable[next];
+		this.hashTable[index] = this.hashTable[next];
+		index = next;
 	}
+	keys[index] = null;
+	this.valueTable[index] = 0;
+	this.elementSize--;
 }
 /**
  * Returns the key corresponding to the value. Returns null if the
@@ -193,16 +215,14 @@ public int size() {
  * return String the ascii representation of the receiver
  */
 public String toString() {
-	int max = size();
 	StringBuffer buf = new StringBuffer();
 	buf.append("{"); //$NON-NLS-1$
-	for (int i = 0; i < max; ++i) {
+	for (int i = 0, max = this.keyTable.length; i < max; ++i) {
 		if (this.keyTable[i] != null) {
+			if (buf.length() > 1)
+				buf.append(", "); //$NON-NLS-1$
 			buf.append(this.keyTable[i]).append("->").append(this.valueTable[i]); //$NON-NLS-1$
 		}
-		if (i < max) {
-			buf.append(", "); //$NON-NLS-1$
-		}
 	}
 	buf.append("}"); //$NON-NLS-1$
 	return buf.toString();
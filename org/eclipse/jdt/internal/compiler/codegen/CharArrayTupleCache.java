@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.codegen;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * Open addressing table from tuples of two or three char[] keys to positive int values,
+ * used by the constant pool to find field, method and name-and-type entries.
+ * <p>
+ * The keys of a tuple are kept in parallel arrays together with the combined hash code,
+ * so that no entry object is allocated per tuple. The capacity is a power of two.
+ * Pairs are stored with a null third key.
+ * </p>
+ */
+public class CharArrayTupleCache {
+	char[][] key1Table;
+	char[][] key2Table;
+	char[][] key3Table;
+	int[] hashTable;
+	int[] valueTable;
+	int elementSize; // number of elements in the table
+	int threshold;
+
+public CharArrayTupleCache() {
+	this(16);
+}
+/**
+ * @param initialCapacity the initial number of buckets, rounded up to a power of two
+ */
+public CharArrayTupleCache(int initialCapacity) {
+	int capacity = initialCapacity <= 4 ? 4 : Integer.highestOneBit(initialCapacity - 1) << 1;
+	this.elementSize = 0;
+	this.threshold = (capacity * 2) / 3;
+	this.key1Table = new char[capacity][];
+	this.key2Table = new char[capacity][];
+	this.key3Table = new char[capacity][];
+	this.hashTable = new int[capacity];
+	this.valueTable = new int[capacity];
+}
+private static int hash(char[] key1, char[] key2, char[] key3) {
+	int hash = (CharArrayCache.hashCode(key1) * 31 + CharArrayCache.hashCode(key2)) * 31;
+	if (key3 != null)
+		hash += CharArrayCache.hashCode(key3);
+	return hash ^ (hash >>> 16); // the mask only keeps the low bits
+}
+public void clear() {
+	if (this.elementSize == 0)
+		return;
+	for (int i = this.valueTable.length; --i >= 0;) {
+		this.key1Table[i] = null;
+		this.key2Table[i] = null;
+		this.key3Table[i] = null;
+		this.valueTable[i] = 0;
+	}
+	this.elementSize = 0;
+}
+/**
+ * Answer the value of the given pair, or -1 if absent.
+ */
+public int get(char[] key1, char[] key2) {
+	return get(key1, key2, null);
+}
+/**
+ * Answer the value of the given triple, or -1 if absent.
+ */
+public int get(char[] key1, char[] key2, char[] key3) {
+	int hash = hash(key1, key2, key3);
+	int mask = this.valueTable.length - 1, index = hash & mask;
+	char[] current;
+	while ((current = this.key1Table[index]) != null) {
+		if (this.hashTable[index] == hash
+				&& CharOperation.equals(this.key3Table[index], key3)
+				&& CharOperation.equals(this.key2Table[index], key2)
+				&& CharOperation.equals(current, key1))
+			return this.valueTable[index];
+		index = (index + 1) & mask;
+	}
+	return -1;
+}
+/**
+ * Puts the given value for the given pair if it wasn't there already.
+ * @return the old value of the pair, or -value if it did not have one
+ */
+public int putIfAbsent(char[] key1, char[] key2, int value) {
+	return putIfAbsent(key1, key2, null, value);
+}
+/**
+ * Puts the given value for the given triple if it wasn't there already.
+ * The first two keys cannot be null.
+ * @return the old value of the triple, or -value if it did not have one
+ */
+public int putIfAbsent(char[] key1, char[] key2, char[] key3, int value) {
+	int hash = hash(key1, key2, key3);
+	int mask = this.valueTable.length - 1, index = hash & mask;
+	char[] current;
+	while ((current = this.key1Table[index]) != null) {
+		// signatures differ most often, compare them first
+		if (this.hashTable[index] == hash
+				&& CharOperation.equals(this.key3Table[index], key3)
+				&& CharOperation.equals(this.key2Table[index], key2)
+				&& CharOperation.equals(current, key1))
+			return this.valueTable[index];
+		index = (index + 1) & mask;
+	}
+	this.key1Table[index] = key1;
+	this.key2Table[index] = key2;
+	this.key3Table[index] = key3;
+	this.hashTable[index] = hash;
+	this.valueTable[index] = value;
+
+	// assumes the threshold is never equal to the size of the table
+	if (++this.elementSize > this.threshold)
+		rehash();
+	return -value; // negative when added (value is assumed to be > 0)
+}
+private void rehash() {
+	char[][] oldKeys1 = this.key1Table, oldKeys2 = this.key2Table, oldKeys3 = this.key3Table;
+	int[] oldHashes = this.hashTable, oldValues = this.valueTable;
+	int capacity = oldValues.length * 2, mask = capacity - 1;
+	this.key1Table = new char[capacity][];
+	this.key2Table = new char[capacity][];
+	this.key3Table = new char[capacity][];
+	this.hashTable = new int[capacity];
+	this.valueTable = new int[capacity];
+	for (int i = oldValues.length; --i >= 0;) {
+		if (oldKeys1[i] != null) {
+			int hash = oldHashes[i], index = hash & mask;
+			while (this.key1Table[index] != null)
+				index = (index + 1) & mask;
+			this.key1Table[index] = oldKeys1[i];
+			this.key2Table[index] = oldKeys2[i];
+			this.key3Table[index] = oldKeys3[i];
+			this.hashTable[index] = hash;
+			this.valueTable[index] = oldValues[i];
+		}
+	}
+	this.threshold = (capacity * 2) / 3;
+}
+public int size() {
+	return this.elementSize;
+}
+public String toString() {
+	StringBuffer buf = new StringBuffer();
+	buf.append("{"); //$NON-NLS-1$
+	for (int i = 0, max = this.valueTable.length; i < max; ++i) {
+		if (this.key1Table[i] != null) {
+			if (buf.length() > 1)
+				buf.append(", "); //$NON-NLS-1$
+			buf.append(this.key1Table[i]).append('.').append(this.key2Table[i]);
+			if (this.key3Table[i] != null)
+				buf.append(this.key3Table[i]);
+			buf.append("->").append(this.valueTable[i]); //$NON-NLS-1$
+		}
+	}
+	buf.append("}"); //$NON-NLS-1$
+	return buf.toString();
+}
+}
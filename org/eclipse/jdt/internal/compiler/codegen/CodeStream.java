@@ -6748,7 +6748,10 @@ private final void resizeByteArray() {
 		// must be sure to grow enough
 		requiredSize = this.classFileOffset + length;
 	}
-	System.arraycopy(this.bCodeStream, 0, this.bCodeStream = new byte[requiredSize], 0, length);
+	byte[] newCodeStream = this.classFile.newByteArray(requiredSize);
+	System.arraycopy(this.bCodeStream, 0, newCodeStream, 0, length);
+	this.classFile.retireByteArray(this.bCodeStream);
+	this.bCodeStream = newCodeStream;
 }
 
 final public void ret(int index) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -99,6 +99,13 @@ public class UnconditionalFlowInfo extends FlowInfo {
 		// extra[INN] is iNNBit
 		// lifecycle is extra == null or else all extra[]'s are allocated
 		// arrays which have the same size
+	private int sharedExtra;
+		// bit j is set when extra[j] may also be referenced by another flow info,
+		// since copies and merges share the arrays they do not modify;
+		// such an array is copied before being modified (see unshareExtra(int))
+	private static final int INITS_EXTRA = 0x03;
+	private static final int NULL_EXTRA = 0xFC;
+	private static final int ALL_EXTRA = 0xFF;
 
 	public int maxFieldCount; // limit between fields and locals
 
@@ -243,6 +250,7 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 						System.arraycopy(this.extra[j], 0,
 							(this.extra[j] = new long[otherLength]), 0, length);
 					}
+					this.sharedExtra = 0;
 					mergeLimit = length;
 					copyLimit = otherLength;
 					if (COVERAGE_TEST_FLAG) {
@@ -262,31 +270,28 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 			}
 		} else if (otherInits.extra != null) {
 			// no storage here, but other has extra storage.
-			// shortcut regular copy because array copy is better
-			int otherLength;
+			// shortcut regular copy: share the other arrays until either side modifies them
+			int otherLength = otherInits.extra[0].length;
 			this.extra = new long[extraLength][];
-			System.arraycopy(otherInits.extra[0], 0,
-				(this.extra[0] = new long[otherLength =
-					otherInits.extra[0].length]), 0, otherLength);
-			System.arraycopy(otherInits.extra[1], 0,
-				(this.extra[1] = new long[otherLength]), 0, otherLength);
+			shareExtra(otherInits, 0);
+			shareExtra(otherInits, 1);
 			if (otherHasNulls) {
 				for (int j = 2; j < extraLength; j++) {
-					System.arraycopy(otherInits.extra[j], 0,
-						(this.extra[j] = new long[otherLength]), 0, otherLength);
+					shareExtra(otherInits, j);
 				}
 				if (COVERAGE_TEST_FLAG) {
 					if (CoverageTestId == 5) {
+						unshareExtra(NULL_EXTRA);
 						this.extra[5][otherLength - 1] = ~0;
 					}
 				}
 			}
 			else {
-				for (int j = 2; j < extraLength; j++) {
+				for (int j = 2; j < IN; j++) {
 					this.extra[j] = new long[otherLength];
 				}
-				System.arraycopy(otherInits.extra[IN], 0, this.extra[IN], 0, otherLength);
-				System.arraycopy(otherInits.extra[INN], 0, this.extra[INN], 0, otherLength);
+				shareExtra(otherInits, IN);
+				shareExtra(otherInits, INN);
 				if (COVERAGE_TEST_FLAG) {
 					if (CoverageTestId == 6) {
 						throw new AssertionFailedException("COVERAGE 6"); //$NON-NLS-1$
@@ -295,8 +300,10 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 			}
 		}
 		int i;
-		if (handleInits) {
+		if (handleInits && (mergeLimit > 0 || copyLimit > 0)
+				&& (this.extra[0] != otherInits.extra[0] || this.extra[1] != otherInits.extra[1])) { // else shared, nothing to add
 			// manage definite assignment info
+			unshareExtra(INITS_EXTRA);
 			for (i = 0; i < mergeLimit; i++) {
 				this.extra[0][i] |= otherInits.extra[0][i];
 				this.extra[1][i] |= otherInits.extra[1][i];
@@ -318,6 +325,9 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 		  	copyLimit = 0;
 		  	mergeLimit = 0;
 		}
+		if (mergeLimit > 0 || copyLimit > 0) {
+			unshareExtra(NULL_EXTRA);
+		}
 		for (i = 0; i < mergeLimit; i++) {
 			a1 = this.extra[1 + 1][i];
 			a2 = this.extra[2 + 1][i];
@@ -413,6 +423,7 @@ public FlowInfo addPotentialInitializationsFrom(FlowInfo inits) {
 					System.arraycopy(this.extra[j], 0,
 						(this.extra[j] = new long[otherLength]), 0, length);
 				}
+				this.sharedExtra = 0;
 				for (; i < length; i++) {
 					this.extra[1][i] |= otherInits.extra[1][i];
 				}
@@ -420,8 +431,9 @@ public FlowInfo addPotentialInitializationsFrom(FlowInfo inits) {
 					this.extra[1][i] = otherInits.extra[1][i];
 				}
 			}
-			else {
+			else if (this.extra[1] != otherInits.extra[1]) { // else shared, nothing to add
 				// current storage is longer
+				unshareExtra(1 << 1);
 				for (; i < otherLength; i++) {
 					this.extra[1][i] |= otherInits.extra[1][i];
 				}
@@ -430,10 +442,8 @@ public FlowInfo addPotentialInitializationsFrom(FlowInfo inits) {
 	}
 	else if (otherInits.extra != null) {
 		// no storage here, but other has extra storage.
-		int otherLength = otherInits.extra[0].length;
-		createExtraSpace(otherLength);
-		System.arraycopy(otherInits.extra[1], 0, this.extra[1], 0,
-			otherLength);
+		createExtraSpace(otherInits.extra[0].length);
+		shareExtra(otherInits, 1);
 	}
 	addPotentialNullInfoFrom(otherInits);
 	return this;
@@ -531,6 +541,7 @@ public UnconditionalFlowInfo addPotentialNullInfoFrom(
 							this.extra[j] = new long[copyLimit], 0,
 							mergeLimit);
 				}
+				this.sharedExtra = 0;
 				if (! thisHadNulls) {
     				mergeLimit = 0;
     				// will do with a copy -- caveat: only valid because definite assignment bits copied above
@@ -542,6 +553,7 @@ public UnconditionalFlowInfo addPotentialNullInfoFrom(
 				}
 			}
 		}
+		unshareExtra(NULL_EXTRA);
 		// PREMATURE skip operations for fields
 		int i;
 		for (i = 0 ; i < mergeLimit ; i++) {
@@ -708,20 +720,17 @@ public FlowInfo copy() {
 	copy.tagBits = this.tagBits;
 	copy.maxFieldCount = this.maxFieldCount;
 	if (this.extra != null) {
-		int length;
+		// the arrays are shared, and copied by whichever side modifies them first
 		copy.extra = new long[extraLength][];
-		System.arraycopy(this.extra[0], 0,
-			(copy.extra[0] = new long[length = this.extra[0].length]), 0,
-			length);
-		System.arraycopy(this.extra[1], 0,
-			(copy.extra[1] = new long[length]), 0, length);
+		copy.shareExtra(this, 0);
+		copy.shareExtra(this, 1);
 		if (hasNullInfo) {
 			for (int j = 2; j < extraLength; j++) {
-				System.arraycopy(this.extra[j], 0,
-					(copy.extra[j] = new long[length]), 0, length);
+				copy.shareExtra(this, j);
 			}
 		}
 		else {
+			int length = this.extra[0].length;
 			for (int j = 2; j < extraLength; j++) {
 				copy.extra[j] = new long[length];
 			}
@@ -742,6 +751,7 @@ public UnconditionalFlowInfo discardInitializationInfo() {
 	this.definiteInits =
 		this.potentialInits = 0;
 	if (this.extra != null) {
+		unshareExtra(INITS_EXTRA);
 		for (int i = 0, length = this.extra[0].length; i < length; i++) {
 			this.extra[0][i] = this.extra[1][i] = 0;
 		}
@@ -774,6 +784,7 @@ public UnconditionalFlowInfo discardNonFieldInitializations() {
 	if ((vectorIndex = (limit / BitCacheSize) - 1) >= length) {
 		return this; // not enough room yet
 	}
+	unshareExtra(ALL_EXTRA);
 	if (vectorIndex >= 0) {
 		// else we only have complete non field array items left
 		long mask = (1L << (limit % BitCacheSize))-1;
@@ -1178,6 +1189,7 @@ public void markAsComparedEqualToNonNull(LocalVariableBinding local) {
 							(this.extra[j] = new long[newLength]), 0,
 							oldLength);
 					}
+					this.sharedExtra = 0;
 					if (COVERAGE_TEST_FLAG) {
 						if (CoverageTestId == 17) {
 							throw new AssertionFailedException("COVERAGE 17"); //$NON-NLS-1$
@@ -1185,6 +1197,7 @@ public void markAsComparedEqualToNonNull(LocalVariableBinding local) {
 					}
 				}
 			}
+			unshareExtra(NULL_EXTRA);
 			// MACRO :'b,'es/nullBit\(.\)/extra[\1 + 1][vectorIndex]/gc
 			if (((mask = 1L << (position % BitCacheSize))
   				& (a1 = this.extra[1 + 1][vectorIndex])
@@ -1274,6 +1287,7 @@ public void markAsComparedEqualToNull(LocalVariableBinding local) {
 							(this.extra[j] = new long[newLength]), 0,
 							oldLength);
 					}
+					this.sharedExtra = 0;
 					if (COVERAGE_TEST_FLAG) {
 						if(CoverageTestId == 21) {
 							throw new AssertionFailedException("COVERAGE 21"); //$NON-NLS-1$
@@ -1281,6 +1295,7 @@ public void markAsComparedEqualToNull(LocalVariableBinding local) {
 					}
 				}
 			}
+			unshareExtra(NULL_EXTRA);
 			if ((mask & this.extra[1 + 1][vectorIndex]) != 0) {
   			  	if ((mask
   			  		& (~this.extra[2 + 1][vectorIndex] | this.extra[3 + 1][vectorIndex]
@@ -1333,12 +1348,15 @@ final private void markAsDefinitelyAssigned(int position) {
 							(this.extra[j] = new long[vectorIndex + 1]), 0,
 							oldLength);
 					}
+					this.sharedExtra = 0;
 				}
 			}
-			long mask;
-			this.extra[0][vectorIndex] |=
-				(mask = 1L << (position % BitCacheSize));
-			this.extra[1][vectorIndex] |= mask;
+			long mask = 1L << (position % BitCacheSize);
+			if ((this.extra[0][vectorIndex] & this.extra[1][vectorIndex] & mask) == 0) { // else shared arrays can be kept
+				unshareExtra(INITS_EXTRA);
+				this.extra[0][vectorIndex] |= mask;
+				this.extra[1][vectorIndex] |= mask;
+			}
 		}
 	}
 }
@@ -1391,8 +1409,10 @@ public void markAsDefinitelyNonNull(LocalVariableBinding local) {
     						(this.extra[j] = new long[vectorIndex + 1]), 0,
     						oldLength);
     				}
+    				this.sharedExtra = 0;
     			}
     		}
+    		unshareExtra(NULL_EXTRA);
     		this.extra[2][vectorIndex]
     		    |= (mask = 1L << (position % BitCacheSize));
     		this.extra[4][vectorIndex] |= mask;
@@ -1448,8 +1468,10 @@ public void markAsDefinitelyNull(LocalVariableBinding local) {
     						(this.extra[j] = new long[vectorIndex + 1]), 0,
     						oldLength);
     				}
+    				this.sharedExtra = 0;
     			}
     		}
+    		unshareExtra(NULL_EXTRA);
     		this.extra[2][vectorIndex]
     		    |= (mask = 1L << (position % BitCacheSize));
     		this.extra[3][vectorIndex] |= mask;
@@ -1512,8 +1534,10 @@ public void markAsDefinitelyUnknown(LocalVariableBinding local) {
 							(this.extra[j] = new long[vectorIndex + 1]), 0,
 							oldLength);
 					}
+					this.sharedExtra = 0;
 				}
 			}
+			unshareExtra(NULL_EXTRA);
 			this.extra[2][vectorIndex]
 			    |= (mask = 1L << (position % BitCacheSize));
 			this.extra[5][vectorIndex] |= mask;
@@ -1552,6 +1576,7 @@ public void resetNullInfo(LocalVariableBinding local) {
     			// before and for which no null bits exist.
     			return;
     		}
+    		unshareExtra(NULL_EXTRA);
     		this.extra[2][vectorIndex]
     		    &= (mask = ~(1L << (position % BitCacheSize)));
     		this.extra[3][vectorIndex] &= mask;
@@ -1598,9 +1623,11 @@ public void markPotentiallyUnknownBit(LocalVariableBinding local) {
 							(this.extra[j] = new long[vectorIndex + 1]), 0,
 							oldLength);
 					}
+					this.sharedExtra = 0;
 				}
 			}
     		mask = 1L << (position % BitCacheSize);
+    		unshareExtra(NULL_EXTRA);
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'unknown' mark in unexpected state"); //$NON-NLS-1$
     		this.extra[5][vectorIndex] |= mask;
     		if (COVERAGE_TEST_FLAG) {
@@ -1645,9 +1672,11 @@ public void markPotentiallyNullBit(LocalVariableBinding local) {
 							(this.extra[j] = new long[vectorIndex + 1]), 0,
 							oldLength);
 					}
+					this.sharedExtra = 0;
 				}
 			}
     		mask = 1L << (position % BitCacheSize);
+    		unshareExtra(NULL_EXTRA);
     		this.extra[3][vectorIndex] |= mask;
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'potentially null' mark in unexpected state"); //$NON-NLS-1$
     		if (COVERAGE_TEST_FLAG) {
@@ -1692,9 +1721,11 @@ public void markPotentiallyNonNullBit(LocalVariableBinding local) {
 							(this.extra[j] = new long[vectorIndex + 1]), 0,
 							oldLength);
 					}
+					this.sharedExtra = 0;
 				}
 			}
     		mask = 1L << (position % BitCacheSize);
+    		unshareExtra(NULL_EXTRA);
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'potentially non-null' mark in unexpected state"); //$NON-NLS-1$
     		this.extra[4][vectorIndex] |= mask;
     		if (COVERAGE_TEST_FLAG) {
@@ -1831,6 +1862,7 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 						System.arraycopy(this.extra[j], 0,
 							(this.extra[j] = new long[otherLength]), 0, length);
 					}
+					this.sharedExtra = 0;
 					mergeLimit = length;
 					copyLimit = otherLength;
 					if (COVERAGE_TEST_FLAG) {
@@ -1866,8 +1898,8 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 			for (int j = 0; j < extraLength; j++) {
 				this.extra[j] = new long[otherLength];
 			}
-			System.arraycopy(otherInits.extra[1], 0,
-				this.extra[1], 0, otherLength);
+			this.sharedExtra = 0;
+			shareExtra(otherInits, 1);
 			System.arraycopy(otherInits.extra[IN], 0, this.extra[IN], 0, otherLength);
 			System.arraycopy(otherInits.extra[INN], 0, this.extra[INN], 0, otherLength);
 			copyLimit = otherLength;
@@ -1878,16 +1910,26 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 			}
 		}
         // MACRO :'b,'es/nullBit\(.\)/extra[\1 + 1][i]/g
-		// manage definite assignment
-		for (i = 0; i < mergeLimit; i++) {
-	  		this.extra[0][i] &= otherInits.extra[0][i];
-	  		this.extra[1][i] |= otherInits.extra[1][i];
-		}
-		for (; i < copyLimit; i++) {
-		  	this.extra[1][i] = otherInits.extra[1][i];
+		// manage definite assignment, arrays shared with otherInits need no merge
+		long[] otherDefinite = otherInits.extra == null ? null : otherInits.extra[0];
+		long[] otherPotential = otherInits.extra == null ? null : otherInits.extra[1];
+		if (this.extra[0] != otherDefinite) {
+			unshareExtra(1 << 0);
+			for (i = 0; i < mergeLimit; i++) {
+		  		this.extra[0][i] &= otherDefinite[i];
+			}
+			for (; i < resetLimit; i++) {
+			  	this.extra[0][i] = 0;
+			}
 		}
-		for (; i < resetLimit; i++) {
-		  	this.extra[0][i] = 0;
+		if (this.extra[1] != otherPotential) {
+			unshareExtra(1 << 1);
+			for (i = 0; i < mergeLimit; i++) {
+		  		this.extra[1][i] |= otherPotential[i];
+			}
+			for (; i < copyLimit; i++) {
+			  	this.extra[1][i] = otherPotential[i];
+			}
 		}
 		// refine null bits requirements
 		if (!otherHasNulls) {
@@ -1900,6 +1942,9 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 		if (!thisHadNulls) {
 		  resetLimit = 0; // no need to reset anything
 		}
+		if (mergeLimit > 0 || copyLimit > 0 || resetLimit > 0) {
+			unshareExtra(NULL_EXTRA);
+		}
 		// compose nulls
 		for (i = 0; i < mergeLimit; i++) {
     		this.extra[1 + 1][i] = (a1=this.extra[1+1][i]) & (b1=otherInits.extra[1+1][i]) & (
@@ -2005,13 +2050,10 @@ public UnconditionalFlowInfo nullInfoLessUnconditionalCopy() {
 	copy.tagBits |= UNROOTED;
 	copy.maxFieldCount = this.maxFieldCount;
 	if (this.extra != null) {
-		int length;
+		int length = this.extra[0].length;
 		copy.extra = new long[extraLength][];
-		System.arraycopy(this.extra[0], 0,
-			(copy.extra[0] =
-				new long[length = this.extra[0].length]), 0, length);
-		System.arraycopy(this.extra[1], 0,
-			(copy.extra[1] = new long[length]), 0, length);
+		copy.shareExtra(this, 0);
+		copy.shareExtra(this, 1);
 		for (int j = 2; j < extraLength; j++) {
 			copy.extra[j] = new long[length];
 		}
@@ -2040,6 +2082,7 @@ public FlowInfo setReachMode(int reachMode) {
 			// see InitializationTest#test090 (and others)
 			this.potentialInits = 0;
 			if (this.extra != null) {
+				unshareExtra(1 << 1);
 				for (int i = 0, length = this.extra[0].length;
 						i < length; i++) {
 					this.extra[1][i] = 0;
@@ -2201,6 +2244,7 @@ public void resetAssignmentInfo(int position) {
 			int vectorIndex = (position / BitCacheSize) - 1;
 			if (this.extra == null || vectorIndex >= this.extra[0].length) return;	// variable doesnt exist in flow info
 			long mask;
+			unshareExtra(INITS_EXTRA);
 			this.extra[0][vectorIndex] &=
 				(mask = ~(1L << (position % BitCacheSize)));
 			this.extra[1][vectorIndex] &= mask;
@@ -2213,10 +2257,37 @@ private void createExtraSpace(int length) {
 	for (int j = 0; j < extraLength; j++) {
 		this.extra[j] = new long[length];
 	}
+	this.sharedExtra = 0;
 	if ((this.tagBits & UNROOTED) != 0) {
 		Arrays.fill(this.extra[IN], -1L);
 		Arrays.fill(this.extra[INN], -1L);
 	}
 }
+
+/**
+ * Make the receiver use the extra bit field j of otherInits, until either of them modifies it.
+ */
+private void shareExtra(UnconditionalFlowInfo otherInits, int j) {
+	this.extra[j] = otherInits.extra[j];
+	this.sharedExtra |= 1 << j;
+	otherInits.sharedExtra |= 1 << j;
+}
+
+/**
+ * Copy the extra bit fields designated by the given bit mask which may be shared
+ * with another flow info, before modifying them.
+ */
+private void unshareExtra(int extraMask) {
+	int shared = this.sharedExtra & extraMask;
+	if (shared == 0)
+		return;
+	for (int j = 0; j < extraLength; j++) {
+		if ((shared & (1 << j)) != 0) {
+			long[] bits = this.extra[j];
+			System.arraycopy(bits, 0, (this.extra[j] = new long[bits.length]), 0, bits.length);
+		}
+	}
+	this.sharedExtra &= ~shared;
+}
 }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -148,6 +148,8 @@ public class CompilerOptions {
 	public static final String OPTION_Process_Annotations = "org.eclipse.jdt.core.compiler.processAnnotations"; //$NON-NLS-1$
 	// OPTION_Store_Annotations: undocumented option for testing purposes
 	public static final String OPTION_Store_Annotations = "org.eclipse.jdt.core.compiler.storeAnnotations"; //$NON-NLS-1$
+	// OPTION_ConcurrentTypeSystem: undocumented option for clients resolving bindings from several threads with one lookup environment
+	public static final String OPTION_ConcurrentTypeSystem = "org.eclipse.jdt.core.compiler.concurrentTypeSystem"; //$NON-NLS-1$
 	public static final String OPTION_EmulateJavacBug8031744 = "org.eclipse.jdt.core.compiler.emulateJavacBug8031744"; //$NON-NLS-1$
 	public static final String OPTION_ReportRedundantSuperinterface =  "org.eclipse.jdt.core.compiler.problem.redundantSuperinterface"; //$NON-NLS-1$
 	public static final String OPTION_ReportComparingIdentical =  "org.eclipse.jdt.core.compiler.problem.comparingIdentical"; //$NON-NLS-1$
@@ -342,7 +344,9 @@ public class CompilerOptions {
 	/** Compiler trace verbosity */
 	public boolean verbose;
 	/** Indicates whether reference info is desired */
-	public boolean produceReferenceInfo;	
+	public boolean produceReferenceInfo;
+	/** Indicates whether statistics of the lookups are collected, as reported by the batch compiler with -time:detail */
+	public boolean collectStatistics;	
 	/** Indicates if unused/optimizable local variables need to be preserved (debugging purpose) */
 	public boolean preserveAllLocalVariables;
 	/** Indicates whether literal expressions are inlined at parse-time or not */
@@ -421,6 +425,10 @@ public class CompilerOptions {
 	public boolean generateClassFiles;
 	/** Indicate if method bodies should be ignored */
 	public boolean ignoreMethodBodies;
+	/** Indicate if fields and methods of binary types read from class stubs should only be created when first needed */
+	public boolean lazyBinaryMembers;
+	/** Indicate if derived types (arrays, parameterizations, wildcards...) may be requested by several threads resolving bindings at once, see {@link #OPTION_ConcurrentTypeSystem} */
+	public boolean concurrentTypeSystem;
 	/** Raise null related warnings for variables tainted inside an assert statement (java 1.4 and above)*/
 	public boolean includeNullInfoFromAsserts;
 	/** Controls whether forced generic type problems get reported  */
@@ -1154,6 +1162,7 @@ public class CompilerOptions {
 		optionsMap.put(OPTION_GenerateClassFiles, this.generateClassFiles ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_Process_Annotations, this.processAnnotations ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_Store_Annotations, this.storeAnnotations ? ENABLED : DISABLED);
+		optionsMap.put(OPTION_ConcurrentTypeSystem, this.concurrentTypeSystem ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_EmulateJavacBug8031744, this.emulateJavacBug8031744 ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_ReportRedundantSuperinterface, getSeverityString(RedundantSuperinterface));
 		optionsMap.put(OPTION_ReportComparingIdentical, getSeverityString(ComparingIdentical));
@@ -1320,6 +1329,9 @@ public class CompilerOptions {
 		// store annotations
 		this.storeAnnotations = false;
 
+		// derived types requested by one thread at a time
+		this.concurrentTypeSystem = false;
+
 		// annotation processing
 		this.generateClassFiles = true;
 
@@ -1831,6 +1843,13 @@ public class CompilerOptions {
 					this.storeAnnotations = false;
 			}
 		}
+		if ((optionValue = optionsMap.get(OPTION_ConcurrentTypeSystem)) != null) {
+			if (ENABLED.equals(optionValue)) {
+				this.concurrentTypeSystem = true;
+			} else if (DISABLED.equals(optionValue)) {
+				this.concurrentTypeSystem = false;
+			}
+		}
 		if ((optionValue = optionsMap.get(OPTION_EmulateJavacBug8031744)) != null) {
 			if (ENABLED.equals(optionValue)) {
 				this.emulateJavacBug8031744 = true;
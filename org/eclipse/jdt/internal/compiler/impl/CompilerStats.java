@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -24,6 +24,44 @@ public class CompilerStats implements Comparable {
 	public long analyzeTime;
 	public long generateTime;
 
+	// class file generation
+	public long classFileCount;
+	public long classFileAllocatedBytes;
+	public long classFileRecycledBytes;
+	// class files released once written, with the bytes allocated for each of them
+	public long classFileReleasedCount;
+	public long classFileReleasedAllocatedBytes;
+	public int classFileMaxAllocatedBytes;
+
+	// type inference
+	public long inferenceCount;
+	public long inferenceLookupCount; // standalone invocations whose result can be reused
+	public long inferenceHitCount;
+	public long inferenceTime; // in nanoseconds
+	public long inferenceBoundCount; // type bounds added during incorporation
+	public long inferencePairCount; // pairs of type bounds combined during incorporation
+	public long inferenceMaxPairCount;
+	public String inferenceMaxPairSite; // position of the invocation with the most pairs combined
+
+	// method lookup
+	public long inheritedMethodLookupCount; // lookups in superclass chains of binary types
+	public long inheritedMethodHitCount;
+	public long inheritedMethodStaleCount; // methods found before the methods of a type were complete
+
+	// overload resolution
+	public long candidateCount; // candidates of the right arity checked for applicability
+	public long candidateRejectedCount; // candidates rejected from the kinds and erasures of their parameters
+	public long candidateMaxCount;
+	public long candidateMaxRejectedCount;
+	public String candidateMaxSite; // position of the invocation with the most candidates
+
+	// method verification
+	public long verifyTime; // in nanoseconds
+	public long verifyLookupCount; // types whose inherited methods could be shared
+	public long verifyHitCount;
+	public long verifyOverrideLookupCount; // inherited methods compared with each other in shared tables
+	public long verifyOverrideHitCount;
+
 /**
  * Returns the total elapsed time (between start and end)
  * @return the time spent between start and end
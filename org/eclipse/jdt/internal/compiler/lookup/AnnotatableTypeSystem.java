@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2014 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -31,7 +31,14 @@ public class AnnotatableTypeSystem extends TypeSystem {
 	private boolean isAnnotationBasedNullAnalysisEnabled;
 	
 	public AnnotatableTypeSystem(LookupEnvironment environment) {
-		super(environment);
+		this(environment, false);
+	}
+	
+	/* In concurrent mode, two threads asking for the same annotated type at once may both create it. Both variants share the id of
+	   their naked type, which remains unique, so this only costs memory.
+	*/
+	public AnnotatableTypeSystem(LookupEnvironment environment, boolean concurrent) {
+		super(environment, concurrent);
 		this.environment = environment;
 		this.isAnnotationBasedNullAnalysisEnabled = environment.globalOptions.isAnnotationBasedNullAnalysisEnabled;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -45,6 +45,7 @@ import java.util.ArrayList;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.ast.Annotation;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassStubType;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationProvider.IMethodAnnotationWalker;
 import org.eclipse.jdt.internal.compiler.classfmt.NonNullDefaultAwareTypeAnnotationWalker;
 import org.eclipse.jdt.internal.compiler.classfmt.TypeAnnotationWalker;
@@ -81,6 +82,9 @@ public class BinaryTypeBinding extends ReferenceBinding {
 	protected ReferenceBinding[] memberTypes;
 	protected TypeVariableBinding[] typeVariables;
 	private BinaryTypeBinding prototype;
+	// binary type whose fields, resp. methods, are created when first needed, see CompilerOptions#lazyBinaryMembers
+	private IBinaryType pendingFields;
+	private IBinaryType pendingMethods;
 
 	// For the link with the principle structure
 	protected LookupEnvironment environment;
@@ -288,6 +292,9 @@ public FieldBinding[] availableFields() {
 	if (!isPrototype()) {
 		return this.prototype.availableFields();
 	}
+
+	if (this.pendingFields != null)
+		createPendingFields();
 	
 	if ((this.tagBits & TagBits.AreFieldsComplete) != 0)
 		return this.fields;
@@ -349,6 +356,9 @@ public MethodBinding[] availableMethods() {
 		return this.prototype.availableMethods();
 	}
 
+	if (this.pendingMethods != null)
+		createPendingMethods();
+
 	if ((this.tagBits & TagBits.AreMethodsComplete) != 0)
 		return this.methods;
 
@@ -476,7 +486,13 @@ void cachePartsFrom(IBinaryType binaryType, boolean needFieldsAndMethods) {
 			}
 		}
 
-		if (needFieldsAndMethods) {
+		if (needFieldsAndMethods && globalOptions.lazyBinaryMembers && binaryType instanceof ClassStubType
+				&& !globalOptions.isAnnotationBasedNullAnalysisEnabled) {
+			// stubs only decode members when asked, so keeping them costs less than creating bindings for all members,
+			// whereas a class file reader would keep the class file bytes; null annotations on members are scanned now though
+			this.pendingFields = binaryType;
+			this.pendingMethods = binaryType;
+		} else if (needFieldsAndMethods) {
 			IBinaryField[] iFields = binaryType.getFields();
 			createFields(iFields, binaryType, sourceLevel, missingTypeNames);
 			IBinaryMethod[] iMethods = createMethods(binaryType.getMethods(), binaryType, sourceLevel, missingTypeNames);
@@ -529,6 +545,32 @@ void cachePartsFrom(IBinaryType binaryType, boolean needFieldsAndMethods) {
 	}
 }
 
+private void createPendingFields() {
+	IBinaryType binaryType = this.pendingFields;
+	this.pendingFields = null;
+	createFields(binaryType.getFields(), binaryType, this.environment.globalOptions.originalSourceLevel, binaryType.getMissingTypeNames());
+	if (isViewedAsDeprecated()) {
+		for (int i = 0, max = this.fields.length; i < max; i++) {
+			FieldBinding field = this.fields[i];
+			if (!field.isDeprecated())
+				field.modifiers |= ExtraCompilerModifiers.AccDeprecatedImplicitly;
+		}
+	}
+}
+
+private void createPendingMethods() {
+	IBinaryType binaryType = this.pendingMethods;
+	this.pendingMethods = null;
+	createMethods(binaryType.getMethods(), binaryType, this.environment.globalOptions.originalSourceLevel, binaryType.getMissingTypeNames());
+	if (isViewedAsDeprecated()) {
+		for (int i = 0, max = this.methods.length; i < max; i++) {
+			MethodBinding method = this.methods[i];
+			if (!method.isDeprecated())
+				method.modifiers |= ExtraCompilerModifiers.AccDeprecatedImplicitly;
+		}
+	}
+}
+
 private ITypeAnnotationWalker getTypeAnnotationWalker(IBinaryTypeAnnotation[] annotations) {
 	if (!isPrototype()) throw new IllegalStateException();
 	if (annotations == null || annotations.length == 0 || !this.environment.usesAnnotatedTypeSystem()) {
@@ -936,6 +978,9 @@ public FieldBinding[] fields() {
 		return this.fields = this.prototype.fields();
 	}
 
+	if (this.pendingFields != null)
+		createPendingFields();
+
 	if ((this.tagBits & TagBits.AreFieldsComplete) != 0)
 		return this.fields;
 
@@ -1024,6 +1069,9 @@ public MethodBinding getExactConstructor(TypeBinding[] argumentTypes) {
 	if (!isPrototype())
 		return this.prototype.getExactConstructor(argumentTypes);
 
+	if (this.pendingMethods != null)
+		createPendingMethods();
+
 	// lazily sort methods
 	if ((this.tagBits & TagBits.AreMethodsSorted) == 0) {
 		int length = this.methods.length;
@@ -1057,6 +1105,9 @@ public MethodBinding getExactMethod(char[] selector, TypeBinding[] argumentTypes
 	if (!isPrototype())
 		return this.prototype.getExactMethod(selector, argumentTypes, refScope);
 
+	if (this.pendingMethods != null)
+		createPendingMethods();
+
 	// lazily sort methods
 	if ((this.tagBits & TagBits.AreMethodsSorted) == 0) {
 		int length = this.methods.length;
@@ -1104,6 +1155,9 @@ public FieldBinding getField(char[] fieldName, boolean needResolve) {
 	if (!isPrototype())
 		return this.prototype.getField(fieldName, needResolve);
 
+	if (this.pendingFields != null)
+		createPendingFields();
+
 	// lazily sort fields
 	if ((this.tagBits & TagBits.AreFieldsSorted) == 0) {
 		int length = this.fields.length;
@@ -1144,6 +1198,9 @@ public MethodBinding[] getMethods(char[] selector) {
 	if (!isPrototype())
 		return this.prototype.getMethods(selector);
 
+	if (this.pendingMethods != null)
+		createPendingMethods();
+
 	if ((this.tagBits & TagBits.AreMethodsComplete) != 0) {
 		long range;
 		if ((range = ReferenceBinding.binarySearch(selector, this.methods)) >= 0) {
@@ -1184,6 +1241,9 @@ public MethodBinding[] getMethods(char[] selector, int suggestedParameterLength)
 	if (!isPrototype())
 		return this.prototype.getMethods(selector, suggestedParameterLength);
 
+	if (this.pendingMethods != null)
+		createPendingMethods();
+
 	if ((this.tagBits & TagBits.AreMethodsComplete) != 0)
 		return getMethods(selector);
 	// lazily sort methods
@@ -1378,6 +1438,9 @@ public MethodBinding[] methods() {
 	if (!isPrototype()) {
 		return this.methods = this.prototype.methods();
 	}
+
+	if (this.pendingMethods != null)
+		createPendingMethods();
 	
 	if ((this.tagBits & TagBits.AreMethodsComplete) != 0)
 		return this.methods;
@@ -1950,6 +2013,9 @@ MethodBinding[] unResolvedMethods() { // for the MethodVerifier so it doesn't re
 	if (!isPrototype())
 		return this.prototype.unResolvedMethods();
 	
+	if (this.pendingMethods != null)
+		createPendingMethods();
+
 	return this.methods;
 }
 
@@ -1958,6 +2024,9 @@ public FieldBinding[] unResolvedFields() {
 	if (!isPrototype())
 		return this.prototype.unResolvedFields();
 	
+	if (this.pendingFields != null)
+		createPendingFields();
+
 	return this.fields;
 }
 }
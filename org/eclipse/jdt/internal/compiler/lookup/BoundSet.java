@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2015 GK Software AG.
+ * Copyright (c) 2013, 2026 GK Software AG.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
 package org.eclipse.jdt.internal.compiler.lookup;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -293,6 +294,90 @@ class BoundSet {
 			this.instantiation = type;
 		}
 	}
+	/**
+	 * Index of an array of type bounds by the inference variables they mention, so that only the bounds
+	 * sharing an inference variable with a given bound are combined with it during incorporation.
+	 * Bounds whose mentioned variables cannot be told from the structure of their types are related to any bound.
+	 */
+	static class BoundIndex {
+		private HashMap<InferenceVariable, int[]> positionsPerVariable = new HashMap<InferenceVariable, int[]>(); // slot 0 holds the count
+		private int[] unknownPositions = new int[] { 0 };
+		private int size;
+
+		static BoundIndex of(TypeBound[] bounds) {
+			BoundIndex index = new BoundIndex();
+			for (int i = 0, length = bounds.length; i < length; i++)
+				index.add(bounds[i], i);
+			return index;
+		}
+		private static int[] append(int[] positions, int position) {
+			int count = positions[0];
+			if (count + 1 == positions.length)
+				System.arraycopy(positions, 0, positions = new int[positions.length * 2], 0, count + 1);
+			positions[++count] = position;
+			positions[0] = count;
+			return positions;
+		}
+		/** Add the given bound at the given position, positions must be added in ascending order. */
+		void add(TypeBound bound, int position) {
+			InferenceVariable[] variables = bound.mentionedVariables();
+			if (variables == TypeBound.UNKNOWN_VARIABLES) {
+				this.unknownPositions = append(this.unknownPositions, position);
+			} else {
+				for (int i = 0, length = variables.length; i < length; i++) {
+					int[] positions = this.positionsPerVariable.get(variables[i]);
+					this.positionsPerVariable.put(variables[i], append(positions == null ? new int[] { 0, 0, 0, 0 } : positions, position));
+				}
+			}
+			this.size = position + 1;
+		}
+		/** Answer the ascending positions of the bounds which may combine with the given bound. */
+		int[] positionsRelatedTo(TypeBound bound) {
+			return positionsRelatedTo(new TypeBound[] { bound });
+		}
+		/** Answer the ascending positions of the bounds which may combine with any of the given bounds. */
+		int[] positionsRelatedTo(TypeBound[] bounds) {
+			int[] collected = new int[8];
+			int count = 0;
+			for (int i = 0, length = bounds.length; i < length; i++) {
+				InferenceVariable[] variables = bounds[i].mentionedVariables();
+				if (variables == TypeBound.UNKNOWN_VARIABLES) {
+					int[] all = new int[this.size];
+					for (int j = 0; j < this.size; j++)
+						all[j] = j;
+					return all;
+				}
+				for (int j = 0, jLength = variables.length; j < jLength; j++) {
+					int[] positions = this.positionsPerVariable.get(variables[j]);
+					if (positions != null) {
+						int positionCount = positions[0];
+						if (count + positionCount > collected.length)
+							System.arraycopy(collected, 0, collected = new int[(count + positionCount) * 2], 0, count);
+						System.arraycopy(positions, 1, collected, count, positionCount);
+						count += positionCount;
+					}
+				}
+			}
+			int unknownCount = this.unknownPositions[0];
+			if (count + unknownCount > collected.length)
+				System.arraycopy(collected, 0, collected = new int[count + unknownCount], 0, count);
+			System.arraycopy(this.unknownPositions, 1, collected, count, unknownCount);
+			count += unknownCount;
+			if (count == 0)
+				return NO_POSITIONS;
+			Arrays.sort(collected, 0, count);
+			int unique = 1;
+			for (int i = 1; i < count; i++) {
+				if (collected[i] != collected[unique - 1])
+					collected[unique++] = collected[i];
+			}
+			if (unique < collected.length)
+				System.arraycopy(collected, 0, collected = new int[unique], 0, unique);
+			return collected;
+		}
+	}
+	static final int[] NO_POSITIONS = new int[0];
+
 	// main storage of type bounds:
 	HashMap<InferenceVariable, ThreeSets> boundsPerVariable = new HashMap<InferenceVariable, ThreeSets>();
 	
@@ -305,6 +390,7 @@ class BoundSet {
 	Set<InferenceVariable> inThrows = new HashSet<InferenceVariable>();
 
 	private TypeBound [] incorporatedBounds = new TypeBound[0];
+	private BoundIndex incorporatedIndex; // index of incorporatedBounds, built lazily
 	private TypeBound [] unincorporatedBounds = new TypeBound [1024];
 	private int unincorporatedBoundsCount = 0;
 	private TypeBound [] mostRecentBounds = new TypeBound[4]; // for quick & dirty duplicate elimination.
@@ -393,6 +479,8 @@ class BoundSet {
 		if (three == null)
 			this.boundsPerVariable.put(variable, (three = new ThreeSets()));
 		if (three.addBound(bound)) {
+			if (environment.globalOptions.collectStatistics)
+				environment.incorporationStats.boundCount++;
 			int unincorporatedBoundsLength = this.unincorporatedBounds.length;
 			if (this.unincorporatedBoundsCount >= unincorporatedBoundsLength)
 				System.arraycopy(this.unincorporatedBounds, 0, this.unincorporatedBounds = new TypeBound[unincorporatedBoundsLength * 2], 0, unincorporatedBoundsLength);
@@ -484,11 +572,21 @@ class BoundSet {
 			System.arraycopy(this.incorporatedBounds, 0, aggregate, 0, incorporatedLength);
 			System.arraycopy(freshBounds, 0, aggregate, incorporatedLength, unincorporatedLength);
 			this.incorporatedBounds = aggregate;
+			if (this.incorporatedIndex != null) {
+				for (int i = 0; i < unincorporatedLength; i++)
+					this.incorporatedIndex.add(freshBounds[i], incorporatedLength + i);
+			}
 			
 		} while (this.unincorporatedBoundsCount > 0);
 		
 		return true;
 	}
+	private BoundIndex incorporatedIndex() {
+		if (this.incorporatedIndex == null)
+			this.incorporatedIndex = BoundIndex.of(this.incorporatedBounds);
+		return this.incorporatedIndex;
+	}
+
 	/**
 	 * <b>JLS 18.3:</b> Try to infer new constraints from pairs of existing type bounds.
 	 * Each new constraint is first reduced and checked for TRUE or FALSE, which will
@@ -500,100 +598,40 @@ class BoundSet {
 	boolean incorporate(InferenceContext18 context, TypeBound [] first, TypeBound [] next) throws InferenceFailureException {
 		boolean analyzeNull = context.environment.globalOptions.isAnnotationBasedNullAnalysisEnabled;
 		ConstraintTypeFormula [] mostRecentFormulas = new ConstraintTypeFormula[4]; // poor man's cache to toss out duplicates, in pathological cases there are a good quarter million of them.
-		// check each pair, in each way.
-		for (int i = 0, iLength = first.length; i < iLength; i++) {
-			TypeBound boundI = first[i];
-			for (int j = 0, jLength = next.length; j < jLength; j++) {
-				TypeBound boundJ = next[j];
-				if (boundI == boundJ)
-					continue;
-				int iteration = 1;
-				do {
-					ConstraintTypeFormula newConstraint = null;
-					boolean deriveTypeArgumentConstraints = false;
-					if (iteration == 2) {
-						TypeBound boundX = boundI;
-						boundI = boundJ;
-						boundJ = boundX;
-					}
-					switch (boundI.relation) {
-						case ReductionResult.SAME:
-							switch (boundJ.relation) {
-								case ReductionResult.SAME:
-									newConstraint = combineSameSame(boundI, boundJ);
-									break;
-								case ReductionResult.SUBTYPE:
-								case ReductionResult.SUPERTYPE:
-									newConstraint = combineSameSubSuper(boundI, boundJ);
-									break;
-							}
-							break;
-						case ReductionResult.SUBTYPE:
-							switch (boundJ.relation) {
-								case ReductionResult.SAME:
-									newConstraint = combineSameSubSuper(boundJ, boundI);
-									break;
-								case ReductionResult.SUPERTYPE:
-									newConstraint = combineSuperAndSub(boundJ, boundI);
-									break;
-								case ReductionResult.SUBTYPE:
-									newConstraint = combineEqualSupers(boundI, boundJ);
-									deriveTypeArgumentConstraints = TypeBinding.equalsEquals(boundI.left, boundJ.left);
-									break;
-							}
-							break;
-						case ReductionResult.SUPERTYPE:
-							switch (boundJ.relation) {
-								case ReductionResult.SAME:
-									newConstraint = combineSameSubSuper(boundJ, boundI);
-									break;
-								case ReductionResult.SUBTYPE:
-									newConstraint = combineSuperAndSub(boundI, boundJ);
-									break;
-								case ReductionResult.SUPERTYPE:
-									newConstraint = combineEqualSupers(boundI, boundJ);
-									break;
-							}
-					}
-					if (newConstraint != null) {
-						if (newConstraint.left == newConstraint.right) { //$IDENTITY-COMPARISON$
-							newConstraint = null;
-						} else 	if (newConstraint.equalsEquals(mostRecentFormulas[0]) || newConstraint.equalsEquals(mostRecentFormulas[1]) ||
-									newConstraint.equalsEquals(mostRecentFormulas[2]) || newConstraint.equalsEquals(mostRecentFormulas[3])) {
-							newConstraint = null;
-						}
-					}
-					if (newConstraint != null) {
-						// bubble formulas around the cache.
-						mostRecentFormulas[3] = mostRecentFormulas[2];
-						mostRecentFormulas[2] = mostRecentFormulas[1];
-						mostRecentFormulas[1] = mostRecentFormulas[0];
-						mostRecentFormulas[0] = newConstraint;
-					
-						if (!reduceOneConstraint(context, newConstraint))
+		if (analyzeNull) {
+			// null hints are passed between the bounds of any pair, check each pair, in each way.
+			for (int i = 0, iLength = first.length; i < iLength; i++) {
+				for (int j = 0, jLength = next.length; j < jLength; j++) {
+					if (!combine(context, first[i], next[j], first != next, mostRecentFormulas, true))
+						return false;
+				}
+			}
+		} else {
+			// only pairs of bounds mentioning a common inference variable imply new constraints,
+			// check these in the same order as above, using an index of the bounds by inference variable.
+			BoundIndex nextIndex = new BoundIndex();
+			for (int j = 0, jLength = next.length; j < jLength; j++)
+				nextIndex.add(next[j], j);
+			if (first == next) {
+				for (int i = 0, iLength = first.length; i < iLength; i++) {
+					TypeBound boundI = first[i];
+					int[] positions = nextIndex.positionsRelatedTo(boundI);
+					for (int j = 0, jLength = positions.length; j < jLength; j++) {
+						if (!combine(context, boundI, next[positions[j]], false, mostRecentFormulas, false))
 							return false;
-						
-						if (analyzeNull) {
-							// not per JLS: if the new constraint relates types where at least one has a null annotations,
-							// record all null tagBits as hints for the final inference solution.
-							long nullHints = (newConstraint.left.tagBits | newConstraint.right.tagBits) & TagBits.AnnotationNullMASK;
-							boundI.nullHints |= nullHints;
-							boundJ.nullHints |= nullHints;
-						}
 					}
-					ConstraintFormula[] typeArgumentConstraints = deriveTypeArgumentConstraints ? deriveTypeArgumentConstraints(boundI, boundJ) : null;
-					if (typeArgumentConstraints != null) {
-						for (int k = 0, length = typeArgumentConstraints.length; k < length; k++) {
-							if (!reduceOneConstraint(context, typeArgumentConstraints[k]))
-								return false;
-						}
-					}
-					if (iteration == 2) {
-						TypeBound boundX = boundI;
-						boundI = boundJ;
-						boundJ = boundX;
+				}
+			} else {
+				BoundIndex firstIndex = first == this.incorporatedBounds ? incorporatedIndex() : BoundIndex.of(first);
+				int[] relatedPositions = firstIndex.positionsRelatedTo(next);
+				for (int i = 0, iLength = relatedPositions.length; i < iLength; i++) {
+					TypeBound boundI = first[relatedPositions[i]];
+					int[] positions = nextIndex.positionsRelatedTo(boundI);
+					for (int j = 0, jLength = positions.length; j < jLength; j++) {
+						if (!combine(context, boundI, next[positions[j]], true, mostRecentFormulas, false))
+							return false;
 					}
-				} while (first != next && ++iteration <= 2);
+				}
 			}
 		}
 		/* TODO: are we sure this will always terminate? Cf. e.g. (Discussion in 18.3):
@@ -697,6 +735,101 @@ class BoundSet {
 		return true;
 	}
 
+	/**
+	 * Try to infer new constraints from the given pair of type bounds, and from the reverse pair too if bothWays.
+	 * @return false if any constraint resolved to false, true otherwise  
+	 */
+	private boolean combine(InferenceContext18 context, TypeBound boundI, TypeBound boundJ, boolean bothWays,
+			ConstraintTypeFormula [] mostRecentFormulas, boolean analyzeNull) throws InferenceFailureException {
+		if (boundI == boundJ)
+			return true;
+		if (context.environment.globalOptions.collectStatistics)
+			context.environment.incorporationStats.pairCount++;
+		int iteration = 1;
+		do {
+			ConstraintTypeFormula newConstraint = null;
+			boolean deriveTypeArgumentConstraints = false;
+			if (iteration == 2) {
+				TypeBound boundX = boundI;
+				boundI = boundJ;
+				boundJ = boundX;
+			}
+			switch (boundI.relation) {
+				case ReductionResult.SAME:
+					switch (boundJ.relation) {
+						case ReductionResult.SAME:
+							newConstraint = combineSameSame(boundI, boundJ);
+							break;
+						case ReductionResult.SUBTYPE:
+						case ReductionResult.SUPERTYPE:
+							newConstraint = combineSameSubSuper(boundI, boundJ);
+							break;
+					}
+					break;
+				case ReductionResult.SUBTYPE:
+					switch (boundJ.relation) {
+						case ReductionResult.SAME:
+							newConstraint = combineSameSubSuper(boundJ, boundI);
+							break;
+						case ReductionResult.SUPERTYPE:
+							newConstraint = combineSuperAndSub(boundJ, boundI);
+							break;
+						case ReductionResult.SUBTYPE:
+							newConstraint = combineEqualSupers(boundI, boundJ);
+							deriveTypeArgumentConstraints = TypeBinding.equalsEquals(boundI.left, boundJ.left);
+							break;
+					}
+					break;
+				case ReductionResult.SUPERTYPE:
+					switch (boundJ.relation) {
+						case ReductionResult.SAME:
+							newConstraint = combineSameSubSuper(boundJ, boundI);
+							break;
+						case ReductionResult.SUBTYPE:
+							newConstraint = combineSuperAndSub(boundI, boundJ);
+							break;
+						case ReductionResult.SUPERTYPE:
+							newConstraint = combineEqualSupers(boundI, boundJ);
+							break;
+					}
+			}
+			if (newConstraint != null) {
+				if (newConstraint.left == newConstraint.right) { //$IDENTITY-COMPARISON$
+					newConstraint = null;
+				} else 	if (newConstraint.equalsEquals(mostRecentFormulas[0]) || newConstraint.equalsEquals(mostRecentFormulas[1]) ||
+							newConstraint.equalsEquals(mostRecentFormulas[2]) || newConstraint.equalsEquals(mostRecentFormulas[3])) {
+					newConstraint = null;
+				}
+			}
+			if (newConstraint != null) {
+				// bubble formulas around the cache.
+				mostRecentFormulas[3] = mostRecentFormulas[2];
+				mostRecentFormulas[2] = mostRecentFormulas[1];
+				mostRecentFormulas[1] = mostRecentFormulas[0];
+				mostRecentFormulas[0] = newConstraint;
+			
+				if (!reduceOneConstraint(context, newConstraint))
+					return false;
+				
+				if (analyzeNull) {
+					// not per JLS: if the new constraint relates types where at least one has a null annotations,
+					// record all null tagBits as hints for the final inference solution.
+					long nullHints = (newConstraint.left.tagBits | newConstraint.right.tagBits) & TagBits.AnnotationNullMASK;
+					boundI.nullHints |= nullHints;
+					boundJ.nullHints |= nullHints;
+				}
+			}
+			ConstraintFormula[] typeArgumentConstraints = deriveTypeArgumentConstraints ? deriveTypeArgumentConstraints(boundI, boundJ) : null;
+			if (typeArgumentConstraints != null) {
+				for (int k = 0, length = typeArgumentConstraints.length; k < length; k++) {
+					if (!reduceOneConstraint(context, typeArgumentConstraints[k]))
+						return false;
+				}
+			}
+		} while (bothWays && ++iteration <= 2);
+		return true;
+	}
+
 	void addTypeBoundsFromWildcardBound(InferenceContext18 context, InferenceSubstitution theta, int boundKind, TypeBinding t,
 			TypeBinding r, TypeBinding bi) throws InferenceFailureException {
 		ConstraintFormula formula = null;
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import org.eclipse.jdt.internal.compiler.ast.Expression;
+import org.eclipse.jdt.internal.compiler.ast.Invocation;
+
+/**
+ * Cheap rejection of candidate methods of the right arity whose parameters cannot accept
+ * the argument types, before {@link Scope#computeCompatibleMethod} checks them for
+ * applicability, possibly inferring type arguments.
+ * <p>
+ * Only kinds and erasures are looked at: a primitive parameter only accepts a primitive or
+ * a boxed type, an array parameter only accepts arrays, and the erasure of a final class only
+ * accepts itself (or its primitive type once boxed). Anything else is left to the
+ * applicability check, as are arguments which are poly expressions or whose types mention
+ * type variables, wildcards, intersections, or types which are unresolved or missing.
+ * </p>
+ * The candidates looked at and rejected are counted by {@link CandidateStats} when statistics are collected.
+ */
+public final class CandidateFilter {
+
+private CandidateFilter() {
+	// static methods only, the filter keeps no state so that it may be used by several threads
+}
+
+/**
+ * Answer whether the given method is known not to be applicable to the given arguments,
+ * their number being already known to match its parameters.
+ * The last argument is not looked at when tiebreaking variable arity methods,
+ * since it then stands for the elements of the variable arity parameter.
+ */
+static boolean rejects(MethodBinding method, TypeBinding[] arguments, InvocationSite invocationSite, boolean tiebreakingVarargsMethods) {
+	TypeBinding[] parameters = method.parameters;
+	int length = method.isVarargs() ? parameters.length - 1 : parameters.length; // the variable arity parameter takes a single argument or several
+	if (tiebreakingVarargsMethods && length == arguments.length)
+		length--;
+	for (int i = 0; i < length; i++) {
+		if (isIncompatible(arguments[i], parameters[i])) {
+			if (invocationSite instanceof Invocation) {
+				Expression[] argumentExpressions = ((Invocation) invocationSite).arguments();
+				if (argumentExpressions != null && i < argumentExpressions.length && argumentExpressions[i].isPolyExpression())
+					continue; // the type of a poly expression is not final
+			}
+			return true;
+		}
+	}
+	return false;
+}
+
+/**
+ * Answer whether an expression of the given type is known not to be compatible with the given
+ * parameter type in a loose invocation context, by looking at their kinds and erasures only.
+ */
+static boolean isIncompatible(TypeBinding argument, TypeBinding parameter) {
+	if (argument == null || !isKnown(argument) || !isKnown(parameter))
+		return false;
+	boolean argumentIsBaseType = argument.isBaseType();
+	if (parameter.isBaseType()) {
+		if (argumentIsBaseType)
+			return false; // cheap enough to check
+		switch (argument.id) {
+			case TypeIds.T_JavaLangBoolean :
+			case TypeIds.T_JavaLangByte :
+			case TypeIds.T_JavaLangCharacter :
+			case TypeIds.T_JavaLangShort :
+			case TypeIds.T_JavaLangDouble :
+			case TypeIds.T_JavaLangFloat :
+			case TypeIds.T_JavaLangInteger :
+			case TypeIds.T_JavaLangLong :
+				return false; // unboxing
+			default :
+				return true;
+		}
+	}
+	if (parameter.isArrayType())
+		return !argument.isArrayType();
+	TypeBinding parameterErasure = parameter.erasure();
+	if (!(parameterErasure instanceof ReferenceBinding) || !((ReferenceBinding) parameterErasure).isFinal())
+		return false;
+	if (argumentIsBaseType)
+		return parameterErasure.id != boxedTypeId(argument.id);
+	return argument.isArrayType() || TypeBinding.notEquals(argument.erasure(), parameterErasure);
+}
+
+private static boolean isKnown(TypeBinding type) {
+	switch (type.kind()) {
+		case Binding.BASE_TYPE :
+			return type.id != TypeIds.T_null && type.id != TypeIds.T_void;
+		case Binding.TYPE :
+			if (type.isUnresolvedType())
+				return false;
+			//$FALL-THROUGH$
+		case Binding.GENERIC_TYPE :
+		case Binding.RAW_TYPE :
+		case Binding.PARAMETERIZED_TYPE :
+		case Binding.ARRAY_TYPE :
+			return (type.tagBits & TagBits.HasMissingType) == 0 && type.isValidBinding();
+		default : // type variables, wildcards, intersection and poly types
+			return false;
+	}
+}
+
+private static int boxedTypeId(int baseTypeId) {
+	switch (baseTypeId) {
+		case TypeIds.T_boolean :
+			return TypeIds.T_JavaLangBoolean;
+		case TypeIds.T_byte :
+			return TypeIds.T_JavaLangByte;
+		case TypeIds.T_char :
+			return TypeIds.T_JavaLangCharacter;
+		case TypeIds.T_short :
+			return TypeIds.T_JavaLangShort;
+		case TypeIds.T_double :
+			return TypeIds.T_JavaLangDouble;
+		case TypeIds.T_float :
+			return TypeIds.T_JavaLangFloat;
+		case TypeIds.T_int :
+			return TypeIds.T_JavaLangInteger;
+		case TypeIds.T_long :
+			return TypeIds.T_JavaLangLong;
+		default :
+			return TypeIds.NoId;
+	}
+}
+}
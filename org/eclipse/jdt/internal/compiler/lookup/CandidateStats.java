@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Statistics of the candidate methods looked at by {@link CandidateFilter}, per invocation site,
+ * only kept when {@link org.eclipse.jdt.internal.compiler.impl.CompilerOptions#collectStatistics} is set.
+ */
+public class CandidateStats {
+
+	int candidateCount; // candidates of the right arity looked at
+	int rejectedCount;
+	int maxCandidateCount; // candidates of the invocation with the most candidates
+	int maxRejectedCount;
+	String maxCandidateSite; // where the invocation with the most candidates is
+
+	// candidates of the current invocation, counting starts over when another invocation is looked at
+	private InvocationSite site;
+	private int siteCandidateCount;
+	private int siteRejectedCount;
+	private InvocationSite maxSite;
+
+/**
+ * Record that a candidate method of the given invocation was looked at, and whether it was rejected.
+ */
+synchronized void record(InvocationSite invocationSite, boolean rejected, Scope scope) {
+	if (invocationSite != this.site) {
+		this.site = invocationSite;
+		this.siteCandidateCount = 0;
+		this.siteRejectedCount = 0;
+	}
+	this.candidateCount++;
+	if (++this.siteCandidateCount > this.maxCandidateCount) {
+		if (this.maxSite != invocationSite) {
+			this.maxSite = invocationSite;
+			CompilationResult result = scope.referenceCompilationUnit().compilationResult;
+			int[] lineEnds = result.getLineSeparatorPositions();
+			int line = lineEnds == null ? 0 : Util.getLineNumber(invocationSite.sourceStart(), lineEnds, 0, lineEnds.length - 1);
+			char[] fileName = result.getFileName();
+			this.maxCandidateSite = (fileName == null ? Util.EMPTY_STRING : new String(fileName)) + ':' + line;
+		}
+		this.maxCandidateCount = this.siteCandidateCount;
+		this.maxRejectedCount = this.siteRejectedCount;
+	}
+	if (rejected) {
+		this.rejectedCount++;
+		this.siteRejectedCount++;
+		if (this.maxSite == invocationSite)
+			this.maxRejectedCount = this.siteRejectedCount;
+	}
+}
+
+/**
+ * Add the candidate filtering statistics to the given stats.
+ */
+public synchronized void recordStats(CompilerStats stats) {
+	stats.candidateCount += this.candidateCount;
+	stats.candidateRejectedCount += this.rejectedCount;
+	if (this.maxCandidateCount > stats.candidateMaxCount) {
+		stats.candidateMaxCount = this.maxCandidateCount;
+		stats.candidateMaxRejectedCount = this.maxRejectedCount;
+		stats.candidateMaxSite = this.maxCandidateSite;
+	}
+}
+
+synchronized void reset() {
+	this.candidateCount = 0;
+	this.rejectedCount = 0;
+	this.maxCandidateCount = 0;
+	this.maxRejectedCount = 0;
+	this.maxCandidateSite = null;
+	this.site = null;
+	this.siteCandidateCount = 0;
+	this.siteRejectedCount = 0;
+	this.maxSite = null;
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,7 +29,7 @@ public class CompilationUnitScope extends Scope {
 	public PackageBinding fPackage;
 	public ImportBinding[] imports;
 	public int importPtr;
-	public HashtableOfObject typeOrPackageCache; // used in Scope.getTypeOrPackage()
+	public HashtableOfBinding typeOrPackageCache; // used in Scope.getTypeOrPackage()
 
 	public SourceTypeBinding[] topLevelTypes;
 
@@ -328,7 +328,7 @@ void faultInImports() {
 	if (this.typeOrPackageCache != null && !this.skipCachingImports)
 		return; // can be called when a field constant is resolved before static imports
 	if (this.referenceContext.imports == null) {
-		this.typeOrPackageCache = new HashtableOfObject(1);
+		this.typeOrPackageCache = new HashtableOfBinding(1);
 		return;
 	}
 
@@ -430,7 +430,7 @@ void faultInImports() {
 		System.arraycopy(this.tempImports, 0, this.tempImports = new ImportBinding[this.importPtr], 0, this.importPtr);
 	this.imports = this.tempImports;
 	int length = this.imports.length;
-	this.typeOrPackageCache = new HashtableOfObject(length);
+	this.typeOrPackageCache = new HashtableOfBinding(length);
 	for (int i = 0; i < length; i++) {
 		ImportBinding binding = this.imports[i];
 		if (!binding.onDemand && binding.resolvedImport instanceof ReferenceBinding || binding instanceof ImportConflictBinding)
@@ -817,8 +817,10 @@ private ReferenceBinding typeToRecord(TypeBinding type) {
 	return refType;
 }
 public void verifyMethods(MethodVerifier verifier) {
+	long start = System.nanoTime();
 	for (int i = 0, length = this.topLevelTypes.length; i < length; i++)
 		this.topLevelTypes[i].verifyMethods(verifier);
+	this.environment.inheritedMethodTables.verifyTime += System.nanoTime() - start;
 }
 private void recordImportBinding(ImportBinding bindingToAdd) {
 	if (this.tempImports.length == this.importPtr) {
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Statistics of the incorporation of type bounds (JLS 18.3) by {@link BoundSet},
+ * kept by the lookup environment across the invocations it infers, only when
+ * {@link org.eclipse.jdt.internal.compiler.impl.CompilerOptions#collectStatistics} is set.
+ */
+public class IncorporationStats {
+
+	int boundCount; // type bounds added during incorporation
+	long pairCount; // pairs of type bounds combined during incorporation
+	long maxPairCount; // pairs combined by the costliest invocation
+	String maxPairSite; // where the costliest invocation is
+
+/**
+ * Record the number of pairs of type bounds combined to infer the given invocation,
+ * remembering where the invocation is if it is the costliest one so far.
+ */
+void recordPairCount(long count, InvocationSite invocationSite, Scope scope) {
+	if (count <= this.maxPairCount)
+		return;
+	this.maxPairCount = count;
+	CompilationResult result = scope.referenceCompilationUnit().compilationResult;
+	int[] lineEnds = result.getLineSeparatorPositions();
+	int line = lineEnds == null ? 0 : Util.getLineNumber(invocationSite.sourceStart(), lineEnds, 0, lineEnds.length - 1);
+	char[] fileName = result.getFileName();
+	this.maxPairSite = (fileName == null ? Util.EMPTY_STRING : new String(fileName)) + ':' + line;
+}
+
+/**
+ * Add the incorporation statistics to the given stats.
+ */
+public void recordStats(CompilerStats stats) {
+	stats.inferenceBoundCount += this.boundCount;
+	stats.inferencePairCount += this.pairCount;
+	if (this.maxPairCount > stats.inferenceMaxPairCount) {
+		stats.inferenceMaxPairCount = this.maxPairCount;
+		stats.inferenceMaxPairSite = this.maxPairSite;
+	}
+}
+
+void reset() {
+	this.boundCount = 0;
+	this.pairCount = 0;
+	this.maxPairCount = 0;
+	this.maxPairSite = null;
+}
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import java.util.HashMap;
+
+import org.eclipse.jdt.internal.compiler.ast.Expression;
+import org.eclipse.jdt.internal.compiler.ast.Invocation;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+
+/**
+ * Results of type inference (JLS 18.5.1 and 18.5.2) for invocations of generic methods,
+ * kept by the lookup environment so that invoking the same method with the same argument
+ * types does not run inference again.
+ * <p>
+ * Only results which depend on nothing but the method and the argument types are kept:
+ * the invocation must be a standalone expression outside of any enclosing inference,
+ * none of its arguments may be a poly expression, and neither the argument types nor the
+ * solutions may mention captures or inference variables (whose identity depends on the
+ * invocation). The target type of a standalone invocation takes no part in inference,
+ * hence it is not part of the key. Results involving unchecked conversions are not kept,
+ * since these must be reported at each invocation, nor are results when annotation based
+ * null analysis is enabled, since inference then also looks at null hints.
+ * </p>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class InferenceResultCache {
+
+	static class Key {
+		final MethodBinding method;
+		final TypeBinding[] arguments;
+		final int hashCode;
+
+		Key(MethodBinding method, TypeBinding[] arguments) {
+			this.method = method;
+			this.arguments = arguments;
+			int hash = System.identityHashCode(method);
+			for (int i = 0, length = arguments.length; i < length; i++)
+				hash = hash * 31 + System.identityHashCode(arguments[i]);
+			this.hashCode = hash;
+		}
+		public boolean equals(Object other) {
+			if (!(other instanceof Key))
+				return false;
+			Key otherKey = (Key) other;
+			if (this.hashCode != otherKey.hashCode || this.method != otherKey.method)
+				return false;
+			TypeBinding[] otherArguments = otherKey.arguments;
+			int length = this.arguments.length;
+			if (length != otherArguments.length)
+				return false;
+			for (int i = 0; i < length; i++)
+				if (this.arguments[i] != otherArguments[i])
+					return false;
+			return true;
+		}
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+	static class Result {
+		final ParameterizedGenericMethodBinding method;
+		final int inferenceKind;
+
+		Result(ParameterizedGenericMethodBinding method, int inferenceKind) {
+			this.method = method;
+			this.inferenceKind = inferenceKind;
+		}
+	}
+
+	private HashMap results = new HashMap();
+
+	// statistics, only kept when CompilerOptions#collectStatistics is set
+	int inferenceCount; // outermost inferences, reused or not
+	int lookupCount;
+	int hitCount;
+	long inferenceTime;
+
+/**
+ * Answer the key under which the result of inferring the given invocation can be kept,
+ * or null if it depends on more than the method and the argument types.
+ */
+Key keyFor(MethodBinding method, TypeBinding[] arguments, InvocationSite invocationSite) {
+	if (!(invocationSite instanceof Invocation) || method instanceof SyntheticFactoryMethodBinding) // diamond factories are created per allocation
+		return null;
+	Expression[] argumentExpressions = ((Invocation) invocationSite).arguments();
+	if (argumentExpressions != null) {
+		for (int i = 0, length = argumentExpressions.length; i < length; i++) {
+			if (argumentExpressions[i].getPolyExpressions().length != 0)
+				return null;
+		}
+	}
+	for (int i = 0, length = arguments.length; i < length; i++) {
+		if (!isCacheable(arguments[i]))
+			return null;
+	}
+	return new Key(method, arguments);
+}
+
+Result get(Key key) {
+	return (Result) this.results.get(key);
+}
+
+void put(Key key, ParameterizedGenericMethodBinding method, int inferenceKind) {
+	TypeBinding[] solutions = method.typeArguments;
+	for (int i = 0, length = solutions.length; i < length; i++) {
+		if (!isCacheable(solutions[i]))
+			return;
+	}
+	this.results.put(key, new Result(method, inferenceKind));
+}
+
+/**
+ * Answer whether the given type is known independently of any invocation, i.e. it mentions
+ * neither captures, inference variables nor types which are unresolved or missing.
+ */
+static boolean isCacheable(TypeBinding type) {
+	if (type == null)
+		return true;
+	if (!type.isValidBinding() || (type.tagBits & TagBits.HasMissingType) != 0)
+		return false;
+	switch (type.kind()) {
+		case Binding.BASE_TYPE :
+		case Binding.GENERIC_TYPE :
+			return true;
+		case Binding.TYPE :
+			return !type.isUnresolvedType() && isCacheable(type.enclosingType());
+		case Binding.RAW_TYPE :
+			return isCacheable(type.enclosingType());
+		case Binding.ARRAY_TYPE :
+			return isCacheable(type.leafComponentType());
+		case Binding.PARAMETERIZED_TYPE :
+			TypeBinding[] arguments = ((ParameterizedTypeBinding) type).arguments;
+			if (arguments != null) {
+				for (int i = 0, length = arguments.length; i < length; i++) {
+					if (!isCacheable(arguments[i]))
+						return false;
+				}
+			}
+			return isCacheable(type.enclosingType());
+		case Binding.WILDCARD_TYPE :
+		case Binding.INTERSECTION_TYPE :
+			WildcardBinding wildcard = (WildcardBinding) type;
+			if (wildcard.otherBounds != null) {
+				for (int i = 0, length = wildcard.otherBounds.length; i < length; i++) {
+					if (!isCacheable(wildcard.otherBounds[i]))
+						return false;
+				}
+			}
+			return isCacheable(wildcard.bound);
+		case Binding.TYPE_PARAMETER :
+			// declared type variables are safe, their bounds are not looked at here
+			return !type.isCapture() && !(type instanceof InferenceVariable);
+		default : // poly types, intersection types of 1.8 inference
+			return false;
+	}
+}
+
+/**
+ * Add the inference statistics to the given stats.
+ */
+public void recordStats(CompilerStats stats) {
+	stats.inferenceCount += this.inferenceCount;
+	stats.inferenceLookupCount += this.lookupCount;
+	stats.inferenceHitCount += this.hitCount;
+	stats.inferenceTime += this.inferenceTime;
+}
+
+void reset() {
+	this.results = new HashMap();
+	this.inferenceCount = 0;
+	this.lookupCount = 0;
+	this.hitCount = 0;
+	this.inferenceTime = 0;
+}
+}
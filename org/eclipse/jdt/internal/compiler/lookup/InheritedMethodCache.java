@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
+import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
+
+/**
+ * Methods of a given name found by walking the superclass chain of a receiver type,
+ * kept by the lookup environment so that {@link Scope#findMethod0} does not walk
+ * the same hierarchy again for each invocation of the same selector.
+ * <p>
+ * The methods of a given name found in the superinterfaces of a type, and of its
+ * superclasses, are kept the same way under a negative argument count, for each
+ * walk of {@link Scope#findDefaultAbstractMethod} or of the superinterfaces of an
+ * interface receiver. These are kept with the type each was found from, so that
+ * their visibility can still be checked against each invocation site.
+ * </p>
+ * <p>
+ * Only hierarchies made of binary types are kept, since these do not change once
+ * they are connected, and only when none of their types needs a capture.
+ * Binary types answer fewer methods while their methods are not all resolved,
+ * so an entry remembers which of its types had their methods complete and is
+ * discarded when this changes.
+ * </p>
+ */
+public class InheritedMethodCache {
+
+	// argument counts under which the methods found in superinterfaces are kept
+	static final int SUPERINTERFACES = -1; // of the receiver type only
+	static final int ALL_SUPERINTERFACES = -2; // of the receiver type and of its superclasses
+
+	static class Entry {
+		final int argumentCount;
+		final ReferenceBinding[] types; // superclass chain of the receiver type, or the superinterfaces walked
+		final boolean[] methodsComplete;
+		final MethodBinding[] methods;
+		final ReferenceBinding[] receivers; // for superinterfaces, the class or interface each method was found from
+		Entry next; // other argument counts
+
+		Entry(int argumentCount, ReferenceBinding[] types, MethodBinding[] methods, ReferenceBinding[] receivers) {
+			this.argumentCount = argumentCount;
+			this.types = types;
+			this.methods = methods;
+			this.receivers = receivers;
+			this.methodsComplete = new boolean[types.length];
+			for (int i = 0, length = types.length; i < length; i++)
+				this.methodsComplete[i] = methodsComplete(types[i]);
+		}
+		boolean isStale() {
+			for (int i = 0, length = this.types.length; i < length; i++)
+				if (this.methodsComplete[i] != methodsComplete(this.types[i]))
+					return true;
+			return false;
+		}
+	}
+
+	private SimpleLookupTable entries = new SimpleLookupTable(); // receiver type -> selector -> Entry
+
+	// statistics
+	int lookupCount;
+	int hitCount;
+	int staleCount;
+
+/**
+ * Answer the methods found for the given selector and number of arguments
+ * when walking the superclass chain of the given receiver type, or null if unknown.
+ */
+Entry get(ReferenceBinding receiverType, char[] selector, int argumentCount) {
+	this.lookupCount++;
+	HashtableOfObject selectors = (HashtableOfObject) this.entries.get(receiverType);
+	if (selectors == null)
+		return null;
+	Entry previous = null;
+	for (Entry entry = (Entry) selectors.get(selector); entry != null; previous = entry, entry = entry.next) {
+		if (entry.argumentCount != argumentCount)
+			continue;
+		if (entry.isStale()) {
+			this.staleCount++;
+			if (previous == null)
+				selectors.put(selector, entry.next);
+			else
+				previous.next = entry.next;
+			return null;
+		}
+		this.hitCount++;
+		return entry;
+	}
+	return null;
+}
+
+void put(ReferenceBinding receiverType, char[] selector, int argumentCount, ReferenceBinding[] types, MethodBinding[] methods) {
+	put(receiverType, selector, argumentCount, types, methods, null);
+}
+
+void put(ReferenceBinding receiverType, char[] selector, int argumentCount, ReferenceBinding[] types, MethodBinding[] methods, ReferenceBinding[] receivers) {
+	for (int i = 0, length = methods.length; i < length; i++) {
+		if ((methods[i].tagBits & TagBits.HasMissingType) != 0)
+			return;
+	}
+	HashtableOfObject selectors = (HashtableOfObject) this.entries.get(receiverType);
+	if (selectors == null)
+		this.entries.put(receiverType, selectors = new HashtableOfObject(3));
+	Entry entry = new Entry(argumentCount, types, methods, receivers);
+	entry.next = (Entry) selectors.get(selector);
+	selectors.put(selector, entry);
+}
+
+/**
+ * Answer whether the methods of the given type, as found in a superclass chain, can be kept.
+ */
+static boolean isCacheable(ReferenceBinding type) {
+	if (!type.isValidBinding() || type instanceof MissingTypeBinding || (type.tagBits & TagBits.HasMissingType) != 0)
+		return false;
+	switch (type.kind()) {
+		case Binding.TYPE :
+		case Binding.GENERIC_TYPE :
+		case Binding.RAW_TYPE :
+		case Binding.PARAMETERIZED_TYPE :
+			return ((ReferenceBinding) type.original()).isBinaryBinding();
+		default :
+			return false;
+	}
+}
+
+static boolean methodsComplete(ReferenceBinding type) {
+	// parameterized types ask their generic type for all the methods of a name
+	return type instanceof BinaryTypeBinding && (type.prototype().tagBits & TagBits.AreMethodsComplete) != 0;
+}
+
+/**
+ * Add the method lookup statistics to the given stats.
+ */
+public void recordStats(CompilerStats stats) {
+	stats.inheritedMethodLookupCount += this.lookupCount;
+	stats.inheritedMethodHitCount += this.hitCount;
+	stats.inheritedMethodStaleCount += this.staleCount;
+}
+
+void reset() {
+	this.entries = new SimpleLookupTable();
+	this.lookupCount = 0;
+	this.hitCount = 0;
+	this.staleCount = 0;
+}
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import java.util.HashMap;
+
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
+import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
+
+/**
+ * Inherited methods computed by the {@link MethodVerifier} for a given set of supertypes,
+ * kept by the lookup environment so that sibling types sharing the same superclass and
+ * superinterfaces (from the same package) do not compute them again.
+ * <p>
+ * A table is only kept when computing it depended on nothing but the supertypes and the
+ * package of the verified type: no problem was reported against the verified type, none of
+ * its methods was looked at, and its hierarchy is consistent. For each selector of a kept
+ * table, the overriding relations found between the inherited methods themselves are kept
+ * as well, for types which declare no method matching one of them.
+ * </p>
+ * Tables are shared, they must not be modified once computed.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class InheritedMethodTables {
+
+	static class Key {
+		final ReferenceBinding superclass;
+		final ReferenceBinding[] superInterfaces;
+		final PackageBinding fPackage;
+		final int hashCode;
+
+		Key(ReferenceBinding superclass, ReferenceBinding[] superInterfaces, PackageBinding fPackage) {
+			this.superclass = superclass;
+			this.superInterfaces = superInterfaces;
+			this.fPackage = fPackage;
+			int hash = System.identityHashCode(superclass) * 31 + System.identityHashCode(fPackage);
+			for (int i = 0, length = superInterfaces.length; i < length; i++)
+				hash = hash * 31 + System.identityHashCode(superInterfaces[i]);
+			this.hashCode = hash;
+		}
+		public boolean equals(Object other) {
+			if (!(other instanceof Key))
+				return false;
+			Key otherKey = (Key) other;
+			if (this.hashCode != otherKey.hashCode || this.superclass != otherKey.superclass || this.fPackage != otherKey.fPackage)
+				return false;
+			ReferenceBinding[] otherInterfaces = otherKey.superInterfaces;
+			int length = this.superInterfaces.length;
+			if (length != otherInterfaces.length)
+				return false;
+			for (int i = 0; i < length; i++)
+				if (this.superInterfaces[i] != otherInterfaces[i])
+					return false;
+			return true;
+		}
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+	private HashMap tables = new HashMap(); // Key -> HashtableOfObject
+	private SimpleLookupTable overrides = new SimpleLookupTable(); // inherited methods of a kept table -> boolean[][] {skip, isOverridden, isInherited}
+
+	// statistics
+	int lookupCount;
+	int hitCount;
+	int overrideLookupCount;
+	int overrideHitCount;
+	long verifyTime;
+
+/**
+ * Answer the key under which the methods inherited by the given type from the given supertypes
+ * can be kept, or null if they cannot.
+ */
+Key keyFor(SourceTypeBinding type, ReferenceBinding superclass, ReferenceBinding[] superInterfaces) {
+	if (type.isHierarchyInconsistent() || (superclass != null && !superclass.isValidBinding()))
+		return null;
+	for (int i = 0, length = superInterfaces.length; i < length; i++) {
+		if (!superInterfaces[i].isValidBinding())
+			return null;
+	}
+	this.lookupCount++;
+	return new Key(superclass, superInterfaces, type.fPackage);
+}
+
+HashtableOfObject get(Key key) {
+	HashtableOfObject methods = (HashtableOfObject) this.tables.get(key);
+	if (methods != null)
+		this.hitCount++;
+	return methods;
+}
+
+void put(Key key, HashtableOfObject methods) {
+	this.tables.put(key, methods);
+}
+
+/**
+ * Answer whether the given inherited methods (as found in a kept table) are known to be
+ * related as recorded by {@link #putOverrides}, filling the given arrays if so.
+ */
+boolean getOverrides(MethodBinding[] inherited, boolean[] skip, boolean[] isOverridden, boolean[] isInherited) {
+	this.overrideLookupCount++;
+	boolean[][] known = (boolean[][]) this.overrides.get(inherited);
+	if (known == null)
+		return false;
+	int length = skip.length;
+	System.arraycopy(known[0], 0, skip, 0, length);
+	System.arraycopy(known[1], 0, isOverridden, 0, length);
+	System.arraycopy(known[2], 0, isInherited, 0, length);
+	this.overrideHitCount++;
+	return true;
+}
+
+void putOverrides(MethodBinding[] inherited, boolean[] skip, boolean[] isOverridden, boolean[] isInherited) {
+	this.overrides.put(inherited, new boolean[][] {skip.clone(), isOverridden.clone(), isInherited.clone()});
+}
+
+/**
+ * Add the method verification statistics to the given stats.
+ */
+public void recordStats(CompilerStats stats) {
+	stats.verifyTime += this.verifyTime;
+	stats.verifyLookupCount += this.lookupCount;
+	stats.verifyHitCount += this.hitCount;
+	stats.verifyOverrideLookupCount += this.overrideLookupCount;
+	stats.verifyOverrideHitCount += this.overrideHitCount;
+}
+
+void reset() {
+	this.tables = new HashMap();
+	this.overrides = new SimpleLookupTable();
+	this.lookupCount = 0;
+	this.hitCount = 0;
+	this.overrideLookupCount = 0;
+	this.overrideHitCount = 0;
+	this.verifyTime = 0;
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -109,6 +109,16 @@ public class LookupEnvironment implements ProblemReasons, TypeConstants {
 
 	/** Global access to the outermost active inference context as the universe for inference variable interning. */
 	InferenceContext18 currentInferenceContext;
+	/** Results of inference for standalone invocations, see {@link ParameterizedGenericMethodBinding#computeCompatibleMethod18}. */
+	public InferenceResultCache inferenceResults = new InferenceResultCache();
+	/** Statistics of the incorporation of type bounds, see {@link BoundSet#incorporate}. */
+	public IncorporationStats incorporationStats = new IncorporationStats();
+	/** Methods found in superclass chains of binary types, see {@link Scope#findMethod0}. */
+	public InheritedMethodCache inheritedMethods = new InheritedMethodCache();
+	/** Candidate methods looked at and rejected by {@link CandidateFilter}, see {@link Scope#computeCompatibleMethod}. */
+	public CandidateStats candidateStats = new CandidateStats();
+	/** Methods inherited from sets of supertypes, see {@link MethodVerifier#computeInheritedMethods(ReferenceBinding, ReferenceBinding[])}. */
+	public InheritedMethodTables inheritedMethodTables = new InheritedMethodTables();
 
 	final static int BUILD_FIELDS_AND_METHODS = 4;
 	final static int BUILD_TYPE_HIERARCHY = 1;
@@ -133,7 +143,9 @@ public LookupEnvironment(ITypeRequestor typeRequestor, CompilerOptions globalOpt
 	this.accessRestrictions = new HashMap(3);
 	this.classFilePool = ClassFilePool.newInstance();
 	this.typesBeingConnected = new HashSet();
-	this.typeSystem = this.globalOptions.sourceLevel >= ClassFileConstants.JDK1_8 && this.globalOptions.storeAnnotations ? new AnnotatableTypeSystem(this) : new TypeSystem(this);
+	this.typeSystem = this.globalOptions.sourceLevel >= ClassFileConstants.JDK1_8 && this.globalOptions.storeAnnotations
+			? new AnnotatableTypeSystem(this, this.globalOptions.concurrentTypeSystem)
+			: new TypeSystem(this, this.globalOptions.concurrentTypeSystem);
 }
 
 /**
@@ -1612,6 +1624,11 @@ public void reset() {
 
 	this.classFilePool.reset();
 	this.typeSystem.reset();
+	this.inferenceResults.reset();
+	this.incorporationStats.reset();
+	this.inheritedMethods.reset();
+	this.candidateStats.reset();
+	this.inheritedMethodTables.reset();
 	// name environment has a longer life cycle, and must be reset in
 	// the code which created it.
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -39,6 +39,8 @@ import org.eclipse.jdt.internal.compiler.util.Sorting;
 public abstract class MethodVerifier extends ImplicitNullAnnotationVerifier {
 	SourceTypeBinding type;
 	HashtableOfObject inheritedMethods;
+	boolean inheritedMethodsShared; // kept by the environment, see InheritedMethodTables
+	boolean inheritedMethodsDependOnType; // computing them reported problems or looked at the current methods
 	HashtableOfObject currentMethods;
 	/*
 Binding creation is responsible for reporting all problems with types:
@@ -498,6 +500,22 @@ Binding creation is responsible for reporting:
 	- check that each exception type is Throwable or a subclass of it
 */
 void computeInheritedMethods(ReferenceBinding superclass, ReferenceBinding[] superInterfaces) {
+	InheritedMethodTables tables = this.environment.inheritedMethodTables;
+	InheritedMethodTables.Key key = tables.keyFor(this.type, superclass, superInterfaces);
+	if (key != null && (this.inheritedMethods = tables.get(key)) != null) {
+		this.inheritedMethodsShared = true;
+		return;
+	}
+	this.inheritedMethodsShared = false;
+	this.inheritedMethodsDependOnType = false;
+	collectInheritedMethods(superclass, superInterfaces);
+	if (key != null && !this.inheritedMethodsDependOnType) {
+		tables.put(key, this.inheritedMethods);
+		this.inheritedMethodsShared = true;
+	}
+}
+
+void collectInheritedMethods(ReferenceBinding superclass, ReferenceBinding[] superInterfaces) {
 	// only want to remember inheritedMethods that can have an impact on the current type
 	// if an inheritedMethod has been 'replaced' by a supertype's method then skip it, however
     // see usage of canOverridingMethodDifferInErasure below.
@@ -522,6 +540,7 @@ void computeInheritedMethods(ReferenceBinding superclass, ReferenceBinding[] sup
 					if (TypeBinding.notEquals(existingMethod.declaringClass, inheritedMethod.declaringClass) && areMethodsCompatible(existingMethod, inheritedMethod) && !canOverridingMethodDifferInErasure(existingMethod, inheritedMethod)) {
 						if (inheritedMethod.isDefault()) {
 							if (inheritedMethod.isAbstract()) {
+								this.inheritedMethodsDependOnType = true;
 								checkPackagePrivateAbstractMethod(inheritedMethod);
 							} else if (existingMethod.declaringClass.fPackage != inheritedMethod.declaringClass.fPackage) {
 								if (this.type.fPackage == inheritedMethod.declaringClass.fPackage && !areReturnTypesCompatible(inheritedMethod, existingMethod))
@@ -543,6 +562,7 @@ void computeInheritedMethods(ReferenceBinding superclass, ReferenceBinding[] sup
 				}
 				this.inheritedMethods.put(inheritedMethod.selector, existingMethods);
 			} else {
+				this.inheritedMethodsDependOnType = true;
 				MethodBinding[] nonVisible = (MethodBinding[]) nonVisibleDefaultMethods.get(inheritedMethod.selector);
 				if (nonVisible != null)
 					for (int i = 0, l = nonVisible.length; i < l; i++)
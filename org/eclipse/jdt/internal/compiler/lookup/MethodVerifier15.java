@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -518,9 +518,9 @@ void checkMethods() {
 	nextSelector : for (int s = methodSelectors.length; --s >= 0;) {
 		if (methodSelectors[s] == null) continue nextSelector;
 		MethodBinding[] current = (MethodBinding[]) this.currentMethods.get(methodSelectors[s]);
-		MethodBinding[] inherited = (MethodBinding[]) this.inheritedMethods.valueTable[s];
+		MethodBinding[] sharedInherited = (MethodBinding[]) this.inheritedMethods.valueTable[s];
 		// ensure that if we have a concrete method this shows up at position [0]:
-		inherited = Sorting.concreteFirst(inherited, inherited.length);
+		MethodBinding[] inherited = Sorting.concreteFirst(sharedInherited, sharedInherited.length);
 		
 		// https://bugs.eclipse.org/bugs/show_bug.cgi?id=296660, if current type is exposed,
 		// inherited methods of super classes are too. current != null case handled below.
@@ -561,6 +561,7 @@ void checkMethods() {
 		boolean[] isOverridden = new boolean[inheritedLength];
 		boolean[] isInherited = new boolean[inheritedLength];
 		Arrays.fill(isInherited, true);
+		boolean anyMatch = false;
 		if (current != null) {
 			for (int i = 0, length1 = current.length; i < length1; i++) {
 				MethodBinding currentMethod = current[i];
@@ -573,6 +574,7 @@ void checkMethods() {
 							isOverridden[j] = skip[j] = couldMethodOverride(currentMethod, inheritedMethod);
 							matchingInherited[++index] = inheritedMethod;
 							foundMatch[j] = currentMethod;
+							anyMatch = true;
 						} else {
 							// best place to check each currentMethod against each non-matching inheritedMethod
 							checkForNameClash(currentMethod, inheritedMethod);
@@ -595,6 +597,9 @@ void checkMethods() {
 		}
 		// first round: collect information into skip and isOverridden by comparing all pairs:
 		// (and perform some side effects : bridge methods & use flags)
+		// when no current method matched, the pairs only depend on the inherited methods, which may have been compared for another type
+		InheritedMethodTables tables = this.inheritedMethodsShared && !anyMatch ? this.environment.inheritedMethodTables : null;
+		boolean comparePairs = tables == null || !tables.getOverrides(sharedInherited, skip, isOverridden, isInherited);
 		for (int i = 0; i < inheritedLength; i++) {
 			MethodBinding matchMethod = foundMatch[i];
 			
@@ -609,6 +614,7 @@ void checkMethods() {
 			if (!isOrEnclosedByPrivateType && matchMethod == null && current != null) {
 				inherited[i].original().modifiers |= ExtraCompilerModifiers.AccLocallyUsed;	
 			}
+			if (!comparePairs) continue;
 			MethodBinding inheritedMethod = inherited[i];
 			for (int j = i + 1; j < inheritedLength; j++) {
 				MethodBinding otherInheritedMethod = inherited[j];
@@ -628,6 +634,8 @@ void checkMethods() {
 				}
 			}
 		}
+		if (comparePairs && tables != null)
+			tables.putOverrides(sharedInherited, skip, isOverridden, isInherited);
 		// second round: collect and check matchingInherited, directly check methods with no replacing etc.
 		for (int i = 0; i < inheritedLength; i++) {
 			MethodBinding matchMethod = foundMatch[i];
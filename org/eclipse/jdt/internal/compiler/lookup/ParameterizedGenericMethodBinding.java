@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -216,18 +216,50 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 				argumentsCopy[i] = argument;
 			}
 		}
+		TypeBinding[] actualArguments = arguments;
 		arguments = argumentsCopy; // either way, this allows the engine to update arguments without harming the callers. 
 		
 		LookupEnvironment environment = scope.environment();
 		InferenceContext18 previousContext = environment.currentInferenceContext;
+		InferenceResultCache inferenceResults = environment.inferenceResults;
+		InferenceResultCache.Key resultKey = null;
+		IncorporationStats incorporationStats = environment.incorporationStats;
+		boolean collectStatistics = compilerOptions.collectStatistics && previousContext == null;
+		long startTime = 0, startPairCount = 0;
 		if (previousContext == null)
 			environment.currentInferenceContext = infCtx18;
+		if (collectStatistics) {
+			inferenceResults.inferenceCount++;
+			startTime = System.nanoTime();
+			startPairCount = incorporationStats.pairCount;
+		}
 		try {
 			BoundSet provisionalResult = null;
 			BoundSet result = null;
 			// ---- 18.5.1 (Applicability): ----
 			final boolean isPolyExpression = invocationSite instanceof Expression && ((Expression)invocationSite).isPolyExpression(originalMethod);
 			boolean isDiamond = isPolyExpression && originalMethod.isConstructor();
+			if (previousContext == null && !isPolyExpression && !compilerOptions.isAnnotationBasedNullAnalysisEnabled) {
+				// a standalone invocation, its result may already be known from another invocation with the same argument types
+				resultKey = inferenceResults.keyFor(originalMethod, actualArguments, invocationSite);
+				InferenceResultCache.Result known = resultKey == null ? null : inferenceResults.get(resultKey);
+				if (collectStatistics && resultKey != null) {
+					inferenceResults.lookupCount++;
+					if (known != null)
+						inferenceResults.hitCount++;
+				}
+				if (known != null) {
+					infCtx18.inferenceKind = known.inferenceKind;
+					infCtx18.stepCompleted = InferenceContext18.TYPE_INFERRED;
+					methodSubstitute = known.method;
+					Invocation invocation = (Invocation) invocationSite;
+					TypeBinding expectedType = invocationSite.invocationTargetType();
+					if (expectedType != null)
+						invocation.registerResult(expectedType, methodSubstitute);
+					invocation.registerInferenceContext(methodSubstitute, infCtx18);
+					return methodSubstitute;
+				}
+			}
 			if (arguments.length == parameters.length) {
 				infCtx18.inferenceKind = requireBoxing ? InferenceContext18.CHECK_LOOSE : InferenceContext18.CHECK_STRICT; // engine may still slip into loose mode and adjust level.
 				infCtx18.inferInvocationApplicability(originalMethod, arguments, isDiamond);
@@ -279,6 +311,8 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 						if (problemMethod != null) {
 							return problemMethod;
 						}
+						if (resultKey != null && !hasReturnProblem && !infCtx18.usesUncheckedConversion())
+							inferenceResults.put(resultKey, methodSubstitute, infCtx18.inferenceKind);
 					} else {
 						methodSubstitute = new PolyParameterizedGenericMethodBinding(methodSubstitute);
 					}
@@ -295,6 +329,10 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 			scope.problemReporter().genericInferenceError(e.getMessage(), invocationSite);
 			return null;
 		} finally {
+			if (collectStatistics) {
+				inferenceResults.inferenceTime += System.nanoTime() - startTime;
+				incorporationStats.recordPairCount(incorporationStats.pairCount - startPairCount, invocationSite, scope);
+			}
 			environment.currentInferenceContext = previousContext;
 		}
 	}
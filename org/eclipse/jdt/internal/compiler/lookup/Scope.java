@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -67,7 +67,7 @@ import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.impl.ReferenceContext;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
-import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfBinding;
 import org.eclipse.jdt.internal.compiler.util.ObjectVector;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.compiler.util.SimpleSet;
@@ -722,7 +722,19 @@ public abstract class Scope {
 		if (argLength != paramLength)
 			if (!isVarArgs || argLength < paramLength - 1)
 				return null; // incompatible
-		CompilerOptions compilerOptions = this.compilerOptions();
+		LookupEnvironment environment = environment();
+		CompilerOptions compilerOptions = environment.globalOptions;
+		if (genericTypeArguments == null
+				&& (typeVariables == Binding.NO_TYPE_VARIABLES || compilerOptions.sourceLevel >= ClassFileConstants.JDK1_8) // 1.7- inference may answer a bound check problem first
+				&& (method.tagBits & TagBits.AnnotationPolymorphicSignature) == 0
+				&& !(method instanceof PolyParameterizedGenericMethodBinding)
+				&& !invocationSite.checkingPotentialCompatibility()) {
+			boolean rejected = CandidateFilter.rejects(method, arguments, invocationSite, tiebreakingVarargsMethods);
+			if (compilerOptions.collectStatistics)
+				environment.candidateStats.record(invocationSite, rejected, this);
+			if (rejected)
+				return null; // incompatible, known without checking applicability
+		}
 		// https://bugs.eclipse.org/bugs/show_bug.cgi?id=330435, inference should kick in only at source 1.5+
 		if (typeVariables != Binding.NO_TYPE_VARIABLES && compilerOptions.sourceLevel >= ClassFileConstants.JDK1_5) { // generic method
 			TypeBinding[] newArgs = null;
@@ -734,7 +746,7 @@ public abstract class Scope {
 							newArgs = new TypeBinding[argLength];
 							System.arraycopy(arguments, 0, newArgs, 0, argLength);
 						}
-						newArgs[i] = environment().computeBoxingType(arguments[i]);
+						newArgs[i] = environment.computeBoxingType(arguments[i]);
 					}
 				}
 			}
@@ -768,7 +780,7 @@ public abstract class Scope {
 		if ((parameterCompatibilityLevel(method, arguments, tiebreakingVarargsMethods)) > NOT_COMPATIBLE) {
 			if ((method.tagBits & TagBits.AnnotationPolymorphicSignature) != 0) {
 				// generate polymorphic method
-				return this.environment().createPolymorphicMethod(method, arguments);
+				return environment.createPolymorphicMethod(method, arguments);
 			}
 			return method;
 		}
@@ -1117,12 +1129,7 @@ public abstract class Scope {
 
 		int startFoundSize = found.size;
 		final boolean sourceLevel18 = this.compilerOptions().sourceLevel >= ClassFileConstants.JDK1_8;
-		ReferenceBinding currentType = classHierarchyStart;
-		List<TypeBinding> visitedTypes = new ArrayList<TypeBinding>();
-		while (currentType != null) {
-			findMethodInSuperInterfaces(currentType, selector, found, visitedTypes, invocationSite);
-			currentType = currentType.superclass();
-		}
+		findMethodInSuperInterfaces(classHierarchyStart, true, selector, found, invocationSite);
 		
 		int candidatesCount = concreteMatches == null ? 0 : concreteMatches.length;
 		int foundSize = found.size;
@@ -1561,13 +1568,12 @@ public abstract class Scope {
 		ObjectVector found = new ObjectVector(3);
 		CompilationUnitScope unitScope = compilationUnitScope();
 		unitScope.recordTypeReferences(argumentTypes);
-		List<TypeBinding> visitedTypes = new ArrayList<TypeBinding>();
 		if (receiverTypeIsInterface) {
 			unitScope.recordTypeReference(receiverType);
 			MethodBinding[] receiverMethods = receiverType.getMethods(selector, argumentTypes.length);
 			if (receiverMethods.length > 0)
 				found.addAll(receiverMethods);
-			findMethodInSuperInterfaces(receiverType, selector, found, visitedTypes, invocationSite);
+			findMethodInSuperInterfaces(receiverType, false, selector, found, invocationSite);
 			currentType = getJavaLangObject();
 		}
 
@@ -1578,9 +1584,31 @@ public abstract class Scope {
 		boolean soureLevel18 = compilerOptions().sourceLevel >= ClassFileConstants.JDK1_8;
 		ReferenceBinding classHierarchyStart = currentType;
 		MethodVerifier verifier = environment().methodVerifier();
+		// the methods found in a superclass chain of binary types do not depend on the invocation
+		InheritedMethodCache inheritedMethods = null;
+		ObjectVector hierarchy = null;
+		if (!receiverTypeIsInterface && InheritedMethodCache.isCacheable(receiverType)) {
+			inheritedMethods = environment().inheritedMethods;
+			InheritedMethodCache.Entry entry = inheritedMethods.get(receiverType, selector, argumentTypes.length);
+			if (entry != null) {
+				for (int i = 0, length = entry.types.length; i < length; i++)
+					unitScope.recordTypeReference(entry.types[i]);
+				found.addAll(entry.methods);
+				currentType = null;
+			} else {
+				hierarchy = new ObjectVector(5);
+			}
+		}
 		while (currentType != null) {
 			unitScope.recordTypeReference(currentType);
+			ReferenceBinding uncapturedType = currentType;
 			currentType = (ReferenceBinding) currentType.capture(this, invocationSite == null ? 0 : invocationSite.sourceStart(), invocationSite == null ? 0 : invocationSite.sourceEnd());
+			if (hierarchy != null) {
+				if (currentType == uncapturedType && InheritedMethodCache.isCacheable(currentType))
+					hierarchy.add(currentType);
+				else
+					hierarchy = null;
+			}
 			MethodBinding[] currentMethods = currentType.getMethods(selector, argumentTypes.length);
 			int currentLength = currentMethods.length;
 			if (currentLength > 0) {
@@ -1631,6 +1659,13 @@ public abstract class Scope {
 			}
 			currentType = currentType.superclass();
 		}
+		if (hierarchy != null) {
+			ReferenceBinding[] types = new ReferenceBinding[hierarchy.size];
+			hierarchy.copyInto(types);
+			MethodBinding[] methods = new MethodBinding[found.size];
+			found.copyInto(methods);
+			inheritedMethods.put(receiverType, selector, argumentTypes.length, types, methods);
+		}
 
 		// if found several candidates, then eliminate those not matching argument types
 		int foundSize = found.size;
@@ -1851,6 +1886,62 @@ public abstract class Scope {
 	}
 
 	protected void findMethodInSuperInterfaces(ReferenceBinding receiverType, char[] selector, ObjectVector found, List<TypeBinding> visitedTypes, InvocationSite invocationSite) {
+		ObjectVector methods = new ObjectVector(3);
+		collectMethodsInSuperInterfaces(receiverType, selector, methods, null, visitedTypes, invocationSite);
+		for (int i = 0, max = methods.size; i < max; i++)
+			addVisibleMethod((MethodBinding) methods.elementAt(i), receiverType, found, invocationSite);
+	}
+
+	/* Find the methods of the given selector in the superinterfaces of the given type, and of its superclasses if asked.
+	   The methods found in superinterfaces which are all binary types are kept by the lookup environment with the type
+	   each was found from, since only their visibility depends on the invocation site, see InheritedMethodCache.
+	*/
+	private void findMethodInSuperInterfaces(ReferenceBinding startType, boolean andSuperclasses, char[] selector, ObjectVector found, InvocationSite invocationSite) {
+		InheritedMethodCache inheritedMethods = environment().inheritedMethods;
+		int kind = andSuperclasses ? InheritedMethodCache.ALL_SUPERINTERFACES : InheritedMethodCache.SUPERINTERFACES;
+		ObjectVector types = null;
+		if (InheritedMethodCache.isCacheable(startType)) {
+			InheritedMethodCache.Entry entry = inheritedMethods.get(startType, selector, kind);
+			if (entry != null) {
+				CompilationUnitScope unitScope = compilationUnitScope();
+				for (int i = 0, length = entry.types.length; i < length; i++)
+					unitScope.recordTypeReference(entry.types[i]);
+				for (int i = 0, length = entry.methods.length; i < length; i++)
+					addVisibleMethod(entry.methods[i], entry.receivers[i], found, invocationSite);
+				return;
+			}
+			types = new ObjectVector(5);
+		}
+		ObjectVector methods = new ObjectVector(3);
+		ObjectVector receivers = new ObjectVector(3);
+		List<TypeBinding> visitedTypes = new ArrayList<TypeBinding>();
+		for (ReferenceBinding currentType = startType; currentType != null; currentType = andSuperclasses ? currentType.superclass() : null) {
+			if (types != null && currentType != startType && !InheritedMethodCache.isCacheable(currentType))
+				types = null;
+			int start = methods.size;
+			if (!collectMethodsInSuperInterfaces(currentType, selector, methods, types, visitedTypes, invocationSite))
+				types = null;
+			for (int i = start, max = methods.size; i < max; i++) {
+				receivers.add(currentType);
+				addVisibleMethod((MethodBinding) methods.elementAt(i), currentType, found, invocationSite);
+			}
+		}
+		if (types != null) {
+			ReferenceBinding[] interfaces = new ReferenceBinding[types.size];
+			types.copyInto(interfaces);
+			MethodBinding[] interfaceMethods = new MethodBinding[methods.size];
+			methods.copyInto(interfaceMethods);
+			ReferenceBinding[] interfaceReceivers = new ReferenceBinding[receivers.size];
+			receivers.copyInto(interfaceReceivers);
+			inheritedMethods.put(startType, selector, kind, interfaces, interfaceMethods, interfaceReceivers);
+		}
+	}
+
+	/* Collect the methods of the given selector declared in the superinterfaces of the given type, whether visible or not,
+	   and the superinterfaces walked if asked. Answer false if one of these may not be kept, see InheritedMethodCache.
+	*/
+	private boolean collectMethodsInSuperInterfaces(ReferenceBinding receiverType, char[] selector, ObjectVector methods, ObjectVector types, List<TypeBinding> visitedTypes, InvocationSite invocationSite) {
+		boolean cacheable = true;
 		ReferenceBinding currentType = receiverType;
 		ReferenceBinding[] itsInterfaces = currentType.superInterfaces();
 		if (itsInterfaces != null && itsInterfaces != Binding.NO_SUPERINTERFACES) {
@@ -1867,22 +1958,17 @@ public abstract class Scope {
 					visitedTypes.add(uncaptured);
 				}
 				compilationUnitScope().recordTypeReference(currentType);
+				ReferenceBinding uncapturedType = currentType;
 				currentType = (ReferenceBinding) currentType.capture(this, invocationSite == null ? 0 : invocationSite.sourceStart(), invocationSite == null ? 0 : invocationSite.sourceEnd());
-				MethodBinding[] currentMethods = currentType.getMethods(selector);
-				if (currentMethods.length > 0) {
-					int foundSize = found.size;
-					next : for (int c = 0, l = currentMethods.length; c < l; c++) {
-						MethodBinding current = currentMethods[c];
-						if (!current.canBeSeenBy(receiverType, invocationSite, this)) continue next;
-
-						if (foundSize > 0) {
-							// its possible to walk the same superinterface from different classes in the hierarchy
-							for (int f = 0; f < foundSize; f++)
-								if (current == found.elementAt(f)) continue next;
-						}
-						found.add(current);
-					}
+				if (types != null) {
+					if (currentType == uncapturedType && InheritedMethodCache.isCacheable(currentType))
+						types.add(currentType);
+					else
+						cacheable = false;
 				}
+				MethodBinding[] currentMethods = currentType.getMethods(selector);
+				if (currentMethods.length > 0)
+					methods.addAll(currentMethods);
 				if ((itsInterfaces = currentType.superInterfaces()) != null && itsInterfaces != Binding.NO_SUPERINTERFACES) {
 					int itsLength = itsInterfaces.length;
 					if (nextPosition + itsLength >= interfacesToVisit.length)
@@ -1896,6 +1982,16 @@ public abstract class Scope {
 				}
 			}
 		}
+		return cacheable;
+	}
+
+	private void addVisibleMethod(MethodBinding method, ReferenceBinding receiverType, ObjectVector found, InvocationSite invocationSite) {
+		if (!method.canBeSeenBy(receiverType, invocationSite, this))
+			return;
+		// its possible to walk the same superinterface from different classes in the hierarchy
+		for (int f = 0, foundSize = found.size; f < foundSize; f++)
+			if (method == found.elementAt(f)) return;
+		found.add(method);
 	}
 
 	// Internal use only
@@ -3160,9 +3256,9 @@ public abstract class Scope {
 
 		// at this point the scope is a compilation unit scope
 		CompilationUnitScope unitScope = (CompilationUnitScope) scope;
-		HashtableOfObject typeOrPackageCache = unitScope.typeOrPackageCache;
+		HashtableOfBinding typeOrPackageCache = unitScope.typeOrPackageCache;
 		if (typeOrPackageCache != null) {
-			Binding cachedBinding = (Binding) typeOrPackageCache.get(name);
+			Binding cachedBinding = typeOrPackageCache.get(name);
 			if (cachedBinding != null) { // can also include NotFound ProblemReferenceBindings if we already know this name is not found
 				if (cachedBinding instanceof ImportBinding) { // single type import cached in faultInImports(), replace it in the cache with the type
 					ImportReference importReference = ((ImportBinding) cachedBinding).reference;
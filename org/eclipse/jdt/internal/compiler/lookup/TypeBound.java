@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2015 GK Software AG and others.
+ * Copyright (c) 2013, 2026 GK Software AG and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.lookup;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import org.eclipse.jdt.core.compiler.CharOperation;
 
 /**
@@ -25,6 +28,10 @@ public class TypeBound extends ReductionResult {
 
 	// here we accumulate null tagBits from any types that have been related to this type bound during incorporation:
 	long nullHints;
+
+	// inference variables mentioned by this bound, computed lazily, see mentionedVariables():
+	private InferenceVariable[] mentionedVariables;
+	static final InferenceVariable[] UNKNOWN_VARIABLES = new InferenceVariable[0];
 	
 	static TypeBound createBoundOrDependency(InferenceSubstitution theta, TypeBinding type, InferenceVariable variable) {
         // Part of JLS8 sect 18.1.3:
@@ -69,6 +76,70 @@ public class TypeBound extends ReductionResult {
 	}
 
 
+	/**
+	 * Answer the prototypes of the inference variables mentioned by this bound, i.e. its left side and the
+	 * variables which {@link TypeBinding#substituteInferenceVariable(InferenceVariable, TypeBinding)} may
+	 * replace in its right side, or {@link #UNKNOWN_VARIABLES} if the latter cannot be told for sure.
+	 * Two bounds mentioning no common inference variable imply no new constraint during incorporation.
+	 */
+	InferenceVariable[] mentionedVariables() {
+		if (this.mentionedVariables == null) {
+			Set<InferenceVariable> variables = new HashSet<InferenceVariable>();
+			variables.add(this.left.prototype());
+			this.mentionedVariables = collectMentionedVariables(this.right, variables)
+					? variables.toArray(new InferenceVariable[variables.size()])
+					: UNKNOWN_VARIABLES;
+		}
+		return this.mentionedVariables;
+	}
+
+	private static boolean collectMentionedVariables(TypeBinding type, Set<InferenceVariable> variables) {
+		switch (type.kind()) {
+			case Binding.BASE_TYPE :
+			case Binding.TYPE :
+			case Binding.GENERIC_TYPE :
+			case Binding.RAW_TYPE : // the arguments of a raw type are never substituted
+				return true;
+			case Binding.ARRAY_TYPE :
+				return collectMentionedVariables(type.leafComponentType(), variables);
+			case Binding.PARAMETERIZED_TYPE :
+				TypeBinding[] arguments = ((ParameterizedTypeBinding) type).arguments;
+				if (arguments != null) {
+					for (int i = 0, length = arguments.length; i < length; i++) {
+						if (TypeBinding.notEquals(arguments[i], type) && !collectMentionedVariables(arguments[i], variables))
+							return false;
+					}
+				}
+				return true;
+			case Binding.WILDCARD_TYPE :
+			case Binding.INTERSECTION_TYPE :
+				WildcardBinding wildcard = (WildcardBinding) type;
+				if (wildcard.otherBounds != null) {
+					for (int i = 0, length = wildcard.otherBounds.length; i < length; i++) {
+						if (!collectMentionedVariables(wildcard.otherBounds[i], variables))
+							return false;
+					}
+				}
+				return wildcard.bound == null || collectMentionedVariables(wildcard.bound, variables);
+			case Binding.INTERSECTION_TYPE18 :
+				ReferenceBinding[] intersectingTypes = ((IntersectionTypeBinding18) type).intersectingTypes;
+				for (int i = 0, length = intersectingTypes.length; i < length; i++) {
+					if (!collectMentionedVariables(intersectingTypes[i], variables))
+						return false;
+				}
+				return true;
+			case Binding.TYPE_PARAMETER :
+				if (type instanceof InferenceVariable) {
+					variables.add(((InferenceVariable) type).prototype());
+					return true;
+				}
+				// other type variables only mention inference variables through their bounds (or wildcard, for a capture)
+				return type.isProperType(false);
+			default :
+				return false;
+		}
+	}
+
 	/** distinguish bounds from dependencies. */
 	boolean isBound() {
 		return this.right.isProperType(true);
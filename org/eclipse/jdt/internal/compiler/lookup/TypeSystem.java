@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2015 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,9 @@
 package org.eclipse.jdt.internal.compiler.lookup;
 
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.ast.ASTNode;
@@ -59,6 +62,14 @@ import org.eclipse.jdt.internal.compiler.util.Util;
    would be different unless they are identically annotated.
    
    Thus subsystems that are annotation agnostic could quickly ascertain binding equality by comparing the id field.
+   
+   When bindings are resolved by several threads sharing one lookup environment, the type system has to be created in concurrent mode.
+   The derived types of a key type are then guarded by one of a fixed number of locks chosen by the id of the key type (lock striping),
+   so that threads deriving from different types rarely wait for each other. Ids are allocated, and the table of derived types grown,
+   under a single table lock, which is only taken when a type is registered or a row of derived types is replaced. A thread holding the
+   lock of a row only ever waits for the table lock, and bindings which themselves go back to the type system while being created
+   (captures and intersection types) are created outside of any lock, so locks cannot be acquired in conflicting orders. In sequential
+   mode no lock exists and the only cost is a null check.
 */
 public class TypeSystem {
 	
@@ -84,7 +95,10 @@ public class TypeSystem {
 			}
 		}
 		
-		HashMap<ParameterizedTypeBinding, ParameterizedTypeBinding []> hashedParameterizedTypes = new HashMap<ParameterizedTypeBinding, ParameterizedTypeBinding[]>(256);
+		// values are never modified once stored, put replaces them (under the lock of the generic type in concurrent mode).
+		Map<ParameterizedTypeBinding, ParameterizedTypeBinding []> hashedParameterizedTypes = TypeSystem.this.locks == null
+				? new HashMap<ParameterizedTypeBinding, ParameterizedTypeBinding[]>(256)
+				: new ConcurrentHashMap<ParameterizedTypeBinding, ParameterizedTypeBinding[]>(256);
 
 		ParameterizedTypeBinding get(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, AnnotationBinding[] annotations) {
 			
@@ -131,34 +145,79 @@ public class TypeSystem {
 			
 			ParameterizedTypeBinding typeParameterization = new InternalParameterizedTypeBinding(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, TypeSystem.this.environment);
 			
-			ParameterizedTypeBinding [] parameterizedTypeBindings = this.hashedParameterizedTypes.get(typeParameterization);
-			int slot;
-			if (parameterizedTypeBindings == null) {
-				slot = 0;
-				parameterizedTypeBindings = new ParameterizedTypeBinding[1];
-			} else { 
-				slot = parameterizedTypeBindings.length;
-				System.arraycopy(parameterizedTypeBindings, 0, parameterizedTypeBindings = new ParameterizedTypeBinding[slot + 1], 0, slot);
+			lock(unannotatedGenericType.id);
+			try {
+				ParameterizedTypeBinding [] parameterizedTypeBindings = this.hashedParameterizedTypes.get(typeParameterization);
+				int slot;
+				if (parameterizedTypeBindings == null) {
+					slot = 0;
+					parameterizedTypeBindings = new ParameterizedTypeBinding[1];
+				} else { 
+					slot = parameterizedTypeBindings.length;
+					System.arraycopy(parameterizedTypeBindings, 0, parameterizedTypeBindings = new ParameterizedTypeBinding[slot + 1], 0, slot);
+				}
+				parameterizedTypeBindings[slot] = parameterizedType;
+				this.hashedParameterizedTypes.put(typeParameterization, parameterizedTypeBindings);
+			} finally {
+				unlock(unannotatedGenericType.id);
 			}
-			parameterizedTypeBindings[slot] = parameterizedType;
-			this.hashedParameterizedTypes.put(typeParameterization, parameterizedTypeBindings);
 		}
 	}	
 	
+	private static final int LOCK_MASK = 63; // number of lock stripes - 1
+	
 	private int typeid = TypeIds.T_LastWellKnownTypeId;
 	private TypeBinding [][] types; 
 	protected HashedParameterizedTypes parameterizedTypes;  // auxiliary fast lookup table for parameterized types.
 	private SimpleLookupTable annotationTypes; // cannot store in types, since AnnotationBinding is not a TypeBinding and we don't want types to operate at Binding level.
+	private final ReentrantLock[] locks; // guard the rows of types by key type id, null unless in concurrent mode.
+	private final ReentrantLock tableLock; // guards typeid, types and annotationTypes, null unless in concurrent mode.
 	LookupEnvironment environment;
 	
 	public TypeSystem(LookupEnvironment environment) {
+		this(environment, false);
+	}
+
+	/**
+	 * @param concurrent whether derived types may be requested by several threads at once
+	 */
+	public TypeSystem(LookupEnvironment environment, boolean concurrent) {
 		this.environment = environment;
+		if (concurrent) {
+			this.locks = new ReentrantLock[LOCK_MASK + 1];
+			for (int i = 0; i <= LOCK_MASK; i++)
+				this.locks[i] = new ReentrantLock();
+			this.tableLock = new ReentrantLock();
+		} else {
+			this.locks = null;
+			this.tableLock = null;
+		}
 		this.annotationTypes = new SimpleLookupTable(16);
 		this.typeid = TypeIds.T_LastWellKnownTypeId;
 		this.types = new TypeBinding[TypeIds.T_LastWellKnownTypeId * 2][]; 
 		this.parameterizedTypes = new HashedParameterizedTypes();
 	}
 
+	private void lock(int id) {
+		if (this.locks != null)
+			this.locks[id & LOCK_MASK].lock();
+	}
+
+	private void unlock(int id) {
+		if (this.locks != null)
+			this.locks[id & LOCK_MASK].unlock();
+	}
+
+	private void lockTable() {
+		if (this.tableLock != null)
+			this.tableLock.lock();
+	}
+
+	private void unlockTable() {
+		if (this.tableLock != null)
+			this.tableLock.unlock();
+	}
+
 	// Given a type, answer its unannotated aka naked prototype. This is also a convenient way to "register" a type with TypeSystem and have it id stamped.
 	public final TypeBinding getUnannotatedType(TypeBinding type) {
 		UnresolvedReferenceBinding urb = null;
@@ -172,25 +231,62 @@ public class TypeSystem {
 				this.environment.mayTolerateMissingType = mayTolerateMissingType;
 			}
 		}
-		if (type.id == TypeIds.NoId) {
-			if (type.hasTypeAnnotations())
-				throw new IllegalStateException();
+		int id = type.id;
+		if (id != TypeIds.NoId) {
+			// naked types are stored once before they are handed out, when not seen here they are looked for again under the table lock.
+			TypeBinding[][] table = this.types;
+			TypeBinding nakedType = id >= table.length || table[id] == null ? null : table[id][0];
+			if (nakedType != null)
+				return nakedType;
+		}
+		lockTable();
+		try {
+			if (type.id == TypeIds.NoId) {
+				if (type.hasTypeAnnotations())
+					throw new IllegalStateException();
+				int typesLength = this.types.length;
+				if (this.typeid == typesLength)
+					System.arraycopy(this.types, 0, this.types = new TypeBinding[typesLength * 2][], 0, typesLength);
+				this.types[type.id = this.typeid++] = new TypeBinding[4];
+				if (urb != null)
+					urb.id = type.id;
+			} else {
+				TypeBinding nakedType = this.types[type.id] == null ? null : this.types[type.id][0];
+				if (type.hasTypeAnnotations() && nakedType == null)
+					throw new IllegalStateException();
+				if (nakedType != null)
+					return nakedType;
+				this.types[type.id] = new TypeBinding[4];  // well known type, assigned id elsewhere.
+			}
+		
+			return this.types[type.id][0] = type;
+		} finally {
+			unlockTable();
+		}
+	}
+
+	// Stamp a freshly derived type with a new id, making it the unannotated type of its own family.
+	private TypeBinding registerDerivedType(TypeBinding derivedType) {
+		lockTable();
+		try {
 			int typesLength = this.types.length;
 			if (this.typeid == typesLength)
 				System.arraycopy(this.types, 0, this.types = new TypeBinding[typesLength * 2][], 0, typesLength);
-			this.types[type.id = this.typeid++] = new TypeBinding[4];
-			if (urb != null)
-				urb.id = type.id;
-		} else {
-			TypeBinding nakedType = this.types[type.id] == null ? null : this.types[type.id][0];
-			if (type.hasTypeAnnotations() && nakedType == null)
-				throw new IllegalStateException();
-			if (nakedType != null)
-				return nakedType;
-			this.types[type.id] = new TypeBinding[4];  // well known type, assigned id elsewhere.
+			this.types[this.typeid] = new TypeBinding[1];
+			return this.types[derivedType.id = this.typeid++][0] = derivedType;
+		} finally {
+			unlockTable();
+		}
+	}
+
+	// Replace the row of derived types of the given id by a larger one, the caller holds the lock of the row.
+	private void setDerivedTypes(int id, TypeBinding[] derivedTypes) {
+		lockTable();
+		try {
+			this.types[id] = derivedTypes;
+		} finally {
+			unlockTable();
 		}
-	
-		return this.types[type.id][0] = type;
 	}
 
 	/**
@@ -200,16 +296,25 @@ public class TypeSystem {
 	 */
 	public void forceRegisterAsDerived(TypeBinding derived) {
 		int id = derived.id;
-		if (id != TypeIds.NoId && this.types[id] != null) {
-			TypeBinding unannotated = this.types[id][0];
-			if (unannotated == derived) { //$IDENTITY-COMPARISON$
-				// was previously registered as unannotated, replace by a fresh clone to remain unannotated:
-				this.types[id][0] = unannotated = derived.clone(null);
+		TypeBinding unannotated;
+		lock(id);
+		try {
+			lockTable();
+			try {
+				if (id == TypeIds.NoId || this.types[id] == null)
+					throw new IllegalStateException("Type was not yet registered as expected: "+derived); //$NON-NLS-1$
+				unannotated = this.types[id][0];
+				if (unannotated == derived) { //$IDENTITY-COMPARISON$
+					// was previously registered as unannotated, replace by a fresh clone to remain unannotated:
+					this.types[id][0] = unannotated = derived.clone(null);
+				}
+			} finally {
+				unlockTable();
 			}
 			// proceed as normal:
 			cacheDerivedType(unannotated, derived);
-		} else {
-			throw new IllegalStateException("Type was not yet registered as expected: "+derived); //$NON-NLS-1$
+		} finally {
+			unlock(id);
 		}
 	}
 
@@ -229,27 +334,29 @@ public class TypeSystem {
 			leafType = leafType.leafComponentType();
 		}
 		TypeBinding unannotatedLeafType = getUnannotatedType(leafType);
-		TypeBinding[] derivedTypes = this.types[unannotatedLeafType.id];
-		int i, length = derivedTypes.length;
-		for (i = 0; i < length; i++) {
-			TypeBinding derivedType = derivedTypes[i];
-			if (derivedType == null) 
-				break;
-			if (!derivedType.isArrayType() || derivedType.hasTypeAnnotations())
-				continue;
-			if (derivedType.leafComponentType() == unannotatedLeafType && derivedType.dimensions() == dimensions) //$IDENTITY-COMPARISON$
-				return (ArrayBinding) derivedType;
-		}
-		if (i == length) {
-			System.arraycopy(derivedTypes, 0, derivedTypes = new TypeBinding[length * 2], 0, length);
-			this.types[unannotatedLeafType.id] = derivedTypes;
+		int id = unannotatedLeafType.id;
+		lock(id);
+		try {
+			TypeBinding[] derivedTypes = this.types[id];
+			int i, length = derivedTypes.length;
+			for (i = 0; i < length; i++) {
+				TypeBinding derivedType = derivedTypes[i];
+				if (derivedType == null) 
+					break;
+				if (!derivedType.isArrayType() || derivedType.hasTypeAnnotations())
+					continue;
+				if (derivedType.leafComponentType() == unannotatedLeafType && derivedType.dimensions() == dimensions) //$IDENTITY-COMPARISON$
+					return (ArrayBinding) derivedType;
+			}
+			if (i == length) {
+				System.arraycopy(derivedTypes, 0, derivedTypes = new TypeBinding[length * 2], 0, length);
+				setDerivedTypes(id, derivedTypes);
+			}
+			TypeBinding arrayType = derivedTypes[i] = new ArrayBinding(unannotatedLeafType, dimensions, this.environment);
+			return (ArrayBinding) registerDerivedType(arrayType);
+		} finally {
+			unlock(id);
 		}
-		TypeBinding arrayType = derivedTypes[i] = new ArrayBinding(unannotatedLeafType, dimensions, this.environment);
-		int typesLength = this.types.length;
-		if (this.typeid == typesLength)
-			System.arraycopy(this.types, 0, this.types = new TypeBinding[typesLength * 2][], 0, typesLength);
-		this.types[this.typeid] = new TypeBinding[1];
-		return (ArrayBinding) (this.types[arrayType.id = this.typeid++][0] = arrayType);
 	}
 	
 	public ArrayBinding getArrayType(TypeBinding leafComponentType, int dimensions, AnnotationBinding[] annotations) {
@@ -272,18 +379,20 @@ public class TypeSystem {
 		}
 		ReferenceBinding unannotatedEnclosingType = enclosingType == null ? null : (ReferenceBinding) getUnannotatedType(enclosingType);
 
-		ParameterizedTypeBinding parameterizedType = this.parameterizedTypes.get(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, Binding.NO_ANNOTATIONS);
-		if (parameterizedType != null) 
-			return parameterizedType;
-
-		parameterizedType = new ParameterizedTypeBinding(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, this.environment);
-		cacheDerivedType(unannotatedGenericType, parameterizedType);
-		this.parameterizedTypes.put(genericType, typeArguments, enclosingType, parameterizedType);
-		int typesLength = this.types.length;
-		if (this.typeid == typesLength)
-			System.arraycopy(this.types, 0, this.types = new TypeBinding[typesLength * 2][], 0, typesLength);
-		this.types[this.typeid] = new TypeBinding[1];
-		return (ParameterizedTypeBinding) (this.types[parameterizedType.id = this.typeid++][0] = parameterizedType);
+		int id = unannotatedGenericType.id;
+		lock(id);
+		try {
+			ParameterizedTypeBinding parameterizedType = this.parameterizedTypes.get(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, Binding.NO_ANNOTATIONS);
+			if (parameterizedType != null) 
+				return parameterizedType;
+	
+			parameterizedType = new ParameterizedTypeBinding(unannotatedGenericType, unannotatedTypeArguments, unannotatedEnclosingType, this.environment);
+			cacheDerivedType(unannotatedGenericType, parameterizedType);
+			this.parameterizedTypes.put(genericType, typeArguments, enclosingType, parameterizedType);
+			return (ParameterizedTypeBinding) registerDerivedType(parameterizedType);
+		} finally {
+			unlock(id);
+		}
 	}
 
 	public ParameterizedTypeBinding getParameterizedType(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, AnnotationBinding[] annotations) {
@@ -297,29 +406,31 @@ public class TypeSystem {
 		ReferenceBinding unannotatedGenericType = (ReferenceBinding) getUnannotatedType(genericType);
 		ReferenceBinding unannotatedEnclosingType = enclosingType == null ? null : (ReferenceBinding) getUnannotatedType(enclosingType);
 	
-		TypeBinding[] derivedTypes = this.types[unannotatedGenericType.id];
-		int i, length = derivedTypes.length;
-		for (i = 0; i < length; i++) {
-			TypeBinding derivedType = derivedTypes[i];
-			if (derivedType == null) 
-				break;
-			if (!derivedType.isRawType() || derivedType.actualType() != unannotatedGenericType || derivedType.hasTypeAnnotations()) //$IDENTITY-COMPARISON$
-				continue;
-			if (derivedType.enclosingType() == unannotatedEnclosingType) //$IDENTITY-COMPARISON$
-				return (RawTypeBinding) derivedType;
-		}
-
-		if (i == length) {
-			System.arraycopy(derivedTypes, 0, derivedTypes = new TypeBinding[length * 2], 0, length);
-			this.types[unannotatedGenericType.id] = derivedTypes;
+		int id = unannotatedGenericType.id;
+		lock(id);
+		try {
+			TypeBinding[] derivedTypes = this.types[id];
+			int i, length = derivedTypes.length;
+			for (i = 0; i < length; i++) {
+				TypeBinding derivedType = derivedTypes[i];
+				if (derivedType == null) 
+					break;
+				if (!derivedType.isRawType() || derivedType.actualType() != unannotatedGenericType || derivedType.hasTypeAnnotations()) //$IDENTITY-COMPARISON$
+					continue;
+				if (derivedType.enclosingType() == unannotatedEnclosingType) //$IDENTITY-COMPARISON$
+					return (RawTypeBinding) derivedType;
+			}
+	
+			if (i == length) {
+				System.arraycopy(derivedTypes, 0, derivedTypes = new TypeBinding[length * 2], 0, length);
+				setDerivedTypes(id, derivedTypes);
+			}
+			
+			TypeBinding rawTytpe = derivedTypes[i] = new RawTypeBinding(unannotatedGenericType, unannotatedEnclosingType, this.environment);
+			return (RawTypeBinding) registerDerivedType(rawTytpe);
+		} finally {
+			unlock(id);
 		}
-		
-		TypeBinding rawTytpe = derivedTypes[i] = new RawTypeBinding(unannotatedGenericType, unannotatedEnclosingType, this.environment);
-		int typesLength = this.types.length;
-		if (this.typeid == typesLength)
-			System.arraycopy(this.types, 0, this.types = new TypeBinding[typesLength * 2][], 0, typesLength);
-		this.types[this.typeid] = new TypeBinding[1];
-		return (RawTypeBinding) (this.types[rawTytpe.id = this.typeid++][0] = rawTytpe);
 	}
 	
 	public RawTypeBinding getRawType(ReferenceBinding genericType, ReferenceBinding enclosingType, AnnotationBinding[] annotations) {
@@ -341,37 +452,66 @@ public class TypeSystem {
 		}
 		TypeBinding unannotatedBound = bound == null ? null : getUnannotatedType(bound);
 
-		TypeBinding[] derivedTypes = this.types[unannotatedGenericType.id];  // by construction, cachedInfo != null now.
-		int i, length = derivedTypes.length;
-		for (i = 0; i < length; i++) {
-			TypeBinding derivedType = derivedTypes[i];
-			if (derivedType == null) 
-				break;
-			if (!derivedType.isWildcard() || derivedType.actualType() != unannotatedGenericType || derivedType.hasTypeAnnotations()) //$IDENTITY-COMPARISON$
-				continue;
-			if (derivedType.rank() != rank || derivedType.boundKind() != boundKind || derivedType.bound() != unannotatedBound) //$IDENTITY-COMPARISON$
-				continue;
-			if (Util.effectivelyEqual(derivedType.additionalBounds(), unannotatedOtherBounds))
-				return (WildcardBinding) derivedType;
-		}
-		
-		if (i == length) {
-			System.arraycopy(derivedTypes, 0, derivedTypes = new TypeBinding[length * 2], 0, length);
-			this.types[unannotatedGenericType.id] = derivedTypes;
+		int id = unannotatedGenericType.id;
+		lock(id);
+		try {
+			TypeBinding[] derivedTypes = this.types[id];  // by construction, cachedInfo != null now.
+			int i, length = derivedTypes.length;
+			for (i = 0; i < length; i++) {
+				TypeBinding derivedType = derivedTypes[i];
+				if (derivedType == null) 
+					break;
+				if (!derivedType.isWildcard() || derivedType.actualType() != unannotatedGenericType || derivedType.hasTypeAnnotations()) //$IDENTITY-COMPARISON$
+					continue;
+				if (derivedType.rank() != rank || derivedType.boundKind() != boundKind || derivedType.bound() != unannotatedBound) //$IDENTITY-COMPARISON$
+					continue;
+				if (Util.effectivelyEqual(derivedType.additionalBounds(), unannotatedOtherBounds))
+					return (WildcardBinding) derivedType;
+			}
+			
+			if (i == length) {
+				System.arraycopy(derivedTypes, 0, derivedTypes = new TypeBinding[length * 2], 0, length);
+				setDerivedTypes(id, derivedTypes);
+			}
+			TypeBinding wildcard = derivedTypes[i] = new WildcardBinding(unannotatedGenericType, rank, unannotatedBound, unannotatedOtherBounds, boundKind, this.environment);
+			return (WildcardBinding) registerDerivedType(wildcard);
+		} finally {
+			unlock(id);
 		}
-		TypeBinding wildcard = derivedTypes[i] = new WildcardBinding(unannotatedGenericType, rank, unannotatedBound, unannotatedOtherBounds, boundKind, this.environment);
-	
-		int typesLength = this.types.length;
-		if (this.typeid == typesLength)
-			System.arraycopy(this.types, 0, this.types = new TypeBinding[typesLength * 2][], 0, typesLength);
-		this.types[this.typeid] = new TypeBinding[1];
-		return (WildcardBinding) (this.types[wildcard.id = this.typeid++][0] = wildcard);
 	}
 	
 	// No need for an override in ATS, since interning is position specific and either the wildcard there is annotated or not.
 	public final CaptureBinding getCapturedWildcard(WildcardBinding wildcard, ReferenceBinding contextType, int start, int end, ASTNode cud, int id) {
 		
 		WildcardBinding unannotatedWildcard = (WildcardBinding) getUnannotatedType(wildcard);
+		lock(unannotatedWildcard.id);
+		try {
+			int slot = findCapturedWildcard(unannotatedWildcard, contextType, start, end, cud);
+			if (slot < 0)
+				return (CaptureBinding) this.types[unannotatedWildcard.id][-slot - 1];
+			if (this.locks == null)
+				return (CaptureBinding) (this.types[unannotatedWildcard.id][slot] = new CaptureBinding(wildcard, contextType, start, end, cud, id));
+				// the above constructor already registers the capture, don't repeat that here
+		} finally {
+			unlock(unannotatedWildcard.id);
+		}
+		// the constructor goes back to the type system, create the capture outside of the lock and intern it unless another thread was faster.
+		CaptureBinding capture = new CaptureBinding(wildcard, contextType, start, end, cud, id);
+		lock(unannotatedWildcard.id);
+		try {
+			int slot = findCapturedWildcard(unannotatedWildcard, contextType, start, end, cud);
+			if (slot < 0)
+				return (CaptureBinding) this.types[unannotatedWildcard.id][-slot - 1];
+			return (CaptureBinding) (this.types[unannotatedWildcard.id][slot] = capture);
+		} finally {
+			unlock(unannotatedWildcard.id);
+		}
+	}
+
+	/* Answer -(index + 1) of the interned capture, or the index of the slot where to intern a new one, growing the row of derived types if needed.
+	   The caller holds the lock of the row.
+	*/
+	private int findCapturedWildcard(WildcardBinding unannotatedWildcard, ReferenceBinding contextType, int start, int end, ASTNode cud) {
 		TypeBinding[] derivedTypes = this.types[unannotatedWildcard.id];  // by construction, cachedInfo != null now.
 		int i, length = derivedTypes.length;
 		
@@ -399,15 +539,14 @@ public class TypeSystem {
 			}
 			if (prior.sourceType != contextType || prior.start != start || prior.end != end) //$IDENTITY-COMPARISON$
 				continue;
-			return prior;
+			return -i - 1;
 		}
 		
 		if (i == length) {
 			System.arraycopy(derivedTypes, 0, derivedTypes = new TypeBinding[length * 2], 0, length);
-			this.types[unannotatedWildcard.id] = derivedTypes;
+			setDerivedTypes(unannotatedWildcard.id, derivedTypes);
 		}
-		return (CaptureBinding) (derivedTypes[i] = new CaptureBinding(wildcard, contextType, start, end, cud, id));
-		// the above constructor already registers the capture, don't repeat that here
+		return i;
 	}
 	
 	public WildcardBinding getWildcard(ReferenceBinding genericType, int rank, TypeBinding bound, TypeBinding[] otherBounds, int boundKind, AnnotationBinding[] annotations) {
@@ -418,35 +557,48 @@ public class TypeSystem {
 		return type; // Nothing to do for plain vanilla type system.
 	}
 	
+	// In concurrent mode, answer a copy since the row may be changed by other threads.
 	protected final TypeBinding /* @NonNull */ [] getDerivedTypes(TypeBinding keyType) {
 		keyType = getUnannotatedType(keyType);
-		return this.types[keyType.id];
+		if (this.locks == null)
+			return this.types[keyType.id];
+		lock(keyType.id);
+		try {
+			return this.types[keyType.id].clone();
+		} finally {
+			unlock(keyType.id);
+		}
 	}
 	
 	private TypeBinding cacheDerivedType(TypeBinding keyType, TypeBinding derivedType) {
 		if (keyType == null || derivedType == null || keyType.id == TypeIds.NoId)
 			throw new IllegalStateException();
 		
-		TypeBinding[] derivedTypes = this.types[keyType.id];
-		// binary search for the *earliest* slot with a null reference. By design and construction, a null value will never be followed by a valid derived type.
-		int first, last,length = derivedTypes.length;
-		first = 0; last = length;
-		int i = (first + last) / 2;
-		do {
-			  if (derivedTypes[i] == null) {
-				  if (i == first || i > 0 && derivedTypes[i - 1] != null)
-					  break;
-				  last = i - 1;
-			  } else { 
-				  first = i + 1;
-			  }
-			  i = (first + last) / 2;
-		} while (i < length && first <= last);
-		if (i == length) {
-			System.arraycopy(derivedTypes, 0, derivedTypes = new TypeBinding[length * 2], 0, length);
-			this.types[keyType.id] = derivedTypes;
+		lock(keyType.id);
+		try {
+			TypeBinding[] derivedTypes = this.types[keyType.id];
+			// binary search for the *earliest* slot with a null reference. By design and construction, a null value will never be followed by a valid derived type.
+			int first, last,length = derivedTypes.length;
+			first = 0; last = length;
+			int i = (first + last) / 2;
+			do {
+				  if (derivedTypes[i] == null) {
+					  if (i == first || i > 0 && derivedTypes[i - 1] != null)
+						  break;
+					  last = i - 1;
+				  } else { 
+					  first = i + 1;
+				  }
+				  i = (first + last) / 2;
+			} while (i < length && first <= last);
+			if (i == length) {
+				System.arraycopy(derivedTypes, 0, derivedTypes = new TypeBinding[length * 2], 0, length);
+				setDerivedTypes(keyType.id, derivedTypes);
+			}
+			return derivedTypes[i] = derivedType;
+		} finally {
+			unlock(keyType.id);
 		}
-		return derivedTypes[i] = derivedType;
 	}
 	
 	protected final TypeBinding cacheDerivedType(TypeBinding keyType, TypeBinding nakedType, TypeBinding derivedType) {
@@ -476,13 +628,19 @@ public class TypeSystem {
 	   We may return a resolved annotation when requested for unresolved one, but not vice versa. 
 	*/
 	public final AnnotationBinding getAnnotationType(ReferenceBinding annotationType, boolean requiredResolved) {
-		AnnotationBinding annotation = (AnnotationBinding) this.annotationTypes.get(annotationType);
-		if (annotation == null) {
-			if (requiredResolved)
-				annotation = new AnnotationBinding(annotationType, Binding.NO_ELEMENT_VALUE_PAIRS);
-			else 
-				annotation = new UnresolvedAnnotationBinding(annotationType, Binding.NO_ELEMENT_VALUE_PAIRS, this.environment);
-			this.annotationTypes.put(annotationType, annotation);
+		AnnotationBinding annotation;
+		lockTable();
+		try {
+			annotation = (AnnotationBinding) this.annotationTypes.get(annotationType);
+			if (annotation == null) {
+				if (requiredResolved)
+					annotation = new AnnotationBinding(annotationType, Binding.NO_ELEMENT_VALUE_PAIRS);
+				else 
+					annotation = new UnresolvedAnnotationBinding(annotationType, Binding.NO_ELEMENT_VALUE_PAIRS, this.environment);
+				this.annotationTypes.put(annotationType, annotation);
+			}
+		} finally {
+			unlockTable();
 		}
 		if (requiredResolved)
 			annotation.resolve();
@@ -494,34 +652,49 @@ public class TypeSystem {
 	}
 
 	public void reset() {
-		this.annotationTypes = new SimpleLookupTable(16);
-		this.typeid = TypeIds.T_LastWellKnownTypeId;
-		this.types = new TypeBinding[TypeIds.T_LastWellKnownTypeId * 2][];
-		this.parameterizedTypes = new HashedParameterizedTypes();
+		lockTable();
+		try {
+			this.annotationTypes = new SimpleLookupTable(16);
+			this.typeid = TypeIds.T_LastWellKnownTypeId;
+			this.types = new TypeBinding[TypeIds.T_LastWellKnownTypeId * 2][];
+			this.parameterizedTypes = new HashedParameterizedTypes();
+		} finally {
+			unlockTable();
+		}
 	}
 	
 	public void updateCaches(UnresolvedReferenceBinding unresolvedType, ReferenceBinding resolvedType) {
 		final int unresolvedTypeId = unresolvedType.id;
 		if (unresolvedTypeId != TypeIds.NoId) {
 			// https://bugs.eclipse.org/bugs/show_bug.cgi?id=432977
-			TypeBinding[] derivedTypes = this.types[unresolvedTypeId];
-			for (int i = 0, length = derivedTypes == null ? 0 : derivedTypes.length; i < length; i++) {
-				if (derivedTypes[i] == null)
-					break;
-				if (derivedTypes[i] == unresolvedType) { //$IDENTITY-COMPARISON$
-					resolvedType.id = unresolvedTypeId;
-					derivedTypes[i] = resolvedType;
+			lock(unresolvedTypeId);
+			try {
+				TypeBinding[] derivedTypes = this.types[unresolvedTypeId];
+				for (int i = 0, length = derivedTypes == null ? 0 : derivedTypes.length; i < length; i++) {
+					if (derivedTypes[i] == null)
+						break;
+					if (derivedTypes[i] == unresolvedType) { //$IDENTITY-COMPARISON$
+						resolvedType.id = unresolvedTypeId;
+						derivedTypes[i] = resolvedType;
+					}
 				}
+			} finally {
+				unlock(unresolvedTypeId);
 			}
 		}
-		if (this.annotationTypes.get(unresolvedType) != null) { // update the key
-			Object[] keys = this.annotationTypes.keyTable;
-			for (int i = 0, l = keys.length; i < l; i++) {
-				if (keys[i] == unresolvedType) {
-					keys[i] = resolvedType; // hashCode is based on compoundName so this works.
-					break;
+		lockTable();
+		try {
+			if (this.annotationTypes.get(unresolvedType) != null) { // update the key
+				Object[] keys = this.annotationTypes.keyTable;
+				for (int i = 0, l = keys.length; i < l; i++) {
+					if (keys[i] == unresolvedType) {
+						keys[i] = resolvedType; // hashCode is based on compoundName so this works.
+						break;
+					}
 				}
 			}
+		} finally {
+			unlockTable();
 		}
 	}
 
@@ -533,6 +706,26 @@ public class TypeSystem {
 		if (keyType == null || intersectingTypesLength == 1)
 			return keyType;
 					
+		TypeBinding intersectionType = findIntersectionType18(keyType, intersectingTypes);
+		if (intersectionType != null)
+			return intersectionType;
+		// the constructor may look up types, the intersection type is created outside of the lock of the row.
+		intersectionType = new IntersectionTypeBinding18(intersectingTypes, this.environment);
+		if (this.locks == null)
+			return cacheDerivedType(keyType, intersectionType);
+		lock(keyType.id);
+		try {
+			TypeBinding priorIntersectionType = findIntersectionType18(keyType, intersectingTypes);
+			if (priorIntersectionType != null)
+				return priorIntersectionType;
+			return cacheDerivedType(keyType, intersectionType);
+		} finally {
+			unlock(keyType.id);
+		}
+	}
+
+	private TypeBinding findIntersectionType18(TypeBinding keyType, ReferenceBinding[] intersectingTypes) {
+		int intersectingTypesLength = intersectingTypes.length;
 		TypeBinding[] derivedTypes = getDerivedTypes(keyType);
 		int i, length = derivedTypes.length;
 		next:
@@ -551,7 +744,7 @@ public class TypeSystem {
 			}	
 			return derivedType;
 		}
-		return cacheDerivedType(keyType, new IntersectionTypeBinding18(intersectingTypes, this.environment));
+		return null;
 	}
 	
 	/**
@@ -560,13 +753,18 @@ public class TypeSystem {
 	 */
 	public void fixTypeVariableDeclaringElement(TypeVariableBinding var, Binding declaringElement) {
 		int id = var.id;
-		if (id < this.typeid && this.types[id] != null) {
-			for (TypeBinding t : this.types[id]) {
-				if (t instanceof TypeVariableBinding)
-					((TypeVariableBinding)t).declaringElement = declaringElement;
+		lock(id);
+		try {
+			if (id < this.typeid && this.types[id] != null) {
+				for (TypeBinding t : this.types[id]) {
+					if (t instanceof TypeVariableBinding)
+						((TypeVariableBinding)t).declaringElement = declaringElement;
+				}
+			} else {
+				var.declaringElement = declaringElement;
 			}
-		} else {
-			var.declaringElement = declaringElement;
+		} finally {
+			unlock(id);
 		}
 	}
-}
\ No newline at end of file
+}
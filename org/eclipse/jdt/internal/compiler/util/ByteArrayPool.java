@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.util.Arrays;
+
+/**
+ * Recycles byte arrays by size bucket. Bucket sizes are powers of two from
+ * {@link #MIN_SIZE} to {@link #MAX_SIZE}; larger requests are simply allocated.
+ * <p>
+ * Not thread safe: meant to be owned by a single thread.
+ * Recycled arrays are cleared before they are handed out again, and an array given back
+ * while it is already pooled is ignored.
+ * </p>
+ */
+public final class ByteArrayPool {
+
+	public static final int MIN_SIZE = 1 << 9;
+	public static final int MAX_SIZE = 1 << 20;
+	private static final int MIN_SHIFT = 9;
+	private static final int BUCKET_COUNT = 20 - MIN_SHIFT + 1;
+	private static final int BUCKET_CAPACITY = 8;
+
+	private byte[][][] buckets;
+	private int[] bucketSizes;
+
+	// statistics
+	public long allocatedBytes;
+	public long recycledBytes;
+
+public ByteArrayPool() {
+	this.buckets = new byte[BUCKET_COUNT][BUCKET_CAPACITY][];
+	this.bucketSizes = new int[BUCKET_COUNT];
+}
+
+private static int bucketIndex(int size) {
+	if (size <= MIN_SIZE)
+		return 0;
+	return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+}
+
+/**
+ * Answer an array of at least the given size, rounded up to its bucket size.
+ */
+public byte[] acquire(int minimalSize) {
+	if (minimalSize > MAX_SIZE) {
+		this.allocatedBytes += minimalSize;
+		return new byte[minimalSize];
+	}
+	int index = bucketIndex(minimalSize);
+	int count = this.bucketSizes[index];
+	if (count > 0) {
+		byte[][] bucket = this.buckets[index];
+		byte[] array = bucket[--count];
+		bucket[count] = null;
+		this.bucketSizes[index] = count;
+		this.recycledBytes += array.length;
+		Arrays.fill(array, (byte) 0); // as if just allocated
+		return array;
+	}
+	int size = MIN_SIZE << index;
+	this.allocatedBytes += size;
+	return new byte[size];
+}
+
+/**
+ * Give back an array which is no longer referenced by the caller.
+ * Arrays which do not have a bucket size, or whose bucket is full, are dropped.
+ */
+public void recycle(byte[] array) {
+	int length = array.length;
+	if (length < MIN_SIZE || length > MAX_SIZE || (length & (length - 1)) != 0)
+		return;
+	int index = bucketIndex(length);
+	int count = this.bucketSizes[index];
+	byte[][] bucket = this.buckets[index];
+	for (int i = 0; i < count; i++) {
+		if (bucket[i] == array)
+			return; // already pooled, must not be handed out twice
+	}
+	if (count < BUCKET_CAPACITY) {
+		bucket[count] = array;
+		this.bucketSizes[index] = count + 1;
+	}
+}
+
+public void clear() {
+	for (int i = 0; i < BUCKET_COUNT; i++) {
+		byte[][] bucket = this.buckets[i];
+		for (int j = 0, max = this.bucketSizes[i]; j < max; j++)
+			bucket[j] = null;
+		this.bucketSizes[i] = 0;
+	}
+}
+}
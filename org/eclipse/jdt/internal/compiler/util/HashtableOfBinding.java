@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.lookup.Binding;
+
+/**
+ * Hashtable of bindings keyed by their simple name, such as the types and packages
+ * visible from a compilation unit.
+ * <p>
+ * The capacity is a power of two and the hash code of each key is kept next to it, so that
+ * probing compares identical keys first (such as the names shared by the scanner), then
+ * hash codes before characters, and growing does not hash the keys again.
+ * </p>
+ * Subclasses only holding one kind of binding create a value table of that kind,
+ * see {@link HashtableOfType} and {@link HashtableOfPackage}.
+ */
+public class HashtableOfBinding {
+	// to avoid using Enumerations, walk the individual tables skipping nulls
+	public char[] keyTable[];
+	public Binding valueTable[];
+	int hashTable[];
+
+	public int elementSize; // number of elements in the table
+	int threshold;
+public HashtableOfBinding() {
+	this(3);
+}
+public HashtableOfBinding(int size) {
+	this.elementSize = 0;
+	int capacity = 4;
+	while (capacity <= size * 2) // size represents the expected number of elements, keep the table at most half full
+		capacity <<= 1;
+	this.threshold = capacity >> 1;
+	this.keyTable = new char[capacity][];
+	this.valueTable = newValueTable(capacity);
+	this.hashTable = new int[capacity];
+}
+/**
+ * Answers a value table of the given capacity.
+ */
+protected Binding[] newValueTable(int capacity) {
+	return new Binding[capacity];
+}
+private static int hash(char[] key) {
+	int hash = CharOperation.hashCode(key);
+	return hash ^ (hash >>> 16); // the mask only keeps the low bits
+}
+public boolean containsKey(char[] key) {
+	int hash = hash(key);
+	char[][] keys = this.keyTable;
+	int mask = keys.length - 1, index = hash & mask;
+	char[] currentKey;
+	while ((currentKey = keys[index]) != null) {
+		if (currentKey == key || (this.hashTable[index] == hash && CharOperation.equals(currentKey, key)))
+			return true;
+		index = (index + 1) & mask;
+	}
+	return false;
+}
+public Binding get(char[] key) {
+	int hash = hash(key);
+	char[][] keys = this.keyTable;
+	int mask = keys.length - 1, index = hash & mask;
+	char[] currentKey;
+	while ((currentKey = keys[index]) != null) {
+		if (currentKey == key || (this.hashTable[index] == hash && CharOperation.equals(currentKey, key)))
+			return this.valueTable[index];
+		index = (index + 1) & mask;
+	}
+	return null;
+}
+// Returns old value.
+public Binding getput(char[] key, Binding value) {
+	int hash = hash(key);
+	char[][] keys = this.keyTable;
+	int mask = keys.length - 1, index = hash & mask;
+	char[] currentKey;
+	while ((currentKey = keys[index]) != null) {
+		if (currentKey == key || (this.hashTable[index] == hash && CharOperation.equals(currentKey, key))) {
+			Binding retVal = this.valueTable[index];
+			this.valueTable[index] = value;
+			return retVal;
+		}
+		index = (index + 1) & mask;
+	}
+	keys[index] = key;
+	this.valueTable[index] = value;
+	this.hashTable[index] = hash;
+
+	// assumes the threshold is never equal to the size of the table
+	if (++this.elementSize > this.threshold)
+		rehash();
+	return null;
+}
+public Binding put(char[] key, Binding value) {
+	getput(key, value);
+	return value;
+}
+private void rehash() {
+	char[][] oldKeys = this.keyTable;
+	Binding[] oldValues = this.valueTable;
+	int[] oldHashes = this.hashTable;
+	int capacity = oldKeys.length * 2, mask = capacity - 1;
+	char[][] keys = this.keyTable = new char[capacity][];
+	Binding[] values = this.valueTable = newValueTable(capacity);
+	int[] hashes = this.hashTable = new int[capacity];
+	for (int i = oldKeys.length; --i >= 0;) {
+		char[] key = oldKeys[i];
+		if (key != null) {
+			int hash = oldHashes[i], index = hash & mask;
+			while (keys[index] != null)
+				index = (index + 1) & mask;
+			keys[index] = key;
+			values[index] = oldValues[i];
+			hashes[index] = hash;
+		}
+	}
+	this.threshold = capacity >> 1;
+}
+public int size() {
+	return this.elementSize;
+}
+public String toString() {
+	String s = ""; //$NON-NLS-1$
+	Binding binding;
+	for (int i = 0, length = this.valueTable.length; i < length; i++)
+		if ((binding = this.valueTable[i]) != null)
+			s += new String(this.keyTable[i]) + " -> " + binding.toString() + "\n"; //$NON-NLS-1$ //$NON-NLS-2$
+	return s;
+}
+}
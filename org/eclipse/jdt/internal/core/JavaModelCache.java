@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,8 +12,8 @@
  *								Bug 440477 - [null] Infrastructure for feeding external annotations into compilation
  *******************************************************************************/
 package org.eclipse.jdt.internal.core;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.internal.core.util.LRUCache;
@@ -21,6 +21,11 @@ import org.eclipse.jdt.internal.core.util.Util;
 
 /**
  * The cache of java elements to their respective info.
+ * <p>
+ * Infos can be read (see {@link #getInfo(IJavaElement)}, {@link #peekAtInfo(IJavaElement)} and
+ * {@link #getExistingElement(IJavaElement)}) without locking, while the cache is modified by a thread
+ * holding the lock of the {@link JavaModelManager}.
+ * </p>
  */
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class JavaModelCache {
@@ -44,12 +49,12 @@ public class JavaModelCache {
 	/**
 	 * Active Java Model Info
 	 */
-	protected Object modelInfo;
+	protected volatile Object modelInfo;
 
 	/**
 	 * Cache of open projects.
 	 */
-	protected HashMap projectCache;
+	protected Map projectCache;
 
 	/**
 	 * Cache of open package fragment roots.
@@ -74,14 +79,14 @@ public class JavaModelCache {
 	/*
 	 * Cache of open binary type (inside a jar) that have a non-open parent
 	 */
-	protected LRUCache jarTypeCache;
+	protected volatile LRUCache jarTypeCache;
 
 public JavaModelCache() {
 	// set the size of the caches as a function of the maximum amount of memory available
 	double ratio = getMemoryRatio();
 	// adjust the size of the openable cache using the RATIO_PROPERTY property
 	double openableRatio = getOpenableRatio();
-	this.projectCache = new HashMap(DEFAULT_PROJECT_SIZE); // NB: Don't use a LRUCache for projects as they are constantly reopened (e.g. during delta processing)
+	this.projectCache = new ConcurrentHashMap(DEFAULT_PROJECT_SIZE); // NB: Don't use a LRUCache for projects as they are constantly reopened (e.g. during delta processing)
 	if (VERBOSE) {
 		this.rootCache = new VerboseElementCache((int) (DEFAULT_ROOT_SIZE * ratio), "Root cache"); //$NON-NLS-1$
 		this.pkgCache = new VerboseElementCache((int) (DEFAULT_PKG_SIZE * ratio), "Package cache"); //$NON-NLS-1$
@@ -91,7 +96,7 @@ public JavaModelCache() {
 		this.pkgCache = new ElementCache((int) (DEFAULT_PKG_SIZE * ratio));
 		this.openableCache = new ElementCache((int) (DEFAULT_OPENABLE_SIZE * ratio * openableRatio));
 	}
-	this.childrenCache = new HashMap((int) (DEFAULT_CHILDREN_SIZE * ratio * openableRatio));
+	this.childrenCache = new ConcurrentHashMap((int) (DEFAULT_CHILDREN_SIZE * ratio * openableRatio));
 	resetJarTypeCache();
 }
 
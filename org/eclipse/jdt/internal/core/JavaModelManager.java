@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -1093,7 +1093,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	/**
 	 * Infos cache.
 	 */
-	private JavaModelCache cache;
+	private volatile JavaModelCache cache;
 
 	/*
 	 * Temporary cache of newly opened elements
@@ -1958,8 +1958,9 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 
 	/**
 	 *  Returns the info for the element.
+	 *  Does not lock the manager when the info is cached, see {@link JavaModelCache}.
 	 */
-	public synchronized Object getInfo(IJavaElement element) {
+	public Object getInfo(IJavaElement element) {
 		HashMap tempCache = (HashMap)this.temporaryCache.get();
 		if (tempCache != null) {
 			Object result = tempCache.get(element);
@@ -1967,13 +1968,22 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				return result;
 			}
 		}
-		return this.cache.getInfo(element);
+		Object info = this.cache.getInfo(element);
+		if (info != null)
+			return info;
+		// the info may be missing because another thread is putting or removing the infos of its opened element
+		// (see putInfos(...) and removeInfoAndChildren(...)), check again once they are all in the cache or all removed
+		synchronized (this) {
+			return this.cache.getInfo(element);
+		}
 	}
 
 	/**
 	 *  Returns the existing element in the cache that is equal to the given element.
+	 *  Does not lock the manager: while the infos are put or removed, this may return the given element
+	 *  instead of the equal one in the cache, which only misses sharing the same handle.
 	 */
-	public synchronized IJavaElement getExistingElement(IJavaElement element) {
+	public IJavaElement getExistingElement(IJavaElement element) {
 		return this.cache.getExistingElement(element);
 	}
 
@@ -3713,8 +3723,9 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	/**
 	 *  Returns the info for this element without
 	 *  disturbing the cache ordering.
+	 *  Does not lock the manager when the info is cached, see {@link #getInfo(IJavaElement)}.
 	 */
-	protected synchronized Object peekAtInfo(IJavaElement element) {
+	protected Object peekAtInfo(IJavaElement element) {
 		HashMap tempCache = (HashMap)this.temporaryCache.get();
 		if (tempCache != null) {
 			Object result = tempCache.get(element);
@@ -3722,7 +3733,12 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				return result;
 			}
 		}
-		return this.cache.peekAtInfo(element);
+		Object info = this.cache.peekAtInfo(element);
+		if (info != null)
+			return info;
+		synchronized (this) {
+			return this.cache.peekAtInfo(element);
+		}
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,8 +10,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.internal.core.util.LRUCache;
 import org.eclipse.jdt.internal.core.util.Messages;
@@ -39,6 +42,9 @@ import org.eclipse.jdt.internal.core.util.Messages;
  *	<p>The cache calculates the used space of all elements which implement
  *	<code>ILRUCacheable</code>.  All other elements are assumed to be of size one.
  *
+ *	<p>As in <code>LRUCache</code>, values can be read without locking.  Reading a value does not move
+ *	its entry, the queue is sorted by the time each entry was last used when space is made.
+ *
  *	<p>Use the <code>#peek(Object)</code> and <code>#disableTimestamps()</code> method to
  *	circumvent the timestamp feature of the cache.  This feature is intended to be used
  *	only when the <code>#close(LRUCacheEntry)</code> method causes changes to the cache.
@@ -132,9 +138,9 @@ protected abstract boolean close(LRUCacheEntry entry);
 	 * For internal testing only.
 	 * This method exposed only for testing purposes!
 	 *
-	 * @return Hashtable of entries
+	 * @return table of entries
 	 */
-	public java.util.Hashtable getEntryTable() {
+	public ConcurrentHashMap getEntryTable() {
 		return this.entryTable;
 	}
 /**
@@ -170,6 +176,7 @@ public double getLoadFactor() {
 		/* Free up space by removing oldest entries */
 		int spaceNeeded = (int)((1 - this.loadFactor) * limit);
 		spaceNeeded = (spaceNeeded > space) ? spaceNeeded : space;
+		sortEntryQueue();
 		LRUCacheEntry entry = this.entryQueueTail;
 
 		try {
@@ -391,6 +398,48 @@ public void setLoadFactor(double newLoadFactor) throws IllegalArgumentException
 			return makeSpace(0);
 		return true;
 	}
+/**
+ * Sorts the entry queue by the time each entry was last put or read, most recently used first,
+ * if a value was read since its entry was last moved.
+ */
+private void sortEntryQueue() {
+	int size = 0;
+	boolean sorted = true;
+	int previousTimestamp = Integer.MAX_VALUE;
+	for (LRUCacheEntry entry = this.entryQueue; entry != null; entry = entry.next) {
+		// the read timestamp is copied once, it may be changed by other threads while sorting
+		int readTimestamp = entry.readTimestamp;
+		if (readTimestamp > entry.timestamp)
+			entry.timestamp = readTimestamp;
+		if (entry.timestamp > previousTimestamp)
+			sorted = false;
+		previousTimestamp = entry.timestamp;
+		size++;
+	}
+	if (sorted) return;
+	LRUCacheEntry[] entries = new LRUCacheEntry[size];
+	int index = 0;
+	for (LRUCacheEntry entry = this.entryQueue; entry != null; entry = entry.next)
+		entries[index++] = entry;
+	Arrays.sort(entries, new Comparator() {
+		public int compare(Object o1, Object o2) {
+			int timestamp1 = ((LRUCacheEntry) o1).timestamp;
+			int timestamp2 = ((LRUCacheEntry) o2).timestamp;
+			return timestamp1 > timestamp2 ? -1 : (timestamp1 == timestamp2 ? 0 : 1);
+		}
+	});
+	LRUCacheEntry previous = null;
+	for (int i = 0; i < size; i++) {
+		LRUCacheEntry entry = entries[i];
+		entry.previous = previous;
+		if (previous != null)
+			previous.next = entry;
+		previous = entry;
+	}
+	previous.next = null;
+	this.entryQueue = entries[0];
+	this.entryQueueTail = previous;
+}
 /**
  * Returns a String that represents the value of this object.  This method
  * is for debugging purposes only.
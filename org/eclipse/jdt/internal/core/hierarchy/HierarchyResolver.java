@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -27,6 +27,9 @@ package org.eclipse.jdt.internal.core.hierarchy;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -77,6 +80,22 @@ public class HierarchyResolver implements ITypeRequestor {
 	private int typeIndex;
 	private IGenericType[] typeModels;
 
+	/**
+	 * The number of threads parsing the compilation units which are not open when resolving
+	 * a hierarchy, see {@link #dietParseInParallel(Openable[], IProgressMonitor)}. It is further limited
+	 * by one thread per 256MB of heap and by one thread per {@link #UNITS_PER_PARSING_THREAD} units.
+	 * One by default: the units are parsed one after the other by the resolving thread.
+	 * Only the parsing is shared: the type bindings are built and connected by the resolving thread.
+	 */
+	public static int PARSING_THREADS = 1;
+	// the threads asked for are not limited by the processors
+	private static final int MAX_PARSING_THREADS = Math.max(1, (int) (Runtime.getRuntime().maxMemory() / (256 * 0x100000)));
+	/**
+	 * The number of compilation units to parse which is worth starting another parsing thread.
+	 */
+	private static final int UNITS_PER_PARSING_THREAD = 50;
+	private static ExecutorService PARSING_WORKERS; // created by the first hierarchy parsing its units in parallel
+
 	private static final CompilationUnitDeclaration FakeUnit;
 	static {
 		IErrorHandlingPolicy policy = DefaultErrorHandlingPolicies.exitAfterAllProblems();
@@ -648,6 +667,7 @@ public void resolve(IGenericType suppliedType) {
  * @param monitor
  */
 public void resolve(Openable[] openables, HashSet localTypes, IProgressMonitor monitor) {
+	ParsedUnits parsedFiles = null;
 	try {
 		int openablesLength = openables.length;
 		CompilationUnitDeclaration[] parsedUnits = new CompilationUnitDeclaration[openablesLength];
@@ -667,7 +687,8 @@ public void resolve(Openable[] openables, HashSet localTypes, IProgressMonitor m
 			}
 		}
 
-		// build type bindings
+		// parse the units which are not open ahead while building type bindings
+		parsedFiles = dietParseInParallel(openables, monitor);
 		Parser parser = new Parser(this.lookupEnvironment.problemReporter, true);
 		final boolean isJava8 = this.options.sourceLevel >= ClassFileConstants.JDK1_8;
 		for (int i = 0; i < openablesLength; i++) {
@@ -717,11 +738,20 @@ public void resolve(Openable[] openables, HashSet localTypes, IProgressMonitor m
 					// will not parse the method statements if ASTNode.HasAllMethodBodies is set. 
 					if (containsLocalType) 	parsedUnit.bits |= ASTNode.HasAllMethodBodies;
 				} else {
-					// create parsed unit from file
-					IFile file = (IFile) cu.getResource();
-					ICompilationUnit sourceUnit = this.builder.createCompilationUnitFromPath(openable, file);
-					CompilationResult unitResult = new CompilationResult(sourceUnit, i, openablesLength, this.options.maxProblemsPerUnit);
-					parsedUnit = parser.dietParse(sourceUnit, unitResult);
+					Object parsedFile = parsedFiles == null ? null : parsedFiles.take(i);
+					if (parsedFile instanceof RuntimeException)
+						throw (RuntimeException) parsedFile;
+					if (parsedFile instanceof Error)
+						throw (Error) parsedFile;
+					if (parsedFile != null) {
+						parsedUnit = (CompilationUnitDeclaration) parsedFile;
+					} else {
+						// create parsed unit from file
+						IFile file = (IFile) cu.getResource();
+						ICompilationUnit sourceUnit = this.builder.createCompilationUnitFromPath(openable, file);
+						CompilationResult unitResult = new CompilationResult(sourceUnit, i, openablesLength, this.options.maxProblemsPerUnit);
+						parsedUnit = parser.dietParse(sourceUnit, unitResult);
+					}
 				}
 
 				if (parsedUnit != null) {
@@ -855,9 +885,58 @@ public void resolve(Openable[] openables, HashSet localTypes, IProgressMonitor m
 		if (TypeHierarchy.DEBUG)
 			e.printStackTrace();
 	} finally {
+		if (parsedFiles != null)
+			parsedFiles.stop();
 		reset();
 	}
 }
+/**
+ * Answers the pool of threads parsing the compilation units of the hierarchies, shared by all the hierarchies.
+ * Its daemon threads are kept for a while once idle, then released.
+ */
+private static synchronized ExecutorService getParsingWorkers() {
+	if (PARSING_WORKERS == null) {
+		PARSING_WORKERS = Executors.newCachedThreadPool(new ThreadFactory() {
+			private int count;
+			public synchronized Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Java type hierarchy parser " + this.count++); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+	return PARSING_WORKERS;
+}
+/**
+ * Diet parses the compilation units which are not open amongst the given openables on {@link #PARSING_THREADS}
+ * threads of the pool returned by {@link #getParsingWorkers()}, each one with its own parser, when there are enough
+ * of them. Answers the units being parsed, or null if they are to be parsed one after the other.
+ * The source units are created on the calling thread, which takes the parsed units in the order of the openables
+ * and builds their type bindings while the next ones are parsed, since the lookup environment is not thread safe.
+ */
+private ParsedUnits dietParseInParallel(Openable[] openables, IProgressMonitor monitor) {
+	int maxThreadCount = Math.min(PARSING_THREADS, MAX_PARSING_THREADS);
+	if (maxThreadCount < 2 || openables.length < 2 * UNITS_PER_PARSING_THREAD)
+		return null;
+	int openablesLength = openables.length;
+	ICompilationUnit[] sourceUnits = new ICompilationUnit[openablesLength];
+	int count = 0;
+	for (int i = 0; i < openablesLength; i++) {
+		Openable openable = openables[i];
+		if (openable instanceof org.eclipse.jdt.core.ICompilationUnit && !openable.isOpen()) {
+			sourceUnits[i] = this.builder.createCompilationUnitFromPath(openable, (IFile) openable.getResource());
+			count++;
+		}
+	}
+	int threadCount = Math.min(maxThreadCount, count / UNITS_PER_PARSING_THREAD);
+	if (threadCount < 2)
+		return null;
+	ParsedUnits parsedUnits = new ParsedUnits(sourceUnits, this.lookupEnvironment.problemReporter, this.options.maxProblemsPerUnit, monitor, threadCount);
+	ExecutorService workers = getParsingWorkers();
+	for (int i = 0; i < threadCount; i++)
+		workers.execute(parsedUnits);
+	return parsedUnits;
+}
 private void setEnvironment(LookupEnvironment lookupEnvironment, HierarchyBuilder builder) {
 	this.lookupEnvironment = lookupEnvironment;
 	this.builder = builder;
@@ -931,5 +1010,92 @@ protected void worked(IProgressMonitor monitor, int work) {
 		}
 	}
 }
+/*
+ * The compilation units which are not open, parsed ahead by each worker running it, see dietParseInParallel(..).
+ * The resolving thread takes them in the order of the openables.
+ */
+private static class ParsedUnits implements Runnable {
+	private final ICompilationUnit[] sourceUnits; // the units to parse, by openable
+	private final Object[] parsedFiles; // the parsed unit or the exception thrown when parsing it, by openable
+	private final ProblemReporter problemReporter;
+	private final int maxProblemsPerUnit;
+	private final IProgressMonitor monitor;
+	private int next; // the next openable to look at
+	private int running; // the number of workers still parsing
+
+	ParsedUnits(ICompilationUnit[] sourceUnits, ProblemReporter problemReporter, int maxProblemsPerUnit, IProgressMonitor monitor, int workerCount) {
+		this.sourceUnits = sourceUnits;
+		this.parsedFiles = new Object[sourceUnits.length];
+		this.problemReporter = problemReporter;
+		this.maxProblemsPerUnit = maxProblemsPerUnit;
+		this.monitor = monitor;
+		this.running = workerCount;
+	}
+	public void run() {
+		int length = this.sourceUnits.length;
+		try {
+			Parser parser = new Parser(new ProblemReporter(this.problemReporter.policy, this.problemReporter.options, this.problemReporter.problemFactory), true);
+			while (true) {
+				int index;
+				synchronized (this) {
+					while (this.next < length && this.sourceUnits[this.next] == null)
+						this.next++;
+					if (this.next == length || (this.monitor != null && this.monitor.isCanceled()))
+						return;
+					index = this.next++;
+				}
+				ICompilationUnit sourceUnit = this.sourceUnits[index];
+				Object parsedFile;
+				try {
+					parsedFile = parser.dietParse(sourceUnit, new CompilationResult(sourceUnit, index, length, this.maxProblemsPerUnit));
+				} catch (RuntimeException e) {
+					parsedFile = e;
+				} catch (Error e) {
+					parsedFile = e;
+				}
+				synchronized (this) {
+					this.parsedFiles[index] = parsedFile;
+					notifyAll();
+				}
+			}
+		} finally {
+			synchronized (this) {
+				this.running--;
+				notifyAll();
+			}
+		}
+	}
+	/*
+	 * Answers the parsed unit of the given openable or the exception thrown when parsing it, once parsed, or null if
+	 * it is to be parsed by the caller: it is open, or the workers stopped before parsing it.
+	 * An interruption stops the workers, the caller sees it once the units are parsed one after the other.
+	 */
+	synchronized Object take(int index) {
+		if (this.sourceUnits[index] == null)
+			return null;
+		Object parsedFile;
+		try {
+			while ((parsedFile = this.parsedFiles[index]) == null) {
+				if (this.running == 0)
+					return null;
+				if (this.monitor != null && this.monitor.isCanceled())
+					throw new OperationCanceledException();
+				wait(100);
+			}
+		} catch (InterruptedException e) {
+			stop();
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		this.parsedFiles[index] = null; // released once taken
+		return parsedFile;
+	}
+	/*
+	 * Stops the workers once done with their current unit.
+	 */
+	synchronized void stop() {
+		this.next = this.sourceUnits.length;
+	}
+}
 }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,8 @@
 package org.eclipse.jdt.internal.core.index;
 
 import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.search.*;
@@ -21,6 +23,7 @@ import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.compiler.util.SimpleSet;
 import org.eclipse.jdt.internal.compiler.util.SimpleSetOfCharArray;
 
+@SuppressWarnings({"rawtypes", "unchecked"})
 public class DiskIndex {
 
 IndexLocation indexLocation;
@@ -29,14 +32,22 @@ private int headerInfoOffset;
 private int numberOfChunks;
 private int sizeOfLastChunk;
 private int[] chunkOffsets;
-private int documentReferenceSize; // 1, 2 or more bytes... depends on # of document names
+private int documentReferenceSize; // 1, 2 or more bytes... depends on # of document names, or VARIABLE_REFERENCE_SIZE
 private int startOfCategoryTables;
 private HashtableOfIntValues categoryOffsets, categoryEnds;
 
 private int cacheUserCount;
-private String[][] cachedChunks; // decompressed chunks of document names
-private HashtableOfObject categoryTables; // category name -> HashtableOfObject(words -> int[] of document #'s) or offset if not read yet
+private AtomicReferenceArray cachedChunks; // decompressed chunks of document names, allocated along with the chunk offsets
+private volatile HashtableOfObject categoryTables; // category name -> WordDictionary read from the file, or HashtableOfObject(words -> int[] of document #'s) of a table to write
 private char[] cachedCategoryName;
+private MappedIndexFile mappedFile; // null when the file is read through streams
+
+// segments appended to the file by appendSegment(), each with its own document names, category tables & header info
+private boolean appendable; // false for files of previous versions, which have a single segment
+private int previousHeaderInfoOffset; // header info of the previous segment, -1 for the first one
+private String[] removedDocumentNames; // documents removed from the previous segments & not indexed again
+private DiskIndex[] segments; // segments appended after this first one, oldest first, or null
+private int[] hiddenDocuments; // sorted numbers of the documents indexed again or removed by a later segment, or null
 
 private static final int DEFAULT_BUFFER_SIZE = 2048;
 private static int BUFFER_READ_SIZE = DEFAULT_BUFFER_SIZE;
@@ -46,15 +57,42 @@ private int bufferIndex, bufferEnd; // used when reading from the file into the
 private int streamEnd; // used when writing data from the streamBuffer to the file
 char separator = Index.DEFAULT_SEPARATOR;
 
-public static final String SIGNATURE= "INDEX VERSION 1.127"; //$NON-NLS-1$
+public static final String SIGNATURE= "INDEX VERSION 1.129"; //$NON-NLS-1$
 private static final char[] SIGNATURE_CHARS = SIGNATURE.toCharArray();
+private static final int HEADER_INFO_OFFSET_POSITION = 2 + SIGNATURE_CHARS.length; // the offset to the last header info follows the signature
+// files of previous versions are still read, they have a single segment & the document numbers of 1.127 have a fixed size
+private static final char[][] PREVIOUS_SIGNATURES = {
+	"INDEX VERSION 1.128".toCharArray(), //$NON-NLS-1$
+	"INDEX VERSION 1.127".toCharArray() //$NON-NLS-1$
+};
 public static boolean DEBUG = false;
+/**
+ * Whether index files are mapped in memory when they can be, letting queries read them without locking.
+ * Not done on Windows, where a file cannot be deleted or renamed while it is mapped, and a mapping is
+ * only released once garbage collected.
+ */
+public static boolean MAP_INDEX_FILES = File.separatorChar != '\\';
+/**
+ * The number of segments which can be appended to an index file before the next save merges them
+ * into a single one, rewriting the file.
+ */
+public static int MAX_SEGMENTS = 8;
+/**
+ * Segments are only appended while the changes they hold, all together, are fewer than the documents
+ * of the first segment divided by this ratio. Beyond that, rewriting the file is worth its cost.
+ */
+public static int SEGMENT_RATIO = 10;
 
 private static final int RE_INDEXED = -1;
 private static final int DELETED = -2;
 
 private static final int CHUNK_SIZE = 100;
 
+// document numbers are written sorted, each one as the difference with the previous one
+// in 1 to 5 bytes holding 7 bits each, the high bit set when more bytes follow
+static final int VARIABLE_REFERENCE_SIZE = 0;
+static final int MAX_VARIABLE_REFERENCE_BYTES = 5;
+
 private static final SimpleSetOfCharArray INTERNED_CATEGORY_NAMES = new SimpleSetOfCharArray(20);
 private static final String TMP_EXT = ".tmp"; //$NON-NLS-1$
 
@@ -95,6 +133,12 @@ DiskIndex() {
 	this.cachedCategoryName = null;
 	this.categoryOffsets = null;
 	this.categoryEnds = null;
+	this.mappedFile = null;
+	this.appendable = true;
+	this.previousHeaderInfoOffset = -1;
+	this.removedDocumentNames = null;
+	this.segments = null;
+	this.hiddenDocuments = null;
 }
 DiskIndex(IndexLocation location) throws IOException {
 	this();
@@ -104,9 +148,19 @@ DiskIndex(IndexLocation location) throws IOException {
 	this.indexLocation = location;
 }
 SimpleSet addDocumentNames(String substring, MemoryIndex memoryIndex) throws IOException {
-	// must skip over documents which have been added/changed/deleted in the memory index
+	SimpleSet results = addDocumentNames(substring, memoryIndex, null);
+	if (this.segments != null)
+		for (int i = 0, l = this.segments.length; i < l; i++)
+			this.segments[i].addDocumentNames(substring, memoryIndex, results);
+	return results;
+}
+private SimpleSet addDocumentNames(String substring, MemoryIndex memoryIndex, SimpleSet results) throws IOException {
+	// must skip over documents which have been added/changed/deleted in the memory index or in a later segment
 	String[] docNames = readAllDocumentNames();
-	SimpleSet results = new SimpleSet(docNames.length);
+	if (this.hiddenDocuments != null)
+		docNames = visibleDocumentNames(docNames);
+	if (results == null)
+		results = new SimpleSet(docNames.length);
 	if (substring == null) {
 		if (memoryIndex == null) {
 			for (int i = 0, l = docNames.length; i < l; i++)
@@ -136,22 +190,26 @@ SimpleSet addDocumentNames(String substring, MemoryIndex memoryIndex) throws IOE
 	return results;
 }
 private HashtableOfObject addQueryResult(HashtableOfObject results, char[] word, Object docs, MemoryIndex memoryIndex, boolean prevResults) throws IOException {
-	// must skip over documents which have been added/changed/deleted in the memory index
+	// must skip over documents which have been added/changed/deleted in the memory index or in a later segment
 	if (results == null)
 		results = new HashtableOfObject(13);
 	EntryResult result = prevResults ? (EntryResult) results.get(word) : null;
-	if (memoryIndex == null) {
+	if (memoryIndex == null && this.previousHeaderInfoOffset < 0) { // the document tables of an entry result are read from the first segment
+		if (this.hiddenDocuments != null && (docs = visibleDocumentNumbers(docs)) == null)
+			return results;
 		if (result == null)
 			results.putUnsafely(word, new EntryResult(word, docs));
 		else
 			result.addDocumentTable(docs);
 	} else {
-		SimpleLookupTable docsToRefs = memoryIndex.docsToReferences;
+		SimpleLookupTable docsToRefs = memoryIndex == null ? null : memoryIndex.docsToReferences;
 		if (result == null) result = new EntryResult(word, null);
 		int[] docNumbers = readDocumentNumbers(docs);
 		for (int i = 0, l = docNumbers.length; i < l; i++) {
+			if (this.hiddenDocuments != null && Arrays.binarySearch(this.hiddenDocuments, docNumbers[i]) >= 0)
+				continue;
 			String docName = readDocumentName(docNumbers[i]);
-			if (!docsToRefs.containsKey(docName))
+			if (docsToRefs == null || !docsToRefs.containsKey(docName))
 				result.addDocumentName(docName);
 		}
 		if (!result.isEmpty())
@@ -161,65 +219,58 @@ private HashtableOfObject addQueryResult(HashtableOfObject results, char[] word,
 }
 HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule, MemoryIndex memoryIndex) throws IOException {
 	// assumes sender has called startQuery() & will call stopQuery() when finished
-	if (this.categoryOffsets == null) return null; // file is empty
+	HashtableOfObject results = addQueryResults(null, categories, key, matchRule, memoryIndex);
+	if (this.segments != null)
+		for (int i = 0, l = this.segments.length; i < l; i++)
+			results = this.segments[i].addQueryResults(results, categories, key, matchRule, memoryIndex);
+	return results;
+}
+private HashtableOfObject addQueryResults(HashtableOfObject results, char[][] categories, char[] key, int matchRule, MemoryIndex memoryIndex) throws IOException {
+	if (this.categoryOffsets == null) return results; // file is empty
 
-	HashtableOfObject results = null; // initialized if needed
-	
 	// No need to check the results table for duplicates while processing the
 	// first category table or if the first category tables doesn't have any results.
-	boolean prevResults = false;
+	boolean prevResults = results != null;
 	if (key == null) {
 		for (int i = 0, l = categories.length; i < l; i++) {
-			HashtableOfObject wordsToDocNumbers = readCategoryTable(categories[i], true); // cache if key is null since its a definite match
+			WordDictionary wordsToDocNumbers = readCategoryTable(categories[i], true); // cache if key is null since its a definite match
 			if (wordsToDocNumbers != null) {
-				char[][] words = wordsToDocNumbers.keyTable;
-				Object[] values = wordsToDocNumbers.valueTable;
+				char[][] words = wordsToDocNumbers.words;
+				Object[] values = wordsToDocNumbers.values;
 				if (results == null)
-					results = new HashtableOfObject(wordsToDocNumbers.elementSize);
-				for (int j = 0, m = words.length; j < m; j++)
-					if (words[j] != null)
-						results = addQueryResult(results, words[j], values[j], memoryIndex, prevResults);
+					results = new HashtableOfObject(wordsToDocNumbers.size);
+				for (int j = 0, m = wordsToDocNumbers.size; j < m; j++)
+					results = addQueryResult(results, words[j], values[j], memoryIndex, prevResults);
 			}
 			prevResults = results != null;
 		}
-		if (results != null && this.cachedChunks == null)
+		if (results != null && this.numberOfChunks > 0 && this.cachedChunks.get(this.numberOfChunks - 1) == null)
 			cacheDocumentNames();
 	} else {
 		switch (matchRule) {
 			case SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE:
 				for (int i = 0, l = categories.length; i < l; i++) {
-					HashtableOfObject wordsToDocNumbers = readCategoryTable(categories[i], false);
+					WordDictionary wordsToDocNumbers = readCategoryTable(categories[i], false);
 					Object value;
 					if (wordsToDocNumbers != null && (value = wordsToDocNumbers.get(key)) != null)
 						results = addQueryResult(results, key, value, memoryIndex, prevResults);
 					prevResults = results != null;
 				}
 				break;
-			case SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE:
-				for (int i = 0, l = categories.length; i < l; i++) {
-					HashtableOfObject wordsToDocNumbers = readCategoryTable(categories[i], false);
-					if (wordsToDocNumbers != null) {
-						char[][] words = wordsToDocNumbers.keyTable;
-						Object[] values = wordsToDocNumbers.valueTable;
-						for (int j = 0, m = words.length; j < m; j++) {
-							char[] word = words[j];
-							if (word != null && key[0] == word[0] && CharOperation.prefixEquals(key, word))
-								results = addQueryResult(results, word, values[j], memoryIndex, prevResults);
-						}
-					}
-					prevResults = results != null;
-				}
-				break;
 			default:
 				for (int i = 0, l = categories.length; i < l; i++) {
-					HashtableOfObject wordsToDocNumbers = readCategoryTable(categories[i], false);
+					WordDictionary wordsToDocNumbers = readCategoryTable(categories[i], false);
 					if (wordsToDocNumbers != null) {
-						char[][] words = wordsToDocNumbers.keyTable;
-						Object[] values = wordsToDocNumbers.valueTable;
-						for (int j = 0, m = words.length; j < m; j++) {
-							char[] word = words[j];
-							if (word != null && Index.isMatch(key, word, matchRule))
-								results = addQueryResult(results, word, values[j], memoryIndex, prevResults);
+						// only test the words of the ranges which can match the key
+						int[] ranges = wordsToDocNumbers.ranges(key, matchRule);
+						char[][] words = wordsToDocNumbers.words;
+						Object[] values = wordsToDocNumbers.values;
+						for (int j = 0, m = ranges.length; j < m; j += 2) {
+							for (int k = ranges[j], end = ranges[j + 1]; k < end; k++) {
+								char[] word = words[k];
+								if (Index.isMatch(key, word, matchRule))
+									results = addQueryResult(results, word, values[k], memoryIndex, prevResults);
+							}
 						}
 					}
 					prevResults = results != null;
@@ -229,24 +280,111 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 
 	return results;
 }
+/**
+ * Appends a segment holding the documents added, changed or removed in the given memory index to the file of
+ * this index, which must be its first segment, instead of merging them with all the other documents into a new file.
+ * Segments are merged into a single one by the next call to {@link #mergeWith(MemoryIndex)}.
+ */
+void appendSegment(MemoryIndex memoryIndex) throws IOException {
+	// assume write lock is held
+	SimpleLookupTable docsToRefs = memoryIndex.docsToReferences;
+	Object[] paths = docsToRefs.keyTable;
+	Object[] referenceTables = docsToRefs.valueTable;
+	int indexedCount = 0;
+	for (int i = 0, l = paths.length; i < l; i++)
+		if (paths[i] != null && referenceTables[i] != null)
+			indexedCount++;
+	String[] docNames = new String[indexedCount];
+	String[] removedNames = new String[docsToRefs.elementSize - indexedCount];
+	int count = 0;
+	int removedCount = 0;
+	for (int i = 0, l = paths.length; i < l; i++) {
+		if (paths[i] != null) {
+			if (referenceTables[i] != null)
+				docNames[count++] = (String) paths[i];
+			else
+				removedNames[removedCount++] = (String) paths[i];
+		}
+	}
+	Util.sort(docNames);
+
+	int segmentCount = this.segments == null ? 0 : this.segments.length;
+	DiskIndex segment = new DiskIndex(this.indexLocation);
+	segment.separator = this.separator;
+	segment.previousHeaderInfoOffset = segmentCount == 0 ? this.headerInfoOffset : this.segments[segmentCount - 1].headerInfoOffset;
+	segment.removedDocumentNames = removedNames;
+	segment.categoryOffsets = new HashtableOfIntValues(this.categoryOffsets.elementSize);
+	segment.categoryEnds = new HashtableOfIntValues(this.categoryOffsets.elementSize);
+	segment.categoryTables = new HashtableOfObject(this.categoryOffsets.elementSize);
+	File indexFile = this.indexLocation.getIndexFile();
+	long length = indexFile.length();
+	int offsetToHeader = -1;
+	try {
+		FileOutputStream stream = new FileOutputStream(indexFile, true);
+		try {
+			segment.streamBuffer = new byte[BUFFER_WRITE_SIZE];
+			segment.bufferIndex = 0;
+			segment.streamEnd = (int) length;
+			segment.writeDocumentNameChunks(docNames, stream);
+			for (int i = 0; i < count; i++)
+				segment.copyQueryResults((HashtableOfObject) docsToRefs.get(docNames[i]), i);
+			segment.writeCategories(stream);
+			offsetToHeader = segment.streamEnd;
+			segment.writeHeaderInfo(stream);
+		} finally {
+			stream.close();
+			segment.streamBuffer = null;
+		}
+		// the segment is only part of the index once the file points to its header info
+		segment.headerInfoOffset = HEADER_INFO_OFFSET_POSITION;
+		segment.writeOffsetToHeader(offsetToHeader);
+	} catch (IOException e) {
+		// forget what was appended, the file may still point to the header info of the previous segment
+		if (offsetToHeader < 0 || segment.headerInfoOffset != offsetToHeader) {
+			RandomAccessFile file = new RandomAccessFile(indexFile, "rw"); //$NON-NLS-1$
+			try {
+				file.setLength(length);
+			} finally {
+				file.close();
+			}
+		}
+		throw e;
+	}
+	segment.mapIndexFile();
+
+	DiskIndex[] newSegments = new DiskIndex[segmentCount + 1];
+	if (segmentCount > 0)
+		System.arraycopy(this.segments, 0, newSegments, 0, segmentCount);
+	newSegments[segmentCount] = segment;
+	this.segments = newSegments;
+	computeHiddenDocuments();
+}
 private void cacheDocumentNames() throws IOException {
 	// will need all document names so get them now
-	this.cachedChunks = new String[this.numberOfChunks][];
+	if (this.mappedFile != null) {
+		MappedIndexFile.Cursor cursor = this.mappedFile.cursor(this.chunkOffsets[0], this.startOfCategoryTables - this.chunkOffsets[0]);
+		for (int i = 0; i < this.numberOfChunks; i++) {
+			int size = i == this.numberOfChunks - 1 ? this.sizeOfLastChunk : CHUNK_SIZE;
+			String[] chunk = new String[size];
+			cursor.readChunk(chunk, 0, size);
+			this.cachedChunks.set(i, chunk);
+		}
+		return;
+	}
 	InputStream stream = this.indexLocation.getInputStream();
 	try {
 		if (this.numberOfChunks > 5) BUFFER_READ_SIZE <<= 1;
 		int offset = this.chunkOffsets[0];
-		stream.skip(offset);
+		skipStream(stream, offset);
 		this.streamBuffer = new byte[BUFFER_READ_SIZE];
 		this.bufferIndex = 0;
 		this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
 		for (int i = 0; i < this.numberOfChunks; i++) {
 			int size = i == this.numberOfChunks - 1 ? this.sizeOfLastChunk : CHUNK_SIZE;
-			readChunk(this.cachedChunks[i] = new String[size], stream, 0, size);
+			String[] chunk = new String[size];
+			readChunk(chunk, stream, 0, size);
+			this.cachedChunks.set(i, chunk);
 		}
-	} catch (IOException e) {
-		this.cachedChunks = null;
-		throw e;
 	} finally {
 		stream.close();
 		this.indexLocation.close();
@@ -342,6 +480,21 @@ private String[] computeDocumentNames(String[] onDiskNames, int[] positions, Sim
 	}
 	return newDocNames;
 }
+private void computeHiddenDocuments() throws IOException {
+	// a document indexed again or removed by a segment is hidden in the previous ones
+	SimpleSet laterNames = new SimpleSet();
+	for (int i = this.segments.length; --i >= 0;) {
+		DiskIndex segment = this.segments[i];
+		String[] docNames = segment.readAllDocumentNames();
+		for (int j = 0, l = docNames.length; j < l; j++)
+			laterNames.add(docNames[j]);
+		String[] removedNames = segment.removedDocumentNames;
+		for (int j = 0, l = removedNames.length; j < l; j++)
+			laterNames.add(removedNames[j]);
+		DiskIndex previous = i == 0 ? this : this.segments[i - 1];
+		previous.hiddenDocuments = previous.documentNumbers(laterNames);
+	}
+}
 private void copyQueryResults(HashtableOfObject categoryToWords, int newPosition) {
 	char[][] categoryNames = categoryToWords.keyTable;
 	Object[] wordSets = categoryToWords.valueTable;
@@ -372,6 +525,40 @@ private void copyQueryResults(HashtableOfObject categoryToWords, int newPosition
 		}
 	}
 }
+private int documentNumber(String documentName) throws IOException {
+	// document names are sorted, answers -1 if the document is not found
+	int low = 0;
+	int high = numberOfDocuments() - 1;
+	while (low <= high) {
+		int middle = (low + high) >>> 1;
+		int compare = readDocumentName(middle).compareTo(documentName);
+		if (compare < 0)
+			low = middle + 1;
+		else if (compare > 0)
+			high = middle - 1;
+		else
+			return middle;
+	}
+	return -1;
+}
+private int[] documentNumbers(SimpleSet documentNames) throws IOException {
+	// answers the sorted numbers of the given documents found in this segment, or null if none is
+	int[] numbers = new int[documentNames.elementSize];
+	int count = 0;
+	Object[] names = documentNames.values;
+	for (int i = 0, l = names.length; i < l; i++) {
+		if (names[i] != null) {
+			int number = documentNumber((String) names[i]);
+			if (number >= 0)
+				numbers[count++] = number;
+		}
+	}
+	if (count == 0)
+		return null;
+	System.arraycopy(numbers, 0, numbers = new int[count], 0, count);
+	Arrays.sort(numbers);
+	return numbers;
+}
 void initialize(boolean reuseExistingFile) throws IOException {
 	if (this.indexLocation.exists()) {
 		if (reuseExistingFile) {
@@ -385,11 +572,13 @@ void initialize(boolean reuseExistingFile) throws IOException {
 			try {
 				char[] signature = readStreamChars(stream);
 				if (!CharOperation.equals(signature, SIGNATURE_CHARS)) {
-					throw new IOException(Messages.exception_wrongFormat);
+					if (!CharOperation.equals(signature, PREVIOUS_SIGNATURES[0]) && !CharOperation.equals(signature, PREVIOUS_SIGNATURES[1]))
+						throw new IOException(Messages.exception_wrongFormat);
+					this.appendable = false;
 				}
 				this.headerInfoOffset = readStreamInt(stream);
 				if (this.headerInfoOffset > 0) { // file is empty if its not set
-					stream.skip(this.headerInfoOffset - this.bufferEnd); // assume that the header info offset is over current buffer end
+					skipStream(stream, this.headerInfoOffset - this.bufferEnd); // assume that the header info offset is over current buffer end
 					this.bufferIndex = 0;
 					this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
 					readHeaderInfo(stream);
@@ -398,6 +587,11 @@ void initialize(boolean reuseExistingFile) throws IOException {
 				stream.close();
 				this.indexLocation.close();
 			}
+			if (this.headerInfoOffset > 0) {
+				mapIndexFile();
+				if (this.previousHeaderInfoOffset > 0)
+					readSegments();
+			}
 			return;
 		}
 		if (!this.indexLocation.delete()) {
@@ -463,41 +657,39 @@ private void mergeCategory(char[] categoryName, DiskIndex onDisk, int[] position
 	if (wordsToDocs == null)
 		wordsToDocs = new HashtableOfObject(3);
 
-	HashtableOfObject oldWordsToDocs = onDisk.readCategoryTable(categoryName, true);
+	WordDictionary oldWordsToDocs = onDisk.readCategoryTable(categoryName, true);
 	if (oldWordsToDocs != null) {
-		char[][] oldWords = oldWordsToDocs.keyTable;
-		Object[] oldArrayOffsets = oldWordsToDocs.valueTable;
-		nextWord: for (int i = 0, l = oldWords.length; i < l; i++) {
+		char[][] oldWords = oldWordsToDocs.words;
+		Object[] oldArrayOffsets = oldWordsToDocs.values;
+		nextWord: for (int i = 0, l = oldWordsToDocs.size; i < l; i++) {
 			char[] oldWord = oldWords[i];
-			if (oldWord != null) {
-				int[] oldDocNumbers = (int[]) oldArrayOffsets[i];
-				int length = oldDocNumbers.length;
-				int[] mappedNumbers = new int[length];
-				int count = 0;
-				for (int j = 0; j < length; j++) {
-					int pos = positions[oldDocNumbers[j]];
-					if (pos > RE_INDEXED) // forget any reference to a document which was deleted or re_indexed
-						mappedNumbers[count++] = pos;
-				}
-				if (count < length) {
-					if (count == 0) continue nextWord; // skip words which no longer have any references
-					System.arraycopy(mappedNumbers, 0, mappedNumbers = new int[count], 0, count);
-				}
+			int[] oldDocNumbers = (int[]) oldArrayOffsets[i];
+			int length = oldDocNumbers.length;
+			int[] mappedNumbers = new int[length];
+			int count = 0;
+			for (int j = 0; j < length; j++) {
+				int pos = positions[oldDocNumbers[j]];
+				if (pos > RE_INDEXED) // forget any reference to a document which was deleted or re_indexed
+					mappedNumbers[count++] = pos;
+			}
+			if (count < length) {
+				if (count == 0) continue nextWord; // skip words which no longer have any references
+				System.arraycopy(mappedNumbers, 0, mappedNumbers = new int[count], 0, count);
+			}
 
-				Object o = wordsToDocs.get(oldWord);
-				if (o == null) {
-					wordsToDocs.putUnsafely(oldWord, mappedNumbers);
+			Object o = wordsToDocs.get(oldWord);
+			if (o == null) {
+				wordsToDocs.putUnsafely(oldWord, mappedNumbers);
+			} else {
+				IntList list = null;
+				if (o instanceof IntList) {
+					list = (IntList) o;
 				} else {
-					IntList list = null;
-					if (o instanceof IntList) {
-						list = (IntList) o;
-					} else {
-						list = new IntList((int[]) o);
-						wordsToDocs.put(oldWord, list);
-					}
-					for (int j = 0; j < count; j++)
-						list.add(mappedNumbers[j]);
+					list = new IntList((int[]) o);
+					wordsToDocs.put(oldWord, list);
 				}
+				for (int j = 0; j < count; j++)
+					list.add(mappedNumbers[j]);
 			}
 		}
 		onDisk.categoryTables.put(categoryName, null); // flush cached table
@@ -510,6 +702,8 @@ DiskIndex mergeWith(MemoryIndex memoryIndex) throws IOException {
 	if (this.indexLocation == null) {
 		throw new IOException("Pre-built index file not writeable");  //$NON-NLS-1$
 	}
+	if (this.segments != null)
+		memoryIndex = segmentChanges(memoryIndex); // the segments are merged along with the memory index
 	String[] docNames = readAllDocumentNames();
 	int previousLength = docNames.length;
 	int[] positions = new int[previousLength]; // keeps track of the position of each document in the new sorted docNames
@@ -595,16 +789,41 @@ DiskIndex mergeWith(MemoryIndex memoryIndex) throws IOException {
 
 	if (!usingTmp) // rename done, use the new file
 		newDiskIndex.indexLocation = this.indexLocation;
+	newDiskIndex.mapIndexFile();
 	return newDiskIndex;
 }
-private synchronized String[] readAllDocumentNames() throws IOException {
+private void mapIndexFile() {
+	if (!MAP_INDEX_FILES || !(this.indexLocation instanceof FileIndexLocation))
+		return;
+	try {
+		this.mappedFile = MappedIndexFile.map(this.indexLocation.getIndexFile());
+	} catch (IOException e) {
+		// keep reading the file through streams
+		if (DEBUG)
+			System.out.println("mapIndexFile - Failed to map " + this.indexLocation); //$NON-NLS-1$
+	}
+}
+private int numberOfDocuments() {
+	return this.numberOfChunks <= 0 ? 0 : (this.numberOfChunks - 1) * CHUNK_SIZE + this.sizeOfLastChunk;
+}
+private String[] readAllDocumentNames() throws IOException {
 	if (this.numberOfChunks <= 0)
 		return CharOperation.NO_STRINGS;
+	if (this.mappedFile == null)
+		return readAllDocumentNamesFromStream();
 
+	MappedIndexFile.Cursor cursor = this.mappedFile.cursor(this.chunkOffsets[0], this.startOfCategoryTables - this.chunkOffsets[0]);
+	int lastIndex = this.numberOfChunks - 1;
+	String[] docNames = new String[lastIndex * CHUNK_SIZE + this.sizeOfLastChunk];
+	for (int i = 0; i < this.numberOfChunks; i++)
+		cursor.readChunk(docNames, i * CHUNK_SIZE, i < lastIndex ? CHUNK_SIZE : this.sizeOfLastChunk);
+	return docNames;
+}
+private synchronized String[] readAllDocumentNamesFromStream() throws IOException {
 	InputStream stream = this.indexLocation.getInputStream();
 	try {
 		int offset = this.chunkOffsets[0];
-		stream.skip(offset);
+		skipStream(stream, offset);
 		this.streamBuffer = new byte[BUFFER_READ_SIZE];
 		this.bufferIndex = 0;
 		this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
@@ -619,7 +838,80 @@ private synchronized String[] readAllDocumentNames() throws IOException {
 		this.streamBuffer = null;
 	}
 }
-private synchronized HashtableOfObject readCategoryTable(char[] categoryName, boolean readDocNumbers) throws IOException {
+private WordDictionary readCategoryTable(char[] categoryName, boolean readDocNumbers) throws IOException {
+	if (this.mappedFile == null)
+		return readCategoryTableFromStream(categoryName, readDocNumbers);
+
+	// result will be null if categoryName is unknown
+	int offset = this.categoryOffsets.get(categoryName);
+	if (offset == HashtableOfIntValues.NO_VALUE) {
+		return null;
+	}
+
+	// concurrent queries read the cached tables without locking, a table is never changed once cached
+	// but replaced by a copy along with the table of cached tables
+	HashtableOfObject tables = this.categoryTables;
+	WordDictionary cachedTable = tables == null ? null : (WordDictionary) tables.get(categoryName);
+	if (cachedTable != null && !(readDocNumbers && hasDocumentOffsets(cachedTable)))
+		return cachedTable;
+	return readMappedCategoryTable(categoryName, offset, readDocNumbers);
+}
+private boolean hasDocumentOffsets(WordDictionary categoryTable) {
+	Object[] arrayOffsets = categoryTable.values;
+	for (int i = 0, l = categoryTable.size; i < l; i++)
+		if (arrayOffsets[i] instanceof Integer)
+			return true;
+	return false;
+}
+private synchronized WordDictionary readMappedCategoryTable(char[] categoryName, int offset, boolean readDocNumbers) throws IOException {
+	// another query may have read the table while this one was waiting
+	HashtableOfObject tables = this.categoryTables;
+	WordDictionary cachedTable = tables == null ? null : (WordDictionary) tables.get(categoryName);
+	WordDictionary categoryTable;
+	if (cachedTable == null) {
+		MappedIndexFile.Cursor cursor = this.mappedFile.cursor(offset, this.categoryEnds.get(categoryName) - offset);
+		int size = cursor.readInt();
+		categoryTable = new WordDictionary(size);
+		int largeArraySize = 256;
+		for (int i = 0; i < size; i++) {
+			char[] word = cursor.readChars();
+			int arrayOffset = cursor.readInt();
+			// see readCategoryTableFromStream()
+			if (arrayOffset <= 0) {
+				categoryTable.add(word, new int[] {-arrayOffset});
+			} else if (arrayOffset < largeArraySize) {
+				categoryTable.add(word, cursor.readDocumentArray(arrayOffset, this.documentReferenceSize));
+			} else {
+				arrayOffset = cursor.readInt();
+				categoryTable.add(word, readDocNumbers ? readDocumentNumbers(new Integer(arrayOffset)) : new Integer(arrayOffset));
+			}
+		}
+		categoryTable.sort(); // older index files were written in no particular order
+	} else if (readDocNumbers && hasDocumentOffsets(cachedTable)) { // must read remaining document number arrays
+		categoryTable = cachedTable.copy();
+		Object[] arrayOffsets = categoryTable.values;
+		for (int i = 0, l = categoryTable.size; i < l; i++)
+			if (arrayOffsets[i] instanceof Integer)
+				arrayOffsets[i] = readDocumentNumbers(arrayOffsets[i]);
+	} else {
+		return cachedTable;
+	}
+
+	HashtableOfObject newTables = new HashtableOfObject(tables == null ? 3 : tables.elementSize + 1);
+	if (tables != null) {
+		char[][] names = tables.keyTable;
+		Object[] values = tables.valueTable;
+		for (int i = 0, l = names.length; i < l; i++)
+			if (names[i] != null)
+				newTables.putUnsafely(names[i], values[i]);
+	}
+	newTables.put(categoryName, categoryTable);
+	this.categoryTables = newTables;
+	// cache the table as long as its not too big
+	this.cachedCategoryName = categoryTable.size < 20000 ? categoryName : null;
+	return categoryTable;
+}
+private synchronized WordDictionary readCategoryTableFromStream(char[] categoryName, boolean readDocNumbers) throws IOException {
 	// result will be null if categoryName is unknown
 	int offset = this.categoryOffsets.get(categoryName);
 	if (offset == HashtableOfIntValues.NO_VALUE) {
@@ -629,11 +921,11 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 	if (this.categoryTables == null) {
 		this.categoryTables = new HashtableOfObject(3);
 	} else {
-		HashtableOfObject cachedTable = (HashtableOfObject) this.categoryTables.get(categoryName);
+		WordDictionary cachedTable = (WordDictionary) this.categoryTables.get(categoryName);
 		if (cachedTable != null) {
 			if (readDocNumbers) { // must cache remaining document number arrays
-				Object[] arrayOffsets = cachedTable.valueTable;
-				for (int i = 0, l = arrayOffsets.length; i < l; i++)
+				Object[] arrayOffsets = cachedTable.values;
+				for (int i = 0, l = cachedTable.size; i < l; i++)
 					if (arrayOffsets[i] instanceof Integer)
 						arrayOffsets[i] = readDocumentNumbers(arrayOffsets[i]);
 			}
@@ -642,13 +934,13 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 	}
 
 	InputStream stream = this.indexLocation.getInputStream();
-	HashtableOfObject categoryTable = null;
+	WordDictionary categoryTable = null;
 	char[][] matchingWords = null;
 	int count = 0;
 	int firstOffset = -1;
 	this.streamBuffer = new byte[BUFFER_READ_SIZE];
 	try {
-		stream.skip(offset);
+		skipStream(stream, offset);
 		this.bufferIndex = 0;
 		this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
 		int size = readStreamInt(stream);
@@ -660,7 +952,7 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 				System.err.println("size = "+size); //$NON-NLS-1$
 				System.err.println("--------------------   END   --------------------"); //$NON-NLS-1$
 			}
-			categoryTable = new HashtableOfObject(size);
+			categoryTable = new WordDictionary(size);
 		} catch (OutOfMemoryError oom) {
 			// DEBUG
 			oom.printStackTrace();
@@ -680,9 +972,9 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 			//		> 1 & < 256 then the size of the array is > 1 & < 256, the document array follows immediately
 			//		256 if the array size >= 256 followed by another int which is the offset to the array (written prior to the table)
 			if (arrayOffset <= 0) {
-				categoryTable.putUnsafely(word, new int[] {-arrayOffset}); // store 1 element array by negating documentNumber
+				categoryTable.add(word, new int[] {-arrayOffset}); // store 1 element array by negating documentNumber
 			} else if (arrayOffset < largeArraySize) {
-				categoryTable.putUnsafely(word, readStreamDocumentArray(stream, arrayOffset)); // read in-lined array providing size
+				categoryTable.add(word, readStreamDocumentArray(stream, arrayOffset)); // read in-lined array providing size
 			} else {
 				arrayOffset = readStreamInt(stream); // read actual offset
 				if (readDocNumbers) {
@@ -692,13 +984,14 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 						firstOffset = arrayOffset;
 					matchingWords[count++] = word;
 				}
-				categoryTable.putUnsafely(word, new Integer(arrayOffset)); // offset to array in the file
+				categoryTable.add(word, new Integer(arrayOffset)); // offset to array in the file
 			}
 		}
+		categoryTable.sort(); // older index files were written in no particular order
 		this.categoryTables.put(INTERNED_CATEGORY_NAMES.get(categoryName), categoryTable);
 		// cache the table as long as its not too big
 		// in practice, some tables can be greater than 500K when they contain more than 10K elements
-		this.cachedCategoryName = categoryTable.elementSize < 20000 ? categoryName : null;
+		this.cachedCategoryName = categoryTable.size < 20000 ? categoryName : null;
 	} catch (IOException ioe) {
 		this.streamBuffer = null;
 		throw ioe;
@@ -710,7 +1003,7 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 	if (matchingWords != null && count > 0) {
 		stream = this.indexLocation.getInputStream();
 		try {
-			stream.skip(firstOffset);
+			skipStream(stream, firstOffset);
 			this.bufferIndex = 0;
 			this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
 			for (int i = 0; i < count; i++) { // each array follows the previous one
@@ -751,12 +1044,30 @@ private void readChunk(String[] docNames, InputStream stream, int index, int siz
 		current = next;
 	}
 }
-synchronized String readDocumentName(int docNumber) throws IOException {
-	if (this.cachedChunks == null)
-		this.cachedChunks = new String[this.numberOfChunks][];
+String readDocumentName(int docNumber) throws IOException {
+	if (this.mappedFile == null)
+		return readDocumentNameFromStream(docNumber);
 
 	int chunkNumber = docNumber / CHUNK_SIZE;
-	String[] chunk = this.cachedChunks[chunkNumber];
+	String[] chunk = (String[]) this.cachedChunks.get(chunkNumber);
+	if (chunk == null) {
+		boolean isLastChunk = chunkNumber == this.numberOfChunks - 1;
+		int start = this.chunkOffsets[chunkNumber];
+		int numberOfBytes = (isLastChunk ? this.startOfCategoryTables : this.chunkOffsets[chunkNumber + 1]) - start;
+		if (numberOfBytes < 0)
+			throw new IllegalArgumentException();
+		int numberOfNames = isLastChunk ? this.sizeOfLastChunk : CHUNK_SIZE;
+		chunk = new String[numberOfNames];
+		this.mappedFile.cursor(start, numberOfBytes).readChunk(chunk, 0, numberOfNames);
+		// publish the chunk, concurrent queries read the chunks without locking
+		// when two of them decode the same chunk, either copy can be kept
+		this.cachedChunks.set(chunkNumber, chunk);
+	}
+	return chunk[docNumber - (chunkNumber * CHUNK_SIZE)];
+}
+private synchronized String readDocumentNameFromStream(int docNumber) throws IOException {
+	int chunkNumber = docNumber / CHUNK_SIZE;
+	String[] chunk = (String[]) this.cachedChunks.get(chunkNumber);
 	if (chunk == null) {
 		boolean isLastChunk = chunkNumber == this.numberOfChunks - 1;
 		int start = this.chunkOffsets[chunkNumber];
@@ -767,7 +1078,7 @@ synchronized String readDocumentName(int docNumber) throws IOException {
 		this.bufferIndex = 0;
 		InputStream file = this.indexLocation.getInputStream();
 		try {
-			file.skip(start);
+			skipStream(file, start);
 			if (file.read(this.streamBuffer, 0, numberOfBytes) != numberOfBytes)
 				throw new IOException();
 		} catch (IOException ioe) {
@@ -785,20 +1096,39 @@ synchronized String readDocumentName(int docNumber) throws IOException {
 			this.streamBuffer = null;
 			throw ioe;
 		}
-		this.cachedChunks[chunkNumber] = chunk;
+		this.cachedChunks.set(chunkNumber, chunk);
 	}
 	this.streamBuffer = null;
 	return chunk[docNumber - (chunkNumber * CHUNK_SIZE)];
 }
-synchronized int[] readDocumentNumbers(Object arrayOffset) throws IOException {
+int[] readDocumentNumbers(Object arrayOffset) throws IOException {
 	// arrayOffset is either a cached array of docNumbers or an Integer offset in the file
 	if (arrayOffset instanceof int[])
 		return (int[]) arrayOffset;
+	if (this.mappedFile == null)
+		return readDocumentNumbersFromStream(arrayOffset);
 
+	int offset = ((Integer) arrayOffset).intValue();
+	int arraySize = this.mappedFile.readInt(offset);
+	int numberOfBytes; // at most for variable sizes, the cursor stops at the end of the file
+	switch (this.documentReferenceSize) {
+		case VARIABLE_REFERENCE_SIZE :
+			numberOfBytes = arraySize * MAX_VARIABLE_REFERENCE_BYTES;
+			break;
+		case 1 :
+		case 2 :
+			numberOfBytes = arraySize * this.documentReferenceSize;
+			break;
+		default :
+			numberOfBytes = arraySize * 4;
+	}
+	return this.mappedFile.cursor(offset + 4, numberOfBytes).readDocumentArray(arraySize, this.documentReferenceSize);
+}
+private synchronized int[] readDocumentNumbersFromStream(Object arrayOffset) throws IOException {
 	InputStream stream = this.indexLocation.getInputStream();
 	try {
 		int offset = ((Integer) arrayOffset).intValue();
-		stream.skip(offset);
+		skipStream(stream, offset);
 		this.streamBuffer = new byte[BUFFER_READ_SIZE];
 		this.bufferIndex = 0;
 		this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
@@ -812,6 +1142,8 @@ synchronized int[] readDocumentNumbers(Object arrayOffset) throws IOException {
 private void readHeaderInfo(InputStream stream) throws IOException {
 
 	// must be same order as writeHeaderInfo()
+	if (this.appendable)
+		this.previousHeaderInfoOffset = readStreamInt(stream);
 	this.numberOfChunks = readStreamInt(stream);
 	this.sizeOfLastChunk = this.streamBuffer[this.bufferIndex++] & 0xFF;
 	this.documentReferenceSize = this.streamBuffer[this.bufferIndex++] & 0xFF;
@@ -826,6 +1158,7 @@ private void readHeaderInfo(InputStream stream) throws IOException {
 	this.chunkOffsets = new int[this.numberOfChunks];
 	for (int i = 0; i < this.numberOfChunks; i++)
 		this.chunkOffsets[i] = readStreamInt(stream);
+	this.cachedChunks = new AtomicReferenceArray(this.numberOfChunks);
 
 	this.startOfCategoryTables = readStreamInt(stream);
 
@@ -852,16 +1185,134 @@ private void readHeaderInfo(InputStream stream) throws IOException {
 	if (previousCategory != null) {
 		this.categoryEnds.put(previousCategory, this.headerInfoOffset); // cache end of the category table
 	}
+	if (this.appendable) {
+		size = readStreamInt(stream);
+		this.removedDocumentNames = new String[size];
+		for (int i = 0; i < size; i++)
+			this.removedDocumentNames[i] = new String(readStreamChars(stream));
+	}
 	this.categoryTables = new HashtableOfObject(3);
 }
+private void readHeaderInfo(int offset) throws IOException {
+	InputStream stream = this.indexLocation.getInputStream();
+	try {
+		skipStream(stream, offset);
+		this.streamBuffer = new byte[BUFFER_READ_SIZE];
+		this.bufferIndex = 0;
+		this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
+		this.headerInfoOffset = offset;
+		readHeaderInfo(stream);
+	} finally {
+		stream.close();
+		this.indexLocation.close();
+		this.streamBuffer = null;
+	}
+}
+private int readPreviousHeaderInfoOffset(int offset) throws IOException {
+	InputStream stream = this.indexLocation.getInputStream();
+	try {
+		skipStream(stream, offset);
+		this.streamBuffer = new byte[4];
+		this.bufferIndex = 0;
+		this.bufferEnd = stream.read(this.streamBuffer, 0, 4);
+		return readStreamInt(stream);
+	} finally {
+		stream.close();
+		this.indexLocation.close();
+		this.streamBuffer = null;
+	}
+}
+private void readSegments() throws IOException {
+	// the header info read so far is the one of the last segment, this index reads the one of the first segment
+	IntList headerInfoOffsets = new IntList(new int[] {this.headerInfoOffset});
+	for (int offset = this.previousHeaderInfoOffset; offset > 0; offset = readPreviousHeaderInfoOffset(offset))
+		headerInfoOffsets.add(offset);
+	int[] offsets = headerInfoOffsets.asArray();
+	int lastIndex = offsets.length - 1;
+	readHeaderInfo(offsets[lastIndex]);
+	this.segments = new DiskIndex[lastIndex];
+	for (int i = 0; i < lastIndex; i++) {
+		DiskIndex segment = new DiskIndex(this.indexLocation);
+		segment.readHeaderInfo(offsets[lastIndex - 1 - i]);
+		segment.mapIndexFile();
+		this.segments[i] = segment;
+	}
+	computeHiddenDocuments();
+}
+private MemoryIndex segmentChanges(MemoryIndex memoryIndex) throws IOException {
+	// answers the documents added, changed or removed by the segments appended to this index, then by the memory index
+	MemoryIndex changes = new MemoryIndex();
+	for (int i = 0, length = this.segments.length; i < length; i++) {
+		DiskIndex segment = this.segments[i];
+		String[] removedNames = segment.removedDocumentNames;
+		for (int j = 0, l = removedNames.length; j < l; j++)
+			changes.remove(removedNames[j]);
+		String[] docNames = segment.readAllDocumentNames();
+		for (int j = 0, l = docNames.length; j < l; j++)
+			changes.remove(docNames[j]); // forget what a previous segment indexed
+		char[][] categoryNames = segment.categoryOffsets.keyTable;
+		for (int j = 0, l = categoryNames.length; j < l; j++) {
+			if (categoryNames[j] == null) continue;
+			WordDictionary wordsToDocNumbers = segment.readCategoryTable(categoryNames[j], true);
+			char[][] words = wordsToDocNumbers.words;
+			Object[] values = wordsToDocNumbers.values;
+			for (int k = 0, m = wordsToDocNumbers.size; k < m; k++) {
+				int[] docNumbers = (int[]) values[k];
+				for (int n = 0, o = docNumbers.length; n < o; n++)
+					changes.addIndexEntry(categoryNames[j], words[k], docNames[docNumbers[n]]);
+			}
+		}
+	}
+	Object[] paths = memoryIndex.docsToReferences.keyTable;
+	Object[] referenceTables = memoryIndex.docsToReferences.valueTable;
+	for (int i = 0, l = paths.length; i < l; i++)
+		if (paths[i] != null)
+			changes.docsToReferences.put(paths[i], referenceTables[i]);
+	return changes;
+}
+/**
+ * Answers whether the changes of the given memory index should be appended to the file of this index as a new
+ * segment, see {@link #appendSegment(MemoryIndex)}, rather than merged with all its documents into a new file.
+ */
+boolean shouldAppendSegment(MemoryIndex memoryIndex) {
+	if (!this.appendable || this.numberOfChunks <= 0 || this.indexLocation.getIndexFile() == null)
+		return false; // file of a previous version, empty file or pre-built index
+	int segmentCount = this.segments == null ? 0 : this.segments.length;
+	if (segmentCount >= MAX_SEGMENTS)
+		return false;
+	int changes = memoryIndex.docsToReferences.elementSize;
+	for (int i = 0; i < segmentCount; i++)
+		changes += this.segments[i].numberOfDocuments() + this.segments[i].removedDocumentNames.length;
+	return changes * SEGMENT_RATIO <= numberOfDocuments();
+}
+/**
+ * Skips the given number of bytes of the stream. A single skip() may skip fewer bytes than asked,
+ * depending on the stream of the index location, so this loops until they are all skipped.
+ */
+private static void skipStream(InputStream stream, long count) throws IOException {
+	while (count > 0) {
+		long skipped = stream.skip(count);
+		if (skipped <= 0) {
+			if (stream.read() == -1)
+				throw new EOFException();
+			skipped = 1;
+		}
+		count -= skipped;
+	}
+}
 synchronized void startQuery() {
 	this.cacheUserCount++;
+	if (this.segments != null)
+		for (int i = 0, l = this.segments.length; i < l; i++)
+			this.segments[i].startQuery();
 }
 synchronized void stopQuery() {
 	if (--this.cacheUserCount < 0) {
 		// clear cached items
 		this.cacheUserCount = -1;
-		this.cachedChunks = null;
+		if (this.cachedChunks != null)
+			for (int i = 0, l = this.cachedChunks.length(); i < l; i++)
+				this.cachedChunks.set(i, null);
 		if (this.categoryTables != null) {
 			if (this.cachedCategoryName == null) {
 				this.categoryTables = null;
@@ -872,6 +1323,9 @@ synchronized void stopQuery() {
 			}
 		}
 	}
+	if (this.segments != null)
+		for (int i = 0, l = this.segments.length; i < l; i++)
+			this.segments[i].stopQuery();
 }
 private void readStreamBuffer(InputStream stream) throws IOException {
 	// if we're about to read a known amount at the end of the existing buffer, but it does not completely fit
@@ -972,6 +1426,20 @@ private int[] readStreamDocumentArray(InputStream stream, int arraySize) throws
 
 	int i = 0;
 	switch (this.documentReferenceSize) {
+		case VARIABLE_REFERENCE_SIZE :
+			int documentNumber = 0;
+			while (i < arraySize) {
+				if (stream != null && this.bufferIndex + MAX_VARIABLE_REFERENCE_BYTES >= this.bufferEnd)
+					readStreamBuffer(stream);
+				int b = this.streamBuffer[this.bufferIndex++];
+				int delta = b & 0x7F;
+				for (int shift = 7; b < 0; shift += 7) {
+					b = this.streamBuffer[this.bufferIndex++];
+					delta |= (b & 0x7F) << shift;
+				}
+				indexes[i++] = documentNumber += delta;
+			}
+			break;
 		case 1 :
 			while (i < arraySize) {
 				// how many bytes without refilling the buffer?
@@ -1016,6 +1484,32 @@ private int readStreamInt(InputStream stream) throws IOException {
 	val += (this.streamBuffer[this.bufferIndex++] & 0xFF) << 8;
 	return val + (this.streamBuffer[this.bufferIndex++] & 0xFF);
 }
+private String[] visibleDocumentNames(String[] docNames) {
+	// answers all the document names of this segment, the number of each one being its index, without the hidden ones
+	int[] hidden = this.hiddenDocuments;
+	String[] visible = new String[docNames.length - hidden.length];
+	int count = 0;
+	for (int i = 0, l = docNames.length; i < l; i++)
+		if (Arrays.binarySearch(hidden, i) < 0)
+			visible[count++] = docNames[i];
+	return visible;
+}
+private int[] visibleDocumentNumbers(Object docs) throws IOException {
+	// answers the given document numbers without the hidden ones, or null if all of them are hidden
+	int[] docNumbers = readDocumentNumbers(docs);
+	int length = docNumbers.length;
+	int[] visible = new int[length];
+	int count = 0;
+	for (int i = 0; i < length; i++)
+		if (Arrays.binarySearch(this.hiddenDocuments, docNumbers[i]) < 0)
+			visible[count++] = docNumbers[i];
+	if (count == length)
+		return docNumbers;
+	if (count == 0)
+		return null;
+	System.arraycopy(visible, 0, visible = new int[count], 0, count);
+	return visible;
+}
 private void writeAllDocumentNames(String[] sortedDocNames, FileOutputStream stream) throws IOException {
 	if (sortedDocNames.length == 0)
 		throw new IllegalArgumentException();
@@ -1029,7 +1523,10 @@ private void writeAllDocumentNames(String[] sortedDocNames, FileOutputStream str
 	writeStreamChars(stream, SIGNATURE_CHARS);
 	this.headerInfoOffset = this.streamEnd;
 	writeStreamInt(stream, -1); // will overwrite with correct value later
-
+	writeDocumentNameChunks(sortedDocNames, stream);
+}
+private void writeDocumentNameChunks(String[] sortedDocNames, FileOutputStream stream) throws IOException {
+	// a segment which only removes documents has no chunk
 	int size = sortedDocNames.length;
 	this.numberOfChunks = (size / CHUNK_SIZE) + 1;
 	this.sizeOfLastChunk = size % CHUNK_SIZE;
@@ -1037,9 +1534,10 @@ private void writeAllDocumentNames(String[] sortedDocNames, FileOutputStream str
 		this.numberOfChunks--;
 		this.sizeOfLastChunk = CHUNK_SIZE;
 	}
-	this.documentReferenceSize = size <= 0x7F ? 1 : (size <= 0x7FFF ? 2 : 4); // number of bytes used to encode a reference
+	this.documentReferenceSize = VARIABLE_REFERENCE_SIZE;
 
 	this.chunkOffsets = new int[this.numberOfChunks];
+	this.cachedChunks = new AtomicReferenceArray(this.numberOfChunks);
 	int lastIndex = this.numberOfChunks - 1;
 	for (int i = 0; i < this.numberOfChunks; i++) {
 		this.chunkOffsets[i] = this.streamEnd;
@@ -1100,40 +1598,45 @@ private void writeCategoryTable(char[] categoryName, HashtableOfObject wordsToDo
 	//		256 if the array size >= 256 followed by another int which is the offset to the array (written prior to the table)
 
 	int largeArraySize = 256;
-	Object[] values = wordsToDocs.valueTable;
-	for (int i = 0, l = values.length; i < l; i++) {
-		Object o = values[i];
-		if (o != null) {
-			if (o instanceof IntList)
-				o = values[i] = ((IntList) values[i]).asArray();
-			int[] documentNumbers = (int[]) o;
-			if (documentNumbers.length >= largeArraySize) {
-				values[i] = new Integer(this.streamEnd);
-				writeDocumentNumbers(documentNumbers, stream);
-			}
+	// write the words sorted, readers keep them as a WordDictionary to answer queries without testing all of them
+	// the large arrays are written in the same order since a reader reads them one after the other
+	char[][] words = new char[wordsToDocs.elementSize][];
+	char[][] keys = wordsToDocs.keyTable;
+	for (int i = 0, l = keys.length, count = 0; i < l; i++)
+		if (keys[i] != null)
+			words[count++] = keys[i];
+	Util.sort(words);
+	Object[] values = new Object[words.length];
+	for (int i = 0, l = words.length; i < l; i++) {
+		Object o = wordsToDocs.get(words[i]);
+		if (o instanceof IntList)
+			o = ((IntList) o).asArray();
+		int[] documentNumbers = (int[]) o;
+		if (documentNumbers.length >= largeArraySize) {
+			o = new Integer(this.streamEnd);
+			writeDocumentNumbers(documentNumbers, stream);
 		}
+		values[i] = o;
 	}
 
 	this.categoryOffsets.put(categoryName, this.streamEnd); // remember the offset to the start of the table
 	this.categoryTables.put(categoryName, null); // flush cached table
-	writeStreamInt(stream, wordsToDocs.elementSize);
-	char[][] words = wordsToDocs.keyTable;
+	writeStreamInt(stream, words.length);
 	for (int i = 0, l = words.length; i < l; i++) {
+		writeStreamChars(stream, words[i]);
 		Object o = values[i];
-		if (o != null) {
-			writeStreamChars(stream, words[i]);
-			if (o instanceof int[]) {
-				int[] documentNumbers = (int[]) o;
-				if (documentNumbers.length == 1)
-					writeStreamInt(stream, -documentNumbers[0]); // store an array of 1 element by negating the documentNumber (can be zero)
-				else
-					writeDocumentNumbers(documentNumbers, stream);
-			} else {
-				writeStreamInt(stream, largeArraySize); // mark to identify that an offset follows
-				writeStreamInt(stream, ((Integer) o).intValue()); // offset in the file of the array of document numbers
-			}
+		if (o instanceof int[]) {
+			int[] documentNumbers = (int[]) o;
+			if (documentNumbers.length == 1)
+				writeStreamInt(stream, -documentNumbers[0]); // store an array of 1 element by negating the documentNumber (can be zero)
+			else
+				writeDocumentNumbers(documentNumbers, stream);
+		} else {
+			writeStreamInt(stream, largeArraySize); // mark to identify that an offset follows
+			writeStreamInt(stream, ((Integer) o).intValue()); // offset in the file of the array of document numbers
 		}
 	}
+	this.categoryEnds.put(categoryName, this.streamEnd); // remember the end of the table for the mapped file
 }
 private void writeDocumentNumbers(int[] documentNumbers, FileOutputStream stream) throws IOException {
 	// must store length as a positive int to detect in-lined array of 1 element
@@ -1142,6 +1645,24 @@ private void writeDocumentNumbers(int[] documentNumbers, FileOutputStream stream
 	Util.sort(documentNumbers);
 	int start = 0;
 	switch (this.documentReferenceSize) {
+		case VARIABLE_REFERENCE_SIZE :
+			int previous = 0;
+			while (start < length) {
+				if ((this.bufferIndex + MAX_VARIABLE_REFERENCE_BYTES) >= BUFFER_WRITE_SIZE) {
+					stream.write(this.streamBuffer, 0, this.bufferIndex);
+					this.bufferIndex = 0;
+				}
+				int oldIndex = this.bufferIndex;
+				int delta = documentNumbers[start] - previous;
+				previous = documentNumbers[start++];
+				while ((delta & ~0x7F) != 0) {
+					this.streamBuffer[this.bufferIndex++] = (byte) (delta | 0x80);
+					delta >>>= 7;
+				}
+				this.streamBuffer[this.bufferIndex++] = (byte) delta;
+				this.streamEnd += this.bufferIndex - oldIndex;
+			}
+			break;
 		case 1 :
 			while ((this.bufferIndex + length - start) >= BUFFER_WRITE_SIZE) {
 				// when documentNumbers is large, write BUFFER_WRITE_SIZE parts & fall thru to write the last part
@@ -1182,6 +1703,7 @@ private void writeDocumentNumbers(int[] documentNumbers, FileOutputStream stream
 	}
 }
 private void writeHeaderInfo(FileOutputStream stream) throws IOException {
+	writeStreamInt(stream, this.previousHeaderInfoOffset);
 	writeStreamInt(stream, this.numberOfChunks);
 	if ((this.bufferIndex + 3) >= BUFFER_WRITE_SIZE)  {
 		stream.write(this.streamBuffer, 0, this.bufferIndex);
@@ -1209,6 +1731,12 @@ private void writeHeaderInfo(FileOutputStream stream) throws IOException {
 			writeStreamInt(stream, offsets[i]);
 		}
 	}
+
+	// append the file with the names of the documents removed by this segment
+	String[] removedNames = this.removedDocumentNames == null ? CharOperation.NO_STRINGS : this.removedDocumentNames;
+	writeStreamInt(stream, removedNames.length);
+	for (int i = 0, l = removedNames.length; i < l; i++)
+		writeStreamChars(stream, removedNames[i].toCharArray());
 	// ensure buffer is written to the stream
 	if (this.bufferIndex > 0) {
 		stream.write(this.streamBuffer, 0, this.bufferIndex);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,7 @@ public class EntryResult {
 private char[] word;
 private Object[] documentTables;
 private SimpleSet documentNames;
+private volatile String[] resolvedDocumentNames; // answered by each call once read, results may be shared by the query cache of the index
 
 public EntryResult(char[] word, Object table) {
 	this.word = word;
@@ -25,11 +26,13 @@ public EntryResult(char[] word, Object table) {
 		this.documentTables = new Object[] {table};
 }
 public void addDocumentName(String documentName) {
+	this.resolvedDocumentNames = null;
 	if (this.documentNames == null)
 		this.documentNames = new SimpleSet(3);
 	this.documentNames.add(documentName);
 }
 public void addDocumentTable(Object table) {
+	this.resolvedDocumentNames = null;
 	if (this.documentTables != null) {
 		int length = this.documentTables.length;
 		System.arraycopy(this.documentTables, 0, this.documentTables = new Object[length + 1], 0, length);
@@ -41,7 +44,17 @@ public void addDocumentTable(Object table) {
 public char[] getWord() {
 	return this.word;
 }
+/**
+ * Answers the names of the documents holding the word of this result. The names are read once,
+ * then the same array is answered to every caller, it must not be modified.
+ */
 public String[] getDocumentNames(Index index) throws java.io.IOException {
+	String[] names = this.resolvedDocumentNames;
+	if (names == null)
+		this.resolvedDocumentNames = names = readDocumentNames(index); // concurrent callers may read the same names, either array is kept
+	return names;
+}
+private String[] readDocumentNames(Index index) throws java.io.IOException {
 	if (this.documentTables != null) {
 		int length = this.documentTables.length;
 		if (length == 1 && this.documentNames == null) { // have a single table
@@ -53,26 +66,37 @@ public String[] getDocumentNames(Index index) throws java.io.IOException {
 			return names;
 		}
 
+		// collect the names without changing the names added to this result
+		SimpleSet documentNames = new SimpleSet(this.documentNames == null ? 3 : this.documentNames.elementSize + 3);
+		if (this.documentNames != null) {
+			Object[] values = this.documentNames.values;
+			for (int i = 0, l = values.length; i < l; i++)
+				if (values[i] != null)
+					documentNames.add(values[i]);
+		}
 		for (int i = 0; i < length; i++) {
 			Object offset = this.documentTables[i];
 			int[] numbers = index.diskIndex.readDocumentNumbers(offset);
 			for (int j = 0, k = numbers.length; j < k; j++)
-				addDocumentName(index.diskIndex.readDocumentName(numbers[j]));
+				documentNames.add(index.diskIndex.readDocumentName(numbers[j]));
 		}
+		return toArray(documentNames);
 	}
 
 	if (this.documentNames == null)
 		return CharOperation.NO_STRINGS;
-
-	String[] names = new String[this.documentNames.elementSize];
+	return toArray(this.documentNames);
+}
+public boolean isEmpty() {
+	return this.documentTables == null && this.documentNames == null;
+}
+private static String[] toArray(SimpleSet documentNames) {
+	String[] names = new String[documentNames.elementSize];
 	int count = 0;
-	Object[] values = this.documentNames.values;
+	Object[] values = documentNames.values;
 	for (int i = 0, l = values.length; i < l; i++)
 		if (values[i] != null)
 			names[count++] = (String) values[i];
 	return names;
 }
-public boolean isEmpty() {
-	return this.documentTables == null && this.documentNames == null;
-}
 }
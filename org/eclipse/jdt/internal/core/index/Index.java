@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,12 +11,15 @@
 package org.eclipse.jdt.internal.core.index;
 
 import java.io.*;
+import java.util.ArrayList;
+import java.util.Enumeration;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.search.*;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
 import org.eclipse.jdt.internal.compiler.util.SimpleSet;
 import org.eclipse.jdt.internal.core.search.indexing.ReadWriteMonitor;
+import org.eclipse.jdt.internal.core.util.LRUCache;
 
 /**
  * An <code>Index</code> maps document names to their referenced words in various categories.
@@ -38,6 +41,68 @@ static final char JAR_SEPARATOR = IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR.char
 protected DiskIndex diskIndex;
 protected MemoryIndex memoryIndex;
 
+/**
+ * The number of entry results kept by the query cache shared by all the indexes: until an index changes,
+ * a query issued again on it with the same categories, key & match rule is answered from memory.
+ * The results of an index are removed when it changes, the cache keeps no reference to the indexes.
+ * Read when the cache is created by the first query, zero disables the cache.
+ */
+public static int QUERY_CACHE_SIZE = 20000;
+private static final EntryResult[] NO_ENTRY_RESULTS = new EntryResult[0];
+private static final Object QUERY_CACHE_LOCK = new Object();
+private static LRUCache QUERY_CACHE; // QueryKey -> EntryResult[], created by the first query, guarded by QUERY_CACHE_LOCK
+private static int LAST_QUERY_CACHE_ID; // guarded by QUERY_CACHE_LOCK
+private final int queryCacheId; // part of the query keys instead of the index, which the cache must not keep alive
+private volatile int changeCount; // part of the query keys, the results of a query started before a change are not kept
+private volatile boolean hasCachedQueries; // whether a change must remove the results of this index from the cache
+private int queryCacheHits; // guarded by QUERY_CACHE_LOCK
+private int queryCacheMisses; // guarded by QUERY_CACHE_LOCK
+
+static class QueryKey {
+	final int indexId;
+	final int changeCount;
+	final char[][] categories;
+	final char[] key;
+	final int matchRule;
+	final int hashCode;
+
+	QueryKey(int indexId, int changeCount, char[][] categories, char[] key, int matchRule) {
+		this.indexId = indexId;
+		this.changeCount = changeCount;
+		this.categories = categories;
+		this.key = key;
+		this.matchRule = key == null ? 0 : matchRule; // match rule is irrelevant when the key is null
+		int hash = key == null ? 0 : CharOperation.hashCode(key) * 31 + this.matchRule;
+		for (int i = 0, length = categories.length; i < length; i++)
+			hash = hash * 31 + CharOperation.hashCode(categories[i]);
+		this.hashCode = (hash * 31 + changeCount) * 31 + indexId;
+	}
+	/**
+	 * Answers a key which does not share the arrays of the caller, to be kept by the cache.
+	 */
+	QueryKey copy() {
+		char[][] categoriesCopy = new char[this.categories.length][];
+		for (int i = 0, length = this.categories.length; i < length; i++)
+			categoriesCopy[i] = (char[]) this.categories[i].clone();
+		char[] keyCopy = this.key == null ? null : (char[]) this.key.clone();
+		return new QueryKey(this.indexId, this.changeCount, categoriesCopy, keyCopy, this.matchRule);
+	}
+	public boolean equals(Object other) {
+		if (!(other instanceof QueryKey))
+			return false;
+		QueryKey otherKey = (QueryKey) other;
+		return this.hashCode == otherKey.hashCode
+			&& this.indexId == otherKey.indexId
+			&& this.changeCount == otherKey.changeCount
+			&& this.matchRule == otherKey.matchRule
+			&& CharOperation.equals(this.key, otherKey.key)
+			&& CharOperation.equals(this.categories, otherKey.categories);
+	}
+	public int hashCode() {
+		return this.hashCode;
+	}
+}
+
 /**
  * Mask used on match rule for indexing.
  */
@@ -95,9 +160,59 @@ public Index(IndexLocation location, String containerPath, boolean reuseExisting
 	this.diskIndex = new DiskIndex(location);
 	this.diskIndex.initialize(reuseExistingFile);
 	if (reuseExistingFile) this.separator = this.diskIndex.separator;
+	synchronized (QUERY_CACHE_LOCK) {
+		this.queryCacheId = ++LAST_QUERY_CACHE_ID;
+	}
+}
+/**
+ * Creates an index which only keeps its entries in memory, until its documents are added to another
+ * index with {@link #addDocuments(Index[])}. Its entries can be queried, without the query cache, but it cannot be saved.
+ */
+public Index(String containerPath) {
+	this.containerPath = containerPath;
+	this.monitor = new ReadWriteMonitor();
+	this.memoryIndex = new MemoryIndex();
+	this.queryCacheId = 0; // never used, memory only indexes are not cached
+}
+/**
+ * Adds the documents indexed by the given memory only indexes, see {@link #Index(String)}.
+ * The receiver must be saved for them to be written to disk.
+ */
+public void addDocuments(Index[] indexes) {
+	MemoryIndex[] memoryIndexes = new MemoryIndex[indexes.length];
+	for (int i = 0, length = indexes.length; i < length; i++)
+		memoryIndexes[i] = indexes[i].memoryIndex;
+	this.memoryIndex.addDocuments(memoryIndexes);
+	changed();
 }
 public void addIndexEntry(char[] category, char[] key, String containerRelativePath) {
 	this.memoryIndex.addIndexEntry(category, key, containerRelativePath);
+	changed();
+}
+private void changed() {
+	// the index is only changed under the write lock of its monitor, while no query is running on it
+	this.changeCount++;
+	if (this.hasCachedQueries) {
+		this.hasCachedQueries = false; // adding the following entries does not look at the cache again
+		synchronized (QUERY_CACHE_LOCK) {
+			removeCachedQueries();
+		}
+	}
+}
+/**
+ * Removes the results of the queries on this index from the query cache, must own QUERY_CACHE_LOCK.
+ */
+private void removeCachedQueries() {
+	if (QUERY_CACHE == null)
+		return;
+	ArrayList keys = new ArrayList();
+	for (Enumeration e = QUERY_CACHE.keys(); e.hasMoreElements();) {
+		QueryKey queryKey = (QueryKey) e.nextElement();
+		if (queryKey.indexId == this.queryCacheId)
+			keys.add(queryKey);
+	}
+	for (int i = 0, size = keys.size(); i < size; i++)
+		QUERY_CACHE.removeKey(keys.get(i));
 }
 public String containerRelativePath(String documentPath) {
 	int index = documentPath.indexOf(IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR);
@@ -120,13 +235,28 @@ public long getIndexLastModified() {
 public boolean hasChanged() {
 	return this.memoryIndex.hasChanged();
 }
+/**
+ * Answers the number of queries answered by the query cache and the number of those which were not,
+ * for debugging purposes.
+ */
+public String printQueryCacheStats() {
+	synchronized (QUERY_CACHE_LOCK) {
+		if (QUERY_CACHE == null)
+			return "query cache disabled"; //$NON-NLS-1$
+		return "query cache: " + this.queryCacheHits + " hits, " + this.queryCacheMisses + " misses, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			+ QUERY_CACHE.getCurrentSpace() + '/' + QUERY_CACHE.getSpaceLimit() + " space used by all indexes"; //$NON-NLS-1$
+	}
+}
 /**
  * Returns the entries containing the given key in a group of categories, or null if no matches are found.
  * The matchRule dictates whether its an exact, prefix or pattern match, as well as case sensitive or insensitive.
  * If the key is null then all entries in specified categories are returned.
+ * <p>
+ * The entries found are kept by the query cache until the index changes, they must not be modified.
+ * </p>
  */
 public EntryResult[] query(char[][] categories, char[] key, int matchRule) throws IOException {
-	if (this.memoryIndex.shouldMerge() && this.monitor.exitReadEnterWrite()) {
+	if (this.diskIndex != null && this.memoryIndex.shouldMerge() && this.monitor.exitReadEnterWrite()) {
 		try {
 			save();
 		} finally {
@@ -134,9 +264,41 @@ public EntryResult[] query(char[][] categories, char[] key, int matchRule) throw
 		}
 	}
 
-	HashtableOfObject results;
 	int rule = matchRule & MATCH_RULE_INDEX_MASK;
-	if (this.memoryIndex.hasChanged()) {
+	QueryKey queryKey = null;
+	if (QUERY_CACHE_SIZE > 0 && this.diskIndex != null) {
+		queryKey = new QueryKey(this.queryCacheId, this.changeCount, categories, key, rule);
+		synchronized (QUERY_CACHE_LOCK) {
+			if (QUERY_CACHE == null) {
+				QUERY_CACHE = new LRUCache(QUERY_CACHE_SIZE) {
+					protected int spaceFor(Object value) {
+						return ((EntryResult[]) value).length + 1;
+					}
+				};
+			}
+			EntryResult[] entryResults = (EntryResult[]) QUERY_CACHE.get(queryKey);
+			if (entryResults != null) {
+				this.queryCacheHits++;
+				return entryResults == NO_ENTRY_RESULTS ? null : entryResults;
+			}
+			this.queryCacheMisses++;
+		}
+	}
+	EntryResult[] entryResults = queryEntries(categories, key, rule);
+	if (queryKey != null && queryKey.changeCount == this.changeCount) { // not worth keeping the results of a query started before a change
+		queryKey = queryKey.copy(); // the caller may reuse its arrays
+		synchronized (QUERY_CACHE_LOCK) {
+			QUERY_CACHE.put(queryKey, entryResults == null ? NO_ENTRY_RESULTS : entryResults);
+			this.hasCachedQueries = true;
+		}
+	}
+	return entryResults;
+}
+private EntryResult[] queryEntries(char[][] categories, char[] key, int rule) throws IOException {
+	HashtableOfObject results;
+	if (this.diskIndex == null) {
+		results = this.memoryIndex.addQueryResults(categories, key, rule, null); // memory only index
+	} else if (this.memoryIndex.hasChanged()) {
 		results = this.diskIndex.addQueryResults(categories, key, rule, this.memoryIndex);
 		results = this.memoryIndex.addQueryResults(categories, key, rule, results);
 	} else {
@@ -177,6 +339,7 @@ public String[] queryDocumentNames(String substring) throws IOException {
 }
 public void remove(String containerRelativePath) {
 	this.memoryIndex.remove(containerRelativePath);
+	changed();
 }
 /**
  * Reset memory and disk indexes.
@@ -187,6 +350,7 @@ public void reset() throws IOException {
 	this.memoryIndex = new MemoryIndex();
 	this.diskIndex = new DiskIndex(this.diskIndex.indexLocation);
 	this.diskIndex.initialize(false/*do not reuse the index file*/);
+	changed();
 }
 public void save() throws IOException {
 	// must own the write lock of the monitor
@@ -194,8 +358,12 @@ public void save() throws IOException {
 
 	int numberOfChanges = this.memoryIndex.docsToReferences.elementSize;
 	this.diskIndex.separator = this.separator;
-	this.diskIndex = this.diskIndex.mergeWith(this.memoryIndex);
+	if (this.diskIndex.shouldAppendSegment(this.memoryIndex))
+		this.diskIndex.appendSegment(this.memoryIndex); // a few changes do not rewrite the whole file
+	else
+		this.diskIndex = this.diskIndex.mergeWith(this.memoryIndex); // also merges the segments appended so far
 	this.memoryIndex = new MemoryIndex();
+	changed(); // cached entries refer to the documents of the previous disk index
 	if (numberOfChanges > 1000)
 		System.gc(); // reclaim space if the MemoryIndex was very BIG
 }
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An index file mapped in memory, read by {@link DiskIndex} instead of opening a stream
+ * on the file and skipping to the right offset each time a category table, a document
+ * number array or a chunk of document names is needed.
+ * <p>
+ * Each read decodes the bytes it needs straight from the mapping, either through absolute gets or
+ * through its own {@link Cursor} on a duplicate of the mapped buffer, without ever changing the
+ * position of the mapped buffer itself, so that any number of threads can read the same file
+ * without locking. The mapped range must not be written to while it is mapped; index
+ * files are only appended to once saved, when a segment is added past the end of the previous ones,
+ * and a merge writes a new file.
+ * </p>
+ */
+class MappedIndexFile {
+
+	private final ByteBuffer buffer;
+
+	/**
+	 * A range of the mapped file, decoding values the way {@link DiskIndex} writes them.
+	 */
+	static class Cursor {
+		private final ByteBuffer bytes; // a duplicate of the mapped buffer, with its own position
+
+		Cursor(ByteBuffer bytes) {
+			this.bytes = bytes;
+		}
+		int readByte() {
+			return this.bytes.get() & 0xFF;
+		}
+		int readInt() {
+			return this.bytes.getInt(); // big endian, as written by DiskIndex.writeStreamInt()
+		}
+		/**
+		 * Reads a char array written by DiskIndex.writeStreamChars(): the number of
+		 * chars as an unsigned short, followed by the chars in modified UTF-8.
+		 */
+		char[] readChars() throws IOException {
+			ByteBuffer bytes = this.bytes;
+			int length = bytes.getShort() & 0xFFFF;
+			char[] word = new char[length];
+			for (int i = 0; i < length; i++) {
+				byte b = bytes.get();
+				switch (b & 0xF0) {
+					case 0x00 :
+					case 0x10 :
+					case 0x20 :
+					case 0x30 :
+					case 0x40 :
+					case 0x50 :
+					case 0x60 :
+					case 0x70 :
+						word[i] = (char) b;
+						break;
+					case 0xC0 :
+					case 0xD0 :
+						char next = (char) bytes.get();
+						if ((next & 0xC0) != 0x80) {
+							throw new UTFDataFormatException();
+						}
+						char ch = (char) ((b & 0x1F) << 6);
+						ch |= next & 0x3F;
+						word[i] = ch;
+						break;
+					case 0xE0 :
+						char first = (char) bytes.get();
+						char second = (char) bytes.get();
+						if ((first & second & 0xC0) != 0x80) {
+							throw new UTFDataFormatException();
+						}
+						ch = (char) ((b & 0x0F) << 12);
+						ch |= ((first & 0x3F) << 6);
+						ch |= second & 0x3F;
+						word[i] = ch;
+						break;
+					default :
+						throw new UTFDataFormatException();
+				}
+			}
+			return word;
+		}
+		int[] readDocumentArray(int arraySize, int documentReferenceSize) {
+			ByteBuffer bytes = this.bytes;
+			int[] indexes = new int[arraySize];
+			switch (documentReferenceSize) {
+				case DiskIndex.VARIABLE_REFERENCE_SIZE :
+					int documentNumber = 0;
+					for (int i = 0; i < arraySize; i++) {
+						int b = bytes.get();
+						int delta = b & 0x7F;
+						for (int shift = 7; b < 0; shift += 7) {
+							b = bytes.get();
+							delta |= (b & 0x7F) << shift;
+						}
+						indexes[i] = documentNumber += delta;
+					}
+					break;
+				case 1 :
+					for (int i = 0; i < arraySize; i++)
+						indexes[i] = bytes.get() & 0xFF;
+					break;
+				case 2 :
+					for (int i = 0; i < arraySize; i++) {
+						indexes[i] = bytes.getShort() & 0xFFFF;
+					}
+					break;
+				default :
+					for (int i = 0; i < arraySize; i++)
+						indexes[i] = readInt();
+					break;
+			}
+			return indexes;
+		}
+		/**
+		 * Reads a chunk of document names written by DiskIndex.writeAllDocumentNames(): the first name,
+		 * followed by each other name as the number of chars it shares with the previous one at its start
+		 * and at its end, and the chars in between.
+		 */
+		void readChunk(String[] docNames, int index, int size) throws IOException {
+			String current = new String(readChars());
+			docNames[index++] = current;
+			for (int i = 1; i < size; i++) {
+				int start = readByte();
+				int end = readByte();
+				String next = new String(readChars());
+				if (start > 0) {
+					if (end > 0) {
+						int length = current.length();
+						next = current.substring(0, start) + next + current.substring(length - end, length);
+					} else {
+						next = current.substring(0, start) + next;
+					}
+				} else if (end > 0) {
+					int length = current.length();
+					next = next + current.substring(length - end, length);
+				}
+				docNames[index++] = next;
+				current = next;
+			}
+		}
+	}
+
+private MappedIndexFile(ByteBuffer buffer) {
+	this.buffer = buffer;
+}
+
+/**
+ * Maps the given index file in memory, read only.
+ */
+static MappedIndexFile map(File file) throws IOException {
+	RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r"); //$NON-NLS-1$
+	try {
+		FileChannel channel = randomAccessFile.getChannel();
+		// the mapping remains valid once the channel is closed
+		return new MappedIndexFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+	} finally {
+		randomAccessFile.close();
+	}
+}
+
+/**
+ * Answers a cursor on the given number of bytes found at the given position in the file,
+ * or on the remaining bytes if fewer.
+ */
+Cursor cursor(int position, int length) {
+	ByteBuffer range = this.buffer.duplicate(); // own position & limit, the mapped buffer itself is never moved
+	int remaining = range.limit() - position;
+	range.limit(position + (length < remaining ? length : remaining));
+	range.position(position);
+	return new Cursor(range);
+}
+
+/**
+ * Answers the int found at the given position in the file, read without a cursor.
+ */
+int readInt(int position) {
+	return this.buffer.getInt(position); // absolute get, leaves the mapped buffer untouched
+}
+}
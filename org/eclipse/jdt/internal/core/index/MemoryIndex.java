@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -43,6 +43,32 @@ void addDocumentNames(String substring, SimpleSet results) {
 				results.add(paths[i]);
 	}
 }
+/**
+ * Adds the documents indexed by the given memory indexes, which must not have removed any document.
+ * Documents are added in the order of their names, so that the result does not depend on how they
+ * were spread across the given indexes.
+ */
+void addDocuments(MemoryIndex[] indexes) {
+	SimpleLookupTable documents = new SimpleLookupTable();
+	for (int i = 0, length = indexes.length; i < length; i++) {
+		Object[] paths = indexes[i].docsToReferences.keyTable;
+		Object[] referenceTables = indexes[i].docsToReferences.valueTable;
+		for (int j = 0, l = referenceTables.length; j < l; j++)
+			if (referenceTables[j] != null)
+				documents.put(paths[j], referenceTables[j]);
+	}
+	String[] paths = new String[documents.elementSize];
+	int count = 0;
+	Object[] keys = documents.keyTable;
+	for (int i = 0, l = keys.length; i < l; i++)
+		if (keys[i] != null)
+			paths[count++] = (String) keys[i];
+	Util.sort(paths);
+	for (int i = 0; i < count; i++)
+		this.docsToReferences.put(paths[i], documents.get(paths[i]));
+	this.lastDocumentName = null;
+	this.lastReferenceTable = null;
+}
 void addIndexEntry(char[] category, char[] key, String documentName) {
 	HashtableOfObject referenceTable;
 	if (documentName.equals(this.lastDocumentName))
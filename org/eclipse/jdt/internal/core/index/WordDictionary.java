@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.SearchPattern;
+
+/**
+ * A category table read by {@link DiskIndex}: its words in sorted order, each with the
+ * document numbers (or the offset of the document number array in the file, if not read yet)
+ * at the same index in the values. A word is found by binary search, and a query only tests
+ * the words which can match its key instead of all of them.
+ * <p>
+ * The words which can match a key are found by binary search as well: the words starting with
+ * the key, or with the part of a pattern before its first wild card, for case sensitive
+ * queries; the words starting with the first character of the key in either case, or with
+ * a character which is not ASCII, for case insensitive and camel case queries.
+ * </p>
+ * Tables are written with their words sorted, those of older index files are sorted once read.
+ */
+class WordDictionary {
+
+	char[][] words;
+	Object[] values; // int[] of document #'s or Integer offset of the array in the file if not read yet
+	int size;
+	private boolean sorted;
+
+WordDictionary(int size) {
+	this.words = new char[size][];
+	this.values = new Object[size];
+	this.size = 0;
+	this.sorted = true;
+}
+
+/**
+ * Adds the given word, which is read after the previous ones, with the given value.
+ */
+void add(char[] word, Object value) {
+	if (this.sorted && this.size > 0 && CharOperation.compareTo(this.words[this.size - 1], word) > 0)
+		this.sorted = false;
+	this.words[this.size] = word;
+	this.values[this.size++] = value;
+}
+
+/**
+ * Answers a dictionary of the same words with a copy of the values.
+ */
+WordDictionary copy() {
+	WordDictionary copy = new WordDictionary(0);
+	copy.words = this.words;
+	copy.values = new Object[this.size];
+	System.arraycopy(this.values, 0, copy.values, 0, this.size);
+	copy.size = this.size;
+	copy.sorted = this.sorted;
+	return copy;
+}
+
+/**
+ * Answers the value of the given word, or null if it is not in this dictionary.
+ */
+Object get(char[] word) {
+	int index = indexOf(word);
+	return index < 0 ? null : this.values[index];
+}
+
+/**
+ * Replaces the value of the given word, which must be in this dictionary.
+ */
+void put(char[] word, Object value) {
+	this.values[indexOf(word)] = value;
+}
+
+private int indexOf(char[] word) {
+	int index = lowerBound(word, word.length);
+	return index < this.size && CharOperation.equals(this.words[index], word) ? index : -1;
+}
+
+/**
+ * Sorts the words added out of order, along with their values.
+ */
+void sort() {
+	if (!this.sorted && this.size > 1)
+		quickSort(0, this.size - 1);
+	this.sorted = true;
+}
+
+private void quickSort(int left, int right) {
+	char[][] sortedWords = this.words;
+	Object[] sortedValues = this.values;
+	int original_left = left;
+	int original_right = right;
+	char[] mid = sortedWords[left + (right - left) / 2];
+	do {
+		while (CharOperation.compareTo(sortedWords[left], mid) < 0)
+			left++;
+		while (CharOperation.compareTo(mid, sortedWords[right]) < 0)
+			right--;
+		if (left <= right) {
+			char[] word = sortedWords[left];
+			sortedWords[left] = sortedWords[right];
+			sortedWords[right] = word;
+			Object value = sortedValues[left];
+			sortedValues[left] = sortedValues[right];
+			sortedValues[right] = value;
+			left++;
+			right--;
+		}
+	} while (left <= right);
+	if (original_left < right)
+		quickSort(original_left, right);
+	if (left < original_right)
+		quickSort(left, original_right);
+}
+
+/**
+ * Answers the ranges of the indexes of the words which can match the given key with the given
+ * match rule, as pairs of start (inclusive) and end (exclusive) indexes.
+ * Going through the words in order is also faster than going through the table, when any word can match.
+ */
+int[] ranges(char[] key, int matchRule) {
+	if (key == null || key.length == 0)
+		return new int[] {0, this.size};
+	char first = key[0];
+	switch (matchRule) {
+		case SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE :
+		case SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE :
+			return range(key, key.length);
+		case SearchPattern.R_PATTERN_MATCH | SearchPattern.R_CASE_SENSITIVE :
+			int length = 0;
+			while (length < key.length && key[length] != '*' && key[length] != '?')
+				length++;
+			return length == 0 ? new int[] {0, this.size} : range(key, length);
+		case SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CASE_SENSITIVE :
+		case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH | SearchPattern.R_CASE_SENSITIVE :
+			return range(key, 1); // the first character must be the same
+		case SearchPattern.R_PATTERN_MATCH :
+			if (first == '*' || first == '?')
+				return new int[] {0, this.size};
+			//$FALL-THROUGH$
+		case SearchPattern.R_EXACT_MATCH :
+		case SearchPattern.R_PREFIX_MATCH :
+		case SearchPattern.R_CAMELCASE_MATCH :
+		case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH :
+			// characters which are not ASCII may have the same lower case as an ASCII one, they are sorted last
+			if (first >= 128)
+				return new int[] {0, this.size};
+			char lower = Character.toLowerCase(first);
+			char upper = Character.toUpperCase(first);
+			int[] lowerRange = range(new char[] {lower}, 1);
+			int[] nonAsciiRange = new int[] {lowerBound(new char[] {128}, 1), this.size};
+			if (lower == upper)
+				return new int[] {lowerRange[0], lowerRange[1], nonAsciiRange[0], nonAsciiRange[1]};
+			int[] upperRange = range(new char[] {upper}, 1);
+			return new int[] {upperRange[0], upperRange[1], lowerRange[0], lowerRange[1], nonAsciiRange[0], nonAsciiRange[1]};
+	}
+	return new int[] {0, this.size};
+}
+
+private int[] range(char[] prefix, int length) {
+	int start = lowerBound(prefix, length);
+	int end = start;
+	while (end < this.size && compare(this.words[end], prefix, length) == 0)
+		end++;
+	return new int[] {start, end};
+}
+
+/**
+ * Answers the index of the first word which does not precede the first characters of the given prefix.
+ */
+private int lowerBound(char[] prefix, int length) {
+	int low = 0;
+	int high = this.size;
+	while (low < high) {
+		int middle = (low + high) >>> 1;
+		if (compare(this.words[middle], prefix, length) < 0)
+			low = middle + 1;
+		else
+			high = middle;
+	}
+	return low;
+}
+
+/**
+ * Compares the given word with the first characters of the given prefix,
+ * answering 0 if the word starts with them.
+ */
+private static int compare(char[] word, char[] prefix, int length) {
+	int wordLength = word.length;
+	for (int i = 0; i < length; i++) {
+		if (i == wordLength)
+			return -1;
+		if (word[i] != prefix[i])
+			return word[i] - prefix[i];
+	}
+	return 0;
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -252,6 +252,30 @@ public class BasicSearchEngine {
 		return new JavaSearchParticipant();
 	}
 
+	/**
+	 * Returns a new Java search participant which does not locate the matches in the documents
+	 * found in the indexes, but reports {@link SearchMatch#A_INACCURATE potential matches} on the
+	 * compilation unit of each of them, or on the type of its class file: one at the source range of
+	 * each matching reference recorded in the index, or a single one of unknown offset and length
+	 * if the index has no ranges for the document, e.g. for a class file or when the index was not
+	 * built with {@link org.eclipse.jdt.internal.core.search.indexing.IndexManager#INDEX_REFERENCE_POSITIONS}.
+	 * <p>
+	 * The documents are neither parsed nor resolved, so such a search only takes the time of the
+	 * index queries. A document is reported as soon as one of its index entries matches the pattern,
+	 * whether or not its source actually matches: for example, any document referencing a type with
+	 * the same simple name as the searched one, or sending a message with the same selector and
+	 * number of arguments as the searched method. What is only checked when locating the matches,
+	 * like the declaring type of a method reference, is not taken into account. Working copies are
+	 * not in the indexes, those of each project are indexed together in memory, with their ranges, and
+	 * each one is reported if its own entries match the pattern.
+	 * </p>
+	 *
+	 * @return a new index only Java search participant
+	 */
+	public static SearchParticipant getIndexOnlySearchParticipant() {
+		return new JavaSearchParticipant(true);
+	}
+
 	/**
 	 * @param matchRule
 	 */
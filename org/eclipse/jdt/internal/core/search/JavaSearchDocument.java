@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -35,6 +35,10 @@ public class JavaSearchDocument extends SearchDocument {
 		super(zipFilePath + IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR + zipEntry.getName(), participant);
 		this.byteContents = contents;
 	}
+	public JavaSearchDocument(String documentPath, char[] contents, SearchParticipant participant) {
+		super(documentPath, participant);
+		this.charContents = contents;
+	}
 
 	public byte[] getByteContents() {
 		if (this.byteContents != null) return this.byteContents;
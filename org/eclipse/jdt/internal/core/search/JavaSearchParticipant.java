@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,12 +10,30 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core.search;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.*;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaModelStatusConstants;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.*;
+import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.Openable;
+import org.eclipse.jdt.internal.core.index.Index;
 import org.eclipse.jdt.internal.core.index.IndexLocation;
 import org.eclipse.jdt.internal.core.search.indexing.BinaryIndexer;
+import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
 import org.eclipse.jdt.internal.core.search.indexing.SourceIndexer;
 import org.eclipse.jdt.internal.core.search.matching.MatchLocator;
+import org.eclipse.jdt.internal.core.search.matching.ReferencePositions;
+import org.eclipse.jdt.internal.core.util.HandleFactory;
+import org.eclipse.jdt.internal.core.util.Util;
 
 /**
  * A search participant describes a particular extension to a generic search mechanism, allowing thus to
@@ -32,6 +50,21 @@ public class JavaSearchParticipant extends SearchParticipant {
 
 	private ThreadLocal indexSelector = new ThreadLocal();
 	private SourceIndexer sourceIndexer;
+	private boolean indexOnly;
+
+	public JavaSearchParticipant() {
+		this(false);
+	}
+
+	/**
+	 * Creates a participant which, if <code>indexOnly</code> is <code>true</code>, reports the documents
+	 * found in the indexes as potential matches instead of locating the matches in them.
+	 *
+	 * @see BasicSearchEngine#getIndexOnlySearchParticipant()
+	 */
+	public JavaSearchParticipant(boolean indexOnly) {
+		this.indexOnly = indexOnly;
+	}
 
 	/* (non-Javadoc)
 	 * @see org.eclipse.jdt.core.search.SearchParticipant#beginSearching()
@@ -72,7 +105,8 @@ public class JavaSearchParticipant extends SearchParticipant {
 
 		String documentPath = document.getPath();
 		if (org.eclipse.jdt.internal.core.util.Util.isJavaLikeFileName(documentPath)) {
-			this.sourceIndexer = new SourceIndexer(document);
+			// the index only participant indexes the working copies, their ranges are always needed
+			this.sourceIndexer = new SourceIndexer(document, this.indexOnly || IndexManager.INDEX_REFERENCE_POSITIONS);
 			this.sourceIndexer.indexDocument();
 		} else if (org.eclipse.jdt.internal.compiler.util.Util.isClassFileName(documentPath)) {
 			new BinaryIndexer(document).indexDocument();
@@ -109,6 +143,11 @@ public class JavaSearchParticipant extends SearchParticipant {
 	public void locateMatches(SearchDocument[] indexMatches, SearchPattern pattern,
 			IJavaSearchScope scope, SearchRequestor requestor, IProgressMonitor monitor) throws CoreException {
 
+		if (this.indexOnly) {
+			reportIndexMatches(indexMatches, pattern, scope, requestor, monitor);
+			return;
+		}
+
 		MatchLocator matchLocator =
 			new MatchLocator(
 				pattern,
@@ -122,6 +161,140 @@ public class JavaSearchParticipant extends SearchParticipant {
 		matchLocator.locateMatches(indexMatches);
 	}
 
+	/*
+	 * Reports the potential matches of each of the given documents, on its compilation unit or on the type of its
+	 * class file, without parsing it: one match at the range of each matching reference recorded in the index, see
+	 * ReferencePositions, or one match at an unknown position (-1) if the index has no range for the document.
+	 * Working copies are not in the indexes, each one is only reported if its own index entries match the pattern.
+	 */
+	private void reportIndexMatches(SearchDocument[] indexMatches, SearchPattern pattern, IJavaSearchScope scope, SearchRequestor requestor, IProgressMonitor monitor) throws CoreException {
+		int length = indexMatches.length;
+		if (BasicSearchEngine.VERBOSE) {
+			Util.verbose("Reporting index matches of " + length + " documents"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		Util.sort(indexMatches, new Util.Comparer() {
+			public int compare(Object a, Object b) {
+				return ((SearchDocument)a).getPath().compareTo(((SearchDocument)b).getPath());
+			}
+		});
+		ReferencePositions positions = new ReferencePositions();
+		HashSet workingCopyMatches = findWorkingCopyMatches(indexMatches, pattern, scope, positions);
+		findIndexedPositions(indexMatches, pattern, scope, positions);
+		HandleFactory handleFactory = new HandleFactory();
+		if (monitor != null) monitor.beginTask("", length); //$NON-NLS-1$
+		try {
+			String previousPath = null;
+			for (int i = 0; i < length; i++) {
+				if (monitor != null) {
+					if (monitor.isCanceled()) throw new OperationCanceledException();
+					monitor.worked(1);
+				}
+				SearchDocument document = indexMatches[i];
+				String path = document.getPath();
+				if (path.equals(previousPath)) continue; // skip duplicate paths
+				previousPath = path;
+
+				Openable openable;
+				if (document instanceof MatchLocator.WorkingCopyDocument) {
+					if (!workingCopyMatches.contains(path)) continue;
+					openable = (Openable) ((MatchLocator.WorkingCopyDocument) document).workingCopy;
+				} else {
+					openable = handleFactory.createOpenable(path, scope);
+				}
+				if (openable == null) continue; // document is outside classpath
+				IResource resource = openable.getResource();
+				if (resource == null)
+					resource = openable.getJavaProject().getProject(); // case of a file in an external jar or external folder
+				IJavaElement element = openable instanceof IClassFile ? ((IClassFile) openable).getType() : openable;
+				int[] ranges = positions.get(path);
+				if (ranges == null) {
+					requestor.acceptSearchMatch(new SearchMatch(element, SearchMatch.A_INACCURATE, -1, -1, this, resource));
+				} else {
+					for (int j = 0, l = ranges.length; j < l; j += 2)
+						requestor.acceptSearchMatch(new SearchMatch(element, SearchMatch.A_INACCURATE, ranges[j], ranges[j + 1], this, resource));
+				}
+			}
+		} finally {
+			if (monitor != null) monitor.done();
+		}
+	}
+
+	/*
+	 * Answers the paths of the given working copy documents whose index entries match the pattern in the scope, and adds
+	 * the ranges of their matching references. The working copies of each project are indexed together, with their ranges,
+	 * in a memory only index created for this search, which is queried once the same way as the indexes on disk.
+	 */
+	private HashSet findWorkingCopyMatches(SearchDocument[] documents, SearchPattern pattern, IJavaSearchScope scope, ReferencePositions positions) throws CoreException {
+		final HashSet matches = new HashSet();
+		HashMap indexes = null; // project path -> memory only index of its working copies
+		IndexManager indexManager = JavaModelManager.getIndexManager();
+		String previousPath = null;
+		for (int i = 0, length = documents.length; i < length; i++) {
+			SearchDocument document = documents[i];
+			if (!(document instanceof MatchLocator.WorkingCopyDocument) || document.getPath().equals(previousPath)) continue;
+			previousPath = document.getPath();
+			String projectPath = ((MatchLocator.WorkingCopyDocument) document).workingCopy.getJavaProject().getPath().toString();
+			if (indexes == null)
+				indexes = new HashMap();
+			Index index = (Index) indexes.get(projectPath);
+			if (index == null)
+				indexes.put(projectPath, index = new Index(projectPath));
+			indexManager.indexDocument(document, this, index, null);
+			if (document.shouldIndexResolvedDocument())
+				indexManager.indexResolvedDocument(document, this, index, null);
+		}
+		if (indexes == null) return matches;
+		IndexQueryRequestor matchRequestor = new IndexQueryRequestor() {
+			public boolean acceptIndexMatch(String documentPath, SearchPattern indexRecord, SearchParticipant participant, AccessRuleSet access) {
+				matches.add(documentPath);
+				return true;
+			}
+		};
+		try {
+			for (Iterator iterator = indexes.values().iterator(); iterator.hasNext();) {
+				Index index = (Index) iterator.next();
+				pattern.findIndexMatches(index, matchRequestor, this, scope, null);
+				index.startQuery();
+				try {
+					positions.add(index, pattern, matches);
+				} finally {
+					index.stopQuery();
+				}
+			}
+		} catch (IOException e) {
+			throw new JavaModelException(e, IJavaModelStatusConstants.IO_EXCEPTION);
+		}
+		return matches;
+	}
+
+	/*
+	 * Adds the ranges of the matching references of the given documents, other than working copies, recorded in the
+	 * indexes selected for the search.
+	 */
+	private void findIndexedPositions(SearchDocument[] documents, SearchPattern pattern, IJavaSearchScope scope, ReferencePositions positions) throws CoreException {
+		HashSet paths = new HashSet();
+		for (int i = 0, length = documents.length; i < length; i++)
+			if (!(documents[i] instanceof MatchLocator.WorkingCopyDocument))
+				paths.add(documents[i].getPath());
+		if (paths.isEmpty()) return;
+		IndexManager indexManager = JavaModelManager.getIndexManager();
+		IndexLocation[] locations = selectIndexURLs(pattern, scope);
+		try {
+			for (int i = 0, length = locations.length; i < length; i++) {
+				Index index = indexManager.getIndex(locations[i]);
+				if (index == null) continue;
+				index.startQuery();
+				try {
+					positions.add(index, pattern, paths);
+				} finally {
+					index.stopQuery();
+				}
+			}
+		} catch (IOException e) {
+			throw new JavaModelException(e, IJavaModelStatusConstants.IO_EXCEPTION);
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see org.eclipse.jdt.core.search.SearchParticipant#selectIndexes(org.eclipse.jdt.core.search.SearchQuery, org.eclipse.jdt.core.search.SearchContext)
 	 */
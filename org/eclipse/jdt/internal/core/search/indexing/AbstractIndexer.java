@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,6 +20,7 @@ import org.eclipse.jdt.internal.core.search.matching.*;
 public abstract class AbstractIndexer implements IIndexConstants {
 
 	SearchDocument document;
+	boolean recordSecondaryTypes = true; // not when indexing sources outside of the workspace
 
 	public AbstractIndexer(SearchDocument document) {
 		this.document = document;
@@ -182,7 +183,7 @@ public abstract class AbstractIndexer implements IIndexConstants {
 	}
 	protected void addTypeDeclaration(int modifiers, char[] packageName, char[] name, char[][] enclosingTypeNames, boolean secondary) {
 		char[] indexKey = TypeDeclarationPattern.createIndexKey(modifiers, name, packageName, enclosingTypeNames, secondary);
-		if (secondary)
+		if (secondary && this.recordSecondaryTypes)
 			JavaModelManager.getJavaModelManager().secondaryTypeAdding(
 				this.document.getPath(),
 				name == null ? CharOperation.NO_CHAR : name,
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2013 IBM Corporation and others.
+ * Copyright (c) 2011, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,21 +13,29 @@ package org.eclipse.jdt.internal.core.search.indexing;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.internal.compiler.SourceElementParser;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.jdt.internal.compiler.util.Util;
 import org.eclipse.jdt.internal.core.index.FileIndexLocation;
 import org.eclipse.jdt.internal.core.index.Index;
 import org.eclipse.jdt.internal.core.index.IndexLocation;
 import org.eclipse.jdt.internal.core.search.JavaSearchDocument;
 
-@SuppressWarnings("rawtypes")
+@SuppressWarnings({"rawtypes", "unchecked"})
 public class DefaultJavaIndexer {
 	private static final char JAR_SEPARATOR = IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR.charAt(0);
 	
@@ -59,4 +67,101 @@ public class DefaultJavaIndexer {
 		}
 		return;
 	}
+
+	/**
+	 * Generates the index file for the given sources, outside of any workspace.
+	 * Units are parsed by as many workers as there are processors, each one indexing into
+	 * its own memory index, and the memory indexes are written to disk in a single pass.
+	 * Functional expressions are not indexed, since this requires resolving the units.
+	 *
+	 * @param sources maps the paths of the units, relative to their source folder, to their contents
+	 * @param options the compiler options to parse the units with, or null to parse them at the latest source level
+	 * @param pathToIndexFile the index file to generate
+	 */
+	public void generateIndexForSources(final Map sources, Map options, final String pathToIndexFile) throws IOException {
+		IndexLocation indexLocation = new FileIndexLocation(new File(pathToIndexFile));
+		Index index = new Index(indexLocation, pathToIndexFile, false /*reuse index file*/);
+		final SearchParticipant participant = SearchEngine.getDefaultSearchParticipant();
+		final Map parserOptions;
+		if (options == null) {
+			parserOptions = new CompilerOptions().getMap();
+			JavaCore.setComplianceOptions(JavaCore.VERSION_1_8, parserOptions);
+		} else {
+			parserOptions = new HashMap(options);
+		}
+		// disable task tags to speed up parsing
+		parserOptions.put(JavaCore.COMPILER_TASK_TAGS, ""); //$NON-NLS-1$
+		final String[] paths = (String[]) sources.keySet().toArray(new String[sources.size()]);
+
+		int workerCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), paths.length));
+		final int[] next = new int[1];
+		final Throwable[] failure = new Throwable[1];
+		Index[] workerIndexes = new Index[workerCount];
+		Thread[] workers = new Thread[workerCount];
+		for (int i = 0; i < workerCount; i++) {
+			final Index workerIndex = workerIndexes[i] = new Index(pathToIndexFile);
+			workers[i] = new Thread("Java source indexer " + i) { //$NON-NLS-1$
+				public void run() {
+					try {
+						SourceElementParser parser = getSourceElementParser(parserOptions); // parsers are not thread safe
+						while (true) {
+							int position;
+							synchronized (next) {
+								if (failure[0] != null || next[0] == paths.length)
+									return;
+								position = next[0]++;
+							}
+							String path = paths[position];
+							JavaSearchDocument document = new JavaSearchDocument(pathToIndexFile + '/' + path, ((String) sources.get(path)).toCharArray(), participant);
+							document.setIndex(workerIndex);
+							document.setParser(parser);
+							SourceIndexer indexer = new SourceIndexer(document);
+							indexer.recordSecondaryTypes = false;
+							indexer.indexDocument();
+						}
+					} catch (Throwable e) {
+						synchronized (next) {
+							if (failure[0] == null)
+								failure[0] = e;
+						}
+					}
+				}
+			};
+			workers[i].start();
+		}
+		try {
+			for (int i = 0; i < workerCount; i++)
+				workers[i].join();
+		} catch (InterruptedException e) {
+			synchronized (next) {
+				failure[0] = e; // stop the other workers
+			}
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+		if (failure[0] instanceof RuntimeException)
+			throw (RuntimeException) failure[0];
+		if (failure[0] instanceof Error)
+			throw (Error) failure[0];
+
+		index.addDocuments(workerIndexes);
+		index.save();
+	}
+
+	SourceElementParser getSourceElementParser(Map options) {
+		SourceElementParser parser = new IndexingParser(
+			null, // set for each document by the source indexer
+			new DefaultProblemFactory(Locale.getDefault()),
+			new CompilerOptions(options),
+			true, // index local declarations
+			true, // optimize string literals
+			false); // do not use source javadoc parser to speed up parsing
+		parser.reportOnlyOneSyntaxError = true;
+
+		// Always check javadoc while indexing
+		parser.javadocParser.checkDocComment = true;
+		parser.javadocParser.reportProblems = false;
+
+		return parser;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -72,6 +72,11 @@ public class IndexManager extends JobManager implements IIndexConstants {
 	public static final String MANAGE_PRODUCT_INDEXES_PROPERTY = "jdt.core.manageProductIndexes"; //$NON-NLS-1$
 	private static final boolean IS_MANAGING_PRODUCT_INDEXES_PROPERTY = Boolean.getBoolean(MANAGE_PRODUCT_INDEXES_PROPERTY);
 
+	// should the source indexer record the source range of each reference, for the index only search participant?
+	// the indexes built before it is set have no ranges until they are rebuilt
+	public static final String INDEX_REFERENCE_POSITIONS_PROPERTY = "jdt.core.indexReferencePositions"; //$NON-NLS-1$
+	public static boolean INDEX_REFERENCE_POSITIONS = Boolean.getBoolean(INDEX_REFERENCE_POSITIONS_PROPERTY);
+
 	// Debug
 	public static boolean DEBUG = false;
 
@@ -1005,7 +1010,7 @@ public String toString() {
 	for (int i = 0, l = valueTable.length; i < l; i++) {
 		Index index = (Index) valueTable[i];
 		if (index != null)
-			buffer.append(++count).append(" - ").append(index.toString()).append('\n'); //$NON-NLS-1$
+			buffer.append(++count).append(" - ").append(index.toString()).append(" - ").append(index.printQueryCacheStats()).append('\n'); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 	return buffer.toString();
 }
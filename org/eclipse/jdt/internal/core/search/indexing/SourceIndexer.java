@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -51,6 +51,7 @@ import org.eclipse.jdt.internal.core.SourceTypeElementInfo;
 import org.eclipse.jdt.internal.core.jdom.CompilationUnit;
 import org.eclipse.jdt.internal.core.search.matching.JavaSearchNameEnvironment;
 import org.eclipse.jdt.internal.core.search.matching.MethodPattern;
+import org.eclipse.jdt.internal.core.search.matching.ReferencePositions;
 import org.eclipse.jdt.internal.core.search.processing.JobManager;
 
 /**
@@ -65,7 +66,8 @@ import org.eclipse.jdt.internal.core.search.processing.JobManager;
  * - Methods (with number of arguments); <br>
  * - Fields;<br>
  * - Types;<br>
- * - Constructors.
+ * - Constructors.<br>
+ * The source range of each reference is also indexed if asked for, see {@link ReferencePositions}.
  */
 public class SourceIndexer extends AbstractIndexer implements ITypeRequestor, SuffixConstants {
 
@@ -75,11 +77,48 @@ public class SourceIndexer extends AbstractIndexer implements ITypeRequestor, Su
 	private Parser basicParser;
 	private CompilationUnit compilationUnit;
 	private CompilationUnitDeclaration cud;
+	private boolean recordPositions;
+	private int referenceOffset = -1;
+	private int referenceLength;
 	private static final boolean DEBUG = false;
 	
 	public SourceIndexer(SearchDocument document) {
+		this(document, false);
+	}
+	/**
+	 * Creates an indexer which, if <code>recordPositions</code> is <code>true</code>, also adds a
+	 * {@link IIndexConstants#REF_POSITION} entry for each reference it indexes.
+	 */
+	public SourceIndexer(SearchDocument document, boolean recordPositions) {
 		super(document);
 		this.requestor = new SourceIndexerRequestor(this);
+		this.recordPositions = recordPositions;
+	}
+	protected void addIndexEntry(char[] category, char[] key) {
+		super.addIndexEntry(category, key);
+		if (this.referenceOffset >= 0)
+			super.addIndexEntry(REF_POSITION, ReferencePositions.createIndexKey(category, key, this.referenceOffset, this.referenceLength));
+	}
+	/**
+	 * Records the given source range for the entries added until {@link #endReference()}, if positions
+	 * are recorded and the offset is known.
+	 */
+	void startReference(int offset, int length) {
+		if (this.recordPositions && offset >= 0) {
+			this.referenceOffset = offset;
+			this.referenceLength = length;
+		}
+	}
+	void endReference() {
+		this.referenceOffset = -1;
+	}
+	/**
+	 * Answers whether positions are recorded and the source of the document holds the given name at the given position.
+	 */
+	boolean isNameAt(char[] name, int position) {
+		if (!this.recordPositions || position < 0 || this.compilationUnit == null) return false;
+		char[] source = this.compilationUnit.getContents();
+		return position + name.length <= source.length && CharOperation.fragmentEquals(name, source, position, true);
 	}
 	public void indexDocument() {
 		// Create a new Parser
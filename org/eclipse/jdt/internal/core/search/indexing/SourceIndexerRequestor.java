@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -41,15 +41,19 @@ public SourceIndexerRequestor(SourceIndexer indexer) {
  */
 public void acceptAnnotationTypeReference(char[][] typeName, int sourceStart, int sourceEnd) {
 	int length = typeName.length;
+	this.indexer.startReference(sourceStart, sourceEnd - sourceStart + 1); // the range of the whole name for each part
 	for (int i = 0; i < length - 1; i++)
-		acceptUnknownReference(typeName[i], 0);
-	acceptAnnotationTypeReference(typeName[length - 1], 0);
+		this.indexer.addNameReference(typeName[i]);
+	this.indexer.addAnnotationTypeReference(typeName[length - 1]);
+	this.indexer.endReference();
 }
 /**
  * @see ISourceElementRequestor#acceptAnnotationTypeReference(char[], int)
  */
 public void acceptAnnotationTypeReference(char[] simpleTypeName, int sourcePosition) {
+	this.indexer.startReference(sourcePosition, simpleTypeName.length);
 	this.indexer.addAnnotationTypeReference(simpleTypeName);
+	this.indexer.endReference();
 }
 /**
  * @see ISourceElementRequestor#acceptConstructorReference(char[], int, int)
@@ -58,6 +62,9 @@ public void acceptConstructorReference(char[] typeName, int argCount, int source
 	if (CharOperation.indexOf(Signature.C_GENERIC_START, typeName) > 0) {
 		typeName = Signature.toCharArray(Signature.getTypeErasure(Signature.createTypeSignature(typeName, false)).toCharArray());
 	}
+	// explicit constructor calls and enum constants do not name their type at their position
+	if (this.indexer.isNameAt(typeName, sourcePosition))
+		this.indexer.startReference(sourcePosition, typeName.length);
 	this.indexer.addConstructorReference(typeName, argCount);
 	int lastDot = CharOperation.lastIndexOf('.', typeName);
 	if (lastDot != -1) {
@@ -66,12 +73,15 @@ public void acceptConstructorReference(char[] typeName, int argCount, int source
 			this.indexer.addNameReference(qualification[i]);
 		}
 	}
+	this.indexer.endReference();
 }
 /**
  * @see ISourceElementRequestor#acceptFieldReference(char[], int)
  */
 public void acceptFieldReference(char[] fieldName, int sourcePosition) {
+	this.indexer.startReference(sourcePosition, fieldName.length);
 	this.indexer.addFieldReference(fieldName);
+	this.indexer.endReference();
 }
 /**
  * @see ISourceElementRequestor#acceptImport(int, int, int, int, char[][], boolean, int)
@@ -89,7 +99,9 @@ public void acceptLineSeparatorPositions(int[] positions) {
  * @see ISourceElementRequestor#acceptMethodReference(char[], int, int)
  */
 public void acceptMethodReference(char[] methodName, int argCount, int sourcePosition) {
+	this.indexer.startReference(sourcePosition, methodName.length);
 	this.indexer.addMethodReference(methodName, argCount);
+	this.indexer.endReference();
 }
 /**
  * @see ISourceElementRequestor#acceptPackage(ImportReference)
@@ -108,29 +120,37 @@ public void acceptProblem(CategorizedProblem problem) {
  */
 public void acceptTypeReference(char[][] typeName, int sourceStart, int sourceEnd) {
 	int length = typeName.length;
+	this.indexer.startReference(sourceStart, sourceEnd - sourceStart + 1); // the range of the whole name for each part
 	for (int i = 0; i < length - 1; i++)
-		acceptUnknownReference(typeName[i], 0); // ?
-	acceptTypeReference(typeName[length - 1], 0);
+		this.indexer.addNameReference(typeName[i]); // ?
+	this.indexer.addTypeReference(typeName[length - 1]);
+	this.indexer.endReference();
 }
 /**
  * @see ISourceElementRequestor#acceptTypeReference(char[], int)
  */
 public void acceptTypeReference(char[] simpleTypeName, int sourcePosition) {
+	this.indexer.startReference(sourcePosition, simpleTypeName.length);
 	this.indexer.addTypeReference(simpleTypeName);
+	this.indexer.endReference();
 }
 /**
  * @see ISourceElementRequestor#acceptUnknownReference(char[][], int, int)
  */
 public void acceptUnknownReference(char[][] name, int sourceStart, int sourceEnd) {
+	this.indexer.startReference(sourceStart, sourceEnd - sourceStart + 1); // the range of the whole name for each part
 	for (int i = 0; i < name.length; i++) {
-		acceptUnknownReference(name[i], 0);
+		this.indexer.addNameReference(name[i]);
 	}
+	this.indexer.endReference();
 }
 /**
  * @see ISourceElementRequestor#acceptUnknownReference(char[], int)
  */
 public void acceptUnknownReference(char[] name, int sourcePosition) {
+	this.indexer.startReference(sourcePosition, name.length);
 	this.indexer.addNameReference(name);
+	this.indexer.endReference();
 }
 
 private void addDefaultConstructorIfNecessary(TypeInfo typeInfo) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -55,6 +55,12 @@ public void initializePolymorphicSearch(MatchLocator locator) {
 		this.patternLocators[i].initializePolymorphicSearch(locator);
 	}
 }
+public void initializePolymorphicSearch(MatchLocator locator, PatternLocator initializedLocator) {
+	PatternLocator[] initializedLocators = ((AndLocator) initializedLocator).patternLocators;
+	for (int i = 0, length = this.patternLocators.length; i < length; i++) {
+		this.patternLocators[i].initializePolymorphicSearch(locator, initializedLocators[i]);
+	}
+}
 public int match(Annotation node, MatchingNodeSet nodeSet) {
 	int level = IMPOSSIBLE_MATCH;
 	for (int i = 0, length = this.patternLocators.length; i < length; i++) {
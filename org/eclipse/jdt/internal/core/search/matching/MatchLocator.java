@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,6 +21,9 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.zip.ZipFile;
 
 import org.eclipse.core.resources.IResource;
@@ -88,9 +91,18 @@ import org.eclipse.jdt.internal.core.util.Util;
 public class MatchLocator implements ITypeRequestor {
 
 public static final int MAX_AT_ONCE;
+/**
+ * The number of threads locating the matches of a project, each one a batch of {@link #MAX_AT_ONCE} possible matches
+ * at a time. Since each thread holds a batch in memory, their number is limited by the memory available too, see
+ * {@link #MAX_MATCHING_THREADS}. One by default: the batches are located one after the other by the searching thread.
+ */
+public static int MATCHING_THREADS = 1;
+private static final int MAX_MATCHING_THREADS;
+private static ExecutorService MATCHING_WORKERS; // created by the first search locating batches in parallel
 static {
 	long maxMemory = Runtime.getRuntime().maxMemory();
 	int ratio = (int) Math.round(((double) maxMemory) / (64 * 0x100000));
+	MAX_MATCHING_THREADS = Math.max(1, ratio / 4); // a batch per 256MB, the threads asked for are not limited by the processors
 	switch (ratio) {
 		case 0:
 		case 1:
@@ -1294,13 +1306,178 @@ protected void locateMatches(JavaProject javaProject, PossibleMatchSet matchSet,
 		this.progressMonitor.worked( expected-length);
 	}
 	// locate matches (processed matches are limited to avoid problem while using VM default memory heap size)
-	for (int index = 0; index < length;) {
-		int max = Math.min(MAX_AT_ONCE, length - index);
-		locateMatches(javaProject, possibleMatches, index, max);
-		index += max;
+	int batchCount = (length + MAX_AT_ONCE - 1) / MAX_AT_ONCE;
+	int threadCount = Math.min(Math.min(MATCHING_THREADS, MAX_MATCHING_THREADS), batchCount);
+	if (threadCount > 1
+			// hierarchy scopes and those of clients may not be queried by several threads
+			&& (this.scope instanceof JavaSearchScope || this.scope instanceof JavaWorkspaceScope)) {
+		locateMatchesInParallel(javaProject, possibleMatches, batchCount, threadCount);
+	} else {
+		for (int index = 0; index < length;) {
+			int max = Math.min(MAX_AT_ONCE, length - index);
+			locateMatches(javaProject, possibleMatches, index, max);
+			index += max;
+		}
 	}
 	this.patternLocator.clear();
 }
+/**
+ * Answers the pool of threads locating the batches of possible matches, shared by all the searches.
+ * Its daemon threads are kept for a while once idle, then released.
+ */
+private static synchronized ExecutorService getMatchingWorkers() {
+	if (MATCHING_WORKERS == null) {
+		MATCHING_WORKERS = Executors.newCachedThreadPool(new ThreadFactory() {
+			private int count;
+			public synchronized Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "Java search match locator " + this.count++); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+	return MATCHING_WORKERS;
+}
+/**
+ * Locates the matches amongst the possible matches of a project on several threads of the pool returned by
+ * {@link #getMatchingWorkers()}, each one locating them a batch of {@link #MAX_AT_ONCE} at a time with its own
+ * copy of this locator, see {@link #newBatchLocator(IProgressMonitor)}.
+ * The matches found in each batch are reported to the requestor from the calling thread, in the order of the batches,
+ * so that they are reported in the same order as when the batches are located one after the other.
+ */
+private void locateMatchesInParallel(final JavaProject javaProject, final PossibleMatch[] possibleMatches, final int batchCount, int threadCount) throws CoreException {
+	final int length = possibleMatches.length;
+	final ArrayList[] batchMatches = new ArrayList[batchCount]; // the matches of each batch, once it is located
+	final Throwable[] failures = new Throwable[batchCount];
+	final int[] next = new int[] {0, threadCount}; // the next batch to locate & the number of running workers
+	final IProgressMonitor progress = this.progressMonitor;
+	final IProgressMonitor cancelMonitor = progress == null ? null : new NullProgressMonitor() {
+		public boolean isCanceled() {
+			return progress.isCanceled(); // the progress is reported by this locator
+		}
+	};
+	MatchLocator[] locators = new MatchLocator[threadCount];
+	for (int i = 0; i < threadCount; i++)
+		locators[i] = newBatchLocator(cancelMonitor);
+	ExecutorService workers = getMatchingWorkers();
+	for (int i = 0; i < threadCount; i++) {
+		final MatchLocator locator = locators[i];
+		workers.execute(new Runnable() {
+			public void run() {
+				JavaModelManager manager = JavaModelManager.getJavaModelManager();
+				try {
+					manager.cacheZipFiles(locator); // zip files are cached per thread
+					while (true) {
+						int batch;
+						synchronized (next) {
+							if (next[0] == batchCount)
+								return;
+							batch = next[0]++;
+						}
+						final ArrayList matches = new ArrayList();
+						locator.requestor = new SearchRequestor() {
+							public void acceptSearchMatch(SearchMatch match) {
+								matches.add(match);
+							}
+						};
+						Throwable failure = null;
+						try {
+							int start = batch * MAX_AT_ONCE;
+							locator.locateMatches(javaProject, possibleMatches, start, Math.min(MAX_AT_ONCE, length - start));
+						} catch (Throwable e) {
+							failure = e;
+						}
+						synchronized (next) {
+							batchMatches[batch] = matches;
+							failures[batch] = failure;
+							if (failure != null)
+								next[0] = batchCount; // the batches after this one would not be reported
+							next.notifyAll();
+						}
+					}
+				} finally {
+					if (locator.nameEnvironment != null)
+						locator.nameEnvironment.cleanup();
+					locator.unitScope = null;
+					if (locator.patternLocator != null)
+						locator.patternLocator.clear();
+					manager.flushZipFiles(locator);
+					synchronized (next) {
+						next[1]--;
+						next.notifyAll();
+					}
+				}
+			}
+		});
+	}
+	try {
+		for (int batch = 0; batch < batchCount; batch++) {
+			ArrayList matches;
+			Throwable failure;
+			synchronized (next) {
+				while ((matches = batchMatches[batch]) == null) {
+					if (progress != null && progress.isCanceled())
+						throw new OperationCanceledException();
+					next.wait(100);
+				}
+				batchMatches[batch] = null; // release the matches once reported
+				failure = failures[batch];
+			}
+			for (int i = 0, size = matches.size(); i < size; i++) {
+				long start = -1;
+				if (BasicSearchEngine.VERBOSE)
+					start = System.currentTimeMillis();
+				this.requestor.acceptSearchMatch((SearchMatch) matches.get(i));
+				if (BasicSearchEngine.VERBOSE)
+					this.resultCollectorTime += System.currentTimeMillis()-start;
+			}
+			if (progress != null) {
+				for (int i = Math.min(MAX_AT_ONCE, length - batch * MAX_AT_ONCE); --i >= 0;) {
+					this.progressWorked++;
+					if ((this.progressWorked%this.progressStep)==0) progress.worked(this.progressStep);
+				}
+			}
+			if (failure instanceof CoreException)
+				throw (CoreException) failure;
+			if (failure instanceof RuntimeException)
+				throw (RuntimeException) failure;
+			if (failure instanceof Error)
+				throw (Error) failure;
+		}
+	} catch (InterruptedException e) {
+		Thread.currentThread().interrupt(); // let the caller see the interruption too
+		throw new OperationCanceledException();
+	} finally {
+		boolean interrupted = false;
+		synchronized (next) {
+			next[0] = batchCount; // stop the workers once done with their current batch
+			while (next[1] > 0) { // the possible matches must not be cleaned up while still located
+				try {
+					next.wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+}
+/**
+ * Returns a copy of this locator, locating the matches of a batch of possible matches on another thread.
+ * It has its own pattern locator, parser, lookup environment & caches, and reports its matches to
+ * the requestor it is given for each batch.
+ */
+MatchLocator newBatchLocator(IProgressMonitor monitor) {
+	MatchLocator locator = new MatchLocator(this.pattern, null, this.scope, monitor);
+	locator.workingCopies = this.workingCopies;
+	locator.handleFactory = new HandleFactory();
+	locator.bindings = new SimpleLookupTable();
+	locator.progressStep = 1; // the progress is reported by this locator
+	if (locator.patternLocator != null)
+		locator.patternLocator.initializePolymorphicSearch(locator, this.patternLocator);
+	return locator;
+}
 /**
  * Locate the matches in the given files and report them using the search requestor.
  */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -128,6 +128,13 @@ public void initializePolymorphicSearch(MatchLocator locator) {
 		System.out.println("Time to initialize polymorphic search: "+(System.currentTimeMillis()-start)); //$NON-NLS-1$
 	}
 }
+public void initializePolymorphicSearch(MatchLocator locator, PatternLocator initializedLocator) {
+	MethodLocator methodLocator = (MethodLocator) initializedLocator;
+	this.allSuperDeclaringTypeNames = methodLocator.allSuperDeclaringTypeNames;
+	this.samePkgSuperDeclaringTypeNames = methodLocator.samePkgSuperDeclaringTypeNames;
+	if (methodLocator.matchLocator != null) // otherwise collecting the super type names failed
+		this.matchLocator = locator;
+}
 /*
  * Return whether a type name is in pattern all super declaring types names.
  */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -176,6 +176,13 @@ protected TypeBinding getTypeNameBinding(int index) {
 public void initializePolymorphicSearch(MatchLocator locator) {
 	// default is to do nothing
 }
+/**
+ * Initializes this search pattern for the given locator the same way as the given pattern locator,
+ * which locates the same pattern and has been initialized already, without computing anything again.
+ */
+public void initializePolymorphicSearch(MatchLocator locator, PatternLocator initializedLocator) {
+	// default is to do nothing
+}
 public int match(Annotation node, MatchingNodeSet nodeSet) {
 	// each subtype should override if needed
 	return IMPOSSIBLE_MATCH;
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.matching;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Set;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.core.index.EntryResult;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
+
+/**
+ * The source ranges of the references which match a pattern, read from the {@link IIndexConstants#REF_POSITION}
+ * entries of an index instead of locating the references in the documents.
+ * <p>
+ * The source indexer adds one such entry for each reference entry (e.g. <code>methodRef</code>/<code>foo/1</code>)
+ * it adds while the index manager is asked to record them, see <code>IndexManager#INDEX_REFERENCE_POSITIONS</code>.
+ * Its key is made of the category, the key and the range of the reference, e.g. <code>methodRef/foo/1#120:3</code>.
+ * The range is the one of the name of the reference, or of the whole qualified name for its parts. A constructor
+ * call which does not name its type, e.g. <code>super()</code>, has no range: it is only reported through the
+ * other references of its document, or by a match of unknown position if the document has none.
+ * </p>
+ * The ranges of a pattern are found the way its index entries are: the keys of its categories are matched with
+ * its index key and match rule, and decoded in a blank pattern that it must accept.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ReferencePositions implements IIndexConstants {
+
+	private static final char[][] CATEGORIES = {REF_POSITION};
+	private static final int MATCH_MODES = SearchPattern.R_PREFIX_MATCH | SearchPattern.R_PATTERN_MATCH | SearchPattern.R_REGEXP_MATCH
+		| SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH;
+
+	// document path -> int[] {count, offset, length, offset, length, ...}
+	private HashMap positions = new HashMap();
+
+/**
+ * Answer the key of the {@link IIndexConstants#REF_POSITION} entry of the given reference entry at the given range.
+ */
+public static char[] createIndexKey(char[] category, char[] key, int offset, int length) {
+	char[] start = String.valueOf(offset).toCharArray();
+	char[] size = String.valueOf(length).toCharArray();
+	int categoryLength = category.length;
+	int keyLength = key.length;
+	char[] result = new char[categoryLength + keyLength + start.length + size.length + 3];
+	System.arraycopy(category, 0, result, 0, categoryLength);
+	int index = categoryLength;
+	result[index++] = SEPARATOR;
+	System.arraycopy(key, 0, result, index, keyLength);
+	index += keyLength;
+	result[index++] = POSITION_SEPARATOR;
+	System.arraycopy(start, 0, result, index, start.length);
+	index += start.length;
+	result[index++] = ':';
+	System.arraycopy(size, 0, result, index, size.length);
+	return result;
+}
+
+/**
+ * Adds the ranges of the references of the given documents which match the given pattern in the given index.
+ * Assumes the sender has started a query on the index and will stop it when finished.
+ *
+ * @param documentPaths the paths of the documents, as reported by {@link SearchPattern#findIndexMatches}
+ */
+public void add(Index index, SearchPattern pattern, Set documentPaths) throws IOException {
+	if (pattern instanceof OrPattern) {
+		SearchPattern[] patterns = ((OrPattern) pattern).patterns;
+		for (int i = 0, length = patterns.length; i < length; i++)
+			add(index, patterns[i], documentPaths);
+		return;
+	}
+	pattern = pattern.currentPattern();
+	char[][] categories = pattern.getIndexCategories();
+	char[] key = pattern.getIndexKey();
+	int matchRule = pattern.getMatchRule();
+	char[] prefixKey = key;
+	int prefixRule = matchRule;
+	if (key == null) {
+		// the keys of methods and constructors start with their name, followed by their argument count
+		prefixKey = pattern instanceof MethodPattern ? ((MethodPattern) pattern).selector
+			: pattern instanceof ConstructorPattern ? ((ConstructorPattern) pattern).declaringSimpleName
+			: null;
+		if (prefixKey != null && (matchRule & MATCH_MODES) == SearchPattern.R_EXACT_MATCH) {
+			prefixKey = CharOperation.append(prefixKey, SEPARATOR);
+			prefixRule |= SearchPattern.R_PREFIX_MATCH;
+		}
+	}
+	SearchPattern decodedResult = null;
+	for (int i = 0, length = categories.length; i < length; i++) {
+		EntryResult[] entries = index.query(CATEGORIES, queryPrefix(categories[i], prefixKey, prefixRule),
+			SearchPattern.R_PREFIX_MATCH | (matchRule & SearchPattern.R_CASE_SENSITIVE));
+		if (entries == null) continue;
+		int keyStart = categories[i].length + 1;
+		for (int j = 0, l = entries.length; j < l; j++) {
+			char[] word = entries[j].getWord();
+			int keyEnd = CharOperation.lastIndexOf(POSITION_SEPARATOR, word);
+			int colon = CharOperation.lastIndexOf(':', word);
+			if (keyEnd < keyStart || colon < keyEnd) continue; // not an entry of this category
+			char[] entryKey = CharOperation.subarray(word, keyStart, keyEnd);
+			if (!Index.isMatch(key, entryKey, matchRule)) continue;
+			if (decodedResult == null)
+				decodedResult = pattern.getBlankPattern();
+			decodedResult.decodeIndexKey(entryKey);
+			if (!pattern.matchesDecodedKey(decodedResult)) continue;
+			int offset = Integer.parseInt(new String(word, keyEnd + 1, colon - keyEnd - 1));
+			int rangeLength = Integer.parseInt(new String(word, colon + 1, word.length - colon - 1));
+			String[] names = entries[j].getDocumentNames(index);
+			for (int k = 0, n = names.length; k < n; k++) {
+				String path = index.containerPath + index.separator + names[k];
+				if (documentPaths.contains(path))
+					add(path, offset, rangeLength);
+			}
+		}
+	}
+}
+
+private void add(String path, int offset, int length) {
+	int[] ranges = (int[]) this.positions.get(path);
+	if (ranges == null)
+		this.positions.put(path, ranges = new int[9]);
+	int count = ranges[0];
+	if (count + 2 >= ranges.length) {
+		System.arraycopy(ranges, 0, ranges = new int[ranges.length * 2 - 1], 0, count + 1);
+		this.positions.put(path, ranges);
+	}
+	ranges[count + 1] = offset;
+	ranges[count + 2] = length;
+	ranges[0] = count + 2;
+}
+
+/**
+ * Answer the ranges found in the given document, sorted by offset and without duplicates, as pairs of
+ * offset and length, or <code>null</code> if none was found, e.g. if its index has no ranges.
+ */
+public int[] get(String documentPath) {
+	int[] ranges = (int[]) this.positions.get(documentPath);
+	if (ranges == null) return null;
+	int count = ranges[0] / 2;
+	long[] sorted = new long[count];
+	for (int i = 0; i < count; i++)
+		sorted[i] = ((long) ranges[2 * i + 1] << 32) | ranges[2 * i + 2];
+	Arrays.sort(sorted);
+	int[] result = new int[2 * count];
+	int size = 0;
+	for (int i = 0; i < count; i++) {
+		if (i > 0 && sorted[i] == sorted[i - 1]) continue;
+		result[size++] = (int) (sorted[i] >>> 32);
+		result[size++] = (int) sorted[i];
+	}
+	if (size < result.length)
+		System.arraycopy(result, 0, result = new int[size], 0, size);
+	return result;
+}
+
+/*
+ * Answer the prefix of the REF_POSITION keys which may match the given key of the given category.
+ */
+private static char[] queryPrefix(char[] category, char[] key, int matchRule) {
+	char[] prefix = CharOperation.append(category, SEPARATOR);
+	if (key == null) return prefix;
+	if ((matchRule & (MATCH_MODES & ~SearchPattern.R_PREFIX_MATCH)) == 0) {
+		prefix = CharOperation.concat(prefix, key);
+		return (matchRule & SearchPattern.R_PREFIX_MATCH) == 0 ? CharOperation.append(prefix, POSITION_SEPARATOR) : prefix;
+	}
+	if ((matchRule & SearchPattern.R_PATTERN_MATCH) != 0) {
+		int end = 0;
+		while (end < key.length && key[end] != '*' && key[end] != '?')
+			end++;
+		return CharOperation.concat(prefix, CharOperation.subarray(key, 0, end));
+	}
+	return prefix; // camel case or regular expression, the keys of the category are all tested
+}
+}
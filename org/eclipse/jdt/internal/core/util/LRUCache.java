@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,7 +12,7 @@ package org.eclipse.jdt.internal.core.util;
 
 import java.text.NumberFormat;
 import java.util.Enumeration;
-import java.util.Hashtable;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The <code>LRUCache</code> is a hashtable that stores a finite number of elements.
@@ -24,8 +24,12 @@ import java.util.Hashtable;
  * <p>Objects can take up a variable amount of cache space by implementing
  * the <code>ILRUCacheable</code> interface.
  *
- * <p>This implementation is NOT thread-safe.  Synchronization wrappers would
- * have to be added to ensure atomic insertions and deletions from the cache.
+ * <p>Values can be read (see <code>get</code>, <code>peek</code> and <code>getKey</code>) by any
+ * number of threads without locking, while another thread modifies the cache.  Reading a value
+ * does not move its entry in the queue, but records when it was read: when space is needed,
+ * an entry found at the end of the queue which was read since it was last moved gets a second
+ * chance and is moved to the start of the queue instead of being discarded.  All other operations
+ * are NOT thread-safe, clients must synchronize them.
  *
  * @see org.eclipse.jdt.internal.core.util.ILRUCacheable
  */
@@ -50,7 +54,12 @@ public class LRUCache implements Cloneable {
 		/**
 		 * Hash table value (an LRUCacheEntry object)
 		 */
-		public Object value;
+		public volatile Object value;
+
+		/**
+		 * Value of the timestamp counter when the value was last read
+		 */
+		public volatile int readTimestamp;
 
 		/**
 		 * Time value for queue sorting
@@ -257,7 +266,7 @@ public class LRUCache implements Cloneable {
 	/**
 	 * Hash table for fast random access to cache entries
 	 */
-	protected Hashtable entryTable;
+	protected volatile ConcurrentHashMap entryTable;
 
 	/**
 	 * Start of queue (most recently used entry)
@@ -289,7 +298,7 @@ public class LRUCache implements Cloneable {
 
 		this.timestampCounter = this.currentSpace = 0;
 		this.entryQueue = this.entryQueueTail = null;
-		this.entryTable = new Hashtable(size);
+		this.entryTable = new ConcurrentHashMap(size);
 		this.spaceLimit = size;
 	}
 	/**
@@ -320,7 +329,7 @@ public class LRUCache implements Cloneable {
 
 		this.currentSpace = 0;
 		LRUCacheEntry entry = this.entryQueueTail; // Remember last entry
-		this.entryTable = new Hashtable();  // Clear it out
+		this.entryTable = new ConcurrentHashMap();  // Clear it out
 		this.entryQueue = this.entryQueueTail = null;
 		while (entry != null) {  // send deletion notifications in LRU order
 			entry = entry.previous;
@@ -358,6 +367,9 @@ public class LRUCache implements Cloneable {
 	 * Answers the value in the cache at the given key.
 	 * If the value is not in the cache, returns null
 	 *
+	 * The entry is not moved to the start of the queue, the time it was read is
+	 * taken into account the next time space is made in the cache.
+	 *
 	 * @param key Hash table key of object to retrieve
 	 * @return Retreived object, or null if object does not exist
 	 */
@@ -368,7 +380,9 @@ public class LRUCache implements Cloneable {
 			return null;
 		}
 
-		updateTimestamp (entry);
+		int timestamp = this.timestampCounter;
+		if (entry.readTimestamp != timestamp) // avoid writing to the entry when it is read often
+			entry.readTimestamp = timestamp;
 		return entry.value;
 	}
 	/**
@@ -459,9 +473,16 @@ public class LRUCache implements Cloneable {
 			return false;
 		}
 
-		/* Free up space by removing oldest entries */
+		/* Free up space by removing oldest entries, giving a second chance to the ones read since they were last moved */
+		int moved = 0;
+		int size = this.entryTable.size(); // bounds the moves, values may be read again while making space
 		while (this.currentSpace + space > limit && this.entryQueueTail != null) {
-			privateRemoveEntry (this.entryQueueTail, false);
+			LRUCacheEntry entry = this.entryQueueTail;
+			if (entry.readTimestamp > entry.timestamp && moved++ < size) {
+				updateTimestamp (entry);
+			} else {
+				privateRemoveEntry (entry, false);
+			}
 		}
 		return true;
 	}
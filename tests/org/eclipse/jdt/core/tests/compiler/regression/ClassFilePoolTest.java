@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
+
+/**
+ * Checks that the buffers recycled by the {@link org.eclipse.jdt.internal.compiler.ClassFilePool}
+ * never end up in two class files at once, when the code generation of methods restarts in wide mode.
+ * <p>
+ * Each unit declares a type whose methods need a <code>goto_w</code>, so that their code generation
+ * restarts on a code stream buffer already outgrown once, followed by a type with member types of
+ * growing sizes, generated while the buffers of the previous units are recycled. All the units are
+ * compiled together, then each on its own by a new compiler, which recycles no buffer at all: the
+ * class files must be the same.
+ * </p>
+ * Usage: <code>ClassFilePoolTest &lt;bootclasspath&gt; [units]</code>, where the boot class path
+ * holds the <code>java.lang</code> classes (e.g. rt.jar). Exits with 1 on failure.
+ */
+public class ClassFilePoolTest {
+
+public static void main(String[] args) throws IOException {
+	if (args.length == 0) {
+		System.out.println("Usage: ClassFilePoolTest <bootclasspath> [units]"); //$NON-NLS-1$
+		return;
+	}
+	String bootclasspath = args[0];
+	int units = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+
+	File root = File.createTempFile("pool", ""); //$NON-NLS-1$ //$NON-NLS-2$
+	root.delete();
+	File source = new File(root, "src/p"); //$NON-NLS-1$
+	source.mkdirs();
+	String[] names = new String[units * 2];
+	for (int i = 0; i < units; i++) {
+		write(new File(source, (names[2 * i] = "Wide" + i) + ".java"), wideSource(i)); //$NON-NLS-1$ //$NON-NLS-2$
+		write(new File(source, (names[2 * i + 1] = "Members" + i) + ".java"), membersSource(i)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+	int failures = 0;
+	try {
+		File together = new File(root, "together"); //$NON-NLS-1$
+		StringBuffer files = new StringBuffer();
+		for (int i = 0; i < names.length; i++)
+			files.append(" \"").append(new File(source, names[i] + ".java").getPath()).append('"'); //$NON-NLS-1$ //$NON-NLS-2$
+		compile(bootclasspath, together, files.toString());
+		File alone = new File(root, "alone"); //$NON-NLS-1$
+		for (int i = 0; i < names.length; i++)
+			compile(bootclasspath, alone, " \"" + new File(source, names[i] + ".java").getPath() + '"'); //$NON-NLS-1$ //$NON-NLS-2$
+
+		String[] classFiles = new File(alone, "p").list(); //$NON-NLS-1$
+		Arrays.sort(classFiles);
+		for (int i = 0; i < classFiles.length; i++) {
+			byte[] expected = read(new File(alone, "p/" + classFiles[i])); //$NON-NLS-1$
+			File actual = new File(together, "p/" + classFiles[i]); //$NON-NLS-1$
+			if (!actual.exists() || !Arrays.equals(expected, read(actual))) {
+				System.out.println("FAILED: " + classFiles[i] + " differs when compiled with the other units"); //$NON-NLS-1$ //$NON-NLS-2$
+				failures++;
+			}
+		}
+		System.out.println(classFiles.length + " class files compared, " + failures + " failure(s)"); //$NON-NLS-1$ //$NON-NLS-2$
+	} finally {
+		delete(root);
+	}
+	if (failures > 0)
+		System.exit(1);
+}
+
+private static void compile(String bootclasspath, File output, String files) {
+	String commandLine = "-1.8 -proc:none -nowarn" //$NON-NLS-1$
+		+ " -bootclasspath \"" + bootclasspath + '"' //$NON-NLS-1$
+		+ " -d \"" + output.getPath() + '"' //$NON-NLS-1$
+		+ files;
+	StringWriter out = new StringWriter();
+	StringWriter err = new StringWriter();
+	if (!BatchCompiler.compile(commandLine, new PrintWriter(out), new PrintWriter(err), null))
+		throw new IllegalStateException("Compilation failed:\n" + out + err); //$NON-NLS-1$
+}
+
+/**
+ * A type whose methods branch over more than 32k of code, so that their code generation restarts in wide mode.
+ */
+private static String wideSource(int index) {
+	StringBuffer buffer = new StringBuffer();
+	buffer.append("package p;\npublic class Wide").append(index).append(" {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	for (int method = 0; method < 2; method++) {
+		buffer.append("\tint m").append(method).append("(int[] a, int n) {\n\t\tint x = 0;\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\t\tfor (int i = 0; i < n; i++) {\n"); //$NON-NLS-1$
+		for (int line = 0; line < 3400 + 250 * (index % 8); line++)
+			buffer.append("\t\t\tx += a[i] * ").append(line).append(";\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\t\t}\n\t\treturn x;\n\t}\n"); //$NON-NLS-1$
+	}
+	buffer.append("}\n"); //$NON-NLS-1$
+	return buffer.toString();
+}
+
+/**
+ * A type with member types of growing sizes, all generated before any of them is written.
+ */
+private static String membersSource(int index) {
+	StringBuffer buffer = new StringBuffer();
+	buffer.append("package p;\npublic class Members").append(index).append(" {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	for (int member = 0; member < 12; member++) {
+		buffer.append("\tstatic class M").append(member).append(" {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (int method = 0; method <= member; method++) {
+			buffer.append("\t\tString m").append(method).append("(String s) {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			for (int line = 0; line < 20 * (member + 1); line++)
+				buffer.append("\t\t\ts = s.concat(\"").append(index).append('_').append(member).append('_').append(line).append("\");\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			buffer.append("\t\t\treturn s;\n\t\t}\n"); //$NON-NLS-1$
+		}
+		buffer.append("\t}\n"); //$NON-NLS-1$
+	}
+	buffer.append("}\n"); //$NON-NLS-1$
+	return buffer.toString();
+}
+
+private static byte[] read(File file) throws IOException {
+	byte[] bytes = new byte[(int) file.length()];
+	FileInputStream stream = new FileInputStream(file);
+	try {
+		for (int offset = 0, read; offset < bytes.length; offset += read)
+			if ((read = stream.read(bytes, offset, bytes.length - offset)) < 0)
+				throw new IOException("Unexpected end of " + file); //$NON-NLS-1$
+	} finally {
+		stream.close();
+	}
+	return bytes;
+}
+
+private static void delete(File file) {
+	File[] children = file.listFiles();
+	if (children != null)
+		for (int i = 0; i < children.length; i++)
+			delete(children[i]);
+	file.delete();
+}
+
+private static void write(File file, String contents) throws IOException {
+	FileWriter writer = new FileWriter(file);
+	try {
+		writer.write(contents);
+	} finally {
+		writer.close();
+	}
+}
+}
@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.search.BasicSearchEngine;
+import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
+
+/**
+ * Checks the source ranges reported by the index only search participant, see
+ * {@link BasicSearchEngine#getIndexOnlySearchParticipant()}.
+ * <p>
+ * A project is indexed with {@link IndexManager#INDEX_REFERENCE_POSITIONS} set, another one with the same units
+ * without it. For references to a method, a field and a type, and for a type name pattern, the matches of the
+ * index only participant in the first project must each cover the name of a reference, in the units on disk and
+ * in working copies, and must together cover each match found by the default participant. Those in the second
+ * project must have an unknown position. The sizes of both indexes are printed.
+ * </p>
+ * Usage: <code>IndexOnlySearchTest &lt;jre library&gt; [units]</code>, run with a workspace, e.g. by a launcher
+ * of the platform. Exits with 1 on failure.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class IndexOnlySearchTest {
+
+	static int failures;
+
+public static void main(String[] args) throws CoreException, IOException {
+	if (args.length == 0) {
+		System.out.println("Usage: IndexOnlySearchTest <jre library> [units]"); //$NON-NLS-1$
+		return;
+	}
+	int units = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+	boolean recordPositions = IndexManager.INDEX_REFERENCE_POSITIONS;
+	IJavaProject withRanges = null, withoutRanges = null;
+	try {
+		IndexManager.INDEX_REFERENCE_POSITIONS = true;
+		withRanges = createProject("IndexOnlyRanges", args[0], units); //$NON-NLS-1$
+		search(SearchPattern.createPattern("Target", IJavaSearchConstants.TYPE, IJavaSearchConstants.REFERENCES, SearchPattern.R_EXACT_MATCH), //$NON-NLS-1$
+			SearchEngine.getDefaultSearchParticipant(), withRanges, null); // waits for the indexing
+		IndexManager.INDEX_REFERENCE_POSITIONS = false;
+		withoutRanges = createProject("IndexOnlyNoRanges", args[0], units); //$NON-NLS-1$
+
+		IType target = withRanges.findType("p.Target"); //$NON-NLS-1$
+		check("method references", "foo", SearchPattern.createPattern(target.getMethod("foo", new String[] {"I"}), IJavaSearchConstants.REFERENCES), withRanges); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		check("field references", "count", SearchPattern.createPattern(target.getField("count"), IJavaSearchConstants.REFERENCES), withRanges); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		check("type references", "Target", SearchPattern.createPattern(target, IJavaSearchConstants.REFERENCES), withRanges); //$NON-NLS-1$ //$NON-NLS-2$
+		check("type name pattern", "Target", SearchPattern.createPattern("Targ*", IJavaSearchConstants.TYPE, IJavaSearchConstants.REFERENCES, SearchPattern.R_PATTERN_MATCH), withRanges); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		checkWorkingCopies(withRanges);
+		checkUnknownPositions(SearchPattern.createPattern(withoutRanges.findType("p.Target"), IJavaSearchConstants.REFERENCES), withoutRanges, units); //$NON-NLS-1$
+
+		IndexManager indexManager = JavaModelManager.getIndexManager();
+		long sizeWith = indexSize(indexManager, withRanges), sizeWithout = indexSize(indexManager, withoutRanges);
+		System.out.println("index of " + units + " units: " + sizeWith + " bytes with ranges, " + sizeWithout + " bytes without"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	} finally {
+		IndexManager.INDEX_REFERENCE_POSITIONS = recordPositions;
+		if (withRanges != null)
+			withRanges.getProject().delete(true, null);
+		if (withoutRanges != null)
+			withoutRanges.getProject().delete(true, null);
+	}
+	System.out.println(failures + " failure(s)"); //$NON-NLS-1$
+	if (failures > 0)
+		System.exit(1);
+}
+
+/*
+ * Checks that each index only match covers a reference ending with the given name, and that the index only matches
+ * of each unit cover all the matches of the default participant.
+ */
+private static void check(String name, String simpleName, SearchPattern pattern, IJavaProject project) throws CoreException {
+	HashMap located = new HashMap(), indexed = new HashMap();
+	int locatedCount = search(pattern, SearchEngine.getDefaultSearchParticipant(), project, located);
+	int indexedCount = search(pattern, BasicSearchEngine.getIndexOnlySearchParticipant(), project, indexed);
+	int failed = failures;
+	if (locatedCount < 3) {
+		fail(name + ", " + locatedCount + " matches located only"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+	for (Iterator iterator = indexed.values().iterator(); iterator.hasNext() && failed == failures;)
+		checkNames(name, simpleName, (ArrayList) iterator.next());
+	for (Iterator iterator = located.keySet().iterator(); iterator.hasNext() && failed == failures;) {
+		Object unit = iterator.next();
+		ArrayList ranges = (ArrayList) indexed.get(unit);
+		ArrayList matches = (ArrayList) located.get(unit);
+		for (int i = 0, size = matches.size(); i < size; i++) {
+			SearchMatch match = (SearchMatch) matches.get(i);
+			if (ranges == null || !covers(ranges, match.getOffset())) {
+				fail(name + ", no index only match covers " + match); //$NON-NLS-1$
+				break;
+			}
+		}
+	}
+	if (failed == failures)
+		System.out.println(name + ": " + locatedCount + " matches located, " + indexedCount + " index only matches"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+}
+
+private static void checkNames(String name, String simpleName, ArrayList matches) throws CoreException {
+	for (int i = 0, size = matches.size(); i < size; i++) {
+		SearchMatch match = (SearchMatch) matches.get(i);
+		if (match.getOffset() == -1 && size == 1)
+			continue; // e.g. a field declaration, found by the pattern of a field write access
+		String source = ((ICompilationUnit) match.getElement()).getSource();
+		if (match.getOffset() < 0 || match.getOffset() + match.getLength() > source.length()
+				|| !source.substring(match.getOffset(), match.getOffset() + match.getLength()).endsWith(simpleName)) {
+			fail(name + ", " + match + " is not on a reference to " + simpleName); //$NON-NLS-1$ //$NON-NLS-2$
+			return;
+		}
+	}
+}
+
+/*
+ * Checks that the working copies of a project are reported with the ranges of their buffers, and only if they match.
+ */
+private static void checkWorkingCopies(IJavaProject project) throws CoreException {
+	IType target = project.findType("p.Target"); //$NON-NLS-1$
+	ICompilationUnit calling = project.findType("p.Unit0").getCompilationUnit().getWorkingCopy(null); //$NON-NLS-1$
+	ICompilationUnit other = project.findType("p.Unit1").getCompilationUnit().getWorkingCopy(null); //$NON-NLS-1$
+	try {
+		String source = calling.getSource();
+		int body = source.indexOf("t.count++;"); //$NON-NLS-1$
+		calling.getBuffer().setContents(source.substring(0, body) + "t.foo(t.foo(42));\n\t\t" + source.substring(body)); //$NON-NLS-1$
+		other.getBuffer().setContents("package p;\npublic class Unit1 {\n}\n"); //$NON-NLS-1$
+		HashMap indexed = new HashMap();
+		search(SearchPattern.createPattern(target.getMethod("foo", new String[] {"I"}), IJavaSearchConstants.REFERENCES), //$NON-NLS-1$ //$NON-NLS-2$
+			BasicSearchEngine.getIndexOnlySearchParticipant(), project, new ICompilationUnit[] {calling, other}, indexed);
+		ArrayList matches = (ArrayList) indexed.get(calling.getPath().toString());
+		if (indexed.get(other.getPath().toString()) != null) {
+			fail("working copies, " + other.getElementName() + " does not match any longer"); //$NON-NLS-1$ //$NON-NLS-2$
+		} else if (matches == null || matches.size() != 4) {
+			fail("working copies, " + (matches == null ? 0 : matches.size()) + " matches instead of 4 in " + calling.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$
+		} else if (((SearchMatch) matches.get(0)).getElement() != calling && !calling.equals(((SearchMatch) matches.get(0)).getElement())) {
+			fail("working copies, the matches are not on the working copy"); //$NON-NLS-1$
+		} else {
+			int failed = failures;
+			checkNames("working copies", "foo", matches); //$NON-NLS-1$ //$NON-NLS-2$
+			if (failed == failures)
+				System.out.println("working copies: " + matches.size() + " index only matches in the buffer"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	} finally {
+		calling.discardWorkingCopy();
+		other.discardWorkingCopy();
+	}
+}
+
+/*
+ * Checks that the units of a project indexed without ranges are each reported once, at an unknown position.
+ */
+private static void checkUnknownPositions(SearchPattern pattern, IJavaProject project, int units) throws CoreException {
+	HashMap indexed = new HashMap();
+	int count = search(pattern, BasicSearchEngine.getIndexOnlySearchParticipant(), project, indexed);
+	if (count != units) {
+		fail("no ranges, " + count + " matches instead of " + units); //$NON-NLS-1$ //$NON-NLS-2$
+		return;
+	}
+	for (Iterator iterator = indexed.values().iterator(); iterator.hasNext();) {
+		SearchMatch match = (SearchMatch) ((ArrayList) iterator.next()).get(0);
+		if (match.getOffset() != -1 || match.getLength() != -1) {
+			fail("no ranges, " + match + " has a position"); //$NON-NLS-1$ //$NON-NLS-2$
+			return;
+		}
+	}
+	System.out.println("no ranges: " + count + " index only matches at an unknown position"); //$NON-NLS-1$ //$NON-NLS-2$
+}
+
+private static boolean covers(ArrayList ranges, int offset) {
+	for (int i = 0, size = ranges.size(); i < size; i++) {
+		SearchMatch range = (SearchMatch) ranges.get(i);
+		if (range.getOffset() <= offset && offset < range.getOffset() + range.getLength())
+			return true;
+	}
+	return false;
+}
+
+private static void fail(String message) {
+	System.out.println("FAILED: " + message); //$NON-NLS-1$
+	failures++;
+}
+
+private static long indexSize(IndexManager indexManager, IJavaProject project) throws IOException {
+	Index index = indexManager.getIndex(project.getPath(), true, false);
+	indexManager.saveIndex(index);
+	return index.getIndexFile().length();
+}
+
+/*
+ * Answers the number of matches of the given pattern in the sources of the given project, adding them to the given table by path.
+ */
+private static int search(SearchPattern pattern, SearchParticipant participant, IJavaProject project, final HashMap matches) throws CoreException {
+	return search(pattern, participant, project, null, matches);
+}
+
+/*
+ * Same as search(SearchPattern, SearchParticipant, IJavaProject, HashMap), with the given working copies.
+ */
+private static int search(SearchPattern pattern, SearchParticipant participant, IJavaProject project, ICompilationUnit[] workingCopies, final HashMap matches) throws CoreException {
+	final int[] count = new int[1];
+	new SearchEngine(workingCopies).search(
+		pattern,
+		new SearchParticipant[] {participant},
+		SearchEngine.createJavaSearchScope(new IJavaElement[] {project.getPackageFragmentRoot(project.getProject().getFolder("src"))}), //$NON-NLS-1$
+		new SearchRequestor() {
+			public void acceptSearchMatch(SearchMatch match) {
+				count[0]++;
+				if (matches == null) return;
+				String path = match.getResource().getFullPath().toString();
+				ArrayList unitMatches = (ArrayList) matches.get(path);
+				if (unitMatches == null)
+					matches.put(path, unitMatches = new ArrayList());
+				unitMatches.add(match);
+			}
+		},
+		null);
+	return count[0];
+}
+
+private static IJavaProject createProject(final String name, final String jreLibrary, final int units) throws CoreException {
+	final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+	final IProject project = workspace.getRoot().getProject(name);
+	workspace.run(new IWorkspaceRunnable() {
+		public void run(IProgressMonitor monitor) throws CoreException {
+			if (project.exists())
+				project.delete(true, null);
+			project.create(null);
+			project.open(null);
+			IProjectDescription description = project.getDescription();
+			description.setNatureIds(new String[] {JavaCore.NATURE_ID});
+			project.setDescription(description, null);
+			IFolder folder = project.getFolder("src"); //$NON-NLS-1$
+			folder.create(true, true, null);
+			folder = folder.getFolder("p"); //$NON-NLS-1$
+			folder.create(true, true, null);
+			ParallelMatchLocatorTest.create(folder, "Target", //$NON-NLS-1$
+				"package p;\npublic class Target {\n\tpublic int count;\n\tpublic int foo(int i) { return i; }\n}\n"); //$NON-NLS-1$
+			for (int i = 0; i < units; i++) {
+				ParallelMatchLocatorTest.create(folder, "Unit" + i, //$NON-NLS-1$
+					"package p;\npublic class Unit" + i + " {\n" //$NON-NLS-1$ //$NON-NLS-2$
+					+ "\tTarget[] targets = {new Target(), new p.Target(), null};\n" // more than four ranges in a unit //$NON-NLS-1$
+					+ "\tint m(Target t, p.Target q) {\n" //$NON-NLS-1$
+					+ "\t\tt.count++;\n" //$NON-NLS-1$
+					+ "\t\treturn t.foo(" + i + ") + q.foo(q.count) + count(new Target());\n" //$NON-NLS-1$ //$NON-NLS-2$
+					+ "\t}\n" //$NON-NLS-1$
+					+ "\tint count(Target t) { return t.count; }\n" //$NON-NLS-1$
+					+ "}\n"); //$NON-NLS-1$
+			}
+			JavaCore.create(project).setRawClasspath(
+				new IClasspathEntry[] {
+					JavaCore.newSourceEntry(new Path("/" + name + "/src")), //$NON-NLS-1$ //$NON-NLS-2$
+					JavaCore.newLibraryEntry(new Path(jreLibrary), null, null)
+				},
+				new Path("/" + name + "/bin"), //$NON-NLS-1$ //$NON-NLS-2$
+				null);
+		}
+	}, null);
+	return JavaCore.create(project);
+}
+}
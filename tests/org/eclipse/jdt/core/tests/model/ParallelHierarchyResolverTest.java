@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.model;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.internal.core.hierarchy.HierarchyResolver;
+
+/**
+ * Checks that a type hierarchy is the same whether the compilation units which are not open are parsed one
+ * after the other or on several threads, see {@link HierarchyResolver#PARSING_THREADS}.
+ * <p>
+ * A project holds enough units for several parsing threads: classes implementing an interface directly, through
+ * a superclass or through a chain of subclasses, classes implementing an interface of the library, member types,
+ * and anonymous and local types implementing the interface. Each hierarchy is built once with
+ * {@link HierarchyResolver#PARSING_THREADS} set to 1, then set to 4, with the units closed before each build: both
+ * must hold the same types with the same supertypes and subtypes, and the units must have been parsed by the
+ * parsing threads.
+ * </p>
+ * Usage: <code>ParallelHierarchyResolverTest &lt;jre library&gt; [units]</code>, run with a workspace, e.g. by a
+ * launcher of the platform with at least 1GB of heap for the 4 threads. Exits with 1 on failure.
+ */
+public class ParallelHierarchyResolverTest {
+
+	private static final String PROJECT = "ParallelHierarchy"; //$NON-NLS-1$
+
+	static int failures;
+
+public static void main(String[] args) throws CoreException {
+	if (args.length == 0) {
+		System.out.println("Usage: ParallelHierarchyResolverTest <jre library> [units]"); //$NON-NLS-1$
+		return;
+	}
+	int units = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+	IJavaProject project = createProject(args[0], units);
+	try {
+		check("interface hierarchy", project.findType("p.Marker"), project, false); //$NON-NLS-1$ //$NON-NLS-2$
+		check("class hierarchy", project.findType("p.Base"), project, false); //$NON-NLS-1$ //$NON-NLS-2$
+		check("binary interface hierarchy", project.findType("java.lang.Runnable"), project, false); //$NON-NLS-1$ //$NON-NLS-2$
+		check("workspace hierarchy", project.findType("p.Marker"), project, true); //$NON-NLS-1$ //$NON-NLS-2$
+	} finally {
+		project.getProject().delete(true, null);
+	}
+	System.out.println(units + " units, " + failures + " failure(s)"); //$NON-NLS-1$ //$NON-NLS-2$
+	if (failures > 0)
+		System.exit(1);
+}
+
+private static void check(String name, IType type, IJavaProject project, boolean workspace) throws CoreException {
+	int threads = HierarchyResolver.PARSING_THREADS;
+	try {
+		HierarchyResolver.PARSING_THREADS = 1;
+		long start = System.currentTimeMillis();
+		ArrayList expected = hierarchy(type, project, workspace);
+		long time = System.currentTimeMillis() - start;
+		HierarchyResolver.PARSING_THREADS = 4;
+		long parserTime = parserTime();
+		start = System.currentTimeMillis();
+		ArrayList actual = hierarchy(type, project, workspace);
+		long parallelTime = System.currentTimeMillis() - start;
+		if (parserTime() == parserTime) {
+			System.out.println("FAILED: " + name + ", the units were not parsed in parallel"); //$NON-NLS-1$ //$NON-NLS-2$
+			failures++;
+		} else if (expected.size() < 100) {
+			System.out.println("FAILED: " + name + ", " + expected.size() + " types only"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			failures++;
+		} else if (!expected.equals(actual)) {
+			for (int i = 0, size = Math.min(expected.size(), actual.size()); i <= size; i++) {
+				if (i == size || !expected.get(i).equals(actual.get(i))) {
+					System.out.println("FAILED: " + name + ", " + actual.size() + " types instead of " + expected.size() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ ", first difference: " + (i < actual.size() ? actual.get(i) : null) //$NON-NLS-1$
+						+ " instead of " + (i < expected.size() ? expected.get(i) : null)); //$NON-NLS-1$
+					break;
+				}
+			}
+			failures++;
+		} else {
+			System.out.println(name + ": " + actual.size() + " types, " + time + " ms on one thread, " + parallelTime + " ms on 4"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+	} finally {
+		HierarchyResolver.PARSING_THREADS = threads;
+	}
+}
+
+/**
+ * Answers the CPU time used so far by the threads parsing the units of the hierarchies.
+ */
+private static long parserTime() {
+	ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	long time = 0;
+	for (Iterator iterator = Thread.getAllStackTraces().keySet().iterator(); iterator.hasNext();) {
+		Thread thread = (Thread) iterator.next();
+		if (thread.getName().startsWith("Java type hierarchy parser")) //$NON-NLS-1$
+			time += threads.getThreadCpuTime(thread.getId());
+	}
+	return time;
+}
+
+/**
+ * Answers a line for each type of the hierarchy of the given type, with its superclass, its superinterfaces and
+ * its subtypes, sorted by type. The units of the project are closed first, so that they are all parsed.
+ */
+private static ArrayList hierarchy(IType type, IJavaProject project, boolean workspace) throws CoreException {
+	project.close();
+	ITypeHierarchy hierarchy = workspace ? type.newTypeHierarchy(null) : type.newTypeHierarchy(project, null);
+	IType[] types = hierarchy.getAllTypes();
+	String[] lines = new String[types.length];
+	for (int i = 0; i < types.length; i++) {
+		IType superclass = hierarchy.getSuperclass(types[i]);
+		lines[i] = types[i].getFullyQualifiedName('.')
+			+ " extends " + (superclass == null ? null : superclass.getFullyQualifiedName('.')) //$NON-NLS-1$
+			+ " implements " + names(hierarchy.getSuperInterfaces(types[i])) //$NON-NLS-1$
+			+ " subtypes " + names(hierarchy.getSubtypes(types[i])); //$NON-NLS-1$
+	}
+	Arrays.sort(lines);
+	return new ArrayList(Arrays.asList(lines));
+}
+
+private static String names(IType[] types) {
+	String[] names = new String[types.length];
+	for (int i = 0; i < types.length; i++)
+		names[i] = types[i].getFullyQualifiedName('.');
+	Arrays.sort(names);
+	return Arrays.asList(names).toString();
+}
+
+private static IJavaProject createProject(final String jreLibrary, final int units) throws CoreException {
+	final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+	final IProject project = workspace.getRoot().getProject(PROJECT);
+	workspace.run(new IWorkspaceRunnable() {
+		public void run(IProgressMonitor monitor) throws CoreException {
+			if (project.exists())
+				project.delete(true, null);
+			project.create(null);
+			project.open(null);
+			IProjectDescription description = project.getDescription();
+			description.setNatureIds(new String[] {JavaCore.NATURE_ID});
+			project.setDescription(description, null);
+			IFolder folder = project.getFolder("src"); //$NON-NLS-1$
+			folder.create(true, true, null);
+			folder = folder.getFolder("p"); //$NON-NLS-1$
+			folder.create(true, true, null);
+			ParallelMatchLocatorTest.create(folder, "Marker", "package p;\npublic interface Marker {\n\tvoid mark();\n}\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			ParallelMatchLocatorTest.create(folder, "Base", "package p;\npublic class Base implements Marker {\n\tpublic void mark() {}\n}\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			for (int i = 0; i < units; i++) {
+				StringBuffer buffer = new StringBuffer();
+				buffer.append("package p;\npublic class Unit").append(i); //$NON-NLS-1$
+				switch (i % 4) {
+					case 0 :
+						buffer.append(" extends Base"); //$NON-NLS-1$
+						break;
+					case 1 :
+						buffer.append(" extends Unit").append(i - 1).append(" implements Runnable"); //$NON-NLS-1$ //$NON-NLS-2$
+						break;
+					case 2 :
+						buffer.append(" implements Marker, Runnable"); //$NON-NLS-1$
+						break;
+				}
+				buffer.append(" {\n\tpublic void mark() {}\n\tpublic void run() {}\n"); //$NON-NLS-1$
+				if (i % 5 == 0)
+					buffer.append("\tstatic class Member").append(i).append(" extends Base {}\n"); //$NON-NLS-1$ //$NON-NLS-2$
+				if (i % 7 == 0) {
+					buffer.append("\tMarker anonymous() {\n\t\treturn new Marker() {\n\t\t\tpublic void mark() {}\n\t\t};\n\t}\n"); //$NON-NLS-1$
+					buffer.append("\tvoid local() {\n\t\tclass Local extends Base {}\n\t\tnew Local().mark();\n\t}\n"); //$NON-NLS-1$
+				}
+				buffer.append("}\n"); //$NON-NLS-1$
+				ParallelMatchLocatorTest.create(folder, "Unit" + i, buffer.toString()); //$NON-NLS-1$
+			}
+			JavaCore.create(project).setRawClasspath(
+				new IClasspathEntry[] {
+					JavaCore.newSourceEntry(new Path("/" + PROJECT + "/src")), //$NON-NLS-1$ //$NON-NLS-2$
+					JavaCore.newLibraryEntry(new Path(jreLibrary), null, null)
+				},
+				new Path("/" + PROJECT + "/bin"), //$NON-NLS-1$ //$NON-NLS-2$
+				null);
+		}
+	}, null);
+	return JavaCore.create(project);
+}
+}
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.model;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.internal.core.search.matching.MatchLocator;
+
+/**
+ * Checks that the matches of a search are reported in the same order, from the searching thread only,
+ * whether the batches of possible matches of a project are located one after the other or on several
+ * threads, see {@link MatchLocator#MATCHING_THREADS}.
+ * <p>
+ * A project holds more than three batches of {@link MatchLocator#MAX_AT_ONCE} units, each one referencing
+ * a method overridden in a subtype, a field and a type, so that each search needs several batches. Each
+ * search runs once on the searching thread, then with {@link MatchLocator#MATCHING_THREADS} set to 4:
+ * the matches must be the same, in the same order, and the batches must have been located by the workers.
+ * </p>
+ * Usage: <code>ParallelMatchLocatorTest &lt;jre library&gt;</code>, run with a workspace, e.g. by a
+ * launcher of the platform with at least 1GB of heap for the 4 threads. Exits with 1 on failure.
+ */
+public class ParallelMatchLocatorTest {
+
+	private static final String PROJECT = "ParallelSearch"; //$NON-NLS-1$
+
+	static int failures;
+
+public static void main(String[] args) throws CoreException {
+	if (args.length == 0) {
+		System.out.println("Usage: ParallelMatchLocatorTest <jre library>"); //$NON-NLS-1$
+		return;
+	}
+	int units = 3 * MatchLocator.MAX_AT_ONCE + 17;
+	IJavaProject project = createProject(args[0], units);
+	try {
+		IType target = project.findType("p.Target"); //$NON-NLS-1$
+		IMethod method = target.getMethod("foo", new String[] {"I"}); //$NON-NLS-1$ //$NON-NLS-2$
+		check("method references", SearchPattern.createPattern(method, IJavaSearchConstants.REFERENCES), project); //$NON-NLS-1$
+		check("field references", SearchPattern.createPattern(target.getField("count"), IJavaSearchConstants.REFERENCES), project); //$NON-NLS-1$ //$NON-NLS-2$
+		check("type references or declarations", SearchPattern.createOrPattern( //$NON-NLS-1$
+			SearchPattern.createPattern(target, IJavaSearchConstants.REFERENCES),
+			SearchPattern.createPattern("Sub*", IJavaSearchConstants.TYPE, IJavaSearchConstants.DECLARATIONS, SearchPattern.R_PATTERN_MATCH)), //$NON-NLS-1$
+			project);
+	} finally {
+		project.getProject().delete(true, null);
+	}
+	System.out.println(units + " units searched, " + failures + " failure(s)"); //$NON-NLS-1$ //$NON-NLS-2$
+	if (failures > 0)
+		System.exit(1);
+}
+
+private static void check(String name, SearchPattern pattern, IJavaProject project) throws CoreException {
+	int threads = MatchLocator.MATCHING_THREADS;
+	try {
+		MatchLocator.MATCHING_THREADS = 1;
+		ArrayList expected = search(pattern, project);
+		MatchLocator.MATCHING_THREADS = 4;
+		long workerTime = workerTime();
+		ArrayList actual = search(pattern, project);
+		if (workerTime() == workerTime) {
+			System.out.println("FAILED: " + name + ", the batches were not located in parallel"); //$NON-NLS-1$ //$NON-NLS-2$
+			failures++;
+		} else if (expected.size() < MatchLocator.MAX_AT_ONCE * 3) {
+			System.out.println("FAILED: " + name + ", " + expected.size() + " matches only"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			failures++;
+		} else if (!expected.equals(actual)) {
+			for (int i = 0, size = Math.min(expected.size(), actual.size()); i <= size; i++) {
+				if (i == size || !expected.get(i).equals(actual.get(i))) {
+					System.out.println("FAILED: " + name + ", " + actual.size() + " matches instead of " + expected.size() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ ", first difference at " + i + ": " + (i < actual.size() ? actual.get(i) : null) //$NON-NLS-1$ //$NON-NLS-2$
+						+ " instead of " + (i < expected.size() ? expected.get(i) : null)); //$NON-NLS-1$
+					break;
+				}
+			}
+			failures++;
+		} else {
+			System.out.println(name + ": " + actual.size() + " matches in the same order"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	} finally {
+		MatchLocator.MATCHING_THREADS = threads;
+	}
+}
+
+/**
+ * Answers the CPU time used so far by the threads locating batches of possible matches.
+ */
+private static long workerTime() {
+	ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	long time = 0;
+	for (Iterator iterator = Thread.getAllStackTraces().keySet().iterator(); iterator.hasNext();) {
+		Thread thread = (Thread) iterator.next();
+		if (thread.getName().startsWith("Java search match locator")) //$NON-NLS-1$
+			time += threads.getThreadCpuTime(thread.getId());
+	}
+	return time;
+}
+
+/**
+ * Answers the matches of the given pattern in the given project, in the order they were reported,
+ * checking that they were all reported by the searching thread.
+ */
+private static ArrayList search(SearchPattern pattern, IJavaProject project) throws CoreException {
+	final ArrayList matches = new ArrayList();
+	final Thread searchingThread = Thread.currentThread();
+	new SearchEngine().search(
+		pattern,
+		new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()},
+		SearchEngine.createJavaSearchScope(new IJavaElement[] {project}),
+		new SearchRequestor() {
+			public void acceptSearchMatch(SearchMatch match) {
+				if (Thread.currentThread() != searchingThread) {
+					System.out.println("FAILED: match reported by " + Thread.currentThread().getName()); //$NON-NLS-1$
+					failures++;
+				}
+				matches.add(match.getResource().getFullPath() + "[" + match.getOffset() + ',' + match.getLength() + "] " //$NON-NLS-1$ //$NON-NLS-2$
+					+ match.getAccuracy() + ' ' + match.getElement());
+			}
+		},
+		null);
+	return matches;
+}
+
+private static IJavaProject createProject(final String jreLibrary, final int units) throws CoreException {
+	final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+	final IProject project = workspace.getRoot().getProject(PROJECT);
+	workspace.run(new IWorkspaceRunnable() {
+		public void run(IProgressMonitor monitor) throws CoreException {
+			if (project.exists())
+				project.delete(true, null);
+			project.create(null);
+			project.open(null);
+			IProjectDescription description = project.getDescription();
+			description.setNatureIds(new String[] {JavaCore.NATURE_ID});
+			project.setDescription(description, null);
+			IFolder folder = project.getFolder("src"); //$NON-NLS-1$
+			folder.create(true, true, null);
+			folder = folder.getFolder("p"); //$NON-NLS-1$
+			folder.create(true, true, null);
+			create(folder, "Target", //$NON-NLS-1$
+				"package p;\npublic class Target {\n\tpublic int count;\n\tpublic int foo(int i) { return i; }\n}\n"); //$NON-NLS-1$
+			create(folder, "SubTarget", //$NON-NLS-1$
+				"package p;\npublic class SubTarget extends Target {\n\tpublic int foo(int i) { return i + 1; }\n}\n"); //$NON-NLS-1$
+			for (int i = 0; i < units; i++) {
+				StringBuffer buffer = new StringBuffer();
+				buffer.append("package p;\npublic class Unit").append(i).append(" {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+				buffer.append("\tint m(Target t, SubTarget s) {\n"); //$NON-NLS-1$
+				buffer.append("\t\tt.count++;\n\t\treturn t.foo(").append(i).append(") + s.foo(t.count)"); //$NON-NLS-1$ //$NON-NLS-2$
+				if (i % 3 == 0)
+					buffer.append(" + new Unit").append((i + 1) % units).append("().m(new SubTarget(), null)"); //$NON-NLS-1$ //$NON-NLS-2$
+				buffer.append(";\n\t}\n"); //$NON-NLS-1$
+				if (i % 5 == 0)
+					buffer.append("\tstatic class Sub").append(i).append(" extends SubTarget {}\n"); //$NON-NLS-1$ //$NON-NLS-2$
+				buffer.append("}\n"); //$NON-NLS-1$
+				create(folder, "Unit" + i, buffer.toString()); //$NON-NLS-1$
+			}
+			JavaCore.create(project).setRawClasspath(
+				new IClasspathEntry[] {
+					JavaCore.newSourceEntry(new Path("/" + PROJECT + "/src")), //$NON-NLS-1$ //$NON-NLS-2$
+					JavaCore.newLibraryEntry(new Path(jreLibrary), null, null)
+				},
+				new Path("/" + PROJECT + "/bin"), //$NON-NLS-1$ //$NON-NLS-2$
+				null);
+		}
+	}, null);
+	return JavaCore.create(project);
+}
+
+static void create(IFolder folder, String typeName, String contents) throws CoreException {
+	folder.getFile(typeName + ".java").create(new ByteArrayInputStream(contents.getBytes()), true, null); //$NON-NLS-1$
+}
+}